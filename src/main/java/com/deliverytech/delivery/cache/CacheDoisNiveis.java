@@ -0,0 +1,425 @@
+package com.deliverytech.delivery.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache com uma camada local (L1, Caffeine com limite e TTL) na frente da
+ * camada remota (L2, compartilhada entre os nós).
+ * <p>
+ * Leitura: L1 → L2 → (carga). Escrita/remoção: L2, L1 e aviso aos outros nós
+ * para descartarem a cópia local. O acesso ao remoto passa pelo
+ * {@link GerenciadorCacheDoisNiveis}, que decide se ele está disponível.
+ * <p>
+ * O L1 guarda cada valor com as suas tags ({@link ExtratorTags}); a invalidação
+ * por tags percorre o L1 (limitado) e remove as entradas que as carregam.
+ * <p>
+ * Carga ({@code @Cacheable(sync = true)}): uma única carga por chave neste nó;
+ * as outras threads esperam o mesmo resultado até o timeout configurado e, depois
+ * dele, carregam por conta própria. Entradas "quentes" são recarregadas antes de
+ * expirar no L1 (refresh antecipado probabilístico, ver {@link #deveAtualizarAntes}).
+ * <p>
+ * Métricas (tag "cache"): acessos por resultado (acerto no L1, acerto no L2 ou
+ * falta), tempo das cargas, entradas e bytes (serializados) no L1 e remoções
+ * do L1 por causa (tamanho, expiração ou invalidação).
+ */
+public class CacheDoisNiveis extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheDoisNiveis.class);
+
+    private final String nome;
+    private final Cache<String, EntradaLocal> local;
+    private final GerenciadorCacheDoisNiveis gerenciador;
+    private final long ttlLocalNanos;
+    private final OpcoesCarga opcoesCarga;
+
+    /** Cargas em andamento neste nó, por chave. */
+    private final ConcurrentMap<String, CompletableFuture<EntradaLocal>> emCarga = new ConcurrentHashMap<>();
+    /** Muda a cada invalidação: carga iniciada antes dela não grava o resultado. */
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final Counter coalescidas;
+    private final Counter timeoutsEspera;
+    private final Counter refreshAntecipados;
+
+    private final Counter acertosLocais;
+    private final Counter acertosRemotos;
+    private final Counter faltas;
+    private final Timer tempoCarga;
+    private final Counter remocoesTamanho;
+    private final Counter remocoesExpiracao;
+    private final Counter remocoesInvalidacao;
+    /** Soma do tamanho serializado das entradas do L1 (ver {@link GerenciadorCacheDoisNiveis#tamanhoEmBytes}). */
+    private final LongAdder bytesLocal = new LongAdder();
+
+    CacheDoisNiveis(String nome, long maximoEntradasLocal, Duration ttlLocal, OpcoesCarga opcoesCarga,
+                    GerenciadorCacheDoisNiveis gerenciador) {
+        super(true);
+        this.nome = nome;
+        this.gerenciador = gerenciador;
+        this.ttlLocalNanos = ttlLocal.toNanos();
+        this.opcoesCarga = opcoesCarga;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximoEntradasLocal)
+                .expireAfterWrite(ttlLocal)
+                // Notificação na própria thread: a contagem de bytes não fica para trás
+                .executor(Runnable::run)
+                .removalListener((String chave, EntradaLocal entrada, RemovalCause causa) -> aoRemoverLocal(entrada, causa))
+                .build();
+        this.coalescidas = gerenciador.contador("delivery.cache.carga.coalescidas",
+                "Chamadas que aguardaram a carga já em andamento da mesma chave", nome);
+        this.timeoutsEspera = gerenciador.contador("delivery.cache.carga.timeouts",
+                "Chamadas que desistiram de aguardar a carga em andamento e carregaram sozinhas", nome);
+        this.refreshAntecipados = gerenciador.contador("delivery.cache.carga.refresh.antecipado",
+                "Recargas feitas antes de a entrada expirar na camada local", nome);
+
+        String descricaoAcessos = "Leituras do cache por resultado (acerto no L1, acerto no L2 ou falta)";
+        this.acertosLocais = gerenciador.contador("delivery.cache.acessos", descricaoAcessos, nome, "resultado", "acerto_local");
+        this.acertosRemotos = gerenciador.contador("delivery.cache.acessos", descricaoAcessos, nome, "resultado", "acerto_remoto");
+        this.faltas = gerenciador.contador("delivery.cache.acessos", descricaoAcessos, nome, "resultado", "falta");
+        this.tempoCarga = gerenciador.timer("delivery.cache.carga.tempo",
+                "Tempo das cargas feitas na falta (o método anotado com @Cacheable)", nome);
+
+        String descricaoRemocoes = "Entradas que saíram da camada local, por causa";
+        this.remocoesTamanho = gerenciador.contador("delivery.cache.remocoes", descricaoRemocoes, nome, "causa", "tamanho");
+        this.remocoesExpiracao = gerenciador.contador("delivery.cache.remocoes", descricaoRemocoes, nome, "causa", "expiracao");
+        this.remocoesInvalidacao = gerenciador.contador("delivery.cache.remocoes", descricaoRemocoes, nome, "causa", "invalidacao");
+        gerenciador.medidor("delivery.cache.entradas", "Entradas na camada local", nome,
+                this, CacheDoisNiveis::tamanhoLocal);
+        gerenciador.medidor("delivery.cache.tamanho.bytes", "Tamanho serializado das entradas da camada local", nome,
+                this, CacheDoisNiveis::bytesLocal);
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Cache<String, EntradaLocal> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String chave = chave(key);
+        EntradaLocal entrada = local.getIfPresent(chave);
+        if (entrada != null) {
+            acertosLocais.increment();
+            return entrada.valor();
+        }
+        long inicio = System.nanoTime();
+        ValorRemoto remoto = gerenciador.buscarRemoto(chaveRemota(chave));
+        if (remoto == null) {
+            faltas.increment();
+            return null;
+        }
+        acertosRemotos.increment();
+        guardarLocal(chave, novaEntrada(key, remoto.valor(), System.nanoTime() - inicio, remoto.bytes()));
+        return remoto.valor();
+    }
+
+    /**
+     * Carga única por chave neste nó (ver a documentação da classe). Uma falha do
+     * {@code valueLoader} chega a todas as threads que aguardavam a mesma carga.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String chave = chave(key);
+        EntradaLocal entrada = local.getIfPresent(chave);
+        if (entrada != null) {
+            acertosLocais.increment();
+            if (deveAtualizarAntes(entrada)) {
+                EntradaLocal atualizada = atualizarAntes(key, chave, valueLoader);
+                if (atualizada != null) {
+                    return (T) fromStoreValue(atualizada.valor());
+                }
+            }
+            return (T) fromStoreValue(entrada.valor());
+        }
+        return (T) fromStoreValue(carregarUmaVez(key, chave, valueLoader).valor());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String chave = chave(key);
+        Object armazenado = toStoreValue(value);
+        Set<String> tags = tags(key, armazenado);
+        int bytes = gerenciador.gravarRemoto(nome, chave, armazenado, tags);
+        guardarLocal(chave, new EntradaLocal(armazenado, tags, System.nanoTime() + ttlLocalNanos, 0,
+                gerenciador.tamanhoEmBytes(armazenado, bytes)));
+        gerenciador.publicar(nome, chave);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = get(key);
+        if (existente == null) {
+            put(key, value);
+        }
+        return existente;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String chave = chave(key);
+        geracao.incrementAndGet();
+        gerenciador.removerRemoto(nome, chave);
+        local.invalidate(chave);
+        gerenciador.publicar(nome, chave);
+    }
+
+    @Override
+    public void clear() {
+        geracao.incrementAndGet();
+        gerenciador.limparRemoto(nome);
+        local.invalidateAll();
+        gerenciador.publicar(nome, null);
+    }
+
+    // ==========================================================
+    // --- SÓ A CAMADA LOCAL (invalidações recebidas / recuperação) ---
+    // ==========================================================
+
+    void removerLocal(String chave) {
+        geracao.incrementAndGet();
+        local.invalidate(chave);
+    }
+
+    void limparLocal() {
+        geracao.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /** Remove do L1 as entradas que carregam alguma das tags; devolve quantas saíram. */
+    int removerLocalPorTags(Set<String> tags) {
+        geracao.incrementAndGet();
+        int[] removidas = {0};
+        local.asMap().values().removeIf(entrada -> {
+            boolean remover = !Collections.disjoint(entrada.tags(), tags);
+            if (remover) {
+                removidas[0]++;
+            }
+            return remover;
+        });
+        return removidas[0];
+    }
+
+    long tamanhoLocal() {
+        return local.estimatedSize();
+    }
+
+    long bytesLocal() {
+        return Math.max(0, bytesLocal.sum());
+    }
+
+    /**
+     * Chave em texto: é o que trafega nas invalidações e compõe a chave no Redis.
+     */
+    static String chave(Object key) {
+        return String.valueOf(key);
+    }
+
+    // ==========================================================
+    // --- CARGA ÚNICA E REFRESH ANTECIPADO ---
+    // ==========================================================
+
+    /**
+     * Refresh antecipado probabilístico ("XFetch"): a chance de recarregar cresce
+     * à medida que a expiração se aproxima e com o custo da última carga
+     * ({@code agora - custo * beta * ln(aleatório) >= expiração}). Entradas
+     * acessadas com frequência são recarregadas por uma única chamada antes de
+     * expirar, enquanto as demais continuam lendo o valor atual.
+     */
+    boolean deveAtualizarAntes(EntradaLocal entrada) {
+        double beta = opcoesCarga.betaRefreshAntecipado();
+        if (beta <= 0 || entrada.custoCargaNanos() <= 0) {
+            return false;
+        }
+        double aleatorio = ThreadLocalRandom.current().nextDouble();
+        double antecipacao = -entrada.custoCargaNanos() * beta * Math.log(aleatorio);
+        return System.nanoTime() + antecipacao >= entrada.expiraEmNanos();
+    }
+
+    /** Recarga antecipada; {@code null} se outra carga da chave já está em andamento ou falhou. */
+    private EntradaLocal atualizarAntes(Object key, String chave, Callable<?> valueLoader) {
+        CompletableFuture<EntradaLocal> minha = new CompletableFuture<>();
+        if (emCarga.putIfAbsent(chave, minha) != null) {
+            return null; // Outra thread já está recarregando: segue com o valor atual
+        }
+        refreshAntecipados.increment();
+        try {
+            // O acesso já foi contado como acerto no L1
+            EntradaLocal atualizada = carregar(key, chave, valueLoader, false);
+            minha.complete(atualizada);
+            return atualizada;
+        } catch (RuntimeException e) {
+            minha.completeExceptionally(e);
+            logger.debug("[CACHE] Refresh antecipado de {}::{} falhou, mantendo o valor atual: {}",
+                    nome, chave, e.getMessage());
+            return null;
+        } finally {
+            emCarga.remove(chave, minha);
+        }
+    }
+
+    private EntradaLocal carregarUmaVez(Object key, String chave, Callable<?> valueLoader) {
+        CompletableFuture<EntradaLocal> minha = new CompletableFuture<>();
+        CompletableFuture<EntradaLocal> emAndamento = emCarga.putIfAbsent(chave, minha);
+        if (emAndamento != null) {
+            return aguardar(key, chave, emAndamento, valueLoader);
+        }
+        try {
+            // Outra carga pode ter terminado entre a consulta ao L1 e o registro desta
+            EntradaLocal existente = local.getIfPresent(chave);
+            if (existente != null) {
+                acertosLocais.increment();
+            }
+            EntradaLocal carregada = existente != null ? existente : carregar(key, chave, valueLoader, true);
+            minha.complete(carregada);
+            return carregada;
+        } catch (RuntimeException e) {
+            minha.completeExceptionally(e);
+            throw e;
+        } finally {
+            emCarga.remove(chave, minha);
+        }
+    }
+
+    private EntradaLocal aguardar(Object key, String chave, CompletableFuture<EntradaLocal> emAndamento,
+                                  Callable<?> valueLoader) {
+        try {
+            EntradaLocal entrada = emAndamento.get(opcoesCarga.timeoutEspera().toMillis(), TimeUnit.MILLISECONDS);
+            coalescidas.increment();
+            faltas.increment(); // Não estava no cache: só não precisou carregar de novo
+            return entrada;
+        } catch (TimeoutException e) {
+            // Carga lenta (ex: banco sob pressão): melhor carregar de novo do que falhar a requisição
+            timeoutsEspera.increment();
+            return carregar(key, chave, valueLoader, true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException falha) {
+                throw falha;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * L2 e, se não estiver lá, o {@code valueLoader}. O resultado só vai para o
+     * cache se nenhuma invalidação aconteceu durante a carga (senão poderia ser o
+     * valor anterior à escrita que a invalidou); quem pediu recebe o valor mesmo assim.
+     *
+     * @param contarAcesso {@code false} no refresh antecipado (o acesso já contou como acerto).
+     */
+    private EntradaLocal carregar(Object key, String chave, Callable<?> valueLoader, boolean contarAcesso) {
+        long geracaoInicial = geracao.get();
+        long inicio = System.nanoTime();
+        ValorRemoto remoto = gerenciador.buscarRemoto(chaveRemota(chave));
+        if (remoto != null) {
+            if (contarAcesso) {
+                acertosRemotos.increment();
+            }
+            EntradaLocal entrada = novaEntrada(key, remoto.valor(), System.nanoTime() - inicio, remoto.bytes());
+            if (geracao.get() == geracaoInicial) {
+                guardarLocal(chave, entrada);
+            }
+            return entrada;
+        }
+        if (contarAcesso) {
+            faltas.increment();
+        }
+        Object carregado;
+        long inicioCarga = System.nanoTime();
+        try {
+            carregado = toStoreValue(valueLoader.call());
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            tempoCarga.record(System.nanoTime() - inicioCarga, TimeUnit.NANOSECONDS);
+        }
+        long custoCarga = System.nanoTime() - inicio;
+        Set<String> tags = tags(key, carregado);
+        if (geracao.get() != geracaoInicial) {
+            return new EntradaLocal(carregado, tags, System.nanoTime() + ttlLocalNanos, custoCarga, 0);
+        }
+        // O tamanho vem da serialização feita para o L2 (sem serializar de novo para a métrica)
+        int bytes = gerenciador.gravarRemoto(nome, chave, carregado, tags);
+        EntradaLocal entrada = new EntradaLocal(carregado, tags, System.nanoTime() + ttlLocalNanos, custoCarga,
+                gerenciador.tamanhoEmBytes(carregado, bytes));
+        guardarLocal(chave, entrada);
+        return entrada;
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private String chaveRemota(String chave) {
+        return chaveRemota(nome, chave);
+    }
+
+    /** Chave no L2: "cache::chave" (o prefixo "cache::" é o que {@link #clear()} remove). */
+    static String chaveRemota(String cache, String chave) {
+        return cache + "::" + chave;
+    }
+
+    private EntradaLocal novaEntrada(Object key, Object armazenado, long custoCargaNanos, int bytesMedidos) {
+        return new EntradaLocal(armazenado, tags(key, armazenado), System.nanoTime() + ttlLocalNanos, custoCargaNanos,
+                gerenciador.tamanhoEmBytes(armazenado, bytesMedidos));
+    }
+
+    /** Grava no L1 somando o tamanho; a entrada substituída sai pelo {@link #aoRemoverLocal}. */
+    private void guardarLocal(String chave, EntradaLocal entrada) {
+        bytesLocal.add(entrada.bytes());
+        local.put(chave, entrada);
+    }
+
+    private void aoRemoverLocal(EntradaLocal entrada, RemovalCause causa) {
+        if (entrada != null) {
+            bytesLocal.add(-entrada.bytes());
+        }
+        switch (causa) {
+            case SIZE -> remocoesTamanho.increment();
+            case EXPIRED -> remocoesExpiracao.increment();
+            case EXPLICIT -> remocoesInvalidacao.increment();
+            default -> { } // REPLACED: a chave continua no cache com o valor novo
+        }
+    }
+
+    private Set<String> tags(Object key, Object armazenado) {
+        return gerenciador.tags(nome, key, fromStoreValue(armazenado));
+    }
+
+    /**
+     * Valor do L1 com as tags calculadas quando entrou no cache, o instante em que
+     * expira no L1, quanto custou obtê-lo (para o refresh antecipado) e o tamanho
+     * serializado (para a métrica de bytes).
+     */
+    public record EntradaLocal(Object valor, Set<String> tags, long expiraEmNanos, long custoCargaNanos, int bytes) {
+    }
+}
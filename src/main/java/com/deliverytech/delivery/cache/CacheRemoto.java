@@ -0,0 +1,52 @@
+package com.deliverytech.delivery.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Camada remota (L2) do cache em duas camadas, compartilhada entre os nós.
+ * <p>
+ * Em produção é o Redis ({@link CacheRemotoRedis}); nos testes, um substituto em
+ * memória. Qualquer falha de comunicação deve ser lançada como
+ * {@link RuntimeException}: o {@link GerenciadorCacheDoisNiveis} a trata como
+ * queda do remoto e passa a operar só com a camada local.
+ */
+public interface CacheRemoto {
+
+    /** Valor gravado na chave (e seu tamanho serializado), ou {@code null} se não existir. */
+    ValorRemoto buscar(String chave);
+
+    /**
+     * Grava o valor e o associa às tags, de forma atômica: uma invalidação das
+     * tags concorrente nunca deixa o valor gravado sem associação.
+     *
+     * @return Tamanho serializado gravado, em bytes (0 se o valor não foi gravado ou o tamanho é desconhecido).
+     */
+    int gravar(String chave, Object valor, Set<String> tags, Duration ttl);
+
+    void remover(String chave);
+
+    /** Remove todas as chaves que começam com o prefixo (ex: "produtos::"). */
+    void limpar(String prefixo);
+
+    /** Remove todas as chaves associadas a qualquer uma das tags (e as associações). */
+    void removerPorTags(Set<String> tags);
+
+    /** Avisa os outros nós para descartarem a cópia local. */
+    void publicar(MensagemInvalidacao mensagem);
+
+    /** Registra quem recebe as invalidações publicadas (inclusive as deste nó). */
+    void assinar(Consumer<MensagemInvalidacao> ouvinte);
+
+    /**
+     * Passa a receber as invalidações assinadas. Chamado sempre que o remoto
+     * responde ao ping (na criação do gerenciador e nas verificações); deve ser
+     * idempotente.
+     */
+    default void conectar() {
+    }
+
+    /** Lança exceção se o remoto não estiver acessível. */
+    void ping();
+}
@@ -0,0 +1,56 @@
+package com.deliverytech.delivery.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Remoto ausente ({@code app.cache.redis.habilitado=false}): o
+ * {@link GerenciadorCacheDoisNiveis} fica permanentemente só com a camada local.
+ */
+public class CacheRemotoDesligado implements CacheRemoto {
+
+    @Override
+    public ValorRemoto buscar(String chave) {
+        throw desligado();
+    }
+
+    @Override
+    public int gravar(String chave, Object valor, Set<String> tags, Duration ttl) {
+        throw desligado();
+    }
+
+    @Override
+    public void remover(String chave) {
+        throw desligado();
+    }
+
+    @Override
+    public void limpar(String prefixo) {
+        throw desligado();
+    }
+
+    @Override
+    public void removerPorTags(Set<String> tags) {
+        throw desligado();
+    }
+
+    @Override
+    public void publicar(MensagemInvalidacao mensagem) {
+        throw desligado();
+    }
+
+    @Override
+    public void assinar(Consumer<MensagemInvalidacao> ouvinte) {
+        // Sem outros nós para ouvir
+    }
+
+    @Override
+    public void ping() {
+        throw desligado();
+    }
+
+    private static IllegalStateException desligado() {
+        return new IllegalStateException("Cache remoto desligado (app.cache.redis.habilitado=false)");
+    }
+}
@@ -0,0 +1,215 @@
+package com.deliverytech.delivery.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheRemoto} no Redis.
+ * <p>
+ * As chaves seguem o formato do {@code RedisCacheManager} ("cache::chave") e os
+ * valores usam o serializador informado. As invalidações trafegam como texto no
+ * canal de pub/sub. O {@link RedisMessageListenerContainer} não sobe com o
+ * contexto (a aplicação precisa iniciar com o Redis fora do ar): é iniciado em
+ * {@link #conectar()} quando o Redis responde e, daí em diante, refaz a
+ * assinatura sozinho quando a conexão cai e volta.
+ * <p>
+ * Tags: cada tag é um SET ("cache-tags::tag") com as chaves associadas. Gravação
+ * e invalidação rodam em scripts Lua, atômicos no Redis, para que uma entrada
+ * nunca fique gravada sem estar no SET de suas tags.
+ */
+public class CacheRemotoRedis implements CacheRemoto {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRemotoRedis.class);
+
+    private static final int LOTE_REMOCAO = 500;
+    private static final String PREFIXO_TAG = "cache-tags::";
+
+    /** KEYS: valor e SETs das tags; ARGV: valor serializado e TTL (ms). */
+    private static final byte[] SCRIPT_GRAVAR_COM_TAGS = bytes("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            for i = 2, #KEYS do
+              redis.call('SADD', KEYS[i], KEYS[1])
+              redis.call('PEXPIRE', KEYS[i], ARGV[2])
+            end
+            return 1
+            """);
+
+    /** KEYS: SETs das tags. Remove as chaves associadas (em lotes, limite do unpack) e os SETs. */
+    private static final byte[] SCRIPT_REMOVER_POR_TAGS = bytes("""
+            local total = 0
+            for i = 1, #KEYS do
+              local chaves = redis.call('SMEMBERS', KEYS[i])
+              for j = 1, #chaves, 500 do
+                redis.call('DEL', unpack(chaves, j, math.min(j + 499, #chaves)))
+              end
+              total = total + #chaves
+              redis.call('DEL', KEYS[i])
+            end
+            return total
+            """);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisSerializer<Object> serializador;
+    private final byte[] canal;
+    private final String nomeCanal;
+
+    public CacheRemotoRedis(RedisConnectionFactory connectionFactory,
+                            RedisMessageListenerContainer listenerContainer,
+                            RedisSerializer<Object> serializador,
+                            String canal) {
+        this.connectionFactory = connectionFactory;
+        this.listenerContainer = listenerContainer;
+        this.serializador = serializador;
+        this.nomeCanal = canal;
+        this.canal = canal.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Entrada ilegível (ex: gravada por outra versão da aplicação) conta como
+     * ausente e é removida; não é queda do Redis.
+     */
+    @Override
+    public ValorRemoto buscar(String chave) {
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            byte[] valor = conexao.stringCommands().get(bytes(chave));
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return new ValorRemoto(serializador.deserialize(valor), valor.length);
+            } catch (SerializationException e) {
+                logger.warn("[CACHE] Entrada {} ilegível, descartada: {}", chave, e.getMessage());
+                conexao.keyCommands().del(bytes(chave));
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Valor que não pode ser serializado fica só na camada local de cada nó.
+     */
+    @Override
+    public int gravar(String chave, Object valor, Set<String> tags, Duration ttl) {
+        byte[] serializado;
+        try {
+            serializado = serializador.serialize(valor);
+        } catch (SerializationException e) {
+            logger.warn("[CACHE] Valor de {} não serializável, não vai para o Redis: {}", chave, e.getMessage());
+            return 0;
+        }
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            if (tags.isEmpty()) {
+                conexao.stringCommands().set(bytes(chave), serializado,
+                        Expiration.from(ttl), RedisStringCommands.SetOption.upsert());
+                return serializado.length;
+            }
+            byte[][] chavesEArgumentos = new byte[tags.size() + 3][];
+            chavesEArgumentos[0] = bytes(chave);
+            int i = 1;
+            for (String tag : tags) {
+                chavesEArgumentos[i++] = bytes(PREFIXO_TAG + tag);
+            }
+            chavesEArgumentos[i++] = serializado;
+            chavesEArgumentos[i] = bytes(Long.toString(ttl.toMillis()));
+            conexao.scriptingCommands().eval(SCRIPT_GRAVAR_COM_TAGS, ReturnType.INTEGER,
+                    tags.size() + 1, chavesEArgumentos);
+            return serializado.length;
+        }
+    }
+
+    @Override
+    public void remover(String chave) {
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            conexao.keyCommands().del(bytes(chave));
+        }
+    }
+
+    /**
+     * SCAN + DEL em lotes (KEYS bloquearia o Redis em bases grandes).
+     */
+    @Override
+    public void limpar(String prefixo) {
+        try (RedisConnection conexao = connectionFactory.getConnection();
+             Cursor<byte[]> cursor = conexao.keyCommands().scan(
+                     ScanOptions.scanOptions().match(prefixo + "*").count(LOTE_REMOCAO).build())) {
+            List<byte[]> lote = new ArrayList<>(LOTE_REMOCAO);
+            while (cursor.hasNext()) {
+                lote.add(cursor.next());
+                if (lote.size() == LOTE_REMOCAO) {
+                    conexao.keyCommands().del(lote.toArray(byte[][]::new));
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                conexao.keyCommands().del(lote.toArray(byte[][]::new));
+            }
+        }
+    }
+
+    @Override
+    public void removerPorTags(Set<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        byte[][] chaves = tags.stream().map(tag -> bytes(PREFIXO_TAG + tag)).toArray(byte[][]::new);
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            conexao.scriptingCommands().eval(SCRIPT_REMOVER_POR_TAGS, ReturnType.INTEGER, chaves.length, chaves);
+        }
+    }
+
+    @Override
+    public void publicar(MensagemInvalidacao mensagem) {
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            conexao.publish(canal, bytes(mensagem.codificar()));
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<MensagemInvalidacao> ouvinte) {
+        listenerContainer.addMessageListener((mensagem, padrao) -> {
+            try {
+                ouvinte.accept(MensagemInvalidacao.decodificar(
+                        new String(mensagem.getBody(), StandardCharsets.UTF_8)));
+            } catch (IllegalArgumentException e) {
+                logger.warn("[CACHE] {}", e.getMessage());
+            }
+        }, new ChannelTopic(nomeCanal));
+    }
+
+    @Override
+    public void conectar() {
+        if (!listenerContainer.isRunning()) {
+            listenerContainer.start();
+        }
+    }
+
+    @Override
+    public void ping() {
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            conexao.ping();
+        }
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
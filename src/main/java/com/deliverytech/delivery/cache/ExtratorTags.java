@@ -0,0 +1,25 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.Set;
+
+/**
+ * Define as tags de uma entrada do cache: identificadores dos dados de que ela
+ * depende (ex: "produto:7", "restaurante:2"). Uma invalidação por tag remove,
+ * em todos os caches e em todos os nós, só as entradas que carregam a tag.
+ * <p>
+ * Precisa ser determinística: cada nó recalcula as tags das entradas que lê do
+ * L2, a partir da chave e do valor.
+ */
+@FunctionalInterface
+public interface ExtratorTags {
+
+    /** Entradas sem tags (só saem por TTL, evict ou clear). */
+    ExtratorTags NENHUMA = (cache, chave, valor) -> Set.of();
+
+    /**
+     * @param cache Nome do cache (ex: "produtosPorRestaurante").
+     * @param chave Chave original da entrada (antes de virar texto).
+     * @param valor Valor da entrada ({@code null} para resultado nulo).
+     */
+    Set<String> tags(String cache, Object chave, Object valor);
+}
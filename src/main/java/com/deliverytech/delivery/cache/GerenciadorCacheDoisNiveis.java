@@ -0,0 +1,388 @@
+package com.deliverytech.delivery.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link CacheManager} em duas camadas: L1 local por nó e L2 remoto compartilhado.
+ * <p>
+ * Coerência entre os nós: toda escrita/remoção publica uma
+ * {@link MensagemInvalidacao}; os outros nós descartam a cópia local e voltam a
+ * ler do L2. O TTL do L1 limita o tempo que um nó pode servir um valor velho
+ * caso uma invalidação se perca.
+ * <p>
+ * Invalidação por tags ({@link #invalidarTags(Collection)}): remove, em todos os
+ * caches, as entradas cujas tags ({@link ExtratorTags}) incluem alguma das
+ * informadas: no L2 pelas associações tag → chaves e, em cada nó, percorrendo o L1.
+ * <p>
+ * Degradação: a primeira falha do remoto tira o L2 de uso (operação só com L1,
+ * sem esperar timeouts a cada chamada). As remoções, limpezas, invalidações por
+ * tags e gravações que não chegaram ao L2 nesse período ficam em
+ * {@link InvalidacoesPendentes}. {@link #verificarRemoto()} é chamado
+ * periodicamente; quando o remoto responde de novo, as pendências são
+ * reaplicadas no L2 e publicadas aos outros nós, o L1 de todos os caches é limpo
+ * (as invalidações publicadas pelos outros nós foram perdidas) e o L2 volta a ser usado.
+ * <p>
+ * Métricas de eficácia por cache: ver {@link CacheDoisNiveis}. O tamanho em bytes
+ * vem do próprio remoto (o valor já serializado na gravação ou na leitura); o
+ * estimador informado só é usado quando o remoto não mediu (ex: Redis fora do ar).
+ */
+public class GerenciadorCacheDoisNiveis implements CacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(GerenciadorCacheDoisNiveis.class);
+
+    /** Chaves pendentes por cache acima das quais o cache inteiro é limpo no remoto. */
+    private static final int MAXIMO_CHAVES_PENDENTES = 1_000;
+
+    private final CacheRemoto remoto;
+    private final long maximoEntradasLocal;
+    private final Duration ttlLocal;
+    private final Duration ttlRemoto;
+    private final ExtratorTags extratorTags;
+    private final OpcoesCarga opcoesCarga;
+    private final ToIntFunction<Object> estimadorBytes;
+    private final MeterRegistry meterRegistry;
+    private final String origem = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, CacheDoisNiveis> caches = new ConcurrentHashMap<>();
+    private final InvalidacoesPendentes pendentes = new InvalidacoesPendentes(MAXIMO_CHAVES_PENDENTES);
+
+    private final Counter degradacoes;
+    private final Counter recuperacoes;
+    private final Counter invalidacoesRecebidas;
+    private final Counter invalidacoesPorTags;
+    private final Counter entradasRemovidasPorTags;
+    private final Counter invalidacoesReaplicadas;
+
+    private final AtomicBoolean remotoDisponivel = new AtomicBoolean();
+
+    public GerenciadorCacheDoisNiveis(CacheRemoto remoto, long maximoEntradasLocal, Duration ttlLocal,
+                                      Duration ttlRemoto, MeterRegistry meterRegistry) {
+        this(remoto, maximoEntradasLocal, ttlLocal, ttlRemoto, ExtratorTags.NENHUMA, OpcoesCarga.PADRAO, meterRegistry);
+    }
+
+    public GerenciadorCacheDoisNiveis(CacheRemoto remoto, long maximoEntradasLocal, Duration ttlLocal,
+                                      Duration ttlRemoto, ExtratorTags extratorTags, OpcoesCarga opcoesCarga,
+                                      MeterRegistry meterRegistry) {
+        this(remoto, maximoEntradasLocal, ttlLocal, ttlRemoto, extratorTags, opcoesCarga, valor -> 0, meterRegistry);
+    }
+
+    /**
+     * @param maximoEntradasLocal Limite de entradas do L1, por cache.
+     * @param ttlLocal            Expiração do L1 (limita valores velhos entre nós).
+     * @param ttlRemoto           Expiração das entradas no L2.
+     * @param extratorTags        Tags de cada entrada (para a invalidação por tags).
+     * @param opcoesCarga         Espera pela carga em andamento e refresh antecipado.
+     * @param estimadorBytes      Tamanho serializado de um valor quando o remoto não mediu (métrica de bytes por cache).
+     */
+    public GerenciadorCacheDoisNiveis(CacheRemoto remoto, long maximoEntradasLocal, Duration ttlLocal,
+                                      Duration ttlRemoto, ExtratorTags extratorTags, OpcoesCarga opcoesCarga,
+                                      ToIntFunction<Object> estimadorBytes, MeterRegistry meterRegistry) {
+        this.remoto = remoto;
+        this.maximoEntradasLocal = maximoEntradasLocal;
+        this.ttlLocal = ttlLocal;
+        this.ttlRemoto = ttlRemoto;
+        this.extratorTags = extratorTags;
+        this.opcoesCarga = opcoesCarga;
+        this.estimadorBytes = estimadorBytes;
+        this.meterRegistry = meterRegistry;
+
+        this.degradacoes = Counter.builder("delivery.cache.remoto.degradacoes")
+                .description("Vezes em que o cache passou a operar só com a camada local")
+                .register(meterRegistry);
+        this.recuperacoes = Counter.builder("delivery.cache.remoto.recuperacoes")
+                .description("Vezes em que a camada remota voltou a ser usada")
+                .register(meterRegistry);
+        this.invalidacoesRecebidas = Counter.builder("delivery.cache.invalidacoes.recebidas")
+                .description("Invalidações de outros nós aplicadas na camada local")
+                .register(meterRegistry);
+        this.invalidacoesPorTags = Counter.builder("delivery.cache.invalidacoes.tags")
+                .description("Invalidações por tags disparadas por escritas neste nó")
+                .register(meterRegistry);
+        this.entradasRemovidasPorTags = Counter.builder("delivery.cache.tags.entradas.removidas")
+                .description("Entradas da camada local removidas por invalidação de tags")
+                .register(meterRegistry);
+        this.invalidacoesReaplicadas = Counter.builder("delivery.cache.invalidacoes.reaplicadas")
+                .description("Lotes de invalidações feitas com o remoto fora do ar e reaplicadas na volta dele")
+                .register(meterRegistry);
+        Gauge.builder("delivery.cache.remoto.disponivel", this, g -> g.remotoDisponivel.get() ? 1 : 0)
+                .description("1 enquanto a camada remota (Redis) está em uso")
+                .register(meterRegistry);
+
+        remoto.assinar(this::receberInvalidacao);
+        remotoDisponivel.set(remotoResponde());
+        if (remotoDisponivel.get()) {
+            logger.info("✅ Cache em duas camadas: L1 local + L2 remoto (Redis).");
+        } else {
+            logger.warn("⚠️ Redis não disponível. Cache operando só com a camada local até o Redis voltar.");
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, n -> new CacheDoisNiveis(n, maximoEntradasLocal, ttlLocal, opcoesCarga, this));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Set.copyOf(caches.keySet());
+    }
+
+    public boolean isRemotoDisponivel() {
+        return remotoDisponivel.get();
+    }
+
+    /**
+     * Remove, de todos os caches e em todos os nós, as entradas com alguma das tags.
+     */
+    public void invalidarTags(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        Set<String> invalidadas = Set.copyOf(tags);
+        invalidacoesPorTags.increment();
+        boolean removidas = executarNoRemoto(() -> remoto.removerPorTags(invalidadas));
+        removerLocalPorTags(invalidadas);
+        boolean publicadas = executarNoRemoto(() -> remoto.publicar(MensagemInvalidacao.porTags(origem, invalidadas)));
+        if (!removidas || !publicadas) {
+            registrarPendente(() -> pendentes.tags(invalidadas));
+        }
+    }
+
+    /**
+     * Verificação periódica do remoto: degrada se caiu, recupera se voltou.
+     */
+    public void verificarRemoto() {
+        boolean responde = remotoResponde();
+        if (responde && !remotoDisponivel.get()) {
+            // As invalidações deste nó durante a queda vão primeiro: até aqui o L2
+            // ainda tem os valores anteriores a elas
+            if (!reaplicarPendentes()) {
+                return;
+            }
+            // Invalidações publicadas pelos outros nós enquanto estávamos fora foram perdidas
+            caches.values().forEach(CacheDoisNiveis::limparLocal);
+            remotoDisponivel.set(true);
+            // Registradas enquanto o primeiro lote era reaplicado
+            reaplicarPendentes();
+            recuperacoes.increment();
+            logger.info("[CACHE] Redis voltou: invalidações pendentes reaplicadas, camada local limpa e L2 reativado");
+        } else if (!responde) {
+            degradar(null);
+        }
+    }
+
+    // ==========================================================
+    // --- ACESSO AO REMOTO (usado pelo CacheDoisNiveis) ---
+    // ==========================================================
+
+    ValorRemoto buscarRemoto(String chave) {
+        return noRemoto(() -> remoto.buscar(chave), null);
+    }
+
+    /** @return Bytes gravados no remoto (0 se indisponível ou desconhecido). */
+    int gravarRemoto(String cache, String chave, Object valor, Set<String> tags) {
+        Integer bytes = noRemoto(() -> remoto.gravar(CacheDoisNiveis.chaveRemota(cache, chave), valor, tags, ttlRemoto),
+                null);
+        if (bytes == null) {
+            // O L2 continua com o valor anterior à gravação (se havia um)
+            registrarPendente(() -> pendentes.chave(cache, chave));
+            return 0;
+        }
+        return bytes;
+    }
+
+    void removerRemoto(String cache, String chave) {
+        if (!executarNoRemoto(() -> remoto.remover(CacheDoisNiveis.chaveRemota(cache, chave)))) {
+            registrarPendente(() -> pendentes.chave(cache, chave));
+        }
+    }
+
+    void limparRemoto(String cache) {
+        if (!executarNoRemoto(() -> remoto.limpar(cache + "::"))) {
+            registrarPendente(() -> pendentes.limpar(cache));
+        }
+    }
+
+    /** Aviso aos outros nós; {@code chave} nula quando o cache inteiro foi limpo. */
+    void publicar(String cache, String chave) {
+        if (!executarNoRemoto(() -> remoto.publicar(new MensagemInvalidacao(origem, cache, chave)))) {
+            registrarPendente(() -> {
+                if (chave == null) {
+                    pendentes.limpar(cache);
+                } else {
+                    pendentes.chave(cache, chave);
+                }
+            });
+        }
+    }
+
+    Set<String> tags(String cache, Object chave, Object valor) {
+        return Set.copyOf(extratorTags.tags(cache, chave, valor));
+    }
+
+    Counter contador(String nome, String descricao, String cache, String... tags) {
+        return Counter.builder(nome)
+                .description(descricao)
+                .tag("cache", cache)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    Timer timer(String nome, String descricao, String cache) {
+        return Timer.builder(nome)
+                .description(descricao)
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    <T> void medidor(String nome, String descricao, String cache, T objeto, ToDoubleFunction<T> valor) {
+        Gauge.builder(nome, objeto, valor)
+                .description(descricao)
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tamanho serializado do valor: o medido pelo remoto ({@code medido > 0}) ou,
+     * sem ele, o do estimador; 0 se o estimador não souber medir.
+     */
+    int tamanhoEmBytes(Object valor, int medido) {
+        if (medido > 0) {
+            return medido;
+        }
+        try {
+            return Math.max(0, estimadorBytes.applyAsInt(valor));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void receberInvalidacao(MensagemInvalidacao mensagem) {
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+        if (mensagem.porTags()) {
+            invalidacoesRecebidas.increment();
+            removerLocalPorTags(mensagem.tags());
+            return;
+        }
+        CacheDoisNiveis cache = caches.get(mensagem.cache());
+        if (cache == null) {
+            return;
+        }
+        invalidacoesRecebidas.increment();
+        if (mensagem.limpaTudo()) {
+            cache.limparLocal();
+        } else {
+            cache.removerLocal(mensagem.chave());
+        }
+    }
+
+    private void removerLocalPorTags(Set<String> tags) {
+        for (CacheDoisNiveis cache : caches.values()) {
+            entradasRemovidasPorTags.increment(cache.removerLocalPorTags(tags));
+        }
+    }
+
+    private <T> T noRemoto(Supplier<T> operacao, T seIndisponivel) {
+        if (!remotoDisponivel.get()) {
+            return seIndisponivel;
+        }
+        try {
+            return operacao.get();
+        } catch (RuntimeException e) {
+            degradar(e);
+            return seIndisponivel;
+        }
+    }
+
+    /** @return {@code false} se o remoto está fora do ar ou falhou (a operação não aconteceu). */
+    private boolean executarNoRemoto(Runnable operacao) {
+        return noRemoto(() -> {
+            operacao.run();
+            return true;
+        }, false);
+    }
+
+    private void registrarPendente(Runnable registro) {
+        registro.run();
+        if (remotoDisponivel.get()) {
+            // O remoto voltou entre a falha e o registro: não espera pela próxima recuperação
+            reaplicarPendentes();
+        }
+    }
+
+    /**
+     * Remove do L2 e publica aos outros nós as invalidações pendentes, direto no
+     * remoto (vale também com o L2 ainda fora de uso, durante a recuperação).
+     *
+     * @return {@code false} se o remoto falhou no meio; o lote volta para as pendências
+     */
+    private boolean reaplicarPendentes() {
+        InvalidacoesPendentes.Lote lote = pendentes.drenar();
+        if (lote.vazio()) {
+            return true;
+        }
+        try {
+            for (String cache : lote.cachesLimpos()) {
+                remoto.limpar(cache + "::");
+                remoto.publicar(new MensagemInvalidacao(origem, cache, null));
+            }
+            lote.chavesPorCache().forEach((cache, chaves) -> chaves.forEach(chave -> {
+                remoto.remover(CacheDoisNiveis.chaveRemota(cache, chave));
+                remoto.publicar(new MensagemInvalidacao(origem, cache, chave));
+            }));
+            if (!lote.tags().isEmpty()) {
+                remoto.removerPorTags(lote.tags());
+                remoto.publicar(MensagemInvalidacao.porTags(origem, lote.tags()));
+            }
+        } catch (RuntimeException e) {
+            pendentes.devolver(lote);
+            degradar(e);
+            return false;
+        }
+        invalidacoesReaplicadas.increment();
+        return true;
+    }
+
+    private void degradar(RuntimeException erro) {
+        if (!remotoDisponivel.compareAndSet(true, false)) {
+            return; // Já degradado (várias threads podem falhar ao mesmo tempo)
+        }
+        degradacoes.increment();
+        logger.warn("[CACHE] Redis indisponível ({}): operando só com a camada local",
+                erro != null ? erro.getMessage() : "sem resposta ao ping");
+    }
+
+    /** Ping e, se respondeu, garante a assinatura do canal de invalidação. */
+    private boolean remotoResponde() {
+        try {
+            remoto.ping();
+            remoto.conectar();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
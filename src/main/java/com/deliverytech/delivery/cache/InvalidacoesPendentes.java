@@ -0,0 +1,72 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Invalidações que não chegaram ao remoto enquanto ele estava fora do ar (ou
+ * cuja falha o derrubou). Sem elas, o valor gravado no L2 antes da queda volta a
+ * ser lido quando o remoto retorna, até expirar pelo TTL do L2.
+ * <p>
+ * Por cache, guarda as chaves removidas ou gravadas só no L1; acima de
+ * {@code maximoChavesPorCache} chaves, o cache passa a ser limpo inteiro. As
+ * tags invalidadas ficam à parte. Reaplicar é idempotente: um lote que falhou
+ * no meio pode voltar inteiro ({@link #devolver(Lote)}).
+ */
+final class InvalidacoesPendentes {
+
+    /** Pendências retiradas de uma vez para reaplicar no remoto. */
+    record Lote(Set<String> cachesLimpos, Map<String, Set<String>> chavesPorCache, Set<String> tags) {
+
+        boolean vazio() {
+            return cachesLimpos.isEmpty() && chavesPorCache.isEmpty() && tags.isEmpty();
+        }
+    }
+
+    private final int maximoChavesPorCache;
+    private final Set<String> cachesLimpos = new HashSet<>();
+    private final Map<String, Set<String>> chavesPorCache = new HashMap<>();
+    private final Set<String> tags = new HashSet<>();
+
+    InvalidacoesPendentes(int maximoChavesPorCache) {
+        this.maximoChavesPorCache = maximoChavesPorCache;
+    }
+
+    synchronized void chave(String cache, String chave) {
+        if (cachesLimpos.contains(cache)) {
+            return;
+        }
+        Set<String> chaves = chavesPorCache.computeIfAbsent(cache, c -> new HashSet<>());
+        chaves.add(chave);
+        if (chaves.size() > maximoChavesPorCache) {
+            limpar(cache);
+        }
+    }
+
+    synchronized void limpar(String cache) {
+        chavesPorCache.remove(cache);
+        cachesLimpos.add(cache);
+    }
+
+    synchronized void tags(Set<String> invalidadas) {
+        tags.addAll(invalidadas);
+    }
+
+    /** Retira e devolve todas as pendências. */
+    synchronized Lote drenar() {
+        Lote lote = new Lote(Set.copyOf(cachesLimpos), Map.copyOf(chavesPorCache), Set.copyOf(tags));
+        cachesLimpos.clear();
+        chavesPorCache.clear();
+        tags.clear();
+        return lote;
+    }
+
+    /** Devolve um lote que não pôde ser reaplicado (o remoto caiu de novo). */
+    synchronized void devolver(Lote lote) {
+        lote.cachesLimpos().forEach(this::limpar);
+        lote.chavesPorCache().forEach((cache, chaves) -> chaves.forEach(chave -> chave(cache, chave)));
+        tags(lote.tags());
+    }
+}
@@ -0,0 +1,65 @@
+package com.deliverytech.delivery.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Ponto de entrada dos serviços para a invalidação por tags.
+ * <p>
+ * Dentro de uma transação, a invalidação roda só depois do commit: antes dele,
+ * uma leitura concorrente ainda veria (e voltaria a guardar no cache) os dados
+ * antigos. Em rollback nada é invalidado.
+ */
+@Component
+public class InvalidadorCachePorTags {
+
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    public InvalidadorCachePorTags(ObjectProvider<CacheManager> cacheManagerProvider) {
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
+
+    /** Tags nulas são ignoradas (ex: produto sem categoria). */
+    public void invalidar(String... tags) {
+        invalidar(Arrays.asList(tags));
+    }
+
+    public void invalidar(Collection<String> tags) {
+        Set<String> invalidadas = Set.copyOf(tags.stream().filter(Objects::nonNull).toList());
+        if (invalidadas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidarAgora(invalidadas);
+                }
+            });
+        } else {
+            invalidarAgora(invalidadas);
+        }
+    }
+
+    private void invalidarAgora(Set<String> tags) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        if (cacheManager instanceof GerenciadorCacheDoisNiveis gerenciador) {
+            gerenciador.invalidarTags(tags);
+        } else if (cacheManager != null) {
+            // CacheManager sem suporte a tags (ex: sobrescrito em testes): limpar é o seguro
+            cacheManager.getCacheNames().stream()
+                    .map(cacheManager::getCache)
+                    .filter(Objects::nonNull)
+                    .forEach(Cache::clear);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidação publicada no canal do Redis quando um nó altera o cache.
+ *
+ * @param origem Identificador do nó que publicou (o próprio nó ignora a mensagem).
+ * @param cache  Nome do cache (ex: "produtos"); vazio na invalidação por tags.
+ * @param chave  Chave invalidada, ou {@code null} quando o cache inteiro foi limpo.
+ * @param tags   Tags invalidadas em todos os caches (vazio nas invalidações por chave).
+ */
+public record MensagemInvalidacao(String origem, String cache, String chave, Set<String> tags) {
+
+    private static final char SEPARADOR = '\u001F';
+    private static final String SEPARADOR_TAGS = "\u001E";
+
+    public MensagemInvalidacao {
+        tags = tags == null ? Set.of() : Set.copyOf(tags);
+    }
+
+    public MensagemInvalidacao(String origem, String cache, String chave) {
+        this(origem, cache, chave, Set.of());
+    }
+
+    public static MensagemInvalidacao porTags(String origem, Set<String> tags) {
+        return new MensagemInvalidacao(origem, "", null, tags);
+    }
+
+    public boolean porTags() {
+        return !tags.isEmpty();
+    }
+
+    public boolean limpaTudo() {
+        return chave == null && tags.isEmpty();
+    }
+
+    /** Formato do canal: origem, cache e "C" (limpar), "E"+chave (remover) ou "T"+tags. */
+    public String codificar() {
+        String operacao;
+        if (porTags()) {
+            operacao = "T" + String.join(SEPARADOR_TAGS, tags);
+        } else {
+            operacao = chave == null ? "C" : "E" + chave;
+        }
+        return origem + SEPARADOR + cache + SEPARADOR + operacao;
+    }
+
+    public static MensagemInvalidacao decodificar(String texto) {
+        int primeiro = texto.indexOf(SEPARADOR);
+        int segundo = texto.indexOf(SEPARADOR, primeiro + 1);
+        if (primeiro < 0 || segundo < 0 || segundo + 1 >= texto.length()) {
+            throw new IllegalArgumentException("Mensagem de invalidação inválida: " + texto);
+        }
+        String origem = texto.substring(0, primeiro);
+        String cache = texto.substring(primeiro + 1, segundo);
+        char operacao = texto.charAt(segundo + 1);
+        if (operacao == 'T') {
+            Set<String> tags = Arrays.stream(texto.substring(segundo + 2).split(SEPARADOR_TAGS))
+                    .filter(tag -> !tag.isEmpty())
+                    .collect(Collectors.toSet());
+            if (tags.isEmpty()) {
+                throw new IllegalArgumentException("Invalidação por tags sem tags: " + texto);
+            }
+            return porTags(origem, tags);
+        }
+        String chave = operacao == 'C' ? null : texto.substring(segundo + 2);
+        return new MensagemInvalidacao(origem, cache, chave);
+    }
+}
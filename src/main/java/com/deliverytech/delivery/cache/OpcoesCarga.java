@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.cache;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros da carga dos caches em duas camadas.
+ *
+ * @param timeoutEspera          Quanto uma chamada espera pela carga em andamento da
+ *                               mesma chave antes de carregar por conta própria.
+ * @param betaRefreshAntecipado  Agressividade do refresh antecipado (1 = padrão do
+ *                               algoritmo; maior antecipa mais; 0 desliga).
+ */
+public record OpcoesCarga(Duration timeoutEspera, double betaRefreshAntecipado) {
+
+    public static final OpcoesCarga PADRAO = new OpcoesCarga(Duration.ofSeconds(2), 1.0);
+}
@@ -0,0 +1,105 @@
+package com.deliverytech.delivery.cache;
+
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tags das entradas dos caches do catálogo de produtos.
+ * <ul>
+ * <li>{@code produto:<id>}: de cada produto contido no valor (produto, lista ou
+ * página);</li>
+ * <li>{@code lista-restaurante:<id>}: pela chave de "produtosPorRestaurante" (a
+ * lista pode estar vazia e ganhar um produto novo). É o escopo das listagens do
+ * restaurante, não dos seus produtos: uma lista de categoria ou uma busca que
+ * contém um produto do restaurante não recebe essa tag;</li>
+ * <li>{@code categoria:<nome>}: pela chave de "produtosPorCategoria";</li>
+ * <li>páginas de "produtos": {@code lista-restaurante:<id>} e/ou {@code categoria:<nome>}
+ * conforme o {@link FiltroProdutoDTO} da chave (todas as páginas da listagem, não
+ * só as que já contêm o produto);</li>
+ * <li>{@link #LISTAGEM}: listas cujo conteúdo não se limita a um restaurante ou
+ * categoria (busca por nome e páginas sem esses filtros).</li>
+ * </ul>
+ * As escritas do {@code ProdutoServiceImpl} invalidam as tags dos dados que mudaram.
+ */
+@Component
+public class TagsCatalogo implements ExtratorTags {
+
+    public static final String LISTAGEM = "produtos:listagem";
+
+    public static String produto(Long id) {
+        return id == null ? null : "produto:" + id;
+    }
+
+    /** Listagens de um restaurante (não as entradas que apenas contêm produtos dele). */
+    public static String listaRestaurante(Long id) {
+        return id == null ? null : "lista-restaurante:" + id;
+    }
+
+    public static String categoria(String categoria) {
+        return categoria == null ? null : "categoria:" + categoria;
+    }
+
+    @Override
+    public Set<String> tags(String cache, Object chave, Object valor) {
+        Set<String> tags = new HashSet<>();
+        adicionarProdutos(valor, tags);
+        switch (cache) {
+            case "produtosPorRestaurante" -> {
+                if (chave instanceof List<?> partes && !partes.isEmpty() && partes.get(0) instanceof Long restauranteId) {
+                    tags.add(listaRestaurante(restauranteId));
+                }
+            }
+            case "produtosPorCategoria" -> {
+                if (chave instanceof String nomeCategoria) {
+                    tags.add(categoria(nomeCategoria));
+                }
+            }
+            case "produtosPorNome" -> tags.add(LISTAGEM);
+            case "produtos" -> {
+                if (valor instanceof Page<?>) {
+                    adicionarFiltros(chave, tags);
+                }
+            }
+            default -> {
+                // Outros caches: só as tags dos produtos contidos
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Chave das páginas: {@code [página, tamanho, ordenação, filtro]}.
+     */
+    private static void adicionarFiltros(Object chave, Set<String> tags) {
+        FiltroProdutoDTO filtro = chave instanceof List<?> partes && !partes.isEmpty()
+                && partes.get(partes.size() - 1) instanceof FiltroProdutoDTO f ? f : null;
+        if (filtro == null || (filtro.restauranteId() == null && filtro.categoria() == null)) {
+            tags.add(LISTAGEM);
+            return;
+        }
+        if (filtro.restauranteId() != null) {
+            tags.add(listaRestaurante(filtro.restauranteId()));
+        }
+        if (filtro.categoria() != null) {
+            tags.add(categoria(filtro.categoria()));
+        }
+    }
+
+    private static void adicionarProdutos(Object valor, Set<String> tags) {
+        if (valor instanceof ProdutoResponseDTO produto) {
+            if (produto.getId() != null) {
+                tags.add(produto(produto.getId()));
+            }
+        } else if (valor instanceof Iterable<?> itens) { // List e Page
+            for (Object item : itens) {
+                adicionarProdutos(item, tags);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.cache;
+
+/**
+ * Valor lido da camada remota e o tamanho em que estava serializado (0 se
+ * desconhecido). O tamanho alimenta a métrica de bytes da camada local sem
+ * serializar o valor de novo.
+ */
+public record ValorRemoto(Object valor, int bytes) {
+}
@@ -0,0 +1,302 @@
+package com.deliverytech.delivery.cache.codec;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec binário compacto dos valores do cache remoto.
+ * <p>
+ * Formato: {@code [0xDC][versão do formato][flags][corpo]}. Com a flag LZ4, o
+ * corpo é {@code [tamanho original (varint)][bloco LZ4]}; a compressão só é
+ * usada acima do limite configurado e quando de fato reduz o tamanho.
+ * <p>
+ * O corpo é um valor com marcador de tipo: nulo, textos, números, listas,
+ * páginas ({@link Page}) e objetos com {@link EsquemaValor} registrado, que
+ * levam id e versão do esquema. Valores {@link Serializable} sem esquema caem na
+ * serialização Java (marcada como tal). Qualquer divergência de formato ou de
+ * versão vira {@link FormatoInvalidoException}: a entrada é tratada como ausente.
+ */
+public class CodecCacheCompacto implements RedisSerializer<Object> {
+
+    static final int MAGICO = 0xDC;
+    static final int VERSAO_FORMATO = 1;
+    private static final int FLAG_LZ4 = 1;
+
+    private static final int TAG_NULO = 0;
+    private static final int TAG_NULL_VALUE = 1;
+    private static final int TAG_TEXTO = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_INT = 4;
+    private static final int TAG_BOOLEAN = 5;
+    private static final int TAG_DECIMAL = 6;
+    private static final int TAG_LISTA = 7;
+    private static final int TAG_PAGINA = 8;
+    private static final int TAG_OBJETO = 9;
+    private static final int TAG_JAVA = 10;
+
+    private final Map<Class<?>, EsquemaValor<?>> esquemasPorTipo = new HashMap<>();
+    private final Map<Integer, EsquemaValor<?>> esquemasPorId = new HashMap<>();
+    private final int limiteCompressao;
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor descompressor;
+
+    /**
+     * @param esquemas         Layouts dos tipos conhecidos.
+     * @param limiteCompressao Tamanho (bytes) a partir do qual o corpo é comprimido; 0 desliga.
+     */
+    public CodecCacheCompacto(List<EsquemaValor<?>> esquemas, int limiteCompressao) {
+        for (EsquemaValor<?> esquema : esquemas) {
+            if (esquemasPorId.putIfAbsent(esquema.id(), esquema) != null) {
+                throw new IllegalArgumentException("Id de esquema repetido: " + esquema.id());
+            }
+            esquemasPorTipo.put(esquema.tipo(), esquema);
+        }
+        this.limiteCompressao = limiteCompressao;
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        // Descompressor "safe": valida o bloco em vez de confiar no tamanho declarado
+        this.descompressor = lz4.safeDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object valor) {
+        EscritorBinario corpo = new EscritorBinario(256);
+        escreverValor(valor, corpo);
+
+        EscritorBinario saida = new EscritorBinario(corpo.tamanho() + 16);
+        saida.escreverByte(MAGICO);
+        saida.escreverByte(VERSAO_FORMATO);
+        if (limiteCompressao > 0 && corpo.tamanho() >= limiteCompressao) {
+            byte[] comprimido = new byte[compressor.maxCompressedLength(corpo.tamanho())];
+            int tamanhoComprimido = compressor.compress(corpo.bufferInterno(), 0, corpo.tamanho(), comprimido, 0);
+            if (tamanhoComprimido < corpo.tamanho()) {
+                saida.escreverByte(FLAG_LZ4);
+                saida.escreverVarint(corpo.tamanho());
+                saida.escreverBytesCrus(comprimido, 0, tamanhoComprimido);
+                return saida.toByteArray();
+            }
+        }
+        saida.escreverByte(0);
+        saida.escreverBytesCrus(corpo.bufferInterno(), 0, corpo.tamanho());
+        return saida.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        LeitorBinario cabecalho = new LeitorBinario(bytes);
+        if (cabecalho.lerByte() != MAGICO) {
+            throw new FormatoInvalidoException("Valor não está no formato compacto");
+        }
+        int versaoFormato = cabecalho.lerByte();
+        if (versaoFormato != VERSAO_FORMATO) {
+            throw new FormatoInvalidoException("Versão do formato " + versaoFormato + " (esperada " + VERSAO_FORMATO + ")");
+        }
+        int flags = cabecalho.lerByte();
+        try {
+            LeitorBinario corpo = cabecalho;
+            if ((flags & FLAG_LZ4) != 0) {
+                corpo = new LeitorBinario(descomprimir(bytes, cabecalho));
+            }
+            Object valor = lerValor(corpo);
+            if (corpo.temMais()) {
+                throw new FormatoInvalidoException("Bytes sobrando após o valor");
+            }
+            return valor;
+        } catch (FormatoInvalidoException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Ex: número fora da faixa num payload corrompido; nunca deve parecer queda do Redis
+            throw new FormatoInvalidoException("Valor corrompido: " + e.getMessage(), e);
+        }
+    }
+
+    // ==========================================================
+    // --- VALORES (usados também pelos esquemas para campos aninhados) ---
+    // ==========================================================
+
+    @SuppressWarnings("unchecked")
+    public void escreverValor(Object valor, EscritorBinario saida) {
+        EsquemaValor<Object> esquema = valor != null ? (EsquemaValor<Object>) esquemasPorTipo.get(valor.getClass()) : null;
+        if (valor == null) {
+            saida.escreverByte(TAG_NULO);
+        } else if (valor instanceof NullValue) {
+            saida.escreverByte(TAG_NULL_VALUE);
+        } else if (valor instanceof String texto) {
+            saida.escreverByte(TAG_TEXTO);
+            saida.escreverTexto(texto);
+        } else if (valor instanceof Long numero) {
+            saida.escreverByte(TAG_LONG);
+            saida.escreverLong(numero);
+        } else if (valor instanceof Integer numero) {
+            saida.escreverByte(TAG_INT);
+            saida.escreverLong(numero);
+        } else if (valor instanceof Boolean booleano) {
+            saida.escreverByte(TAG_BOOLEAN);
+            saida.escreverBoolean(booleano);
+        } else if (valor instanceof BigDecimal decimal) {
+            saida.escreverByte(TAG_DECIMAL);
+            saida.escreverDecimalOpcional(decimal);
+        } else if (valor instanceof List<?> lista) {
+            saida.escreverByte(TAG_LISTA);
+            escreverLista(lista, saida);
+        } else if (valor instanceof Page<?> pagina) {
+            saida.escreverByte(TAG_PAGINA);
+            escreverPagina(pagina, saida);
+        } else if (esquema != null) {
+            saida.escreverByte(TAG_OBJETO);
+            saida.escreverVarint(esquema.id());
+            saida.escreverVarint(esquema.versao());
+            esquema.gravar(valor, saida, this);
+        } else if (valor instanceof Serializable) {
+            saida.escreverByte(TAG_JAVA);
+            saida.escreverBytes(serializarJava(valor));
+        } else {
+            throw new SerializationException("Tipo sem esquema e não serializável: " + valor.getClass().getName());
+        }
+    }
+
+    public Object lerValor(LeitorBinario entrada) {
+        int tag = entrada.lerByte();
+        return switch (tag) {
+            case TAG_NULO -> null;
+            case TAG_NULL_VALUE -> NullValue.INSTANCE;
+            case TAG_TEXTO -> entrada.lerTexto();
+            case TAG_LONG -> entrada.lerLong();
+            case TAG_INT -> entrada.lerInt();
+            case TAG_BOOLEAN -> entrada.lerBoolean();
+            case TAG_DECIMAL -> entrada.lerDecimalOpcional();
+            case TAG_LISTA -> lerLista(entrada);
+            case TAG_PAGINA -> lerPagina(entrada);
+            case TAG_OBJETO -> lerObjeto(entrada);
+            case TAG_JAVA -> desserializarJava(entrada.lerBytes());
+            default -> throw new FormatoInvalidoException("Marcador de tipo desconhecido: " + tag);
+        };
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void escreverLista(List<?> lista, EscritorBinario saida) {
+        saida.escreverVarint(lista.size());
+        for (Object item : lista) {
+            escreverValor(item, saida);
+        }
+    }
+
+    private List<Object> lerLista(LeitorBinario entrada) {
+        int tamanho = entrada.lerTamanho();
+        List<Object> lista = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            lista.add(lerValor(entrada));
+        }
+        return lista;
+    }
+
+    /** Página: número, tamanho (0 = sem paginação), total, ordenação e conteúdo. */
+    private void escreverPagina(Page<?> pagina, EscritorBinario saida) {
+        Pageable pageable = pagina.getPageable();
+        saida.escreverVarint(pageable.isPaged() ? pageable.getPageNumber() : 0);
+        saida.escreverVarint(pageable.isPaged() ? pageable.getPageSize() : 0);
+        saida.escreverVarint(pagina.getTotalElements());
+        List<Sort.Order> ordens = pagina.getSort().toList();
+        saida.escreverVarint(ordens.size());
+        for (Sort.Order ordem : ordens) {
+            saida.escreverTexto(ordem.getProperty());
+            saida.escreverBoolean(ordem.isAscending());
+        }
+        escreverLista(pagina.getContent(), saida);
+    }
+
+    private Page<Object> lerPagina(LeitorBinario entrada) {
+        int numero = Math.toIntExact(entrada.lerVarint());
+        int tamanho = Math.toIntExact(entrada.lerVarint());
+        long total = entrada.lerVarint();
+        int totalOrdens = entrada.lerTamanho();
+        List<Sort.Order> ordens = new ArrayList<>(totalOrdens);
+        for (int i = 0; i < totalOrdens; i++) {
+            String propriedade = entrada.lerTexto();
+            ordens.add(entrada.lerBoolean() ? Sort.Order.asc(propriedade) : Sort.Order.desc(propriedade));
+        }
+        List<Object> conteudo = lerLista(entrada);
+        Pageable pageable = tamanho > 0 ? PageRequest.of(numero, tamanho, Sort.by(ordens)) : Pageable.unpaged();
+        return new PageImpl<>(conteudo, pageable, total);
+    }
+
+    private Object lerObjeto(LeitorBinario entrada) {
+        int id = Math.toIntExact(entrada.lerVarint());
+        int versao = Math.toIntExact(entrada.lerVarint());
+        EsquemaValor<?> esquema = esquemasPorId.get(id);
+        if (esquema == null) {
+            throw new FormatoInvalidoException("Esquema desconhecido: " + id);
+        }
+        if (esquema.versao() != versao) {
+            throw new FormatoInvalidoException("Esquema " + esquema.tipo().getSimpleName() + " na versão " + versao
+                    + " (esta aplicação usa a " + esquema.versao() + ")");
+        }
+        return esquema.ler(entrada, this);
+    }
+
+    private byte[] descomprimir(byte[] bytes, LeitorBinario cabecalho) {
+        int tamanhoOriginal = Math.toIntExact(cabecalho.lerVarint());
+        // O tamanho declarado vem do próprio valor: limita para não alocar memória à toa
+        if (tamanhoOriginal <= 0 || tamanhoOriginal > 255L * bytes.length) {
+            throw new FormatoInvalidoException("Tamanho descomprimido inválido: " + tamanhoOriginal);
+        }
+        int inicio = bytes.length - cabecalho.restantes();
+        byte[] original = new byte[tamanhoOriginal];
+        int lidos;
+        try {
+            lidos = descompressor.decompress(bytes, inicio, bytes.length - inicio, original, 0, tamanhoOriginal);
+        } catch (LZ4Exception e) {
+            throw new FormatoInvalidoException("Bloco LZ4 corrompido", e);
+        }
+        if (lidos != tamanhoOriginal) {
+            throw new FormatoInvalidoException("Bloco LZ4 com " + lidos + " bytes (declarados " + tamanhoOriginal + ")");
+        }
+        return original;
+    }
+
+    private static byte[] serializarJava(Object valor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+            saida.writeObject(valor);
+        } catch (IOException e) {
+            throw new SerializationException("Falha na serialização Java de " + valor.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object desserializarJava(byte[] bytes) {
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return entrada.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new FormatoInvalidoException("Falha na leitura Java do valor", e);
+        }
+    }
+}
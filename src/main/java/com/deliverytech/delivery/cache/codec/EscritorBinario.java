@@ -0,0 +1,116 @@
+package com.deliverytech.delivery.cache.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Buffer de escrita do formato compacto: inteiros em varint (ZigZag para os
+ * com sinal), textos em UTF-8 prefixados pelo tamanho.
+ */
+public final class EscritorBinario {
+
+    private byte[] buffer;
+    private int posicao;
+
+    public EscritorBinario(int capacidadeInicial) {
+        this.buffer = new byte[Math.max(16, capacidadeInicial)];
+    }
+
+    public void escreverByte(int valor) {
+        garantir(1);
+        buffer[posicao++] = (byte) valor;
+    }
+
+    public void escreverBytes(byte[] bytes) {
+        escreverVarint(bytes.length);
+        escreverBytesCrus(bytes, 0, bytes.length);
+    }
+
+    void escreverBytesCrus(byte[] bytes, int inicio, int tamanho) {
+        garantir(tamanho);
+        System.arraycopy(bytes, inicio, buffer, posicao, tamanho);
+        posicao += tamanho;
+    }
+
+    public void escreverBoolean(boolean valor) {
+        escreverByte(valor ? 1 : 0);
+    }
+
+    /** Inteiro sem sinal (tamanhos, contagens): 1 byte até 127. */
+    public void escreverVarint(long valor) {
+        garantir(10);
+        while ((valor & ~0x7FL) != 0) {
+            buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicao++] = (byte) valor;
+    }
+
+    /** Inteiro com sinal (ZigZag: valores pequenos negativos também ficam curtos). */
+    public void escreverLong(long valor) {
+        escreverVarint((valor << 1) ^ (valor >> 63));
+    }
+
+    public void escreverTexto(String texto) {
+        escreverBytes(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Texto que pode ser nulo (tamanho+1; 0 = nulo). */
+    public void escreverTextoOpcional(String texto) {
+        if (texto == null) {
+            escreverVarint(0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarint(bytes.length + 1L);
+        escreverBytesCrus(bytes, 0, bytes.length);
+    }
+
+    /** Long que pode ser nulo (presença + valor). */
+    public void escreverLongOpcional(Long valor) {
+        escreverBoolean(valor != null);
+        if (valor != null) {
+            escreverLong(valor);
+        }
+    }
+
+    /** Boolean que pode ser nulo: 0 = nulo, 1 = false, 2 = true. */
+    public void escreverBooleanOpcional(Boolean valor) {
+        escreverByte(valor == null ? 0 : (valor ? 2 : 1));
+    }
+
+    /** Decimal que pode ser nulo: escala + valor sem escala (preços cabem em poucos bytes). */
+    public void escreverDecimalOpcional(BigDecimal valor) {
+        escreverBoolean(valor != null);
+        if (valor == null) {
+            return;
+        }
+        escreverLong(valor.scale());
+        if (valor.unscaledValue().bitLength() < 64) {
+            escreverByte(0);
+            escreverLong(valor.unscaledValue().longValue());
+        } else {
+            escreverByte(1);
+            escreverBytes(valor.unscaledValue().toByteArray());
+        }
+    }
+
+    public int tamanho() {
+        return posicao;
+    }
+
+    byte[] bufferInterno() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, posicao);
+    }
+
+    private void garantir(int adicional) {
+        if (posicao + adicional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posicao + adicional));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.deliverytech.delivery.cache.codec;
+
+import com.deliverytech.delivery.dto.request.GrupoOpcionalDTO;
+import com.deliverytech.delivery.dto.request.ItemOpcionalDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout do {@link ProdutoResponseDTO} com os grupos e itens opcionais aninhados
+ * (o valor mais comum nos caches "produtos*").
+ * <p>
+ * Versão 1: id, nome, descrição, preço base, disponível, restaurante, categoria,
+ * estoque, grupos (id, nome, mín, máx, itens (id, nome, preço adicional)).
+ */
+public class EsquemaProdutoResponse implements EsquemaValor<ProdutoResponseDTO> {
+
+    public static final int ID = 1;
+
+    @Override
+    public int id() {
+        return ID;
+    }
+
+    @Override
+    public int versao() {
+        return 1;
+    }
+
+    @Override
+    public Class<ProdutoResponseDTO> tipo() {
+        return ProdutoResponseDTO.class;
+    }
+
+    @Override
+    public void gravar(ProdutoResponseDTO produto, EscritorBinario saida, CodecCacheCompacto codec) {
+        saida.escreverLongOpcional(produto.getId());
+        saida.escreverTextoOpcional(produto.getNome());
+        saida.escreverTextoOpcional(produto.getDescricao());
+        saida.escreverDecimalOpcional(produto.getPrecoBase());
+        saida.escreverBooleanOpcional(produto.getDisponivel());
+        saida.escreverLongOpcional(produto.getRestauranteId());
+        saida.escreverTextoOpcional(produto.getCategoria());
+        saida.escreverLong(produto.getEstoque());
+
+        List<GrupoOpcionalDTO> grupos = produto.getGruposOpcionais() != null ? produto.getGruposOpcionais() : List.of();
+        saida.escreverVarint(grupos.size());
+        for (GrupoOpcionalDTO grupo : grupos) {
+            saida.escreverLongOpcional(grupo.getId());
+            saida.escreverTextoOpcional(grupo.getNome());
+            saida.escreverLong(grupo.getMinSelecao());
+            saida.escreverLong(grupo.getMaxSelecao());
+            List<ItemOpcionalDTO> itens = grupo.getItensOpcionais();
+            // Lista nula e vazia são diferentes no DTO (validação @NotEmpty): grava tamanho+1
+            saida.escreverVarint(itens == null ? 0 : itens.size() + 1L);
+            if (itens != null) {
+                for (ItemOpcionalDTO item : itens) {
+                    saida.escreverLongOpcional(item.getId());
+                    saida.escreverTextoOpcional(item.getNome());
+                    saida.escreverDecimalOpcional(item.getPrecoAdicional());
+                }
+            }
+        }
+    }
+
+    @Override
+    public ProdutoResponseDTO ler(LeitorBinario entrada, CodecCacheCompacto codec) {
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId(entrada.lerLongOpcional());
+        produto.setNome(entrada.lerTextoOpcional());
+        produto.setDescricao(entrada.lerTextoOpcional());
+        produto.setPrecoBase(entrada.lerDecimalOpcional());
+        produto.setDisponivel(entrada.lerBooleanOpcional());
+        produto.setRestauranteId(entrada.lerLongOpcional());
+        produto.setCategoria(entrada.lerTextoOpcional());
+        produto.setEstoque(entrada.lerInt());
+
+        int totalGrupos = entrada.lerTamanho();
+        List<GrupoOpcionalDTO> grupos = new ArrayList<>(totalGrupos);
+        for (int g = 0; g < totalGrupos; g++) {
+            GrupoOpcionalDTO grupo = new GrupoOpcionalDTO();
+            grupo.setId(entrada.lerLongOpcional());
+            grupo.setNome(entrada.lerTextoOpcional());
+            grupo.setMinSelecao(entrada.lerInt());
+            grupo.setMaxSelecao(entrada.lerInt());
+            int marcadorItens = entrada.lerTamanho();
+            if (marcadorItens > 0) {
+                List<ItemOpcionalDTO> itens = new ArrayList<>(marcadorItens - 1);
+                for (int i = 0; i < marcadorItens - 1; i++) {
+                    ItemOpcionalDTO item = new ItemOpcionalDTO();
+                    item.setId(entrada.lerLongOpcional());
+                    item.setNome(entrada.lerTextoOpcional());
+                    item.setPrecoAdicional(entrada.lerDecimalOpcional());
+                    itens.add(item);
+                }
+                grupo.setItensOpcionais(itens);
+            }
+            grupos.add(grupo);
+        }
+        produto.setGruposOpcionais(grupos);
+        return produto;
+    }
+}
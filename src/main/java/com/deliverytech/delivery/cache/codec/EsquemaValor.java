@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.cache.codec;
+
+/**
+ * Layout binário de um tipo guardado em cache.
+ * <p>
+ * O {@link #id()} identifica o tipo no formato e nunca deve ser reaproveitado.
+ * A {@link #versao()} deve ser incrementada a cada mudança nos campos gravados:
+ * um nó com outra versão trata a entrada como ausente em vez de ler lixo.
+ *
+ * @param <T> Tipo do valor.
+ */
+public interface EsquemaValor<T> {
+
+    int id();
+
+    int versao();
+
+    Class<T> tipo();
+
+    void gravar(T valor, EscritorBinario saida, CodecCacheCompacto codec);
+
+    T ler(LeitorBinario entrada, CodecCacheCompacto codec);
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery.cache.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Valor em cache que não pode ser lido: corrompido, de um formato/versão de
+ * esquema diferente (ex: durante um deploy gradual) ou de um tipo desconhecido.
+ * O cache trata como ausente.
+ */
+public class FormatoInvalidoException extends SerializationException {
+
+    public FormatoInvalidoException(String message) {
+        super(message);
+    }
+
+    public FormatoInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
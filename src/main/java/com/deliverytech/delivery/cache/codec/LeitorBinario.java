@@ -0,0 +1,131 @@
+package com.deliverytech.delivery.cache.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura do formato compacto escrito pelo {@link EscritorBinario}.
+ * Dados truncados ou corrompidos resultam em {@link FormatoInvalidoException}.
+ */
+public final class LeitorBinario {
+
+    private final byte[] dados;
+    private int posicao;
+    private final int fim;
+
+    public LeitorBinario(byte[] dados) {
+        this(dados, 0, dados.length);
+    }
+
+    LeitorBinario(byte[] dados, int inicio, int fim) {
+        this.dados = dados;
+        this.posicao = inicio;
+        this.fim = fim;
+    }
+
+    public int lerByte() {
+        exigir(1);
+        return dados[posicao++] & 0xFF;
+    }
+
+    public byte[] lerBytes() {
+        int tamanho = lerTamanho();
+        exigir(tamanho);
+        byte[] bytes = new byte[tamanho];
+        System.arraycopy(dados, posicao, bytes, 0, tamanho);
+        posicao += tamanho;
+        return bytes;
+    }
+
+    public boolean lerBoolean() {
+        return lerByte() != 0;
+    }
+
+    public long lerVarint() {
+        long resultado = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            int b = lerByte();
+            resultado |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return resultado;
+            }
+        }
+        throw new FormatoInvalidoException("Varint com mais de 10 bytes");
+    }
+
+    public long lerLong() {
+        long zigzag = lerVarint();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public int lerInt() {
+        return Math.toIntExact(lerLong());
+    }
+
+    /**
+     * Tamanho de coleção/texto, validado contra os bytes restantes (todo elemento
+     * ocupa ao menos 1 byte): dados corrompidos não viram alocações gigantes.
+     */
+    public int lerTamanho() {
+        long tamanho = lerVarint();
+        if (tamanho < 0 || tamanho > fim - posicao) {
+            throw new FormatoInvalidoException("Tamanho inválido: " + tamanho);
+        }
+        return (int) tamanho;
+    }
+
+    public String lerTexto() {
+        int tamanho = lerTamanho();
+        exigir(tamanho);
+        String texto = new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+        posicao += tamanho;
+        return texto;
+    }
+
+    public String lerTextoOpcional() {
+        long marcador = lerVarint();
+        if (marcador == 0) {
+            return null;
+        }
+        int tamanho = (int) (marcador - 1);
+        exigir(tamanho);
+        String texto = new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+        posicao += tamanho;
+        return texto;
+    }
+
+    public Long lerLongOpcional() {
+        return lerBoolean() ? lerLong() : null;
+    }
+
+    public Boolean lerBooleanOpcional() {
+        int valor = lerByte();
+        return valor == 0 ? null : valor == 2;
+    }
+
+    public BigDecimal lerDecimalOpcional() {
+        if (!lerBoolean()) {
+            return null;
+        }
+        int escala = lerInt();
+        if (lerByte() == 0) {
+            return BigDecimal.valueOf(lerLong(), escala);
+        }
+        return new BigDecimal(new BigInteger(lerBytes()), escala);
+    }
+
+    public boolean temMais() {
+        return posicao < fim;
+    }
+
+    int restantes() {
+        return fim - posicao;
+    }
+
+    private void exigir(int quantidade) {
+        if (quantidade < 0 || posicao + quantidade > fim) {
+            throw new FormatoInvalidoException("Dados truncados");
+        }
+    }
+}
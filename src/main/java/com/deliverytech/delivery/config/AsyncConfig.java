@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.config;
+
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Configuração de execução assíncrona.
+ * <p>
+ * Todos os executores da aplicação usam o {@link ContextoRequisicaoTaskDecorator},
+ * então tarefas {@code @Async} (ou enviadas diretamente aos executores) mantêm
+ * o MDC, o usuário autenticado e o span de tracing da requisição de origem.
+ * <ul>
+ *   <li>{@code applicationTaskExecutor} (alias {@code taskExecutor}): executor padrão do
+ *       {@code @Async}, configurado por {@code spring.task.execution.*}. Com
+ *       {@code spring.threads.virtual.enabled=true} passa a usar virtual threads;</li>
+ *   <li>{@code virtualTaskExecutor}: uma virtual thread por tarefa, para trabalho
+ *       bloqueante de I/O ({@code @Async("virtualTaskExecutor")}).</li>
+ * </ul>
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Decorator de contexto. O Spring Boot também o aplica automaticamente
+     * aos executores criados pelo {@link ThreadPoolTaskExecutorBuilder}.
+     */
+    @Bean
+    public TaskDecorator contextoRequisicaoTaskDecorator(ObjectProvider<Tracer> tracer) {
+        return new ContextoRequisicaoTaskDecorator(tracer.getIfAvailable());
+    }
+
+    /**
+     * Executor padrão (declarado explicitamente porque o executor virtual abaixo
+     * faria o Spring Boot desistir de criar o seu). Segue o modo de threads da
+     * aplicação: pool de platform threads ou uma virtual thread por tarefa.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @Primary
+    public AsyncTaskExecutor applicationTaskExecutor(Environment environment,
+                                                     ObjectProvider<ThreadPoolTaskExecutorBuilder> poolBuilder,
+                                                     ObjectProvider<SimpleAsyncTaskExecutorBuilder> virtualBuilder) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // O builder do Boot já vem com virtual threads e o TaskDecorator aplicados
+            return virtualBuilder.getObject().build();
+        }
+        return poolBuilder.getObject().build();
+    }
+
+    /**
+     * Executor com uma virtual thread por tarefa, com o mesmo decorator de contexto.
+     */
+    @Bean(name = "virtualTaskExecutor")
+    public AsyncTaskExecutor virtualTaskExecutor(TaskDecorator contextoRequisicaoTaskDecorator) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(contextoRequisicaoTaskDecorator);
+        return executor;
+    }
+
+    /**
+     * Erros em métodos {@code @Async} sem retorno não chegam a ninguém: ao menos loga
+     * (o MDC restaurado garante o correlationId na linha de log).
+     */
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (erro, metodo, parametros) ->
+                logger.error("Erro em método assíncrono {}.{}", metodo.getDeclaringClass().getSimpleName(),
+                        metodo.getName(), erro);
+    }
+}
@@ -0,0 +1,119 @@
+package com.deliverytech.delivery.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível (L2) do Hibernate para o catálogo.
+ * <p>
+ * Restaurante, Produto, GrupoOpcional e ItemOpcional (e as coleções de opcionais)
+ * são lidos em todo checkout e mudam pouco. Com o L2, o {@code findById} dessas
+ * entidades é servido da memória, sem SELECT.
+ * <p>
+ * As regiões são criadas aqui, com limite de tamanho, em um CacheManager JCache
+ * (Caffeine) entregue ao Hibernate. Estratégia READ_WRITE: escritas feitas pelo
+ * Hibernate (ex: {@code ProdutoServiceImpl}, baixa de estoque) atualizam o cache
+ * no commit. O TTL é só uma rede de segurança para alterações feitas fora da aplicação.
+ * <p>
+ * O CacheManager padrão do Caffeine é único na JVM; cada contexto Spring usa um
+ * prefixo próprio nas regiões para não misturar entidades de bancos diferentes
+ * (ex: dois contextos de teste abertos ao mesmo tempo).
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class CacheSegundoNivelConfig {
+
+    /** Regiões de entidades e coleções (mesmos nomes das anotações {@code @Cache}). */
+    public static final List<String> REGIOES_CATALOGO = List.of(
+            "catalogo.restaurante",
+            "catalogo.produto",
+            "catalogo.produto.gruposOpcionais",
+            "catalogo.grupoOpcional",
+            "catalogo.grupoOpcional.itensOpcionais",
+            "catalogo.itemOpcional");
+
+    /** Regiões padrão do cache de consultas do Hibernate. */
+    private static final String REGIAO_CONSULTAS = "default-query-results-region";
+    private static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+    /** Prefixo das regiões deste contexto (o Hibernate monta "prefixo.regiao"). */
+    private final String prefixo = "delivery-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /** Caches criados por este contexto (removidos no encerramento). */
+    private final List<String> cachesCriados = new ArrayList<>();
+
+    private CacheManager cacheManager;
+
+    /**
+     * Não é fechado no encerramento: o CacheManager padrão é compartilhado na JVM.
+     * Só os caches deste contexto são removidos (ver {@link #removerCaches()}).
+     */
+    @Bean(destroyMethod = "")
+    public CacheManager cacheManagerHibernate(@Value("${app.cache.l2.maximo-entradas:10000}") long maximoEntradas,
+                                              @Value("${app.cache.l2.ttl-minutos:30}") long ttlMinutos) {
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        Duration ttl = Duration.ofMinutes(ttlMinutos);
+        for (String regiao : REGIOES_CATALOGO) {
+            criar(regiao, configuracao(maximoEntradas, ttl));
+        }
+        criar(REGIAO_CONSULTAS, configuracao(maximoEntradas, ttl));
+        // Timestamps das tabelas: não pode expirar nem ser despejado (senão consultas velhas parecem válidas)
+        criar(REGIAO_TIMESTAMPS, configuracao(0, Duration.ZERO));
+        return cacheManager;
+    }
+
+    /**
+     * Entrega ao Hibernate o CacheManager já configurado (em vez de ele criar um próprio).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(CacheManager cacheManagerHibernate) {
+        return propriedades -> {
+            propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+            propriedades.put(AvailableSettings.CACHE_REGION_PREFIX, prefixo);
+        };
+    }
+
+    @PreDestroy
+    public void removerCaches() {
+        if (cacheManager != null && !cacheManager.isClosed()) {
+            cachesCriados.forEach(cacheManager::destroyCache);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuracao(long maximoEntradas, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        // Entradas do Hibernate já são imutáveis ("desmontadas"): não precisa copiar a cada leitura
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(true);
+        if (maximoEntradas > 0) {
+            configuracao.setMaximumSize(OptionalLong.of(maximoEntradas));
+        }
+        if (!ttl.isZero()) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuracao;
+    }
+
+    private void criar(String regiao, CaffeineConfiguration<Object, Object> configuracao) {
+        String nome = prefixo + "." + regiao;
+        cacheManager.createCache(nome, configuracao);
+        cachesCriados.add(nome);
+    }
+}
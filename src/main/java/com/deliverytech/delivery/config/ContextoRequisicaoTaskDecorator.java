@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Propaga o contexto da requisição para tarefas executadas em outras threads.
+ * <p>
+ * No momento do envio da tarefa (thread da requisição), captura:
+ * <ul>
+ *   <li>o MDC (correlationId, clientIp, userAgent... do {@code CorrelationIdFilter});</li>
+ *   <li>a autenticação do {@link SecurityContextHolder} (usada pelo {@code SecurityUtils});</li>
+ *   <li>o span de tracing atual.</li>
+ * </ul>
+ * Na thread de execução, restaura esse contexto antes da tarefa e devolve o
+ * estado anterior da thread ao final (a thread pode ser reaproveitada pelo
+ * pool, ou ser a própria thread chamadora).
+ */
+public class ContextoRequisicaoTaskDecorator implements TaskDecorator {
+
+    private final Tracer tracer;
+
+    /**
+     * @param tracer Tracer do Micrometer (pode ser nulo se o tracing estiver desligado).
+     */
+    public ContextoRequisicaoTaskDecorator(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Runnable decorate(Runnable tarefa) {
+        // --- Captura (thread de origem) ---
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        Span span = tracer != null ? tracer.currentSpan() : null;
+
+        return () -> {
+            // --- Estado atual da thread de execução (restaurado no final) ---
+            Map<String, String> mdcAnterior = MDC.getCopyOfContextMap();
+            SecurityContext contextoAnterior = SecurityContextHolder.getContext();
+
+            // Um SecurityContext novo: o da origem não é compartilhado entre threads
+            SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+            contexto.setAuthentication(autenticacao);
+            SecurityContextHolder.setContext(contexto);
+
+            try (Tracer.SpanInScope escopo = span != null ? tracer.withSpan(span) : null) {
+                definirMdc(mdc);
+                tarefa.run();
+            } finally {
+                definirMdc(mdcAnterior);
+                SecurityContextHolder.setContext(contextoAnterior);
+            }
+        };
+    }
+
+    private static void definirMdc(Map<String, String> valores) {
+        if (valores == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(valores);
+        }
+    }
+}
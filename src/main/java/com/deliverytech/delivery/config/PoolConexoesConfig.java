@@ -0,0 +1,42 @@
+package com.deliverytech.delivery.config;
+
+import com.deliverytech.delivery.service.metrics.DataSourceInstrumentado;
+import com.deliverytech.delivery.service.metrics.PoolConexoesMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Instrumentação do pool de conexões.
+ * <p>
+ * Envolve o DataSource criado pelo Spring Boot com o {@link DataSourceInstrumentado},
+ * que alimenta o {@link PoolConexoesMonitor} (espera/uso por endpoint, vazamentos e
+ * saturação). Desligável com {@code app.datasource.monitor.habilitado=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.monitor", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class PoolConexoesConfig {
+
+    /**
+     * Estático: BeanPostProcessors são criados antes dos demais beans da configuração.
+     * DataSources que apenas delegam (ex: o proxy do roteamento de réplicas) ficam de
+     * fora: a instrumentação vale para o pool físico.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentadoPostProcessor(ObjectProvider<PoolConexoesMonitor> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new DataSourceInstrumentado(dataSource, monitor);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,60 +1,151 @@
 package com.deliverytech.delivery.config;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.deliverytech.delivery.cache.CacheRemoto;
+import com.deliverytech.delivery.cache.CacheRemotoDesligado;
+import com.deliverytech.delivery.cache.CacheRemotoRedis;
+import com.deliverytech.delivery.cache.ExtratorTags;
+import com.deliverytech.delivery.cache.GerenciadorCacheDoisNiveis;
+import com.deliverytech.delivery.cache.OpcoesCarga;
+import com.deliverytech.delivery.cache.codec.CodecCacheCompacto;
+import com.deliverytech.delivery.cache.codec.EsquemaProdutoResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.ToIntFunction;
 
 /**
  * Configuração do Redis para a aplicação (Cache e Template).
  * <p>
- * Esta classe define os beans para o {@link CacheManager} e
- * {@link RedisTemplate}, incluindo uma lógica de fallback
- * para cache em memória ({@link ConcurrentMapCacheManager})
- * caso o servidor Redis não esteja disponível na inicialização.
+ * O {@link CacheManager} é o {@link GerenciadorCacheDoisNiveis}: uma camada
+ * local (L1) limitada e com TTL na frente do Redis (L2), com invalidação entre
+ * os nós por pub/sub. Se o Redis cair (ou não estiver no ar na inicialização),
+ * o cache continua só com o L1 e volta a usar o Redis sozinho quando ele responder.
+ * As entradas recebem tags ({@link ExtratorTags}) para a invalidação por tags.
  */
 @Configuration
 public class RedisConfig {
 
-    private static final Logger logger = LoggerFactory.getLogger(RedisConfig.class);
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+
+    public RedisConfig(ObjectProvider<CacheManager> cacheManagerProvider) {
+        this.cacheManagerProvider = cacheManagerProvider;
+    }
 
     /**
      * Cria o bean do CacheManager principal da aplicação.
      * <p>
-     * Tenta se conectar ao Redis. Se for bem-sucedido, usa o
-     * {@link RedisCacheManager} para cache distribuído.
-     * <p>
-     * Se a conexão com o Redis falhar (ex: em ambiente de dev local
-     * sem Redis rodando), ele retorna um {@link ConcurrentMapCacheManager}
-     * como fallback (cache em memória simples).
-     * <p>
      * {@code @ConditionalOnMissingBean} permite que esta configuração
      * seja facilmente sobrescrita em testes (ex: com um 'NoOpCacheManager').
      *
-     * @param redisConnectionFactory A factory de conexão injetada pelo Spring Boot.
-     * @return Um CacheManager (Redis se disponível, ou em memória).
+     * @param cacheRemoto  A camada remota (Redis, ou desligada).
+     * @param extratorTags Tags das entradas (ex: {@code TagsCatalogo}).
+     * @param serializadorCache Codec do Redis, usado para medir as entradas que não passaram pelo Redis.
+     * @return O CacheManager em duas camadas.
      */
     @Bean
     @ConditionalOnMissingBean(CacheManager.class) // Permite que testes ou outros perfis sobrescrevam este bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        try {
-            // 1. Tenta "pingar" o Redis para verificar a conexão
-            redisConnectionFactory.getConnection().ping();
-            logger.info("✅ Redis conectado com sucesso! Usando RedisCacheManager.");
-            // 2. Se conectar, usa o CacheManager do Redis
-            return RedisCacheManager.builder(redisConnectionFactory).build();
-        
-        } catch (RedisConnectionFailureException e) {
-            // 3. Se falhar, avisa e usa o cache em memória como fallback
-            logger.warn("⚠️ Redis não disponível. Usando cache em memória (ConcurrentMapCacheManager).");
-            return new ConcurrentMapCacheManager();
+    public CacheManager cacheManager(CacheRemoto cacheRemoto,
+                                     ObjectProvider<ExtratorTags> extratorTags,
+                                     RedisSerializer<Object> serializadorCache,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.cache.local.maximo-entradas:1000}") long maximoEntradasLocal,
+                                     @Value("${app.cache.local.ttl-segundos:60}") long ttlLocalSegundos,
+                                     @Value("${app.cache.redis.ttl-minutos:10}") long ttlRedisMinutos,
+                                     @Value("${app.cache.carga.timeout-espera-ms:2000}") long timeoutEsperaMs,
+                                     @Value("${app.cache.carga.refresh-antecipado-beta:1.0}") double betaRefresh,
+                                     @Value("${app.cache.metricas.estimar-bytes:false}") boolean estimarBytes) {
+        // O tamanho normalmente vem da serialização feita para o Redis; o estimador só
+        // mede (pelo mesmo codec) o que não passou por ele, ex: com o Redis fora do ar
+        ToIntFunction<Object> estimadorBytes = estimarBytes
+                ? valor -> serializadorCache.serialize(valor).length
+                : valor -> 0;
+        return new GerenciadorCacheDoisNiveis(cacheRemoto, maximoEntradasLocal,
+                Duration.ofSeconds(ttlLocalSegundos), Duration.ofMinutes(ttlRedisMinutos),
+                extratorTags.getIfAvailable(() -> ExtratorTags.NENHUMA),
+                new OpcoesCarga(Duration.ofMillis(timeoutEsperaMs), betaRefresh), estimadorBytes, meterRegistry);
+    }
+
+    /**
+     * Camada remota do cache. Com {@code app.cache.redis.habilitado=false}
+     * (ex: testes), o cache fica só com a camada local.
+     */
+    @Bean
+    public CacheRemoto cacheRemoto(ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                                   ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                   RedisSerializer<Object> serializadorCache,
+                                   @Value("${app.cache.redis.habilitado:true}") boolean habilitado,
+                                   @Value("${app.cache.redis.canal-invalidacao:delivery:cache:invalidacao}") String canal) {
+        if (!habilitado) {
+            return new CacheRemotoDesligado();
+        }
+        return new CacheRemotoRedis(redisConnectionFactory.getObject(), listenerContainer.getObject(),
+                serializadorCache, canal);
+    }
+
+    /**
+     * Formato dos valores no Redis ({@code app.cache.codec.formato}):
+     * <ul>
+     * <li>{@code compacto} (padrão): binário com esquema versionado e LZ4 acima
+     * de {@code app.cache.codec.compressao-limite-bytes};</li>
+     * <li>{@code jdk}: serialização Java (formato anterior).</li>
+     * </ul>
+     * Trocar o codec com o Redis populado é seguro: entradas no outro formato
+     * são lidas como ausentes e regravadas.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "serializadorCache")
+    public RedisSerializer<Object> serializadorCache(
+            @Value("${app.cache.codec.formato:compacto}") String codec,
+            @Value("${app.cache.codec.compressao-limite-bytes:1024}") int limiteCompressao) {
+        return switch (codec) {
+            case "compacto" -> new CodecCacheCompacto(List.of(new EsquemaProdutoResponse()), limiteCompressao);
+            case "jdk" -> RedisSerializer.java();
+            default -> throw new IllegalStateException("app.cache.codec.formato inválido: " + codec + " (use compacto ou jdk)");
+        };
+    }
+
+    /**
+     * Container do pub/sub de invalidação. Não inicia com o contexto: com o Redis
+     * fora do ar a assinatura falharia e derrubaria a aplicação. O
+     * {@link GerenciadorCacheDoisNiveis} o inicia quando o Redis responde (ver
+     * {@link CacheRemotoRedis#conectar()}); depois disso, ele refaz a assinatura
+     * sozinho quando a conexão volta.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.redis", name = "habilitado", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidacaoListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false; // Sem setter no RedisMessageListenerContainer
+            }
+        };
+        container.setConnectionFactory(redisConnectionFactory);
+        container.setRecoveryInterval(5000);
+        return container;
+    }
+
+    /**
+     * Detecta queda e volta do Redis (degrada para só L1 / reativa o L2).
+     */
+    @Scheduled(fixedDelayString = "${app.cache.redis.verificacao-ms:5000}")
+    public void verificarRedis() {
+        // Lookup a cada execução: o CacheManager pode ter sido sobrescrito (testes)
+        if (cacheManagerProvider.getIfAvailable() instanceof GerenciadorCacheDoisNiveis gerenciador) {
+            gerenciador.verificarRemoto();
         }
     }
 
@@ -77,4 +168,4 @@ public class RedisConfig {
         // (Nota: Serializers (JSON/String) seriam configurados aqui se necessário)
         return template;
     }
-}
\ No newline at end of file
+}
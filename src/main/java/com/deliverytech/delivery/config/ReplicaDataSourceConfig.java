@@ -0,0 +1,117 @@
+package com.deliverytech.delivery.config;
+
+import com.deliverytech.delivery.datasource.JanelaLeituraPropriaEscrita;
+import com.deliverytech.delivery.datasource.RoteamentoDataSource;
+import com.deliverytech.delivery.service.metrics.DataSourceInstrumentado;
+import com.deliverytech.delivery.service.metrics.PoolConexoesMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import jakarta.annotation.PreDestroy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de leitura: {@code @Transactional(readOnly = true)} vai para as réplicas,
+ * o resto para a primária (ver {@link RoteamentoDataSource}).
+ * <p>
+ * Ativada com {@code app.datasource.replicas.habilitado=true}. A primária continua
+ * configurada por {@code spring.datasource.*}; as réplicas usam as URLs de
+ * {@code app.datasource.replicas.urls} com as mesmas configurações do HikariCP.
+ * <p>
+ * O {@link LazyConnectionDataSourceProxy} adia a conexão física até o primeiro
+ * comando SQL: só então a transação já está marcada como somente leitura e o
+ * roteamento sabe para onde ir.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "habilitado", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    /** Pools físicos (o bean exposto é o proxy, que não sabe fechá-los). */
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 ObjectProvider<PoolConexoesMonitor> monitor,
+                                 @Value("${app.datasource.replicas.urls}") String[] urls,
+                                 @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                 @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                 @Value("${app.datasource.replicas.janela-leitura-escrita-ms:5000}") long janelaMs,
+                                 @Value("${app.datasource.replicas.quarentena-ms:30000}") long quarentenaMs,
+                                 @Value("${app.datasource.monitor.habilitado:true}") boolean monitorHabilitado) {
+
+        // Primária: mesmo pool que o Spring Boot criaria (spring.datasource.* + spring.datasource.hikari.*)
+        HikariDataSource primaria = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        if (primaria.getPoolName() == null) {
+            primaria.setPoolName("delivery-pool");
+        }
+        pools.add(primaria);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            String url = urls[i].trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+            String nome = "replica-" + (i + 1);
+            HikariDataSource replica = new HikariDataSource();
+            primaria.copyStateTo(replica);
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setPoolName(primaria.getPoolName() + "-" + nome);
+            replica.setReadOnly(true);
+            // As métricas hikaricp.* do Boot só cobrem o pool da primária
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(replica);
+            replicas.put(nome, instrumentar(replica, monitor, monitorHabilitado));
+        }
+        logger.info("[DATASOURCE] Roteamento de leitura ativo: {} réplica(s), janela de leitura da própria escrita {} ms",
+                replicas.size(), janelaMs);
+
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(
+                instrumentar(primaria, monitor, monitorHabilitado), replicas,
+                new JanelaLeituraPropriaEscrita(Duration.ofMillis(janelaMs)), Duration.ofMillis(quarentenaMs),
+                meterRegistry);
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    @PreDestroy
+    public void fecharPools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Os pools não são beans (não passam pelo post-processor do {@link PoolConexoesConfig}),
+     * então a instrumentação é aplicada aqui, em cada pool físico.
+     */
+    private static DataSource instrumentar(DataSource pool, ObjectProvider<PoolConexoesMonitor> monitor,
+                                           boolean monitorHabilitado) {
+        return monitorHabilitado ? new DataSourceInstrumentado(pool, monitor) : pool;
+    }
+}
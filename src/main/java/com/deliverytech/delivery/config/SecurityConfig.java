@@ -119,13 +119,16 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/webjars/**",
                                 "/actuator/health", // Health check público
+                                "/actuator/health/liveness", // Probes do orquestrador
+                                "/actuator/health/readiness",
                                 "/dashboard",
                                 "/dashboard/api/metrics",
                                 "/dashboard/api/set-users/**",
                                 "/h2-console/**", // Acesso ao H2 Console
                                 "/api/auth/**", // Login e Registro
                                 "/api/restaurantes/**", // Consulta de restaurantes
-                                "/api/produtos/**" // Consulta de produtos/cardápios
+                                "/api/produtos/**", // Consulta de produtos/cardápios
+                                "/api/busca/**" // Autocomplete da caixa de busca
                                  ).permitAll() 
 
                         // Endpoint de Actuator (exceto /health) restrito ao ADMIN
@@ -0,0 +1,77 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.service.audit.journal.AuditJournal;
+import com.deliverytech.delivery.service.audit.journal.ConsultaAuditoria;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/auditoria")
+@Tag(name = "8. Auditoria (Admin)", description = "Consulta ao journal de auditoria. Requer role ADMIN.")
+@Validated
+@SecurityRequirement(name = "bearerAuth")
+public class AuditoriaController {
+
+    private final AuditJournal auditJournal;
+
+    /**
+     * Construtor para injeção de dependência do AuditJournal.
+     * @param auditJournal O journal indexado de eventos de auditoria.
+     */
+    public AuditoriaController(AuditJournal auditJournal) {
+        this.auditJournal = auditJournal;
+    }
+
+    @GetMapping("/eventos")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Consultar eventos de auditoria (ADMIN)",
+               description = "Busca eventos por usuário, ação, correlationId e/ou período, usando os índices do journal. " +
+                             "Os filtros são combinados (AND) e os eventos mais recentes vêm primeiro.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Consulta realizada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+        @ApiResponse(responseCode = "401", description = "Token ausente ou inválido"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado (não é ADMIN)")
+    })
+    public ResponseEntity<ApiResponseWrapper<List<Map<String, Object>>>> consultarEventos(
+            @Parameter(description = "ID do usuário")
+            @RequestParam(required = false) String userId,
+
+            @Parameter(description = "Ação/evento registrado (ex: CRIAR_PEDIDO_SUCESSO)")
+            @RequestParam(required = false) String acao,
+
+            @Parameter(description = "ID de correlação da requisição")
+            @RequestParam(required = false) String correlationId,
+
+            @Parameter(description = "Início do período (YYYY-MM-DDTHH:mm:ss)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+
+            @Parameter(description = "Fim do período (YYYY-MM-DDTHH:mm:ss)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+
+            @Parameter(description = "Máximo de eventos retornados")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limite) throws IOException {
+
+        ConsultaAuditoria consulta = new ConsultaAuditoria(userId, acao, correlationId, inicio, fim, limite);
+        List<Map<String, Object>> eventos = auditJournal.consultar(consulta);
+        String mensagem = eventos.size() + " evento(s) de auditoria encontrado(s)";
+        return ResponseEntity.ok(new ApiResponseWrapper<>(true, eventos, mensagem));
+    }
+}
@@ -0,0 +1,61 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.dto.response.SugestaoResponseDTO;
+import com.deliverytech.delivery.service.busca.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/busca")
+@Tag(name = "9. Busca", description = "Autocomplete da caixa de busca (público)")
+@Validated
+public class BuscaController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Construtor para injeção de dependência do AutocompleteService.
+     * @param autocompleteService Serviço de sugestões por prefixo.
+     */
+    public BuscaController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Sugestões para o texto digitado na caixa de busca. Endpoint público,
+     * chamado a cada tecla: responde da memória, sem consultar o banco.
+     *
+     * @param prefixo Texto digitado até agora.
+     * @param limite  Máximo de sugestões.
+     * @return ResponseEntity 200 (OK) com as sugestões, as mais populares primeiro.
+     */
+    @GetMapping("/autocompletar")
+    @Operation(summary = "Autocompletar busca (Público)",
+               description = "Sugere nomes de restaurantes, nomes de produtos e categorias que começam com o texto " +
+                             "(em qualquer uma das primeiras palavras, sem diferenciar acentos), " +
+                             "ordenados pela popularidade recente nos pedidos.")
+    @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso")
+    public ResponseEntity<ApiResponseWrapper<List<SugestaoResponseDTO>>> autocompletar(
+            @Parameter(description = "Texto digitado", required = true, example = "piz")
+            @RequestParam String prefixo,
+
+            @Parameter(description = "Máximo de sugestões")
+            @RequestParam(defaultValue = "8") @Min(1) @Max(20) int limite) {
+
+        List<SugestaoResponseDTO> sugestoes = autocompleteService.sugerir(prefixo, limite).stream()
+                .map(s -> new SugestaoResponseDTO(s.texto(), s.tipo().name(), s.id()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new ApiResponseWrapper<>(true, sugestoes, "Sugestões encontradas"));
+    }
+}
@@ -9,7 +9,10 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit; 
 
+import com.deliverytech.delivery.service.kpi.KpiService;
+import com.deliverytech.delivery.service.metrics.CacheEficienciaMonitor;
 import com.deliverytech.delivery.service.metrics.MetricsService;
+import com.deliverytech.delivery.service.metrics.PoolConexoesMonitor;
 import org.springframework.web.bind.annotation.PathVariable; 
 
 /**
@@ -22,11 +25,18 @@ public class DashboardController {
 
     private final MeterRegistry meterRegistry;
     private final MetricsService metricsService;
+    private final KpiService kpiService;
+    private final PoolConexoesMonitor poolConexoesMonitor;
+    private final CacheEficienciaMonitor cacheEficienciaMonitor;
 
     // Injeta os serviços de métricas necessários
-    public DashboardController(MeterRegistry meterRegistry, MetricsService metricsService) {
+    public DashboardController(MeterRegistry meterRegistry, MetricsService metricsService, KpiService kpiService,
+                               PoolConexoesMonitor poolConexoesMonitor, CacheEficienciaMonitor cacheEficienciaMonitor) {
         this.meterRegistry = meterRegistry;
         this.metricsService = metricsService;
+        this.kpiService = kpiService;
+        this.poolConexoesMonitor = poolConexoesMonitor;
+        this.cacheEficienciaMonitor = cacheEficienciaMonitor;
     }
 
     /**
@@ -55,6 +65,17 @@ public class DashboardController {
         metrics.put("tempo_medio_banco", getTimerMean("delivery.database.consulta.tempo"));
         metrics.put("usuarios_ativos", getGaugeValue("delivery.usuarios.ativos"));
         metrics.put("produtos_estoque", getGaugeValue("delivery.produtos.estoque"));
+
+        // KPIs de negócio (contadores em memória, sem consulta ao banco)
+        metrics.put("total_usuarios", kpiService.getTotalUsuarios());
+        metrics.put("total_restaurantes", kpiService.getTotalRestaurantes());
+        metrics.put("vendas_30_dias", kpiService.getVendasUltimos30Dias());
+
+        // Pool de conexões: estado, endpoints que mais seguram conexões e vazamentos
+        metrics.put("pool_conexoes", poolConexoesMonitor.resumo(8));
+
+        // Caches: acertos/faltas, custo das cargas, ocupação e remoções por cache
+        metrics.put("caches", cacheEficienciaMonitor.resumo());
         
         return metrics;
     }
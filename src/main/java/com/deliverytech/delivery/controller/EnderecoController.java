@@ -4,6 +4,7 @@ import com.deliverytech.delivery.dto.request.EnderecoDTO;
 import com.deliverytech.delivery.dto.response.EnderecoResponseDTO;
 import com.deliverytech.delivery.entity.Endereco;
 import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.mapper.EnderecoMapper;
 import com.deliverytech.delivery.service.EnderecoService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,7 +12,6 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,7 +32,6 @@ import java.util.stream.Collectors;
 public class EnderecoController {
 
     private final EnderecoService enderecoService;
-    private final ModelMapper modelMapper;
 
     /**
      * Lista os endereços do usuário logado (ex: Cliente)
@@ -46,7 +45,7 @@ public class EnderecoController {
         List<Endereco> enderecos = enderecoService.buscarPorUsuarioLogado();
         
         List<EnderecoResponseDTO> dtos = enderecos.stream()
-                .map(endereco -> modelMapper.map(endereco, EnderecoResponseDTO.class))
+                .map(EnderecoMapper::paraResponse)
                 .collect(Collectors.toList());
         
         return ResponseEntity.ok(dtos);
@@ -63,7 +62,7 @@ public class EnderecoController {
         
         Endereco novoEndereco = enderecoService.salvarNovoEndereco(enderecoDTO);
         
-        EnderecoDTO dtoSalvo = modelMapper.map(novoEndereco, EnderecoDTO.class);
+        EnderecoDTO dtoSalvo = EnderecoMapper.paraDTO(novoEndereco);
         
         return ResponseEntity.status(HttpStatus.CREATED).body(dtoSalvo);
     }
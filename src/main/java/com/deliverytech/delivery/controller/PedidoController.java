@@ -14,11 +14,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -91,13 +93,42 @@ public class PedidoController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @Parameter(description = "Data final do filtro (YYYY-MM-DD)", example = "2025-10-23")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Se falso, não conta o total (sem COUNT(*)): totalElements e totalPages ficam nulos")
+            @RequestParam(defaultValue = "true") boolean contarTotal,
             @ParameterObject Pageable pageable) {
 
-        Page<PedidoResponseDTO> pedidos = pedidoService.listarPedidos(status, dataInicio, dataFim, pageable);
+        Slice<PedidoResponseDTO> pedidos = pedidoService.listarPedidos(status, dataInicio, dataFim, pageable, contarTotal);
         PagedResponseWrapper<PedidoResponseDTO> response = new PagedResponseWrapper<>(pedidos);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Listar todos os pedidos por cursor (ADMIN)",
+               description = "Mesmos filtros da listagem, paginada por cursor (mais recentes primeiro). "
+                       + "Use o nextCursor (ou o link next) da resposta para a próxima página. Requer role 'ADMIN'.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pedidos listados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "401", description = "Token ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado (não é ADMIN)")
+    })
+    public ResponseEntity<CursorResponseWrapper<PedidoResponseDTO>> listarPorCursor(
+            @Parameter(description = "Filtra pedidos pelo status", example = "EM_PREPARO")
+            @RequestParam(required = false) StatusPedido status,
+            @Parameter(description = "Data inicial do filtro (YYYY-MM-DD)", example = "2025-10-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final do filtro (YYYY-MM-DD)", example = "2025-10-23")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Cursor da página anterior (vazio para a primeira)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        Window<PedidoResponseDTO> pedidos = pedidoService.listarPedidosPorCursor(status, dataInicio, dataFim, cursor, size);
+        return ResponseEntity.ok(new CursorResponseWrapper<>(pedidos, size));
+    }
+
     @GetMapping("/meus")
     @PreAuthorize("hasRole('CLIENTE')")
     @Operation(summary = "Listar meus pedidos (CLIENTE)", description = "Lista os pedidos do cliente autenticado com paginação. Requer role 'CLIENTE'.")
@@ -107,13 +138,35 @@ public class PedidoController {
             @ApiResponse(responseCode = "403", description = "Acesso negado (não é CLIENTE)")
     })
     public ResponseEntity<PagedResponseWrapper<PedidoResponseDTO>> listarMeusPedidos(
+            @Parameter(description = "Se falso, não conta o total (sem COUNT(*))")
+            @RequestParam(defaultValue = "true") boolean contarTotal,
             @ParameterObject Pageable pageable) {
 
-        Page<PedidoResponseDTO> pedidos = pedidoService.listarMeusPedidos(pageable);
+        Slice<PedidoResponseDTO> pedidos = pedidoService.listarMeusPedidos(pageable, contarTotal);
         PagedResponseWrapper<PedidoResponseDTO> response = new PagedResponseWrapper<>(pedidos);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/meus/cursor")
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(summary = "Listar meus pedidos por cursor (CLIENTE)",
+               description = "Pedidos do cliente autenticado, paginados por cursor (mais recentes primeiro). Requer role 'CLIENTE'.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pedidos listados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "401", description = "Token ausente ou inválido"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado (não é CLIENTE)")
+    })
+    public ResponseEntity<CursorResponseWrapper<PedidoResponseDTO>> listarMeusPedidosPorCursor(
+            @Parameter(description = "Cursor da página anterior (vazio para a primeira)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        Window<PedidoResponseDTO> pedidos = pedidoService.listarMeusPedidosPorCursor(cursor, size);
+        return ResponseEntity.ok(new CursorResponseWrapper<>(pedidos, size));
+    }
+
     // --- O MÉTODO QUE FALTAVA ---
     @GetMapping("/meus/contagem")
     @PreAuthorize("hasRole('CLIENTE')")
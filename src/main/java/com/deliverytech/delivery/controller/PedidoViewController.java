@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.controller;
+
+import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.service.leitura.PedidoViewProjetor;
+import com.deliverytech.delivery.service.leitura.RelatorioConsistencia;
+import com.deliverytech.delivery.service.leitura.ResultadoReconstrucao;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/pedido-view")
+@Tag(name = "10. Modelo de Leitura (Admin)", description = "Manutenção da tabela pedido_view usada pelas listagens de pedidos. Requer role ADMIN.")
+@SecurityRequirement(name = "bearerAuth")
+public class PedidoViewController {
+
+    private final PedidoViewProjetor pedidoViewProjetor;
+
+    /**
+     * Construtor para injeção de dependência do PedidoViewProjetor.
+     * @param pedidoViewProjetor O serviço que mantém a tabela pedido_view.
+     */
+    public PedidoViewController(PedidoViewProjetor pedidoViewProjetor) {
+        this.pedidoViewProjetor = pedidoViewProjetor;
+    }
+
+    @PostMapping("/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir o modelo de leitura (ADMIN)",
+               description = "Regrava todas as linhas de pedido_view a partir das tabelas de pedido, em lotes, " +
+                             "e remove as linhas de pedidos que não existem mais.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Reconstrução concluída"),
+        @ApiResponse(responseCode = "401", description = "Token ausente ou inválido"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado (não é ADMIN)")
+    })
+    public ResponseEntity<ApiResponseWrapper<ResultadoReconstrucao>> reconstruir() {
+        ResultadoReconstrucao resultado = pedidoViewProjetor.reconstruir();
+        String mensagem = resultado.pedidosProjetados() + " pedido(s) projetado(s), "
+                + resultado.linhasRemovidas() + " linha(s) removida(s)";
+        return ResponseEntity.ok(new ApiResponseWrapper<>(true, resultado, mensagem));
+    }
+
+    @GetMapping("/consistencia")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Verificar o modelo de leitura (ADMIN)",
+               description = "Compara pedido_view com as tabelas de pedido sem alterar nada e aponta pedidos sem linha, " +
+                             "linhas divergentes e linhas órfãs.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Verificação concluída"),
+        @ApiResponse(responseCode = "401", description = "Token ausente ou inválido"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado (não é ADMIN)")
+    })
+    public ResponseEntity<ApiResponseWrapper<RelatorioConsistencia>> verificarConsistencia() {
+        RelatorioConsistencia relatorio = pedidoViewProjetor.verificarConsistencia();
+        String mensagem = relatorio.consistente()
+                ? "Modelo de leitura consistente"
+                : "Modelo de leitura inconsistente: reconstrua com POST /api/admin/pedido-view/reconstruir";
+        return ResponseEntity.ok(new ApiResponseWrapper<>(true, relatorio, mensagem));
+    }
+}
@@ -1,7 +1,9 @@
 package com.deliverytech.delivery.controller;
 
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
 import com.deliverytech.delivery.dto.request.ProdutoDTO;
 import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.dto.response.CursorResponseWrapper;
 import com.deliverytech.delivery.dto.response.PagedResponseWrapper;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 import com.deliverytech.delivery.service.ProdutoService;
@@ -15,15 +17,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -211,14 +217,15 @@ public class ProdutoController {
     }
 
     /**
-     * Busca produtos por nome (correspondência parcial). Endpoint público.
+     * Busca produtos por texto (nome, categoria e descrição). Endpoint público.
      *
      * @param nome Termo de busca para o nome do produto.
      * @return ResponseEntity 200 (OK) com a lista de produtos encontrados.
      */
     @GetMapping("/buscar")
     @Operation(summary = "Buscar produtos por nome (Público)",
-               description = "Retorna produtos que correspondem ao nome informado (busca parcial).")
+               description = "Retorna até 100 produtos disponíveis que contêm os termos informados no nome, "
+                       + "na categoria ou na descrição (sem diferenciar acentos), os mais relevantes primeiro.")
     @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso",
                  content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProdutoResponseDTO.class))))
     public ResponseEntity<ApiResponseWrapper<List<ProdutoResponseDTO>>> buscarPorNome(
@@ -231,20 +238,51 @@ public class ProdutoController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Busca textual paginada, ordenada por relevância. Endpoint público.
+     *
+     * @param termo    Termos da busca; o último também casa como prefixo ("piz" → "pizza").
+     * @param pageable Página e tamanho.
+     * @return ResponseEntity 200 (OK) com a página de produtos encontrados.
+     */
+    @GetMapping("/pesquisa")
+    @Operation(summary = "Pesquisar produtos (Público, Paginado)",
+               description = "Busca produtos disponíveis pelo nome, categoria e descrição, sem diferenciar acentos, "
+                       + "ordenados por relevância.")
+    @ApiResponse(responseCode = "200", description = "Pesquisa realizada com sucesso")
+    public ResponseEntity<PagedResponseWrapper<ProdutoResponseDTO>> pesquisar(
+            @Parameter(description = "Termos da busca", required = true, example = "acai")
+            @RequestParam String termo,
+
+            @Parameter(description = "Parâmetros de paginação (size, page)")
+            Pageable pageable) {
+
+        Page<ProdutoResponseDTO> pagina = produtoService.pesquisarProdutos(termo, pageable);
+        return ResponseEntity.ok(new PagedResponseWrapper<>(pagina));
+    }
+
     /**
      * Lista todos os produtos de forma paginada.
-     * Permite filtrar por ID do restaurante, categoria e disponibilidade. Endpoint público.
+     * Permite filtrar por ID do restaurante, categoria, disponibilidade, faixa de preço
+     * e trecho do nome. Endpoint público.
      *
      * @param pageable      Objeto de paginação (tamanho, página, ordenação).
      * @param restauranteId (Opcional) Filtra produtos pelo ID do restaurante.
      * @param categoria     (Opcional) Filtra produtos pela categoria.
      * @param disponivel    (Opcional) Filtra produtos pelo status de disponibilidade.
+     * @param precoMinimo   (Opcional) Preço base mínimo (inclusive).
+     * @param precoMaximo   (Opcional) Preço base máximo (inclusive).
+     * @param nome          (Opcional) Trecho do nome do produto.
      * @return ResponseEntity 200 (OK) com a página de produtos.
      */
     @GetMapping
     @Operation(summary = "Listar produtos (Público, Paginado)",
-               description = "Lista produtos com filtros opcionais (restauranteId, categoria, disponibilidade) e paginação.")
-    @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso")
+               description = "Lista produtos com filtros opcionais (restauranteId, categoria, disponibilidade, "
+                       + "faixa de preço e nome) e paginação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Preço mínimo maior que o máximo")
+    })
     public ResponseEntity<PagedResponseWrapper<ProdutoResponseDTO>> listar(
             @Parameter(description = "ID do restaurante para filtrar") 
             @RequestParam(required = false) Long restauranteId,
@@ -254,14 +292,69 @@ public class ProdutoController {
             
             @Parameter(description = "Status de disponibilidade para filtrar") 
             @RequestParam(required = false) Boolean disponivel,
+
+            @Parameter(description = "Preço base mínimo", example = "20.00")
+            @RequestParam(required = false) BigDecimal precoMinimo,
+
+            @Parameter(description = "Preço base máximo", example = "50.00")
+            @RequestParam(required = false) BigDecimal precoMaximo,
+
+            @Parameter(description = "Trecho do nome (sem diferenciar maiúsculas)", example = "pizza")
+            @RequestParam(required = false) String nome,
             
             @Parameter(description = "Parâmetros de paginação (size, page, sort)") 
             Pageable pageable) {
 
-        
-        Page<ProdutoResponseDTO> paginaProdutos = produtoService.listarProdutos(pageable, restauranteId, categoria, disponivel);
+        FiltroProdutoDTO filtro = new FiltroProdutoDTO(restauranteId, categoria, disponivel, precoMinimo, precoMaximo, nome);
+        Page<ProdutoResponseDTO> paginaProdutos = produtoService.listarProdutos(pageable, filtro);
 
         PagedResponseWrapper<ProdutoResponseDTO> response = new PagedResponseWrapper<>(paginaProdutos);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Lista produtos paginados por cursor (ordem de id), com os mesmos filtros de {@link #listar}.
+     * Para percorrer o catálogo inteiro: o custo de cada página não cresce com a profundidade.
+     *
+     * @param cursor (Opcional) Cursor devolvido pela página anterior.
+     * @param size   Itens por página.
+     * @return ResponseEntity 200 (OK) com a página e o cursor da próxima.
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar produtos por cursor (Público)",
+               description = "Mesmos filtros da listagem, paginada por cursor. Use o nextCursor (ou o link next) "
+                       + "da resposta para a próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido ou faixa de preço invertida")
+    })
+    public ResponseEntity<CursorResponseWrapper<ProdutoResponseDTO>> listarPorCursor(
+            @Parameter(description = "ID do restaurante para filtrar")
+            @RequestParam(required = false) Long restauranteId,
+
+            @Parameter(description = "Categoria para filtrar")
+            @RequestParam(required = false) String categoria,
+
+            @Parameter(description = "Status de disponibilidade para filtrar")
+            @RequestParam(required = false) Boolean disponivel,
+
+            @Parameter(description = "Preço base mínimo", example = "20.00")
+            @RequestParam(required = false) BigDecimal precoMinimo,
+
+            @Parameter(description = "Preço base máximo", example = "50.00")
+            @RequestParam(required = false) BigDecimal precoMaximo,
+
+            @Parameter(description = "Trecho do nome (sem diferenciar maiúsculas)", example = "pizza")
+            @RequestParam(required = false) String nome,
+
+            @Parameter(description = "Cursor da página anterior (vazio para a primeira)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Itens por página", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        FiltroProdutoDTO filtro = new FiltroProdutoDTO(restauranteId, categoria, disponivel, precoMinimo, precoMaximo, nome);
+        Window<ProdutoResponseDTO> janela = produtoService.listarProdutosPorCursor(filtro, cursor, size);
+        return ResponseEntity.ok(new CursorResponseWrapper<>(janela, size));
+    }
+}
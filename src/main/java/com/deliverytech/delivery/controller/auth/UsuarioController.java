@@ -3,6 +3,7 @@ package com.deliverytech.delivery.controller.auth;
 import com.deliverytech.delivery.dto.auth.UserResponse;
 import com.deliverytech.delivery.dto.auth.UsuarioUpdateDTO; 
 import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.dto.response.CursorResponseWrapper;
 import com.deliverytech.delivery.dto.response.PagedResponseWrapper;
 import com.deliverytech.delivery.service.auth.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,10 +12,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -41,14 +45,32 @@ public class UsuarioController {
      * Lista todos os usuários cadastrados no sistema (paginado).
      * Requer role ADMIN.
      */
-    @Operation(summary = "Lista todos os usuários (ADMIN, Paginado)")
+    @Operation(summary = "Lista todos os usuários (ADMIN, Paginado)",
+               description = "Com contarTotal=false não executa o COUNT(*): totalElements e totalPages ficam nulos.")
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponseWrapper<UserResponse>> listarUsuarios(Pageable pageable) {
-        Page<UserResponse> usuariosPage = usuarioService.buscarTodos(pageable); 
+    public ResponseEntity<PagedResponseWrapper<UserResponse>> listarUsuarios(
+            @RequestParam(defaultValue = "true") boolean contarTotal,
+            Pageable pageable) {
+        Slice<UserResponse> usuariosPage = usuarioService.buscarTodos(pageable, contarTotal); 
         return ResponseEntity.ok(new PagedResponseWrapper<>(usuariosPage));
     }
 
+    /**
+     * Lista todos os usuários paginados por cursor (ordem de id).
+     * Requer role ADMIN.
+     */
+    @Operation(summary = "Lista todos os usuários por cursor (ADMIN)",
+               description = "Use o nextCursor (ou o link next) da resposta para a próxima página.")
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorResponseWrapper<UserResponse>> listarUsuariosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        Window<UserResponse> janela = usuarioService.buscarTodosPorCursor(cursor, size);
+        return ResponseEntity.ok(new CursorResponseWrapper<>(janela, size));
+    }
+
     /**
      * Lista todos os usuários ENTREGADORES que estão ATIVOS.
      * Acesso restrito a usuários com role 'ADMIN' ou 'RESTAURANTE'.
@@ -0,0 +1,78 @@
+package com.deliverytech.delivery.datasource;
+
+import org.slf4j.MDC;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Janela de "ler o que eu escrevi" (read-your-writes).
+ * <p>
+ * As réplicas recebem as alterações com algum atraso. Depois que um cliente
+ * confirma uma escrita (ex: cria um pedido), as leituras dele continuam indo
+ * para a primária durante a janela, para que ele veja o próprio dado.
+ * <p>
+ * O cliente é o usuário autenticado; sem autenticação (ex: cadastro), usa o IP
+ * da requisição que o {@code CorrelationIdFilter} coloca no MDC.
+ */
+public class JanelaLeituraPropriaEscrita {
+
+    /** Acima disso, as entradas vencidas são limpas na próxima escrita. */
+    private static final int LIMPEZA_ACIMA_DE = 10_000;
+
+    private final long janelaNanos;
+    private final Map<String, Long> primariaAte = new ConcurrentHashMap<>();
+
+    public JanelaLeituraPropriaEscrita(Duration janela) {
+        this.janelaNanos = janela.toNanos();
+    }
+
+    /**
+     * Abre (ou renova) a janela do cliente. Chamado após o commit de uma transação de escrita.
+     */
+    public void registrarEscrita(String cliente) {
+        if (cliente == null || janelaNanos <= 0) {
+            return;
+        }
+        long agora = System.nanoTime();
+        primariaAte.put(cliente, agora + janelaNanos);
+        if (primariaAte.size() > LIMPEZA_ACIMA_DE) {
+            primariaAte.values().removeIf(ate -> ate - agora <= 0);
+        }
+    }
+
+    /**
+     * @return {@code true} se o cliente escreveu há pouco e deve ler da primária.
+     */
+    public boolean ativa(String cliente) {
+        if (cliente == null) {
+            return false;
+        }
+        Long ate = primariaAte.get(cliente);
+        if (ate == null) {
+            return false;
+        }
+        if (ate - System.nanoTime() <= 0) {
+            primariaAte.remove(cliente, ate);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Identifica o cliente da thread atual (usuário autenticado ou IP), ou {@code null}.
+     */
+    public static String clienteAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated()
+                && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return "usuario:" + autenticacao.getName();
+        }
+        String ip = MDC.get("clientIp");
+        return ip != null ? "ip:" + ip : null;
+    }
+}
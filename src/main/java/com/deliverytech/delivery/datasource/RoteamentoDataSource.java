@@ -0,0 +1,222 @@
+package com.deliverytech.delivery.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que separa leitura e escrita entre a primária e as réplicas.
+ * <p>
+ * Regras de roteamento (avaliadas quando a conexão física é obtida, por isso
+ * este DataSource deve ficar atrás de um {@code LazyConnectionDataSourceProxy}):
+ * <ol>
+ *   <li>transação de escrita (ou sem transação) → primária;</li>
+ *   <li>{@code @Transactional(readOnly = true)} de um cliente dentro da janela de
+ *       leitura da própria escrita → primária;</li>
+ *   <li>demais leituras → réplicas em rodízio (round-robin).</li>
+ * </ol>
+ * Uma réplica que falha ao entregar conexão fica em quarentena e a leitura
+ * tenta a próxima réplica; sem réplicas disponíveis, vai para a primária.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    public static final String PRIMARIA = "primaria";
+
+    private final List<String> replicas;
+    private final JanelaLeituraPropriaEscrita janela;
+    private final long quarentenaNanos;
+    private final AtomicInteger rodizio = new AtomicInteger();
+    private final Map<String, Long> quarentenaAte = new ConcurrentHashMap<>();
+
+    private final Counter roteadasPrimariaEscrita;
+    private final Counter roteadasPrimariaJanela;
+    private final Counter roteadasPrimariaFailover;
+    private final Map<String, Counter> roteadasReplica = new HashMap<>();
+    private final Map<String, Counter> falhasReplica = new HashMap<>();
+
+    /**
+     * @param primaria   DataSource da primária (escritas).
+     * @param replicas   Réplicas de leitura, por nome (ex: "replica-1").
+     * @param janela     Janela de leitura da própria escrita.
+     * @param quarentena Tempo fora do rodízio após uma falha de conexão.
+     */
+    public RoteamentoDataSource(DataSource primaria, Map<String, DataSource> replicas,
+                                JanelaLeituraPropriaEscrita janela, Duration quarentena,
+                                MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas.keySet());
+        this.janela = janela;
+        this.quarentenaNanos = quarentena.toNanos();
+
+        Map<Object, Object> alvos = new LinkedHashMap<>(replicas);
+        alvos.put(PRIMARIA, primaria);
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+
+        this.roteadasPrimariaEscrita = contadorRoteamento(meterRegistry, PRIMARIA, "escrita");
+        this.roteadasPrimariaJanela = contadorRoteamento(meterRegistry, PRIMARIA, "leitura-propria-escrita");
+        this.roteadasPrimariaFailover = contadorRoteamento(meterRegistry, PRIMARIA, "sem-replica-disponivel");
+        for (String replica : this.replicas) {
+            roteadasReplica.put(replica, contadorRoteamento(meterRegistry, replica, "leitura"));
+            falhasReplica.put(replica, Counter.builder("delivery.datasource.replica.falhas")
+                    .description("Falhas ao obter conexão de uma réplica (que entra em quarentena)")
+                    .tag("replica", replica)
+                    .register(meterRegistry));
+        }
+        afterPropertiesSet();
+    }
+
+    /**
+     * Destino "preferido" da thread atual (sem considerar falhas de conexão).
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARIA;
+        }
+        if (janela.ativa(JanelaLeituraPropriaEscrita.clienteAtual())) {
+            return PRIMARIA;
+        }
+        String replica = proximaReplicaDisponivel();
+        return replica != null ? replica : PRIMARIA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return conexaoEscrita();
+        }
+
+        String cliente = JanelaLeituraPropriaEscrita.clienteAtual();
+        if (janela.ativa(cliente)) {
+            roteadasPrimariaJanela.increment();
+            return primaria().getConnection();
+        }
+
+        // Tenta cada réplica disponível no máximo uma vez antes de cair na primária
+        for (int tentativa = 0; tentativa < replicas.size(); tentativa++) {
+            String replica = proximaReplicaDisponivel();
+            if (replica == null) {
+                break;
+            }
+            try {
+                Connection conexao = alvo(replica).getConnection();
+                roteadasReplica.get(replica).increment();
+                return conexao;
+            } catch (SQLException e) {
+                colocarEmQuarentena(replica, e);
+            }
+        }
+        roteadasPrimariaFailover.increment();
+        return primaria().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credenciais explícitas: sem roteamento, sempre na primária
+        return primaria().getConnection(username, password);
+    }
+
+    /**
+     * Nomes das réplicas que estão fora do rodízio no momento.
+     */
+    public List<String> replicasEmQuarentena() {
+        List<String> emQuarentena = new ArrayList<>();
+        for (String replica : replicas) {
+            if (emQuarentena(replica)) {
+                emQuarentena.add(replica);
+            }
+        }
+        return emQuarentena;
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    /**
+     * Conexão na primária. Se for uma transação de escrita, abre a janela de
+     * leitura da própria escrita para o cliente quando ela for confirmada.
+     */
+    private Connection conexaoEscrita() throws SQLException {
+        roteadasPrimariaEscrita.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            String cliente = JanelaLeituraPropriaEscrita.clienteAtual();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    janela.registrarEscrita(cliente);
+                }
+            });
+        }
+        return primaria().getConnection();
+    }
+
+    private String proximaReplicaDisponivel() {
+        int total = replicas.size();
+        for (int i = 0; i < total; i++) {
+            String replica = replicas.get(Math.floorMod(rodizio.getAndIncrement(), total));
+            if (!emQuarentena(replica)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean emQuarentena(String replica) {
+        Long ate = quarentenaAte.get(replica);
+        if (ate == null) {
+            return false;
+        }
+        if (ate - System.nanoTime() <= 0) {
+            // Quarentena vencida: volta ao rodízio (se falhar de novo, volta para a quarentena)
+            if (quarentenaAte.remove(replica, ate)) {
+                logger.info("[DATASOURCE] Réplica {} voltou ao rodízio de leitura", replica);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void colocarEmQuarentena(String replica, SQLException erro) {
+        falhasReplica.get(replica).increment();
+        quarentenaAte.put(replica, System.nanoTime() + quarentenaNanos);
+        logger.warn("[DATASOURCE] Réplica {} indisponível ({}); fora do rodízio por {} ms",
+                replica, erro.getMessage(), Duration.ofNanos(quarentenaNanos).toMillis());
+    }
+
+    private DataSource primaria() {
+        return alvo(PRIMARIA);
+    }
+
+    private DataSource alvo(String chave) {
+        return getResolvedDataSources().get(chave);
+    }
+
+    private static Counter contadorRoteamento(MeterRegistry meterRegistry, String destino, String motivo) {
+        return Counter.builder("delivery.datasource.roteamento")
+                .description("Conexões físicas obtidas, por destino e motivo do roteamento")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+}
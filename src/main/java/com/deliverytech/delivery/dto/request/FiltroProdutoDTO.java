@@ -0,0 +1,38 @@
+package com.deliverytech.delivery.dto.request;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros da listagem paginada de produtos ({@code GET /api/produtos}).
+ * Todos os campos são opcionais; os informados são combinados com AND.
+ * Textos em branco contam como não informados (a chave do cache fica a mesma).
+ *
+ * @param restauranteId ID do restaurante.
+ * @param categoria     Categoria (igualdade exata).
+ * @param disponivel    Status de disponibilidade.
+ * @param precoMinimo   Preço base mínimo (inclusive).
+ * @param precoMaximo   Preço base máximo (inclusive).
+ * @param nome          Trecho do nome, sem diferenciar maiúsculas.
+ */
+public record FiltroProdutoDTO(
+        Long restauranteId,
+        String categoria,
+        Boolean disponivel,
+        BigDecimal precoMinimo,
+        BigDecimal precoMaximo,
+        String nome) {
+
+    public FiltroProdutoDTO {
+        categoria = semBrancos(categoria);
+        nome = semBrancos(nome);
+    }
+
+    /** Sem nenhum filtro: o catálogo inteiro. */
+    public static FiltroProdutoDTO todos() {
+        return new FiltroProdutoDTO(null, null, null, null, null, null);
+    }
+
+    private static String semBrancos(String texto) {
+        return texto == null || texto.isBlank() ? null : texto.trim();
+    }
+}
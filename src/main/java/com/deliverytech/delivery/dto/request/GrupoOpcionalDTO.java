@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -12,7 +13,9 @@ import java.util.List;
  * de um produto (ex: "Tamanho", "Bordas", "Adicionais").
  */
 @Schema(description = "DTO para um grupo de opcionais (ex: 'Tamanho')")
-public class GrupoOpcionalDTO {
+public class GrupoOpcionalDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Schema(description = "ID do grupo (usado apenas para atualização)")
     private Long id; // Útil para o método de 'atualizarProduto'
@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 /**
@@ -11,7 +12,9 @@ import java.math.BigDecimal;
  * dentro de um GrupoOpcional (ex: "Média", "Grande", "+Bacon").
  */
 @Schema(description = "DTO para um item opcional (ex: 'Média' ou '+Bacon')")
-public class ItemOpcionalDTO {
+public class ItemOpcionalDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Schema(description = "ID do item opcional (usado apenas para atualização)")
     private Long id; // Útil para o método de 'atualizarProduto'
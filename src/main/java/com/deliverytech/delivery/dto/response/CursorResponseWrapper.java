@@ -0,0 +1,104 @@
+package com.deliverytech.delivery.dto.response;
+
+import com.deliverytech.delivery.repository.cursor.CursorKeyset;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Window;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * DTO genérico para respostas paginadas por cursor (keyset), a partir de um
+ * {@link Window} do Spring Data.
+ * <p>
+ * Não há total nem número de página: a navegação é só para a frente, pelo
+ * {@code nextCursor} (ou pelo link {@code next}, que repete a requisição atual
+ * trocando o cursor).
+ *
+ * @param <T> O tipo de dado (DTO) do conteúdo da página.
+ */
+@Schema(description = "Wrapper para respostas paginadas por cursor")
+public class CursorResponseWrapper<T> {
+
+    @Schema(description = "Lista de itens da página atual")
+    private List<T> content;
+
+    @Schema(description = "Informações de paginação por cursor")
+    private CursorInfo page;
+
+    @Schema(description = "Links de navegação")
+    private CursorLinks links;
+
+    /**
+     * @param janela Janela retornada pelo repositório (com as posições de cada item).
+     * @param tamanho Tamanho de página pedido.
+     */
+    public CursorResponseWrapper(Window<T> janela, int tamanho) {
+        this.content = janela.getContent();
+        String proximo = janela.hasNext() && !janela.isEmpty()
+                ? CursorKeyset.codificar(janela.positionAt(janela.size() - 1))
+                : null;
+        this.page = new CursorInfo(tamanho, janela.size(), janela.hasNext(), proximo);
+        this.links = new CursorLinks(proximo);
+    }
+
+    /**
+     * Classe interna que contém os metadados da página.
+     */
+    @Schema(description = "Informações de paginação por cursor")
+    public static class CursorInfo {
+        @Schema(description = "Tamanho da página", example = "20")
+        private int size;
+
+        @Schema(description = "Itens nesta página", example = "20")
+        private int numberOfElements;
+
+        @Schema(description = "Há mais itens depois desta página", example = "true")
+        private boolean hasNext;
+
+        @Schema(description = "Cursor opaco da próxima página (nulo na última)", example = "djF8aWQ6TDo0Mg")
+        private String nextCursor;
+
+        public CursorInfo(int size, int numberOfElements, boolean hasNext, String nextCursor) {
+            this.size = size;
+            this.numberOfElements = numberOfElements;
+            this.hasNext = hasNext;
+            this.nextCursor = nextCursor;
+        }
+
+        // Getters
+        public int getSize() { return size; }
+        public int getNumberOfElements() { return numberOfElements; }
+        public boolean isHasNext() { return hasNext; }
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    /**
+     * Classe interna que contém o link da próxima página.
+     */
+    @Schema(description = "Links de navegação")
+    public static class CursorLinks {
+        @Schema(description = "Link para a próxima página (nulo na última)")
+        private String next;
+
+        public CursorLinks(String proximoCursor) {
+            if (proximoCursor == null) {
+                return;
+            }
+            // Mesma URL e filtros da requisição atual, só com o cursor trocado
+            this.next = RequestContextHolder.getRequestAttributes() != null
+                    ? ServletUriComponentsBuilder.fromCurrentRequest()
+                            .replaceQueryParam("cursor", proximoCursor).build().toUriString()
+                    : "?cursor=" + proximoCursor;
+        }
+
+        // Getters
+        public String getNext() { return next; }
+    }
+
+    // Getters
+    public List<T> getContent() { return content; }
+    public CursorInfo getPage() { return page; }
+    public CursorLinks getLinks() { return links; }
+}
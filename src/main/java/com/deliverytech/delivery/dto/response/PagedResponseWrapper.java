@@ -2,6 +2,7 @@ package com.deliverytech.delivery.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 /**
@@ -51,6 +52,26 @@ public class PagedResponseWrapper<T> {
         this.links = new PageLinks(page);
     }
 
+    /**
+     * Construtor para o modo sem contagem ({@code contarTotal=false}): um
+     * {@link Slice} só sabe se há próxima página, sem o {@code COUNT(*)}.
+     * Total de elementos, total de páginas e o link da última ficam nulos.
+     *
+     * @param slice O objeto Slice retornado pelo repositório (se for um Page, nada muda).
+     */
+    public PagedResponseWrapper(Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            this.content = page.getContent();
+            this.page = new PageInfo(page.getNumber(), page.getSize(), page.getTotalElements(),
+                    page.getTotalPages(), page.isFirst(), page.isLast());
+            this.links = new PageLinks(page);
+            return;
+        }
+        this.content = slice.getContent();
+        this.page = new PageInfo(slice.getNumber(), slice.getSize(), null, null, slice.isFirst(), slice.isLast());
+        this.links = new PageLinks(slice);
+    }
+
     /**
      * Classe interna que contém os metadados da página.
      */
@@ -62,11 +83,11 @@ public class PagedResponseWrapper<T> {
         @Schema(description = "Tamanho da página", example = "10")
         private int size;
 
-        @Schema(description = "Total de elementos", example = "50")
-        private long totalElements;
+        @Schema(description = "Total de elementos (nulo sem contagem)", example = "50")
+        private Long totalElements;
 
-        @Schema(description = "Total de páginas", example = "5")
-        private int totalPages;
+        @Schema(description = "Total de páginas (nulo sem contagem)", example = "5")
+        private Integer totalPages;
 
         @Schema(description = "É a primeira página", example = "true")
         private boolean first;
@@ -74,7 +95,7 @@ public class PagedResponseWrapper<T> {
         @Schema(description = "É a última página", example = "false")
         private boolean last;
 
-        public PageInfo(int number, int size, long totalElements, int totalPages, boolean first, boolean last) {
+        public PageInfo(int number, int size, Long totalElements, Integer totalPages, boolean first, boolean last) {
             this.number = number;
             this.size = size;
             this.totalElements = totalElements;
@@ -86,8 +107,8 @@ public class PagedResponseWrapper<T> {
         // Getters
         public int getNumber() { return number; }
         public int getSize() { return size; }
-        public long getTotalElements() { return totalElements; }
-        public int getTotalPages() { return totalPages; }
+        public Long getTotalElements() { return totalElements; }
+        public Integer getTotalPages() { return totalPages; }
         public boolean isFirst() { return first; }
         public boolean isLast() { return last; }
     }
@@ -123,6 +144,21 @@ public class PagedResponseWrapper<T> {
             }
         }
 
+        /** Sem contagem não há link para a última página. */
+        public PageLinks(Slice<?> slice) {
+            String baseUrl = "/api";
+            String semContagem = "&size=" + slice.getSize() + "&contarTotal=false";
+            this.first = baseUrl + "?page=0" + semContagem;
+
+            if (slice.hasNext()) {
+                this.next = baseUrl + "?page=" + (slice.getNumber() + 1) + semContagem;
+            }
+
+            if (slice.hasPrevious()) {
+                this.prev = baseUrl + "?page=" + (slice.getNumber() - 1) + semContagem;
+            }
+        }
+
         // Getters
         public String getFirst() { return first; }
         public String getLast() { return last; }
@@ -0,0 +1,49 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO (Data Transfer Object) de uma sugestão do autocomplete.
+ */
+@Schema(description = "Sugestão do autocomplete (restaurante, produto ou categoria)")
+public class SugestaoResponseDTO {
+
+    @Schema(description = "Texto sugerido", example = "Pizza Calabresa")
+    private String texto;
+
+    @Schema(description = "Tipo da sugestão", example = "PRODUTO", allowableValues = {"RESTAURANTE", "CATEGORIA", "PRODUTO"})
+    private String tipo;
+
+    @Schema(description = "ID do restaurante (só para sugestões do tipo RESTAURANTE)", example = "1")
+    private Long id;
+
+    public SugestaoResponseDTO(String texto, String tipo, Long id) {
+        this.texto = texto;
+        this.tipo = tipo;
+        this.id = id;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -8,6 +8,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,6 +19,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "grupo_opcional")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo.grupoOpcional")
 @Getter
 @Setter
 @ToString(exclude = {"produto", "itensOpcionais"})
@@ -53,6 +57,7 @@ public class GrupoOpcional {
 
     /** Itens de opção dentro do grupo (ex: 'Pequena', 'Média', 'Grande') */
     @OneToMany(mappedBy = "grupoOpcional", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo.grupoOpcional.itensOpcionais")
     @Schema(description = "Lista de itens pertencentes a este grupo")
     private Set<ItemOpcional> itensOpcionais = new HashSet<>();
 
@@ -9,6 +9,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 /**
@@ -17,6 +19,8 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "item_opcional")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo.itemOpcional")
 @Getter
 @Setter
 @ToString(exclude = "grupoOpcional")
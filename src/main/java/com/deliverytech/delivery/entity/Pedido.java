@@ -17,8 +17,22 @@ import java.util.List;
 
 /**
  * Representa um pedido completo, com cliente, restaurante, itens, entrega e pagamento.
+ * <p>
+ * Os índices compostos terminam em (data_pedido, id), a ordem das listagens:
+ * a paginação por cursor continua direto no índice, sem percorrer as páginas anteriores.
+ * Os demais atendem às consultas de PedidoRepository (restaurante, entregador e
+ * valor). No MySQL quem cria os índices são as migrations (db/migration); aqui
+ * eles ficam espelhados para o schema que o Hibernate gera no H2.
  */
 @Entity
+@Table(name = "pedido", indexes = {
+        @Index(name = "idx_pedido_data_id", columnList = "data_pedido, id"),
+        @Index(name = "idx_pedido_cliente_data_id", columnList = "cliente_id, data_pedido, id"),
+        @Index(name = "idx_pedido_status_data_id", columnList = "status, data_pedido, id"),
+        @Index(name = "idx_pedido_restaurante_data_id", columnList = "restaurante_id, data_pedido, id"),
+        @Index(name = "idx_pedido_entregador_status_data", columnList = "entregador_id, status, data_pedido"),
+        @Index(name = "idx_pedido_valor_total", columnList = "valor_total")
+})
 @Data
 @ToString(exclude = {"cliente", "restaurante", "itens", "enderecoEntrega", "entregador"})
 @Schema(description = "Entidade que representa um pedido completo no sistema")
@@ -81,6 +95,7 @@ public class Pedido {
     private Usuario entregador;
 
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id") // Ordem estável dos itens na resposta e em pedido_view
     @Schema(description = "Lista de itens que compõem o pedido")
     private List<ItemPedido> itens = new ArrayList<>();
 
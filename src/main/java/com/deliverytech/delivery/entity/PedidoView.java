@@ -0,0 +1,136 @@
+package com.deliverytech.delivery.entity;
+
+import com.deliverytech.delivery.dto.response.ItemPedidoResponseDTO;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modelo de leitura dos pedidos (lado de consulta do CQRS): uma linha por
+ * pedido com tudo o que a resposta da API mostra, já desnormalizado — nomes
+ * do cliente, do restaurante e do entregador, endereço formatado, totais e
+ * os itens (em JSON). As listagens leem só esta tabela, sem os JOINs com
+ * cliente, restaurante, endereco, usuario, itens_pedido e produto.
+ * <p>
+ * Quem escreve é o PedidoViewProjetor, na mesma transação das alterações de
+ * PedidoServiceImpl. O id é o do próprio pedido. Os índices repetem os de
+ * {@link Pedido} para as mesmas listagens.
+ */
+@Entity
+@Table(name = "pedido_view", indexes = {
+        @Index(name = "idx_pedido_view_data_id", columnList = "data_pedido, id"),
+        @Index(name = "idx_pedido_view_cliente_data_id", columnList = "cliente_id, data_pedido, id"),
+        @Index(name = "idx_pedido_view_status_data_id", columnList = "status, data_pedido, id"),
+        @Index(name = "idx_pedido_view_restaurante_data_id", columnList = "restaurante_id, data_pedido, id"),
+        @Index(name = "idx_pedido_view_entregador_status_data", columnList = "entregador_id, status, data_pedido")
+})
+@Data
+public class PedidoView implements Persistable<Long> {
+
+    /** Mesmo id do pedido. */
+    @Id
+    private Long id;
+
+    private String numeroPedido;
+
+    private LocalDateTime dataPedido;
+
+    @Enumerated(EnumType.STRING)
+    private StatusPedido status;
+
+    private Long clienteId;
+
+    private String clienteNome;
+
+    private Long restauranteId;
+
+    private String restauranteNome;
+
+    /** "Rua, número - bairro". */
+    private String enderecoEntrega;
+
+    private Long entregadorId;
+
+    /** Nome do entregador (ou o email, se não tiver nome). */
+    private String entregadorNome;
+
+    /** Linhas de item do pedido. */
+    private Integer quantidadeItens;
+
+    private BigDecimal subtotal;
+
+    private BigDecimal taxaEntrega;
+
+    private BigDecimal valorTotal;
+
+    @Convert(converter = ItensJson.class)
+    @Column(columnDefinition = "TEXT")
+    private List<ItemPedidoResponseDTO> itens = new ArrayList<>();
+
+    /**
+     * Linha montada agora e ainda não gravada: o save do Spring Data faz o
+     * INSERT direto, sem o SELECT que o merge faria para um id já preenchido.
+     */
+    private transient boolean nova;
+
+    public PedidoView() {
+    }
+
+    /** Linha nova para o pedido {@code id}. */
+    public PedidoView(Long id) {
+        this.id = id;
+        this.nova = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarGravada() {
+        this.nova = false;
+    }
+
+    /**
+     * Itens do pedido gravados como JSON numa coluna de texto.
+     */
+    @Converter
+    public static class ItensJson implements AttributeConverter<List<ItemPedidoResponseDTO>, String> {
+
+        private static final ObjectMapper JSON = new ObjectMapper();
+        private static final TypeReference<List<ItemPedidoResponseDTO>> TIPO = new TypeReference<>() {
+        };
+
+        @Override
+        public String convertToDatabaseColumn(List<ItemPedidoResponseDTO> itens) {
+            try {
+                return JSON.writeValueAsString(itens != null ? itens : List.of());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar os itens do pedido", e);
+            }
+        }
+
+        @Override
+        public List<ItemPedidoResponseDTO> convertToEntityAttribute(String json) {
+            if (json == null || json.isBlank()) {
+                return new ArrayList<>();
+            }
+            try {
+                return JSON.readValue(json, TIPO);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Itens do pedido com JSON inválido", e);
+            }
+        }
+    }
+}
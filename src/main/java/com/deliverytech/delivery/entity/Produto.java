@@ -10,6 +10,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -20,8 +22,18 @@ import java.util.Set;
 /**
  * Representa um produto do cardápio de um restaurante.
  * Possui preço base e grupos opcionais para personalização.
+ * <p>
+ * Os índices compostos seguem os filtros da listagem (ver ProdutoSpecifications):
+ * igualdades primeiro (restaurante ou categoria, depois disponibilidade) e o
+ * intervalo de preço por último. O de restaurante também atende à FK.
  */
 @Entity
+@Table(name = "produto", indexes = {
+        @Index(name = "idx_produto_restaurante_disponivel_preco", columnList = "restaurante_id, disponivel, preco_base"),
+        @Index(name = "idx_produto_categoria_disponivel_preco", columnList = "categoria, disponivel, preco_base")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo.produto")
 @Getter
 @Setter
 @ToString(exclude = {"restaurante", "itensPedido", "gruposOpcionais"})
@@ -67,6 +79,7 @@ public class Produto {
 
     /** Grupos de personalização (ex: Tamanho, Adicionais) */
     @OneToMany(mappedBy = "produto", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo.produto.gruposOpcionais")
     @Schema(description = "Lista de grupos opcionais do produto")
     private Set<GrupoOpcional> gruposOpcionais = new HashSet<>();
 
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -13,8 +15,20 @@ import java.util.List;
 /**
  * Entidade que representa um restaurante.
  * Armazena informações cadastrais, endereço e dados operacionais.
+ * <p>
+ * Índices das consultas de RestauranteRepository: nome (busca exata e ordem
+ * alfabética), ativo + avaliação (vitrine e filtro por nota), categoria + ativo
+ * e taxa de entrega (filtros por faixa). Criados pelas migrations no MySQL.
  */
 @Entity
+@Table(name = "restaurante", indexes = {
+        @Index(name = "idx_restaurante_nome", columnList = "nome"),
+        @Index(name = "idx_restaurante_ativo_avaliacao", columnList = "ativo, avaliacao"),
+        @Index(name = "idx_restaurante_categoria_ativo", columnList = "categoria, ativo"),
+        @Index(name = "idx_restaurante_taxa_entrega", columnList = "taxa_entrega")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo.restaurante")
 @Data
 @ToString(exclude = {"produtos", "pedidos", "endereco"})
 @Schema(description = "Entidade que representa um restaurante no sistema")
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "usuario")
+@Table(name = "usuario", indexes = {
+        // O login (email, ativo) já é atendido pela unique de email
+        @Index(name = "idx_usuario_role_ativo", columnList = "role, ativo")
+})
 @Schema(description = "Entidade de autenticação e autorização (usuário do sistema)")
 public class Usuario implements UserDetails {
 
@@ -0,0 +1,11 @@
+package com.deliverytech.delivery.event;
+
+/**
+ * Evento de domínio publicado quando o catálogo muda (produto ou restaurante
+ * criado, alterado, removido ou ligado/desligado).
+ *
+ * @param entidade Tipo da entidade alterada ("produto" ou "restaurante")
+ * @param id       ID da entidade alterada
+ */
+public record CatalogoAlteradoEvent(String entidade, Long id) {
+}
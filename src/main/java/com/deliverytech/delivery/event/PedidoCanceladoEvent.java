@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio publicado quando um pedido é cancelado.
+ * Carrega a data original do pedido para que a receita seja estornada
+ * na janela de tempo correta.
+ *
+ * @param pedidoId   ID do pedido
+ * @param valorTotal Valor total que deixa de contar como venda
+ * @param dataPedido Data/hora em que o pedido foi criado
+ */
+public record PedidoCanceladoEvent(Long pedidoId, BigDecimal valorTotal, LocalDateTime dataPedido) {
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio publicado quando um pedido tem o pagamento aprovado e é salvo.
+ *
+ * @param pedidoId      ID do pedido
+ * @param restauranteId ID do restaurante do pedido
+ * @param valorTotal    Valor total do pedido (subtotal + taxa)
+ * @param dataPedido    Data/hora em que o pedido foi criado
+ */
+public record PedidoPagoEvent(Long pedidoId, Long restauranteId, BigDecimal valorTotal, LocalDateTime dataPedido) {
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.event;
+
+/**
+ * Evento de domínio publicado quando um novo restaurante é cadastrado.
+ *
+ * @param restauranteId ID do restaurante recém-criado
+ */
+public record RestauranteCriadoEvent(Long restauranteId) {
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.event;
+
+/**
+ * Evento de domínio publicado quando um novo usuário é registrado no sistema.
+ *
+ * @param usuarioId ID do usuário recém-criado
+ */
+public record UsuarioRegistradoEvent(Long usuarioId) {
+}
@@ -0,0 +1,45 @@
+package com.deliverytech.delivery.health;
+
+import com.deliverytech.delivery.service.aquecimento.AquecimentoService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health Check do aquecimento de inicialização.
+ * Registrado como "aquecimento" no endpoint /actuator/health e incluído no
+ * grupo de readiness (/actuator/health/readiness).
+ * <p>
+ * Fica OUT_OF_SERVICE até o aquecimento terminar, com o progresso nos detalhes.
+ * Etapas que falharam não derrubam o status: a aplicação funciona sem o
+ * aquecimento, só responde mais devagar nos primeiros minutos.
+ */
+@Component("aquecimento")
+public class AquecimentoHealthIndicator implements HealthIndicator {
+
+    private final AquecimentoService aquecimento;
+
+    public AquecimentoHealthIndicator(AquecimentoService aquecimento) {
+        this.aquecimento = aquecimento;
+    }
+
+    @Override
+    public Health health() {
+        AquecimentoService.Estado estado = aquecimento.getEstado();
+        if (estado == AquecimentoService.Estado.DESABILITADO) {
+            return Health.up().withDetail("estado", estado).build();
+        }
+        if (!aquecimento.isConcluido()) {
+            return Health.outOfService()
+                    .withDetail("estado", estado)
+                    .withDetail("progresso", Math.round(aquecimento.getProgresso() * 100) + "%")
+                    .withDetail("etapas", aquecimento.getResultados())
+                    .build();
+        }
+        return Health.up()
+                .withDetail("estado", estado)
+                .withDetail("duracaoMs", aquecimento.getDuracao().toMillis())
+                .withDetail("etapas", aquecimento.getResultados())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.health;
+
+import com.deliverytech.delivery.service.metrics.PoolConexoesMonitor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health Check de saturação do pool de conexões.
+ * Registrado como "poolConexoes" no endpoint /actuator/health.
+ * <p>
+ * Um pico curto de saturação é normal; o status só vira DOWN quando o pool
+ * fica saturado (todas as conexões em uso e threads na fila) por mais tempo
+ * que a janela configurada em {@code app.datasource.monitor.saturacao-janela-ms}.
+ */
+@Component("poolConexoes")
+public class PoolConexoesHealthIndicator implements HealthIndicator {
+
+    private final PoolConexoesMonitor monitor;
+
+    public PoolConexoesHealthIndicator(PoolConexoesMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Health health() {
+        PoolConexoesMonitor.EstadoPool estado = monitor.estado();
+        if (estado == null) {
+            // Pool ainda não iniciado ou DataSource que não é HikariCP
+            return Health.unknown().withDetail("motivo", "Pool de conexões indisponível").build();
+        }
+
+        long saturadoHaMs = monitor.tempoSaturado().toMillis();
+        Health.Builder builder = saturadoHaMs > 0 && saturadoHaMs >= monitor.getJanelaSaturacao().toMillis()
+                ? Health.down().withDetail("motivo", "Pool saturado há " + saturadoHaMs + " ms")
+                : Health.up();
+
+        return builder
+                .withDetail("ativas", estado.ativas())
+                .withDetail("ociosas", estado.ociosas())
+                .withDetail("maximo", estado.maximo())
+                .withDetail("aguardando", estado.aguardando())
+                .withDetail("utilizacao", estado.utilizacao())
+                .withDetail("saturadoHaMs", saturadoHaMs)
+                .withDetail("vazamentosAbertos", monitor.contarVazamentosAbertos())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Usuario;
+
+/**
+ * Conversão do perfil de cliente para a resposta da API.
+ * <p>
+ * Lê o usuário dono do perfil (email, ativo e data de cadastro); a lista de
+ * pedidos não é tocada.
+ */
+public final class ClienteMapper {
+
+    private ClienteMapper() {
+    }
+
+    public static ClienteResponseDTO paraResponse(Cliente cliente) {
+        ClienteResponseDTO dto = new ClienteResponseDTO();
+        dto.setId(cliente.getId());
+        dto.setNome(cliente.getNome());
+        dto.setCpf(cliente.getCpf());
+        dto.setTelefone(cliente.getTelefone());
+
+        Usuario usuario = cliente.getUsuario();
+        if (usuario != null) {
+            dto.setEmail(usuario.getEmail());
+            dto.setAtivo(Boolean.TRUE.equals(usuario.getAtivo()));
+            dto.setDataCadastro(usuario.getDataCriacao());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,64 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.request.EnderecoDTO;
+import com.deliverytech.delivery.dto.response.EnderecoResponseDTO;
+import com.deliverytech.delivery.entity.Endereco;
+
+/**
+ * Conversões de endereço (DTO de entrada, entidade e resposta).
+ * <p>
+ * Copia só os campos do próprio endereço: o usuário dono não é lido nem
+ * preenchido aqui (quem chama associa), e id, coordenadas e ativo ficam com
+ * os valores da entidade.
+ */
+public final class EnderecoMapper {
+
+    private EnderecoMapper() {
+    }
+
+    /** Endereço novo (ainda sem usuário) com os dados do DTO. */
+    public static Endereco paraEntidade(EnderecoDTO dto) {
+        Endereco endereco = new Endereco();
+        copiar(dto, endereco);
+        return endereco;
+    }
+
+    /** Sobrescreve os dados do endereço com os do DTO (atualização). */
+    public static void copiar(EnderecoDTO dto, Endereco endereco) {
+        endereco.setApelido(dto.getApelido());
+        endereco.setCep(dto.getCep());
+        endereco.setRua(dto.getRua());
+        endereco.setNumero(dto.getNumero());
+        endereco.setComplemento(dto.getComplemento());
+        endereco.setBairro(dto.getBairro());
+        endereco.setCidade(dto.getCidade());
+        endereco.setEstado(dto.getEstado());
+    }
+
+    /** Endereço no formato de entrada (aninhado em RestauranteResponseDTO e no POST de endereços). */
+    public static EnderecoDTO paraDTO(Endereco endereco) {
+        EnderecoDTO dto = new EnderecoDTO();
+        dto.setApelido(endereco.getApelido());
+        dto.setCep(endereco.getCep());
+        dto.setRua(endereco.getRua());
+        dto.setNumero(endereco.getNumero());
+        dto.setComplemento(endereco.getComplemento());
+        dto.setBairro(endereco.getBairro());
+        dto.setCidade(endereco.getCidade());
+        dto.setEstado(endereco.getEstado());
+        return dto;
+    }
+
+    public static EnderecoResponseDTO paraResponse(Endereco endereco) {
+        EnderecoResponseDTO dto = new EnderecoResponseDTO();
+        dto.setId(endereco.getId());
+        dto.setApelido(endereco.getApelido());
+        dto.setRua(endereco.getRua());
+        dto.setNumero(endereco.getNumero());
+        dto.setComplemento(endereco.getComplemento());
+        dto.setBairro(endereco.getBairro());
+        dto.setCidade(endereco.getCidade());
+        dto.setEstado(endereco.getEstado());
+        return dto;
+    }
+}
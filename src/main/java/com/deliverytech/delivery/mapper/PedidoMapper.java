@@ -0,0 +1,131 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.response.ItemPedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.entity.Endereco;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.PedidoView;
+import com.deliverytech.delivery.entity.Usuario;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Conversões de pedido: entidade -> linha de {@link PedidoView} -> resposta da API.
+ * <p>
+ * A resposta sempre sai de uma PedidoView (gravada, nas listagens, ou montada
+ * em memória, nas operações sobre um pedido), então as duas leituras devolvem
+ * exatamente o mesmo JSON.
+ */
+public final class PedidoMapper {
+
+    private PedidoMapper() {
+    }
+
+    /**
+     * Resposta a partir da entidade (criação, atualização e busca por id).
+     */
+    public static PedidoResponseDTO paraResponse(Pedido pedido) {
+        return paraResponse(paraView(pedido));
+    }
+
+    /**
+     * Linha nova de pedido_view para o pedido.
+     */
+    public static PedidoView paraView(Pedido pedido) {
+        PedidoView view = new PedidoView(pedido.getId());
+        preencher(view, pedido);
+        return view;
+    }
+
+    /**
+     * Copia o estado atual do pedido para a linha (nova ou já gravada).
+     */
+    public static void preencher(PedidoView view, Pedido pedido) {
+        view.setNumeroPedido(pedido.getNumeroPedido());
+        view.setDataPedido(pedido.getDataPedido());
+        view.setStatus(pedido.getStatus());
+        view.setSubtotal(pedido.getSubtotal());
+        view.setTaxaEntrega(pedido.getTaxaEntrega());
+        view.setValorTotal(pedido.getValorTotal());
+
+        view.setClienteId(pedido.getCliente() != null ? pedido.getCliente().getId() : null);
+        view.setClienteNome(pedido.getCliente() != null ? pedido.getCliente().getNome() : null);
+        view.setRestauranteId(pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null);
+        view.setRestauranteNome(pedido.getRestaurante() != null ? pedido.getRestaurante().getNome() : null);
+
+        Endereco end = pedido.getEnderecoEntrega();
+        view.setEnderecoEntrega(end != null
+                ? String.format("%s, %s - %s", end.getRua(), end.getNumero(), end.getBairro())
+                : null);
+
+        // Pega o NOME do entregador, se não tiver nome, usa o email
+        Usuario entregador = pedido.getEntregador();
+        String nomeEntregador = null;
+        if (entregador != null) {
+            nomeEntregador = entregador.getNome();
+            if (nomeEntregador == null || nomeEntregador.trim().isEmpty()) {
+                nomeEntregador = entregador.getEmail();
+            }
+        }
+        view.setEntregadorId(entregador != null ? entregador.getId() : null);
+        view.setEntregadorNome(nomeEntregador);
+
+        List<ItemPedidoResponseDTO> itens = pedido.getItens().stream()
+                .map(PedidoMapper::paraResponse)
+                .collect(Collectors.toList());
+        view.setItens(itens);
+        view.setQuantidadeItens(itens.size());
+    }
+
+    /**
+     * Resposta da API a partir da linha de pedido_view.
+     */
+    public static PedidoResponseDTO paraResponse(PedidoView view) {
+        PedidoResponseDTO dto = new PedidoResponseDTO();
+
+        // Mapeamento Básico de Pedido
+        dto.setId(view.getId());
+        dto.setStatus(view.getStatus().name());
+        dto.setDataPedido(view.getDataPedido());
+
+        // Valores Totais
+        dto.setTotal(view.getValorTotal());
+        dto.setSubtotal(view.getSubtotal());
+        dto.setTaxaEntrega(view.getTaxaEntrega());
+
+        // Cliente (Null Safety)
+        dto.setClienteId(view.getClienteId());
+        dto.setClienteNome(view.getClienteId() != null ? view.getClienteNome() : "Cliente Desconhecido");
+
+        dto.setRestauranteId(view.getRestauranteId());
+        dto.setRestauranteNome(view.getRestauranteNome());
+        dto.setEnderecoEntrega(view.getEnderecoEntrega());
+
+        // Entregador
+        dto.setEntregadorId(view.getEntregadorId());
+        dto.setEntregadorNome(view.getEntregadorId() != null ? view.getEntregadorNome() : "Aguardando atribuição");
+
+        dto.setItens(view.getItens());
+        return dto;
+    }
+
+    private static ItemPedidoResponseDTO paraResponse(ItemPedido item) {
+        ItemPedidoResponseDTO iDTO = new ItemPedidoResponseDTO();
+        iDTO.setProdutoId(item.getProduto().getId());
+        iDTO.setNomeProduto(item.getProduto().getNome());
+        iDTO.setQuantidade(item.getQuantidade());
+        iDTO.setPrecoUnitario(item.getPrecoUnitario());
+        iDTO.setObservacao(item.getObservacoes());
+
+        // Cálculo do Subtotal do item
+        if (item.getPrecoUnitario() != null) {
+            iDTO.setSubtotal(item.getPrecoUnitario().multiply(new BigDecimal(item.getQuantidade())));
+        } else {
+            iDTO.setSubtotal(BigDecimal.ZERO);
+        }
+        return iDTO;
+    }
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.mapper;
+
+import com.deliverytech.delivery.dto.request.RestauranteDTO;
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+
+/**
+ * Conversões de restaurante.
+ * <p>
+ * A resposta lê só o endereço (OneToOne LAZY, carregado na primeira leitura);
+ * produtos e pedidos nunca são tocados.
+ */
+public final class RestauranteMapper {
+
+    private RestauranteMapper() {
+    }
+
+    /** Restaurante novo com os dados do DTO, incluindo o endereço. */
+    public static Restaurante paraEntidade(RestauranteDTO dto) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome(dto.getNome());
+        restaurante.setCategoria(dto.getCategoria());
+        restaurante.setTelefone(dto.getTelefone());
+        restaurante.setTaxaEntrega(dto.getTaxaEntrega());
+        restaurante.setTempoEntrega(dto.getTempoEntrega());
+        restaurante.setHorarioFuncionamento(dto.getHorarioFuncionamento());
+        restaurante.setAtivo(dto.getAtivo());
+        restaurante.setAvaliacao(dto.getAvaliacao());
+        if (dto.getEndereco() != null) {
+            restaurante.setEndereco(EnderecoMapper.paraEntidade(dto.getEndereco()));
+        }
+        return restaurante;
+    }
+
+    public static RestauranteResponseDTO paraResponse(Restaurante restaurante) {
+        RestauranteResponseDTO dto = new RestauranteResponseDTO();
+        dto.setId(restaurante.getId());
+        dto.setNome(restaurante.getNome());
+        dto.setCategoria(restaurante.getCategoria());
+        dto.setTelefone(restaurante.getTelefone());
+        dto.setTaxaEntrega(restaurante.getTaxaEntrega());
+        dto.setAtivo(restaurante.getAtivo());
+        if (restaurante.getEndereco() != null) {
+            dto.setEndereco(EnderecoMapper.paraDTO(restaurante.getEndereco()));
+        }
+        return dto;
+    }
+}
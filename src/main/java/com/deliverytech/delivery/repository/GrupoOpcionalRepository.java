@@ -1,7 +1,12 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.GrupoOpcional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 /**
@@ -9,6 +14,13 @@ import java.util.List;
  */
 public interface GrupoOpcionalRepository extends JpaRepository<GrupoOpcional, Long> {
 
-    /** Retorna todos os grupos de opcionais vinculados a um produto. */
-    List<GrupoOpcional> findByProdutoId(Long produtoId);
+    /**
+     * Retorna todos os grupos de opcionais vinculados a um produto (cache de consultas do Hibernate).
+     * Filtra pela FK {@code produto_id}, sem join com {@code produto}: assim a consulta só
+     * depende da tabela {@code grupo_opcional} e a baixa de estoque (UPDATE em produto)
+     * não invalida o resultado cacheado.
+     */
+    @Query("SELECT g FROM GrupoOpcional g WHERE g.produto.id = :produtoId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<GrupoOpcional> findByProdutoId(@Param("produtoId") Long produtoId);
 }
@@ -1,13 +1,26 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.ItemOpcional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repositório responsável pelo acesso a dados da entidade ItemOpcional.
  * Permite CRUD e consultas automáticas via Spring Data JPA.
  */
 @Repository
 public interface ItemOpcionalRepository extends JpaRepository<ItemOpcional, Long> {
+
+    /**
+     * Busca os opcionais escolhidos no checkout.
+     * Resultado guardado no cache de consultas do Hibernate (os itens vêm do cache L2).
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ItemOpcional> findAllById(Iterable<Long> ids);
 }
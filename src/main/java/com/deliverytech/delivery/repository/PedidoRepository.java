@@ -4,8 +4,10 @@ import com.deliverytech.delivery.entity.Pedido;
 import com.deliverytech.delivery.entity.ItemPedido;
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.enums.StatusPedido;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,9 +28,17 @@ import java.util.List;
 public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecificationExecutor<Pedido> {
 
     // =================== PEDIDOS POR CLIENTE ===================
-    List<Pedido> findByClienteIdOrderByDataPedidoDesc(Long clienteId);
-    List<Pedido> findByClienteOrderByDataPedidoDesc(com.deliverytech.delivery.entity.Cliente cliente);
-    Page<Pedido> findByClienteId(Long clienteId, Pageable pageable);
+    // Filtro pela FK (p.cliente.id): a consulta derivada fazia JOIN com cliente e
+    // filtrava pela tabela do JOIN, e o H2 percorria os pedidos em vez de usar
+    // idx_pedido_cliente_data_id
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId ORDER BY p.dataPedido DESC")
+    List<Pedido> findByClienteIdOrderByDataPedidoDesc(@Param("clienteId") Long clienteId);
+
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :#{#cliente.id} ORDER BY p.dataPedido DESC")
+    List<Pedido> findByClienteOrderByDataPedidoDesc(@Param("cliente") com.deliverytech.delivery.entity.Cliente cliente);
+
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId")
+    Page<Pedido> findByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
 
     // =================== PEDIDOS POR STATUS ===================
     Page<Pedido> findByStatus(StatusPedido status, Pageable pageable);
@@ -38,11 +49,14 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecif
 
     // =================== CONSULTAS CUSTOMIZADAS COM FETCH ===================
     /**
-     * Busca pedidos de um restaurante específico, incluindo itens e dados do restaurante,
+     * Busca pedidos de um restaurante específico, incluindo itens, cliente e entregador,
      * evitando problemas de LazyInitializationException.
+     * <p>
+     * O restaurante não entra no JOIN FETCH: é o mesmo em todas as linhas (carregado uma
+     * vez pela sessão/cache L2) e, com ele no JOIN, o filtro passava a ser sobre a tabela
+     * restaurante e o H2 percorria todos os pedidos em vez de usar o índice de restaurante_id.
      */
   @Query("SELECT DISTINCT p FROM Pedido p " +
-           "LEFT JOIN FETCH p.restaurante r " +
            "LEFT JOIN FETCH p.itens i " +
            "LEFT JOIN FETCH p.cliente c " +      
            "LEFT JOIN FETCH p.entregador e " +    
@@ -64,6 +78,23 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecif
            "WHERE ip IN :itens")
     List<ItemPedido> fetchOpcionaisParaItens(@Param("itens") List<ItemPedido> itens);
 
+    // =================== MODELO DE LEITURA (pedido_view) ===================
+    /**
+     * Carrega, numa consulta só, tudo o que a resposta de um pedido lê: cliente,
+     * restaurante, endereço, entregador (com o perfil de cliente, que é um
+     * OneToOne do lado inverso e sem isso viria num SELECT por usuário) e os
+     * itens com o produto.
+     * <p>
+     * Usado pela reconstrução e pela verificação de pedido_view, por lote de
+     * ids: um SELECT por lote em vez de um por pedido/item.
+     */
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "enderecoEntrega", "entregador.cliente", "itens.produto"})
+    List<Pedido> findComAssociacoesByIdIn(Collection<Long> ids);
+
+    /** Próximo lote de ids (em ordem) depois de {@code depoisDe}, para percorrer a tabela toda. */
+    @Query("SELECT p.id FROM Pedido p WHERE p.id > :depoisDe ORDER BY p.id")
+    List<Long> buscarIdsAPartirDe(@Param("depoisDe") Long depoisDe, Limit limite);
+
     // =================== MÉTODOS ANTIGOS ===================
     List<Pedido> findByStatusOrderByDataPedidoDesc(StatusPedido status);
     List<Pedido> findByDataPedidoBetweenOrderByDataPedidoDesc(LocalDateTime inicio, LocalDateTime fim);
@@ -81,6 +112,17 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecif
     @Query("SELECT SUM(p.valorTotal) FROM Pedido p WHERE p.dataPedido BETWEEN :inicio AND :fim AND p.status NOT IN ('CANCELADO')")
     BigDecimal calcularVendasPorPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
+    /**
+     * Soma das vendas não canceladas a partir de uma data, agrupada por minuto no banco:
+     * linhas (ano, mês, dia, hora, minuto, soma). No máximo uma linha por minuto do
+     * período, independente do volume de pedidos.
+     * Usado para semear/reconciliar a janela deslizante de vendas do KpiService.
+     */
+    @Query("SELECT year(p.dataPedido), month(p.dataPedido), day(p.dataPedido), hour(p.dataPedido), minute(p.dataPedido), " +
+           "SUM(p.valorTotal) FROM Pedido p WHERE p.dataPedido >= :inicio AND p.status NOT IN ('CANCELADO') " +
+           "GROUP BY year(p.dataPedido), month(p.dataPedido), day(p.dataPedido), hour(p.dataPedido), minute(p.dataPedido)")
+    List<Object[]> somarVendasPorMinutoDesde(@Param("inicio") LocalDateTime inicio);
+
     @Query("SELECT p.restaurante.nome, SUM(p.valorTotal) " +
            "FROM Pedido p " +
            "GROUP BY p.restaurante.id, p.restaurante.nome " +
@@ -109,7 +151,10 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecif
     );
 
     // =================== MÉTODOS RELACIONADOS A ENTREGADOR ===================
-    boolean existsByEntregadorAndStatus(Usuario entregador, StatusPedido status);
+    // Pela FK, como as consultas por cliente (idx_pedido_entregador_status_data)
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Pedido p " +
+           "WHERE p.entregador.id = :#{#entregador.id} AND p.status = :status")
+    boolean existsByEntregadorAndStatus(@Param("entregador") Usuario entregador, @Param("status") StatusPedido status);
 
     // =================== MÉTODO DE AUTORIZAÇÃO (canAccess) ===================
     /**
@@ -135,4 +180,24 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecif
         @Param("entregadorId") Long entregadorId, 
         @Param("status") StatusPedido status
     );
+
+    // --- ITENS MAIS PEDIDOS (aquecimento do catálogo) ---
+    @Query("SELECT p.restaurante.id FROM Pedido p WHERE p.dataPedido >= :desde " +
+           "GROUP BY p.restaurante.id ORDER BY COUNT(p) DESC")
+    List<Long> findRestaurantesMaisPedidosDesde(@Param("desde") LocalDateTime desde, Pageable pageable);
+
+    @Query("SELECT ip.produto.id FROM ItemPedido ip WHERE ip.pedido.dataPedido >= :desde " +
+           "GROUP BY ip.produto.id ORDER BY SUM(ip.quantidade) DESC")
+    List<Long> findProdutosMaisPedidosDesde(@Param("desde") LocalDateTime desde, Pageable pageable);
+
+    // --- POPULARIDADE RECENTE (pesos do autocomplete) ---
+    /** Pares (restauranteId, quantidade de pedidos não cancelados) desde a data. */
+    @Query("SELECT p.restaurante.id, COUNT(p) FROM Pedido p " +
+           "WHERE p.dataPedido >= :desde AND p.status NOT IN ('CANCELADO') GROUP BY p.restaurante.id")
+    List<Object[]> contarPedidosPorRestauranteDesde(@Param("desde") LocalDateTime desde);
+
+    /** Pares (produtoId, unidades vendidas em pedidos não cancelados) desde a data. */
+    @Query("SELECT ip.produto.id, SUM(ip.quantidade) FROM ItemPedido ip " +
+           "WHERE ip.pedido.dataPedido >= :desde AND ip.pedido.status NOT IN ('CANCELADO') GROUP BY ip.produto.id")
+    List<Object[]> somarUnidadesPorProdutoDesde(@Param("desde") LocalDateTime desde);
 }
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.PedidoView;
+import com.deliverytech.delivery.enums.StatusPedido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório do modelo de leitura {@link PedidoView}.
+ * As listagens de pedidos consultam só esta tabela; as escritas ficam com o PedidoViewProjetor.
+ */
+@Repository
+public interface PedidoViewRepository extends JpaRepository<PedidoView, Long>, JpaSpecificationExecutor<PedidoView> {
+
+    List<PedidoView> findByClienteIdOrderByDataPedidoDesc(Long clienteId);
+
+    List<PedidoView> findByEntregadorIdAndStatusOrderByDataPedidoAsc(Long entregadorId, StatusPedido status);
+
+    @Query("SELECT v FROM PedidoView v " +
+           "WHERE v.restauranteId = :restauranteId " +
+           "AND (:status IS NULL OR v.status = :status) " +
+           "ORDER BY v.dataPedido DESC")
+    List<PedidoView> buscarPorRestaurante(@Param("restauranteId") Long restauranteId,
+                                          @Param("status") StatusPedido status);
+
+    /**
+     * Linhas cujo pedido não existe mais (verificação de consistência e reconstrução).
+     */
+    @Query("SELECT v.id FROM PedidoView v WHERE NOT EXISTS (SELECT 1 FROM Pedido p WHERE p.id = v.id)")
+    List<Long> buscarIdsSemPedido();
+}
@@ -1,6 +1,8 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.Produto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -20,18 +22,46 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long>, JpaSpec
 
     // =================== PRODUTOS DISPONÍVEIS ===================
     List<Produto> findByDisponivelTrue();
-    List<Produto> findByRestauranteIdAndDisponivel(Long restauranteId, Boolean disponivel);
-    List<Produto> findByRestauranteIdAndDisponivelTrue(Long restauranteId);
+    // Filtros pela FK (p.restaurante.id): a consulta derivada fazia JOIN com restaurante
+    // e o H2 percorria a tabela de produtos em vez de usar idx_produto_restaurante_disponivel_preco
+    @Query("SELECT p FROM Produto p WHERE p.restaurante.id = :restauranteId AND p.disponivel = :disponivel")
+    List<Produto> findByRestauranteIdAndDisponivel(@Param("restauranteId") Long restauranteId,
+                                                   @Param("disponivel") Boolean disponivel);
+
+    @Query("SELECT p FROM Produto p WHERE p.restaurante.id = :restauranteId AND p.disponivel = true")
+    List<Produto> findByRestauranteIdAndDisponivelTrue(@Param("restauranteId") Long restauranteId);
 
     // =================== CONSULTAS POR NOME / CATEGORIA ===================
     List<Produto> findByNomeContainingIgnoreCaseAndDisponivelTrue(String nome);
+    Page<Produto> findByNomeContainingIgnoreCaseAndDisponivelTrue(String nome, Pageable pageable);
     List<Produto> findByCategoriaAndDisponivelTrue(String categoria);
 
     // =================== VERIFICAÇÃO DE EXISTÊNCIA ===================
-    boolean existsByNomeAndRestauranteId(String nome, Long restauranteId);
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Produto p " +
+           "WHERE p.restaurante.id = :restauranteId AND p.nome = :nome")
+    boolean existsByNomeAndRestauranteId(@Param("nome") String nome, @Param("restauranteId") Long restauranteId);
 
     // =================== PRODUTOS POR RESTAURANTE ===================
-    List<Produto> findByRestauranteId(Long restauranteId);
+    @Query("SELECT p FROM Produto p WHERE p.restaurante.id = :restauranteId")
+    List<Produto> findByRestauranteId(@Param("restauranteId") Long restauranteId);
+
+    // =================== AGREGAÇÕES (MÉTRICAS) ===================
+    /** Soma o estoque de todos os produtos disponíveis (usado pelo Gauge de estoque). */
+    @Query("SELECT COALESCE(SUM(p.estoque), 0) FROM Produto p WHERE p.disponivel = true")
+    Long somarEstoqueDisponivel();
+
+    // =================== ÍNDICE DE BUSCA ===================
+    /**
+     * Campos indexados pela busca (id, nome, descricao, categoria, disponivel),
+     * em lotes por id crescente a partir de {@code ultimoId} (exclusivo).
+     */
+    @Query("SELECT p.id, p.nome, p.descricao, p.categoria, p.disponivel FROM Produto p " +
+           "WHERE p.id > :ultimoId ORDER BY p.id")
+    List<Object[]> buscarCamposIndexaveis(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /** Trios (id, nome, categoria) dos produtos disponíveis, para o autocomplete. */
+    @Query("SELECT p.id, p.nome, p.categoria FROM Produto p WHERE p.disponivel = true")
+    List<Object[]> listarNomesECategoriasDisponiveis();
 
     // ==========================================================
     // --- CONSULTA COMPLETA COM JOIN FETCH (CORREÇÃO ERRO 500) ---
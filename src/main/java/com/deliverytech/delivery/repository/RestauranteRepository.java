@@ -60,6 +60,10 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     @Query("SELECT DISTINCT r.categoria FROM Restaurante r WHERE r.ativo = true ORDER BY r.categoria")
     List<String> findCategoriasDisponiveis();
 
+    /** Trios (id, nome, categoria) dos restaurantes ativos, para o autocomplete */
+    @Query("SELECT r.id, r.nome, r.categoria FROM Restaurante r WHERE r.ativo = true")
+    List<Object[]> listarNomesECategoriasAtivos();
+
     // --- NOVO MÉTODO CUSTOMIZADO PARA CONTAGEM ---
     @Query(value = "SELECT COUNT(*) FROM RESTAURANTE", nativeQuery = true)
     Long contarTodosRestaurantesNative();
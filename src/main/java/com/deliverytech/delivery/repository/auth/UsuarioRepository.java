@@ -3,6 +3,7 @@ package com.deliverytech.delivery.repository.auth;
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -12,7 +13,7 @@ import java.util.Optional;
  * Repositório responsável pelas operações de acesso a dados da entidade Usuario.
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
 
     /** Busca um usuário pelo e-mail. */
     Optional<Usuario> findByEmail(String email);
@@ -0,0 +1,110 @@
+package com.deliverytech.delivery.repository.cursor;
+
+import com.deliverytech.delivery.exception.BusinessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor opaco da paginação por keyset (seek).
+ * <p>
+ * Em vez de "pular N linhas" (OFFSET, que o banco percorre e descarta), a
+ * próxima página começa depois dos valores da ordenação do último item da
+ * página atual: {@code WHERE (data_pedido, id) < (:data, :id)}, resolvido pelo
+ * índice em qualquer profundidade. O cursor carrega esses valores
+ * ({@link KeysetScrollPosition#getKeys()}) em Base64 URL-safe; o cliente só o
+ * devolve no parâmetro {@code cursor}.
+ * <p>
+ * A ordenação precisa terminar em uma coluna única (o id) para não pular nem
+ * repetir itens com o mesmo valor nas demais.
+ */
+public final class CursorKeyset {
+
+    private static final String VERSAO = "v1";
+    private static final String SEPARADOR = "|";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private CursorKeyset() {
+    }
+
+    /**
+     * Cursor da posição (os valores da ordenação de um item da janela).
+     */
+    public static String codificar(ScrollPosition posicao) {
+        if (!(posicao instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            throw new IllegalArgumentException("Só posições keyset não iniciais viram cursor: " + posicao);
+        }
+        StringBuilder texto = new StringBuilder(VERSAO);
+        for (Map.Entry<String, Object> chave : keyset.getKeys().entrySet()) {
+            texto.append(SEPARADOR).append(chave.getKey()).append(':').append(valor(chave.getValue()));
+        }
+        return CODIFICADOR.encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Posição a partir do cursor recebido; sem cursor, a primeira página.
+     * @param ordem ordenação da consulta: o cursor precisa ter exatamente essas propriedades
+     * @throws BusinessException (400) para cursor malformado ou de outra ordenação
+     */
+    public static KeysetScrollPosition decodificar(String cursor, Sort ordem) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        List<String> propriedades = new ArrayList<>();
+        ordem.forEach(o -> propriedades.add(o.getProperty()));
+        try {
+            String[] partes = new String(DECODIFICADOR.decode(cursor.trim()), StandardCharsets.UTF_8).split("\\|");
+            if (!VERSAO.equals(partes[0]) || partes.length != propriedades.size() + 1) {
+                throw cursorInvalido();
+            }
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            for (int i = 1; i < partes.length; i++) {
+                String[] chave = partes[i].split(":", 3);
+                if (chave.length != 3 || !chave[0].equals(propriedades.get(i - 1))) {
+                    throw cursorInvalido();
+                }
+                chaves.put(chave[0], lerValor(chave[1], chave[2]));
+            }
+            return ScrollPosition.forward(chaves);
+        } catch (IllegalArgumentException | DateTimeParseException e) { // Base64 ou número inválido
+            throw cursorInvalido();
+        }
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private static String valor(Object valor) {
+        if (valor instanceof Long numero) {
+            return "L:" + numero;
+        }
+        if (valor instanceof LocalDateTime dataHora) {
+            return "T:" + dataHora;
+        }
+        // Ordenações com colunas nulas não são suportadas: o keyset não teria como compará-las
+        throw new IllegalArgumentException("Tipo de chave sem suporte no cursor: " + valor);
+    }
+
+    private static Object lerValor(String tipo, String texto) {
+        return switch (tipo) {
+            case "L" -> Long.valueOf(texto);
+            case "T" -> LocalDateTime.parse(texto);
+            default -> throw cursorInvalido();
+        };
+    }
+
+    private static BusinessException cursorInvalido() {
+        return new BusinessException("Cursor de paginação inválido", "CURSOR_INVALIDO");
+    }
+}
@@ -0,0 +1,70 @@
+package com.deliverytech.delivery.repository.specification;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.PedidoView;
+import com.deliverytech.delivery.enums.StatusPedido;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicados dinâmicos das listagens de pedidos (mesma ideia de
+ * {@link ProdutoSpecifications}: filtro não informado vira {@code null} e é
+ * ignorado por {@link Specification#allOf}).
+ * <p>
+ * As listagens ordenam por {@link #MAIS_RECENTES} ({@code data_pedido, id}),
+ * a ordem dos índices compostos de {@link Pedido}: é ela que a paginação por
+ * cursor usa como chave.
+ * <p>
+ * Os predicados de status e data são genéricos: {@link PedidoView} usa os mesmos
+ * nomes de atributo e as listagens da API filtram direto nela.
+ */
+public final class PedidoSpecifications {
+
+    /** Mais recentes primeiro; o id desempata pedidos do mesmo instante. */
+    public static final Sort MAIS_RECENTES = Sort.by(Sort.Order.desc("dataPedido"), Sort.Order.desc("id"));
+
+    private PedidoSpecifications() {
+    }
+
+    /** Filtros da listagem do ADMIN. */
+    public static <T> Specification<T> com(StatusPedido status, LocalDateTime inicio, LocalDateTime fim) {
+        return Specification.allOf(comStatus(status), noPeriodo(inicio, fim));
+    }
+
+    public static Specification<PedidoView> doCliente(Long clienteId) {
+        return (root, query, cb) -> cb.equal(root.get("clienteId"), clienteId);
+    }
+
+    public static <T> Specification<T> comStatus(StatusPedido status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Limite da primeira coluna da chave para a página seguinte a {@code posicao}
+     * ({@code data_pedido <= :data}). É redundante com o predicado que o Spring
+     * Data gera para o keyset ({@code data < :d OR (data = :d AND id < :id)}),
+     * mas o OR não vira faixa de índice em todos os bancos (no H2 a consulta
+     * varre o índice desde o início); com este limite a busca começa no cursor.
+     */
+    public static <T> Specification<T> aPartirDe(KeysetScrollPosition posicao) {
+        if (posicao.isInitial()) {
+            return null;
+        }
+        LocalDateTime dataPedido = (LocalDateTime) posicao.getKeys().get("dataPedido");
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDateTime>get("dataPedido"), dataPedido);
+    }
+
+    /** Entre {@code inicio} e {@code fim}, inclusive (como o antigo findByDataPedidoBetween). */
+    public static <T> Specification<T> noPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null || fim == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.between(root.<LocalDateTime>get("dataPedido"), inicio, fim);
+    }
+}
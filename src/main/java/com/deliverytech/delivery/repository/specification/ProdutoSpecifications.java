@@ -0,0 +1,84 @@
+package com.deliverytech.delivery.repository.specification;
+
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
+import com.deliverytech.delivery.entity.Produto;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Predicados dinâmicos da listagem de produtos.
+ * <p>
+ * Cada método devolve {@code null} quando o filtro não foi informado, e
+ * {@link Specification#allOf} ignora os nulos: o WHERE gerado só tem as colunas
+ * pedidas. Restaurante, categoria e disponibilidade são igualdades e o preço é
+ * um intervalo, na ordem dos índices compostos de {@link Produto}
+ * ({@code restaurante_id, disponivel, preco_base} e
+ * {@code categoria, disponivel, preco_base}). O nome ({@code LIKE '%trecho%'})
+ * é conferido nas linhas que os índices já selecionaram.
+ */
+public final class ProdutoSpecifications {
+
+    private ProdutoSpecifications() {
+    }
+
+    /** Todos os filtros informados, combinados com AND. */
+    public static Specification<Produto> com(FiltroProdutoDTO filtro) {
+        return Specification.allOf(
+                doRestaurante(filtro.restauranteId()),
+                daCategoria(filtro.categoria()),
+                comDisponibilidade(filtro.disponivel()),
+                comPrecoEntre(filtro.precoMinimo(), filtro.precoMaximo()),
+                comNomeContendo(filtro.nome()));
+    }
+
+    public static Specification<Produto> doRestaurante(Long restauranteId) {
+        if (restauranteId == null) {
+            return null;
+        }
+        // get("id") na associação usa a FK da própria tabela, sem JOIN
+        return (root, query, cb) -> cb.equal(root.get("restaurante").get("id"), restauranteId);
+    }
+
+    public static Specification<Produto> daCategoria(String categoria) {
+        if (categoria == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("categoria"), categoria);
+    }
+
+    public static Specification<Produto> comDisponibilidade(Boolean disponivel) {
+        if (disponivel == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("disponivel"), disponivel);
+    }
+
+    public static Specification<Produto> comPrecoEntre(BigDecimal minimo, BigDecimal maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minimo != null && maximo != null) {
+                return cb.between(root.<BigDecimal>get("precoBase"), minimo, maximo);
+            }
+            return minimo != null
+                    ? cb.greaterThanOrEqualTo(root.<BigDecimal>get("precoBase"), minimo)
+                    : cb.lessThanOrEqualTo(root.<BigDecimal>get("precoBase"), maximo);
+        };
+    }
+
+    public static Specification<Produto> comNomeContendo(String trecho) {
+        if (trecho == null) {
+            return null;
+        }
+        String padrao = "%" + escaparLike(trecho.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.<String>get("nome")), padrao, '\\');
+    }
+
+    /** "50%" procura o texto "50%", não "50" seguido de qualquer coisa. */
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -6,8 +6,9 @@ import com.deliverytech.delivery.dto.response.CalculoPedidoDTO;
 import com.deliverytech.delivery.dto.response.CalculoPedidoResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
 import com.deliverytech.delivery.enums.StatusPedido;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -59,16 +60,37 @@ public interface PedidoService {
      * @param dataInicio Data inicial
      * @param dataFim Data final
      * @param pageable Paginação
-     * @return Página de PedidoResponseDTO
+     * @param contarTotal Se falso, não executa o COUNT(*): devolve um Slice (só sabe se há próxima página)
+     * @return Página (Page com total, ou Slice) de PedidoResponseDTO
      */
-    Page<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Pageable pageable);
+    Slice<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                           Pageable pageable, boolean contarTotal);
+
+    /**
+     * Lista pedidos por cursor (keyset em dataPedido e id, mais recentes primeiro).
+     * O custo não depende da profundidade da página.
+     * @param cursor Cursor devolvido pela página anterior (nulo para a primeira)
+     * @param tamanho Itens por página
+     * @return Janela de PedidoResponseDTO (com as posições para o próximo cursor)
+     */
+    Window<PedidoResponseDTO> listarPedidosPorCursor(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                     String cursor, int tamanho);
 
     /**
      * Lista os pedidos do usuário logado (meus pedidos) paginados.
      * @param pageable Paginação
-     * @return Página de PedidoResponseDTO
+     * @param contarTotal Se falso, devolve um Slice sem o COUNT(*)
+     * @return Página (Page com total, ou Slice) de PedidoResponseDTO
+     */
+    Slice<PedidoResponseDTO> listarMeusPedidos(Pageable pageable, boolean contarTotal);
+
+    /**
+     * Lista os pedidos do usuário logado por cursor (mais recentes primeiro).
+     * @param cursor Cursor devolvido pela página anterior (nulo para a primeira)
+     * @param tamanho Itens por página
+     * @return Janela de PedidoResponseDTO
      */
-    Page<PedidoResponseDTO> listarMeusPedidos(Pageable pageable);
+    Window<PedidoResponseDTO> listarMeusPedidosPorCursor(String cursor, int tamanho);
 
     // ==========================================================
     // --- ATUALIZAÇÃO DE PEDIDO ---
@@ -92,6 +114,15 @@ public interface PedidoService {
      */
     CalculoPedidoResponseDTO calcularTotalPedido(CalculoPedidoDTO dto);
 
+    /**
+     * Mesmo cálculo de {@link #calcularTotalPedido(CalculoPedidoDTO)}, sem registrar
+     * métricas. Usado pelo aquecimento do JIT, que não pode contar como tráfego real
+     * nos timers e SLOs de precificação.
+     * @param dto DTO com informações do pedido
+     * @return DTO com valores calculados
+     */
+    CalculoPedidoResponseDTO calcularTotalPedidoSemMetricas(CalculoPedidoDTO dto);
+
     // ==========================================================
     // --- CANCELAMENTO ---
     // ==========================================================
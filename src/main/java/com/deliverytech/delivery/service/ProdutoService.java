@@ -1,9 +1,11 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
 import com.deliverytech.delivery.dto.request.ProdutoDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -34,12 +36,21 @@ public interface ProdutoService {
     ProdutoResponseDTO buscarProdutoPorId(Long id);
 
     /**
-     * Busca produtos pelo nome (parcial, case-insensitive).
-     * @param nome Nome ou parte do nome
+     * Busca produtos disponíveis por texto (nome, categoria e descrição, sem
+     * diferenciar acentos e maiúsculas), os mais relevantes primeiro.
+     * @param nome Termos da busca
      * @return Lista de ProdutoResponseDTO
      */
     List<ProdutoResponseDTO> buscarProdutosPorNome(String nome);
 
+    /**
+     * Busca textual paginada, ordenada por relevância.
+     * @param termo Termos da busca (o último também casa como prefixo)
+     * @param pageable Página e tamanho (a ordenação é sempre por relevância)
+     * @return Página de ProdutoResponseDTO
+     */
+    Page<ProdutoResponseDTO> pesquisarProdutos(String termo, Pageable pageable);
+
     /**
      * Busca produtos por categoria.
      * @param categoria Categoria do produto
@@ -56,14 +67,21 @@ public interface ProdutoService {
     List<ProdutoResponseDTO> buscarProdutosPorRestaurante(Long restauranteId, Boolean disponivel);
 
     /**
-     * Lista produtos com paginação e filtros opcionais.
-     * @param pageable Configuração de paginação
-     * @param restauranteId ID do restaurante (opcional)
-     * @param categoria Categoria do produto (opcional)
-     * @param disponivel Filtrar apenas produtos disponíveis (opcional)
+     * Lista produtos com paginação e filtros opcionais, aplicados no banco.
+     * @param pageable Configuração de paginação (e ordenação)
+     * @param filtro Restaurante, categoria, disponibilidade, faixa de preço e nome (todos opcionais)
      * @return Página de ProdutoResponseDTO
      */
-    Page<ProdutoResponseDTO> listarProdutos(Pageable pageable, Long restauranteId, String categoria, Boolean disponivel);
+    Page<ProdutoResponseDTO> listarProdutos(Pageable pageable, FiltroProdutoDTO filtro);
+
+    /**
+     * Lista produtos por cursor (keyset no id), com os mesmos filtros da listagem paginada.
+     * @param filtro Filtros opcionais
+     * @param cursor Cursor devolvido pela página anterior (nulo para a primeira)
+     * @param tamanho Itens por página
+     * @return Janela de ProdutoResponseDTO (com as posições para o próximo cursor)
+     */
+    Window<ProdutoResponseDTO> listarProdutosPorCursor(FiltroProdutoDTO filtro, String cursor, int tamanho);
 
     // ==========================================================
     // --- ATUALIZAÇÃO / ALTERAÇÃO ---
@@ -0,0 +1,174 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoDTO;
+import com.deliverytech.delivery.dto.response.CalculoPedidoDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.security.jwt.JwtUtil;
+import com.deliverytech.delivery.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Etapa 3: exercita os caminhos quentes até o JIT compilá-los com o C2.
+ * <p>
+ * Com compilação em camadas, um método só chega ao C2 depois de milhares de
+ * chamadas (na casa de 10-15 mil, somando laços); antes disso os primeiros
+ * requests rodam interpretados ou no C1. Cada caminho roda
+ * {@code app.aquecimento.jit.iteracoes} vezes com o catálogo quente da etapa
+ * anterior:
+ * <ul>
+ *   <li>verificação de JWT (geração, parse e validação da assinatura);</li>
+ *   <li>serialização JSON dos produtos com o {@link ObjectMapper} do Spring MVC;</li>
+ *   <li>mapeamento entidade → DTO ({@link ProdutoResponseDTO});</li>
+ *   <li>cálculo de preço do pedido ({@code app.aquecimento.jit.precificacao-iteracoes},
+ *       menos vezes porque consulta o banco/cache de segundo nível).</li>
+ * </ul>
+ * A precificação usa {@link PedidoService#calcularTotalPedidoSemMetricas}: o mesmo
+ * cálculo, sem alimentar os timers, SLOs e a contagem de restaurantes das métricas
+ * de produção.
+ */
+@Component
+@Order(3)
+public class AquecimentoCaminhosQuentes implements EtapaAquecimento {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoCaminhosQuentes.class);
+
+    private static final int PASSOS = 4;
+    private static final int PRODUTOS_POR_AMOSTRA = 20;
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final ProdutoRepository produtoRepository;
+    private final PedidoService pedidoService;
+    private final TransactionTemplate transacaoLeitura;
+    private final int iteracoes;
+    private final int iteracoesPrecificacao;
+
+    /** Acumula os resultados para o JIT não eliminar o trabalho como código morto. */
+    private long sumidouro;
+
+    public AquecimentoCaminhosQuentes(JwtUtil jwtUtil,
+                                      ObjectMapper objectMapper,
+                                      ProdutoRepository produtoRepository,
+                                      PedidoService pedidoService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.aquecimento.jit.iteracoes:15000}") int iteracoes,
+                                      @Value("${app.aquecimento.jit.precificacao-iteracoes:2000}") int iteracoesPrecificacao) {
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.produtoRepository = produtoRepository;
+        this.pedidoService = pedidoService;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.iteracoes = iteracoes;
+        this.iteracoesPrecificacao = iteracoesPrecificacao;
+    }
+
+    @Override
+    public String nome() {
+        return "jit";
+    }
+
+    @Override
+    public void executar(ContextoAquecimento contexto) throws Exception {
+        List<ProdutoResponseDTO> amostra = contexto.getProdutosQuentes().stream()
+                .limit(PRODUTOS_POR_AMOSTRA)
+                .toList();
+
+        aquecerJwt(contexto);
+        contexto.progresso(1.0 / PASSOS);
+        aquecerJson(contexto, amostra.isEmpty() ? List.of(produtoExemplo()) : amostra);
+        contexto.progresso(2.0 / PASSOS);
+        if (amostra.isEmpty()) {
+            logger.info("[AQUECIMENTO] Catálogo vazio; mapeamento e precificação não aquecidos");
+            return;
+        }
+        aquecerMapeamento(contexto, amostra);
+        contexto.progresso(3.0 / PASSOS);
+        aquecerPrecificacao(contexto, amostra);
+        logger.debug("[AQUECIMENTO] Caminhos quentes exercitados (sumidouro={})", sumidouro);
+    }
+
+    private void aquecerJwt(ContextoAquecimento contexto) {
+        Usuario usuario = new Usuario("aquecimento@deliverytech.local", "", Role.CLIENTE);
+        usuario.setId(0L);
+        usuario.setNome("Aquecimento");
+        for (int i = 0; i < iteracoes && !contexto.tempoEsgotado(); i++) {
+            String token = jwtUtil.generateToken(usuario);
+            if (jwtUtil.validateToken(token, usuario)) {
+                sumidouro += jwtUtil.extractUserId(token) + jwtUtil.extractRole(token).length();
+            }
+        }
+    }
+
+    private void aquecerJson(ContextoAquecimento contexto, List<ProdutoResponseDTO> produtos) throws Exception {
+        for (int i = 0; i < iteracoes && !contexto.tempoEsgotado(); i++) {
+            byte[] json = objectMapper.writeValueAsBytes(produtos);
+            sumidouro += objectMapper.readValue(json, ProdutoResponseDTO[].class).length;
+        }
+    }
+
+    private void aquecerMapeamento(ContextoAquecimento contexto, List<ProdutoResponseDTO> amostra) {
+        List<Long> ids = amostra.stream().map(ProdutoResponseDTO::getId).toList();
+        transacaoLeitura.executeWithoutResult(status -> {
+            List<Produto> produtos = produtoRepository.findAllById(ids);
+            if (produtos.isEmpty()) {
+                return;
+            }
+            for (int i = 0; i < iteracoes && !contexto.tempoEsgotado(); i++) {
+                sumidouro += new ProdutoResponseDTO(produtos.get(i % produtos.size())).getGruposOpcionais().size();
+            }
+        });
+    }
+
+    private void aquecerPrecificacao(ContextoAquecimento contexto, List<ProdutoResponseDTO> amostra) {
+        // Um pedido com até 3 itens do restaurante com mais produtos quentes
+        Map<Long, List<ProdutoResponseDTO>> porRestaurante = amostra.stream()
+                .filter(p -> p.getRestauranteId() != null)
+                .collect(Collectors.groupingBy(ProdutoResponseDTO::getRestauranteId));
+        List<ProdutoResponseDTO> itens = porRestaurante.values().stream()
+                .max((a, b) -> Integer.compare(a.size(), b.size()))
+                .orElse(List.of());
+        if (itens.isEmpty()) {
+            return;
+        }
+
+        CalculoPedidoDTO pedido = new CalculoPedidoDTO();
+        pedido.setRestauranteId(itens.get(0).getRestauranteId());
+        pedido.setItens(itens.stream().limit(ITENS_POR_PEDIDO).map(produto -> {
+            ItemPedidoDTO item = new ItemPedidoDTO();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(1);
+            return item;
+        }).collect(Collectors.toList()));
+
+        for (int i = 0; i < iteracoesPrecificacao && !contexto.tempoEsgotado(); i++) {
+            sumidouro += pedidoService.calcularTotalPedidoSemMetricas(pedido).getTotal().scale();
+        }
+    }
+
+    private static ProdutoResponseDTO produtoExemplo() {
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId(0L);
+        produto.setNome("Aquecimento");
+        produto.setPrecoBase(BigDecimal.TEN);
+        produto.setDisponivel(true);
+        return produto;
+    }
+}
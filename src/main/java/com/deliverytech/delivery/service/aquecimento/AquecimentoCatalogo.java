@@ -0,0 +1,123 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.RestauranteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Etapa 2: carrega o catálogo quente nos caches.
+ * <p>
+ * Os restaurantes e produtos mais pedidos na janela recente passam pelos
+ * próprios serviços, o que preenche o cache da aplicação (L1/Redis) e o cache
+ * de segundo nível do Hibernate exatamente com as chaves que o tráfego vai pedir.
+ * Sem pedidos recentes (ex: banco recém-criado), usa os restaurantes mais bem
+ * avaliados e os produtos dos seus cardápios.
+ */
+@Component
+@Order(2)
+public class AquecimentoCatalogo implements EtapaAquecimento {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoCatalogo.class);
+
+    private final PedidoRepository pedidoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final RestauranteService restauranteService;
+    private final ProdutoService produtoService;
+    private final int maximoRestaurantes;
+    private final int maximoProdutos;
+    private final int janelaDias;
+
+    public AquecimentoCatalogo(PedidoRepository pedidoRepository,
+                               RestauranteRepository restauranteRepository,
+                               RestauranteService restauranteService,
+                               ProdutoService produtoService,
+                               @Value("${app.aquecimento.catalogo.restaurantes:20}") int maximoRestaurantes,
+                               @Value("${app.aquecimento.catalogo.produtos:100}") int maximoProdutos,
+                               @Value("${app.aquecimento.catalogo.janela-dias:7}") int janelaDias) {
+        this.pedidoRepository = pedidoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.restauranteService = restauranteService;
+        this.produtoService = produtoService;
+        this.maximoRestaurantes = maximoRestaurantes;
+        this.maximoProdutos = maximoProdutos;
+        this.janelaDias = janelaDias;
+    }
+
+    @Override
+    public String nome() {
+        return "catalogo";
+    }
+
+    @Override
+    public void executar(ContextoAquecimento contexto) {
+        LocalDateTime desde = LocalDateTime.now().minusDays(janelaDias);
+        List<Long> restaurantes = pedidoRepository.findRestaurantesMaisPedidosDesde(desde, PageRequest.of(0, maximoRestaurantes));
+        if (restaurantes.isEmpty()) {
+            restaurantes = restauranteRepository.findByAtivoTrueOrderByAvaliacaoDesc().stream()
+                    .limit(maximoRestaurantes)
+                    .map(Restaurante::getId)
+                    .toList();
+        }
+        List<Long> produtos = pedidoRepository.findProdutosMaisPedidosDesde(desde, PageRequest.of(0, maximoProdutos));
+        boolean produtosDosCardapios = produtos.isEmpty();
+
+        int total = restaurantes.size() + (produtosDosCardapios ? 0 : produtos.size());
+        int feitos = 0;
+        Map<Long, ProdutoResponseDTO> quentes = new LinkedHashMap<>();
+
+        for (Long restauranteId : restaurantes) {
+            if (contexto.tempoEsgotado()) {
+                break;
+            }
+            try {
+                restauranteService.buscarRestaurantePorId(restauranteId);
+                List<ProdutoResponseDTO> cardapio = produtoService.buscarProdutosPorRestaurante(restauranteId, true);
+                if (produtosDosCardapios) {
+                    for (ProdutoResponseDTO produto : cardapio) {
+                        if (quentes.size() < maximoProdutos) {
+                            quentes.putIfAbsent(produto.getId(), produtoService.buscarProdutoPorId(produto.getId()));
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Restaurante removido/inativado desde o pedido: não impede o resto
+                logger.debug("[AQUECIMENTO] Restaurante {} ignorado: {}", restauranteId, e.getMessage());
+            }
+            contexto.progresso((double) ++feitos / total);
+        }
+
+        if (!produtosDosCardapios) {
+            for (Long produtoId : produtos) {
+                if (contexto.tempoEsgotado()) {
+                    break;
+                }
+                try {
+                    quentes.putIfAbsent(produtoId, produtoService.buscarProdutoPorId(produtoId));
+                } catch (RuntimeException e) {
+                    logger.debug("[AQUECIMENTO] Produto {} ignorado: {}", produtoId, e.getMessage());
+                }
+                contexto.progresso((double) ++feitos / total);
+            }
+        }
+
+        contexto.setRestaurantesQuentes(restaurantes);
+        contexto.setProdutosQuentes(new ArrayList<>(quentes.values()));
+        logger.info("[AQUECIMENTO] Catálogo carregado: {} restaurantes, {} produtos{}",
+                restaurantes.size(), quentes.size(), produtosDosCardapios ? " (sem pedidos recentes)" : "");
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Etapa 1: enche o pool de conexões antes do primeiro request.
+ * <p>
+ * O HikariCP cria as conexões ociosas em segundo plano, aos poucos; até lá os
+ * primeiros requests pagam o handshake com o banco. Aqui as conexões são obtidas
+ * todas de uma vez (forçando o pool a criá-las), exercitadas com um comando
+ * simples (o proxy de réplicas só abre a conexão física no primeiro comando)
+ * e devolvidas.
+ */
+@Component
+@Order(1)
+public class AquecimentoPoolConexoes implements EtapaAquecimento {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoPoolConexoes.class);
+
+    private final DataSource dataSource;
+    private final int conexoesConfiguradas;
+
+    public AquecimentoPoolConexoes(DataSource dataSource,
+                                   @Value("${app.aquecimento.pool.conexoes:0}") int conexoesConfiguradas) {
+        this.dataSource = dataSource;
+        this.conexoesConfiguradas = conexoesConfiguradas;
+    }
+
+    @Override
+    public String nome() {
+        return "pool";
+    }
+
+    @Override
+    public void executar(ContextoAquecimento contexto) throws SQLException {
+        int alvo = conexoesAlvo();
+        List<Connection> abertas = new ArrayList<>(alvo);
+        try {
+            while (abertas.size() < alvo && !contexto.tempoEsgotado()) {
+                Connection conexao = dataSource.getConnection();
+                abertas.add(conexao);
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                contexto.progresso((double) abertas.size() / alvo);
+            }
+        } finally {
+            for (Connection conexao : abertas) {
+                try {
+                    conexao.close();
+                } catch (SQLException e) {
+                    logger.debug("[AQUECIMENTO] Erro ao devolver conexão: {}", e.getMessage());
+                }
+            }
+        }
+        logger.info("[AQUECIMENTO] Pool aquecido com {} de {} conexões", abertas.size(), alvo);
+    }
+
+    /**
+     * Quantas conexões abrir: {@code app.aquecimento.pool.conexoes} ou, se for 0,
+     * o {@code minimumIdle} do HikariCP (o que o pool manteria ocioso de qualquer jeito).
+     */
+    int conexoesAlvo() {
+        if (conexoesConfiguradas > 0) {
+            return conexoesConfiguradas;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle());
+            }
+        } catch (SQLException e) {
+            logger.debug("[AQUECIMENTO] DataSource não expõe o HikariCP: {}", e.getMessage());
+        }
+        return 1;
+    }
+}
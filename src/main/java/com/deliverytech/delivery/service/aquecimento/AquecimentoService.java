@@ -0,0 +1,171 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquecimento da aplicação antes de ela receber tráfego.
+ * <p>
+ * Roda as {@link EtapaAquecimento etapas} (pool de conexões, catálogo quente,
+ * caminhos quentes para o JIT) no {@link ApplicationReadyEvent}. O Spring Boot
+ * só publica {@code ReadinessState.ACCEPTING_TRAFFIC} depois que os listeners
+ * desse evento terminam, então {@code /actuator/health/readiness} fica
+ * OUT_OF_SERVICE durante o aquecimento (reforçado pelo health check
+ * {@code aquecimento}, que também mostra o progresso).
+ * <p>
+ * O aquecimento nunca impede a aplicação de subir: uma etapa que falha é
+ * registrada e a próxima segue; ao estourar {@code app.aquecimento.tempo-maximo-ms}
+ * as etapas restantes são puladas.
+ * <p>
+ * Métricas: {@code delivery.aquecimento.progresso} (0 a 1),
+ * {@code delivery.aquecimento.concluido}, {@code delivery.aquecimento.duracao}
+ * (tag "etapa", com "total" para o aquecimento inteiro) e
+ * {@code delivery.aquecimento.falhas}.
+ */
+@Service
+public class AquecimentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoService.class);
+
+    static final String ETAPA_TOTAL = "total";
+
+    public enum Estado { PENDENTE, EM_ANDAMENTO, CONCLUIDO, DESABILITADO }
+
+    private final List<EtapaAquecimento> etapas;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final Duration tempoMaximo;
+
+    /** Resultado de cada etapa ("ok", "interrompida", "ignorada" ou "falhou: ..."), na ordem de execução. */
+    private final Map<String, String> resultados = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile Estado estado;
+    private volatile double progresso;
+    private volatile Duration duracao = Duration.ZERO;
+
+    public AquecimentoService(List<EtapaAquecimento> etapas,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.aquecimento.habilitado:true}") boolean habilitado,
+                              @Value("${app.aquecimento.tempo-maximo-ms:60000}") long tempoMaximoMs) {
+        this.etapas = List.copyOf(etapas);
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.tempoMaximo = Duration.ofMillis(tempoMaximoMs);
+        this.estado = habilitado ? Estado.PENDENTE : Estado.DESABILITADO;
+        this.progresso = habilitado ? 0 : 1;
+
+        Gauge.builder("delivery.aquecimento.progresso", this, AquecimentoService::getProgresso)
+                .description("Fração concluída do aquecimento de inicialização (0 a 1)")
+                .register(meterRegistry);
+        Gauge.builder("delivery.aquecimento.concluido", this, s -> s.isConcluido() ? 1 : 0)
+                .description("1 quando o aquecimento terminou (ou está desabilitado)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (habilitado) {
+            aquecer();
+        }
+    }
+
+    /**
+     * Executa todas as etapas em sequência, respeitando o tempo máximo.
+     */
+    public void aquecer() {
+        estado = Estado.EM_ANDAMENTO;
+        resultados.clear();
+        long inicio = System.nanoTime();
+        logger.info("[AQUECIMENTO] Iniciando {} etapas (tempo máximo {} ms)", etapas.size(), tempoMaximo.toMillis());
+
+        int total = etapas.size();
+        for (int i = 0; i < total; i++) {
+            EtapaAquecimento etapa = etapas.get(i);
+            int concluidas = i;
+            ContextoAquecimento contexto = new ContextoAquecimento(inicio + tempoMaximo.toNanos(),
+                    fracao -> progresso = (concluidas + fracao) / total);
+            if (contexto.tempoEsgotado()) {
+                resultados.put(etapa.nome(), "ignorada");
+                logger.warn("[AQUECIMENTO] Tempo máximo esgotado; etapa '{}' ignorada", etapa.nome());
+                continue;
+            }
+            executar(etapa, contexto);
+            progresso = (double) (i + 1) / total;
+        }
+
+        duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        timer(ETAPA_TOTAL).record(duracao);
+        progresso = 1;
+        estado = Estado.CONCLUIDO;
+        logger.info("[AQUECIMENTO] Concluído em {} ms: {}", duracao.toMillis(), getResultados());
+    }
+
+    private void executar(EtapaAquecimento etapa, ContextoAquecimento contexto) {
+        long inicioEtapa = System.nanoTime();
+        try {
+            etapa.executar(contexto);
+            resultados.put(etapa.nome(), contexto.tempoEsgotado() ? "interrompida" : "ok");
+        } catch (Exception e) {
+            resultados.put(etapa.nome(), "falhou: " + e.getMessage());
+            Counter.builder("delivery.aquecimento.falhas")
+                    .description("Etapas do aquecimento que terminaram com erro")
+                    .tag("etapa", etapa.nome())
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("[AQUECIMENTO] Etapa '{}' falhou; seguindo para a próxima", etapa.nome(), e);
+        } finally {
+            long nanos = System.nanoTime() - inicioEtapa;
+            timer(etapa.nome()).record(nanos, TimeUnit.NANOSECONDS);
+            logger.info("[AQUECIMENTO] Etapa '{}' em {} ms", etapa.nome(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private Timer timer(String etapa) {
+        return Timer.builder("delivery.aquecimento.duracao")
+                .description("Duração do aquecimento de inicialização, por etapa")
+                .tag("etapa", etapa)
+                .register(meterRegistry);
+    }
+
+    // ==========================================================
+    // --- CONSULTAS (HEALTH CHECK) ---
+    // ==========================================================
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public boolean isConcluido() {
+        Estado atual = estado;
+        return atual == Estado.CONCLUIDO || atual == Estado.DESABILITADO;
+    }
+
+    public double getProgresso() {
+        return progresso;
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    public Map<String, String> getResultados() {
+        synchronized (resultados) {
+            return new LinkedHashMap<>(resultados);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Estado compartilhado entre as etapas de um aquecimento: o prazo total e o
+ * catálogo quente descoberto pela etapa de catálogo (usado nos caminhos quentes).
+ */
+public class ContextoAquecimento {
+
+    private final long limiteNanos;
+    private final DoubleConsumer progresso;
+
+    private volatile List<Long> restaurantesQuentes = List.of();
+    private volatile List<ProdutoResponseDTO> produtosQuentes = List.of();
+
+    /**
+     * @param limiteNanos Instante ({@link System#nanoTime()}) em que o aquecimento deve parar.
+     * @param progresso   Recebe a fração (0 a 1) concluída da etapa atual.
+     */
+    public ContextoAquecimento(long limiteNanos, DoubleConsumer progresso) {
+        this.limiteNanos = limiteNanos;
+        this.progresso = progresso;
+    }
+
+    public boolean tempoEsgotado() {
+        return System.nanoTime() - limiteNanos >= 0;
+    }
+
+    /** Informa a fração (0 a 1) concluída da etapa atual. */
+    public void progresso(double fracao) {
+        progresso.accept(Math.max(0, Math.min(1, fracao)));
+    }
+
+    public List<Long> getRestaurantesQuentes() {
+        return restaurantesQuentes;
+    }
+
+    public void setRestaurantesQuentes(List<Long> restaurantesQuentes) {
+        this.restaurantesQuentes = List.copyOf(restaurantesQuentes);
+    }
+
+    public List<ProdutoResponseDTO> getProdutosQuentes() {
+        return produtosQuentes;
+    }
+
+    public void setProdutosQuentes(List<ProdutoResponseDTO> produtosQuentes) {
+        this.produtosQuentes = List.copyOf(produtosQuentes);
+    }
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+/**
+ * Uma etapa do aquecimento executado antes de a aplicação ficar pronta.
+ * <p>
+ * As etapas são beans ordenados com {@link org.springframework.core.annotation.Order}
+ * e rodam em sequência na mesma thread. Uma etapa deve respeitar
+ * {@link ContextoAquecimento#tempoEsgotado()} nos laços longos e informar o
+ * progresso com {@link ContextoAquecimento#progresso(double)}.
+ */
+public interface EtapaAquecimento {
+
+    /** Nome usado na tag "etapa" das métricas e no health check. */
+    String nome();
+
+    /**
+     * Executa a etapa. Uma exceção é registrada como falha da etapa e o
+     * aquecimento segue para a próxima.
+     */
+    void executar(ContextoAquecimento contexto) throws Exception;
+}
@@ -0,0 +1,72 @@
+package com.deliverytech.delivery.service.audit;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evento de auditoria "leve", capturado na thread da requisição.
+ * <p>
+ * Guarda apenas referências (nada é serializado aqui): o JSON é gerado
+ * depois, pela thread escritora do {@link AuditPipeline}. Por isso os
+ * detalhes devem ser valores imutáveis (Strings, números, mapas pequenos),
+ * nunca entidades JPA.
+ */
+public record AuditEvent(
+        Tipo tipo,
+        LocalDateTime timestamp,
+        String userId,
+        String acao,
+        String recurso,
+        String entidadeId,
+        Object detalhes,
+        Object valorAnterior,
+        Boolean sucesso,
+        String correlationId,
+        String sessionId,
+        String ipAddress,
+        String userAgent) {
+
+    /** Tipo do evento; define o layout do JSON gravado. */
+    public enum Tipo {
+        ACAO_USUARIO,
+        MUDANCA_DADOS,
+        SEGURANCA
+    }
+
+    /**
+     * Converte o evento para o mesmo layout de chaves gravado historicamente
+     * no log de auditoria (mantém compatibilidade com quem lê o arquivo).
+     */
+    public Map<String, Object> paraMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("timestamp", timestamp != null ? timestamp.toString() : null);
+        mapa.put("userId", userId);
+        switch (tipo) {
+            case ACAO_USUARIO -> {
+                mapa.put("action", acao);
+                mapa.put("resource", recurso);
+                mapa.put("details", detalhes);
+                mapa.put("correlationId", correlationId);
+                mapa.put("sessionId", sessionId);
+            }
+            case MUDANCA_DADOS -> {
+                mapa.put("entity", recurso);
+                mapa.put("entityId", entidadeId);
+                mapa.put("operation", acao);
+                mapa.put("oldValue", valorAnterior);
+                mapa.put("newValue", detalhes);
+                mapa.put("correlationId", correlationId);
+            }
+            case SEGURANCA -> {
+                mapa.put("event", acao);
+                mapa.put("details", detalhes);
+                mapa.put("success", sucesso);
+                mapa.put("correlationId", correlationId);
+                mapa.put("ipAddress", ipAddress);
+                mapa.put("userAgent", userAgent);
+            }
+        }
+        return mapa;
+    }
+}
@@ -0,0 +1,304 @@
+package com.deliverytech.delivery.service.audit;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.deliverytech.delivery.service.audit.journal.AuditJournal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline assíncrono de auditoria.
+ * <p>
+ * As threads das requisições apenas enfileiram um {@link AuditEvent} numa
+ * fila circular limitada ({@link AuditRingBuffer}). Uma única thread
+ * escritora drena a fila em lotes, serializa cada evento em JSON e grava no
+ * logger "AUDIT" (configurado no logback-spring.xml) e no {@link AuditJournal}
+ * (armazenamento indexado, consultável pelo endpoint de administração). O
+ * appender do "AUDIT" não descarrega a cada evento; a escritora faz um único
+ * flush por lote drenado.
+ * <p>
+ * Se a fila encher, a {@link PoliticaOverflow} configurada decide entre
+ * bloquear o produtor, descartar o evento ou gravá-lo em arquivo de spill.
+ */
+@Component
+public class AuditPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPipeline.class);
+
+    // Logger específico para auditoria (destino final dos eventos)
+    private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
+
+    /** Intervalo entre tentativas de um produtor bloqueado (política BLOCK). */
+    private static final long ESPERA_PRODUTOR_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AuditRingBuffer<AuditEvent> fila;
+    private final PoliticaOverflow politica;
+    private final int tamanhoLote;
+    private final long intervaloFlushNanos;
+    private final AuditSpill spill;
+    private final AuditJournal journal;
+
+    // --- Métricas ---
+    private final Counter eventosGravados;
+    private final Counter eventosDescartados;
+    private final Counter eventosSpill;
+    private final Timer tempoLote;
+
+    private volatile boolean ativo;
+    private Thread escritor;
+
+    public AuditPipeline(MeterRegistry meterRegistry,
+                         AuditJournal journal,
+                         @Value("${app.audit.capacidade:8192}") int capacidade,
+                         @Value("${app.audit.politica-overflow:SPILL}") PoliticaOverflow politica,
+                         @Value("${app.audit.tamanho-lote:256}") int tamanhoLote,
+                         @Value("${app.audit.flush-intervalo-ms:50}") long intervaloFlushMs,
+                         @Value("${app.audit.spill-dir:logs/audit-spill}") String spillDir) throws IOException {
+        this.journal = journal;
+        this.fila = new AuditRingBuffer<>(capacidade);
+        this.politica = politica;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloFlushNanos = TimeUnit.MILLISECONDS.toNanos(intervaloFlushMs);
+        this.spill = politica == PoliticaOverflow.SPILL ? new AuditSpill(Path.of(spillDir)) : null;
+
+        Gauge.builder("delivery.audit.fila.tamanho", fila, AuditRingBuffer::tamanho)
+                .description("Eventos de auditoria aguardando gravação")
+                .register(meterRegistry);
+        Gauge.builder("delivery.audit.fila.capacidade", fila, AuditRingBuffer::capacidade)
+                .description("Capacidade da fila de auditoria")
+                .register(meterRegistry);
+        this.eventosGravados = Counter.builder("delivery.audit.eventos.gravados")
+                .description("Eventos de auditoria gravados no log")
+                .register(meterRegistry);
+        this.eventosDescartados = Counter.builder("delivery.audit.eventos.descartados")
+                .description("Eventos de auditoria descartados por fila cheia ou erro")
+                .register(meterRegistry);
+        this.eventosSpill = Counter.builder("delivery.audit.eventos.spill")
+                .description("Eventos de auditoria desviados para o arquivo de spill")
+                .register(meterRegistry);
+        this.tempoLote = Timer.builder("delivery.audit.lote.tempo")
+                .description("Tempo para serializar e gravar um lote de auditoria")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        ativo = true;
+        escritor = new Thread(this::executar, "audit-writer");
+        escritor.setDaemon(true);
+        escritor.start();
+        logger.info("[AUDIT] Pipeline iniciado: capacidade={}, lote={}, politica={}",
+                fila.capacidade(), tamanhoLote, politica);
+    }
+
+    /**
+     * Para a thread escritora, gravando antes tudo o que ainda estiver na fila.
+     */
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        if (escritor != null) {
+            LockSupport.unpark(escritor);
+            try {
+                escritor.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (spill != null) {
+            try {
+                spill.fechar();
+            } catch (IOException e) {
+                logger.warn("[AUDIT] Erro ao fechar arquivo de spill", e);
+            }
+        }
+    }
+
+    /**
+     * Enfileira um evento de auditoria. Não faz I/O, exceto quando a fila
+     * está cheia e a política é SPILL.
+     */
+    public void publicar(AuditEvent evento) {
+        if (fila.oferecer(evento)) {
+            return;
+        }
+        switch (politica) {
+            case BLOCK -> aguardarEspaco(evento);
+            case DROP -> eventosDescartados.increment();
+            case SPILL -> desviarParaSpill(evento);
+        }
+    }
+
+    /**
+     * @return Quantidade de eventos aguardando gravação.
+     */
+    public int getTamanhoFila() {
+        return fila.tamanho();
+    }
+
+    // ==========================================================
+    // --- POLÍTICAS DE OVERFLOW ---
+    // ==========================================================
+
+    private void aguardarEspaco(AuditEvent evento) {
+        LockSupport.unpark(escritor);
+        while (!fila.oferecer(evento)) {
+            if (!ativo) {
+                // Aplicação encerrando: ninguém mais vai drenar a fila
+                eventosDescartados.increment();
+                return;
+            }
+            LockSupport.parkNanos(ESPERA_PRODUTOR_NANOS);
+        }
+    }
+
+    private void desviarParaSpill(AuditEvent evento) {
+        try {
+            spill.anexar(serializar(evento));
+            eventosSpill.increment();
+        } catch (Exception e) {
+            eventosDescartados.increment();
+            logger.warn("[AUDIT] Falha ao gravar evento no spill; evento descartado", e);
+        }
+    }
+
+    // ==========================================================
+    // --- THREAD ESCRITORA ---
+    // ==========================================================
+
+    private void executar() {
+        List<AuditEvent> lote = new ArrayList<>(tamanhoLote);
+        while (ativo) {
+            try {
+                if (fila.drenar(lote, tamanhoLote) > 0) {
+                    gravarLote(lote);
+                    continue;
+                }
+                // Fila vazia: aproveita para reprocessar o spill e espera o próximo ciclo
+                reprocessarSpill();
+                LockSupport.parkNanos(intervaloFlushNanos);
+            } catch (Throwable t) {
+                // A thread escritora nunca pode morrer
+                logger.error("[AUDIT] Erro inesperado na thread escritora", t);
+                lote.clear();
+            }
+        }
+
+        // Encerramento: grava o que sobrou
+        while (fila.drenar(lote, tamanhoLote) > 0) {
+            gravarLote(lote);
+        }
+        reprocessarSpill();
+    }
+
+    private void gravarLote(List<AuditEvent> lote) {
+        long inicio = System.nanoTime();
+        for (AuditEvent evento : lote) {
+            try {
+                String json = serializar(evento);
+                auditLogger.info(json);
+                journal.anexar(paraMillis(evento.timestamp()), evento.userId(), evento.acao(),
+                        evento.correlationId(), json);
+                eventosGravados.increment();
+            } catch (Exception e) {
+                eventosDescartados.increment();
+                auditLogger.error("Erro ao registrar evento de auditoria", e);
+            }
+        }
+        lote.clear();
+        descarregarLogAuditoria();
+        tempoLote.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Descarrega o buffer dos appenders do logger "AUDIT" configurados com
+     * {@code immediateFlush=false}: uma chamada de sistema por lote em vez de uma
+     * por evento. Só a thread escritora grava nesse logger.
+     */
+    private void descarregarLogAuditoria() {
+        if (!(auditLogger instanceof ch.qos.logback.classic.Logger logback)) {
+            return;
+        }
+        for (Iterator<Appender<ILoggingEvent>> it = logback.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> appender && !appender.isImmediateFlush()) {
+                try {
+                    OutputStream saida = appender.getOutputStream();
+                    if (saida != null) {
+                        saida.flush();
+                    }
+                } catch (IOException e) {
+                    logger.warn("[AUDIT] Erro ao descarregar o log de auditoria", e);
+                }
+            }
+        }
+    }
+
+    private void reprocessarSpill() {
+        if (spill == null) {
+            return;
+        }
+        try {
+            long linhas = spill.reprocessar(linha -> {
+                auditLogger.info(linha);
+                anexarLinhaNoJournal(linha);
+                eventosGravados.increment();
+            });
+            if (linhas > 0) {
+                descarregarLogAuditoria();
+                logger.info("[AUDIT] {} eventos reprocessados do spill", linhas);
+            }
+        } catch (IOException e) {
+            logger.warn("[AUDIT] Erro ao reprocessar arquivo de spill", e);
+        }
+    }
+
+    /**
+     * Extrai as chaves indexadas de uma linha JSON vinda do spill e grava no journal.
+     */
+    private void anexarLinhaNoJournal(String linha) {
+        try {
+            JsonNode no = objectMapper.readTree(linha);
+            String timestamp = no.path("timestamp").asText(null);
+            String acao = no.path("action").asText(no.path("event").asText(no.path("operation").asText(null)));
+            journal.anexar(
+                    timestamp != null ? paraMillis(LocalDateTime.parse(timestamp)) : System.currentTimeMillis(),
+                    no.path("userId").asText(null), acao, no.path("correlationId").asText(null), linha);
+        } catch (Exception e) {
+            logger.warn("[AUDIT] Linha do spill não gravada no journal", e);
+        }
+    }
+
+    private static long paraMillis(LocalDateTime dataHora) {
+        return dataHora != null
+                ? dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+    }
+
+    private String serializar(AuditEvent evento) throws IOException {
+        return objectMapper.writeValueAsString(evento.paraMapa());
+    }
+}
@@ -0,0 +1,106 @@
+package com.deliverytech.delivery.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fila circular limitada, com vários produtores e um único consumidor (MPSC).
+ * <p>
+ * Cada posição tem um número de sequência que diz se ela está livre para o
+ * produtor da volta atual ou pronta para o consumidor. Produtores disputam
+ * a cauda com CAS; o consumidor avança a cabeça sem sincronização, pois é o
+ * único a escrevê-la. Nenhuma operação bloqueia nem aloca.
+ *
+ * @param <E> Tipo dos elementos.
+ */
+final class AuditRingBuffer<E> {
+
+    private final int capacidade;
+    private final int mascara;
+    private final Object[] elementos;
+    private final AtomicLongArray sequencias;
+    private final AtomicLong cauda = new AtomicLong();
+
+    // Escrita apenas pelo consumidor; volatile para leitura do tamanho por outras threads
+    private volatile long cabeca;
+
+    /**
+     * @param capacidadeMinima Capacidade desejada (arredondada para a próxima potência de 2).
+     */
+    AuditRingBuffer(int capacidadeMinima) {
+        if (capacidadeMinima < 1) {
+            throw new IllegalArgumentException("A capacidade da fila de auditoria deve ser positiva");
+        }
+        this.capacidade = capacidadeMinima == 1 ? 1 : Integer.highestOneBit((capacidadeMinima - 1) << 1);
+        this.mascara = capacidade - 1;
+        this.elementos = new Object[capacidade];
+        this.sequencias = new AtomicLongArray(capacidade);
+        for (int i = 0; i < capacidade; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Tenta enfileirar um elemento (seguro para várias threads).
+     *
+     * @return {@code false} se a fila estiver cheia.
+     */
+    boolean oferecer(E elemento) {
+        while (true) {
+            long posicao = cauda.get();
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    elementos[indice] = elemento;
+                    // Escrita volatile publica o elemento para o consumidor
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+            } else if (diferenca < 0) {
+                // A posição ainda não foi consumida na volta anterior: fila cheia
+                return false;
+            }
+            // diferenca > 0: outro produtor pegou a posição, tenta de novo
+        }
+    }
+
+    /**
+     * Move até {@code maximo} elementos para {@code destino}.
+     * Deve ser chamado sempre pela mesma thread (o consumidor).
+     *
+     * @return Quantidade de elementos drenados.
+     */
+    @SuppressWarnings("unchecked")
+    int drenar(List<E> destino, int maximo) {
+        long posicao = cabeca;
+        int drenados = 0;
+        while (drenados < maximo) {
+            int indice = (int) (posicao & mascara);
+            if (sequencias.get(indice) != posicao + 1) {
+                break; // Posição ainda não publicada
+            }
+            destino.add((E) elementos[indice]);
+            elementos[indice] = null;
+            // Libera a posição para o produtor da próxima volta
+            sequencias.set(indice, posicao + capacidade);
+            posicao++;
+            drenados++;
+        }
+        cabeca = posicao;
+        return drenados;
+    }
+
+    /**
+     * @return Quantidade aproximada de elementos na fila.
+     */
+    int tamanho() {
+        long diferenca = cauda.get() - cabeca;
+        return (int) Math.max(0, Math.min(capacidade, diferenca));
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+}
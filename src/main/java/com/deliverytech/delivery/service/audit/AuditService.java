@@ -1,31 +1,30 @@
 package com.deliverytech.delivery.service.audit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Serviço centralizado para registrar eventos de auditoria e segurança.
- * Logs são enviados para o logger "AUDIT", configurado no logback-spring.xml
+ * Os eventos são enfileirados no {@link AuditPipeline}, que os grava de forma
+ * assíncrona no logger "AUDIT", configurado no logback-spring.xml
  * para gravar em 'logs/delivery-api-audit.log'.
+ * <p>
+ * Os detalhes são serializados depois, fora da thread da requisição:
+ * passe valores simples (IDs, Strings, mapas pequenos), nunca entidades JPA.
  */
 @Service
 public class AuditService {
 
     // ==========================================================
-    // --- LOGGERS E UTILITÁRIOS ---
+    // --- PIPELINE ASSÍNCRONO ---
     // ==========================================================
-    
-    // 1. Logger específico para auditoria
-    private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
-    
-    // 2. ObjectMapper para converter mapas em JSON
-    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AuditPipeline auditPipeline;
+
+    public AuditService(AuditPipeline auditPipeline) {
+        this.auditPipeline = auditPipeline;
+    }
 
     // ==========================================================
     // --- MÉTODOS PÚBLICOS: AÇÕES DE AUDITORIA ---
@@ -40,22 +39,9 @@ public class AuditService {
      * @param details  Detalhes adicionais (objeto)
      */
     public void logUserAction(String userId, String action, String resource, Object details) {
-        try {
-            Map<String, Object> auditEvent = new HashMap<>();
-            auditEvent.put("timestamp", LocalDateTime.now().toString());
-            auditEvent.put("userId", userId);
-            auditEvent.put("action", action);
-            auditEvent.put("resource", resource);
-            auditEvent.put("details", details);
-            auditEvent.put("correlationId", MDC.get("correlationId"));
-            auditEvent.put("sessionId", MDC.get("sessionId"));
-
-            String jsonLog = objectMapper.writeValueAsString(auditEvent);
-            auditLogger.info(jsonLog);
-
-        } catch (Exception e) {
-            auditLogger.error("Erro ao registrar evento de auditoria", e);
-        }
+        auditPipeline.publicar(new AuditEvent(
+                AuditEvent.Tipo.ACAO_USUARIO, LocalDateTime.now(), userId, action, resource, null,
+                details, null, null, MDC.get("correlationId"), MDC.get("sessionId"), null, null));
     }
 
     /**
@@ -70,23 +56,9 @@ public class AuditService {
      */
     public void logDataChange(String userId, String entity, String entityId,
                               Object oldValue, Object newValue, String operation) {
-        try {
-            Map<String, Object> changeEvent = new HashMap<>();
-            changeEvent.put("timestamp", LocalDateTime.now().toString());
-            changeEvent.put("userId", userId);
-            changeEvent.put("entity", entity);
-            changeEvent.put("entityId", entityId);
-            changeEvent.put("operation", operation);
-            changeEvent.put("oldValue", oldValue);
-            changeEvent.put("newValue", newValue);
-            changeEvent.put("correlationId", MDC.get("correlationId"));
-
-            String jsonLog = objectMapper.writeValueAsString(changeEvent);
-            auditLogger.info(jsonLog);
-
-        } catch (Exception e) {
-            auditLogger.error("Erro ao registrar mudança de dados", e);
-        }
+        auditPipeline.publicar(new AuditEvent(
+                AuditEvent.Tipo.MUDANCA_DADOS, LocalDateTime.now(), userId, operation, entity, entityId,
+                newValue, oldValue, null, MDC.get("correlationId"), null, null, null));
     }
 
     /**
@@ -98,22 +70,9 @@ public class AuditService {
      * @param success Indica se o evento foi bem-sucedido
      */
     public void logSecurityEvent(String userId, String event, String details, boolean success) {
-        try {
-            Map<String, Object> securityEvent = new HashMap<>();
-            securityEvent.put("timestamp", LocalDateTime.now().toString());
-            securityEvent.put("userId", userId);
-            securityEvent.put("event", event);
-            securityEvent.put("details", details);
-            securityEvent.put("success", success);
-            securityEvent.put("correlationId", MDC.get("correlationId"));
-            securityEvent.put("ipAddress", MDC.get("clientIp"));
-            securityEvent.put("userAgent", MDC.get("userAgent"));
-
-            String jsonLog = objectMapper.writeValueAsString(securityEvent);
-            auditLogger.info(jsonLog);
-
-        } catch (Exception e) {
-            auditLogger.error("Erro ao registrar evento de segurança", e);
-        }
+        auditPipeline.publicar(new AuditEvent(
+                AuditEvent.Tipo.SEGURANCA, LocalDateTime.now(), userId, event, null, null,
+                details, null, success, MDC.get("correlationId"), null,
+                MDC.get("clientIp"), MDC.get("userAgent")));
     }
 }
@@ -0,0 +1,105 @@
+package com.deliverytech.delivery.service.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Arquivo de transbordo (spill) da auditoria.
+ * <p>
+ * Quando a fila está cheia e a política é {@link PoliticaOverflow#SPILL},
+ * o evento já serializado é anexado a um arquivo JSON Lines. Quando a fila
+ * esvazia, a thread escritora move o arquivo para {@code .replay} e regrava
+ * as linhas no log de auditoria. Um {@code .replay} que sobrou de uma
+ * execução anterior (ex: queda da aplicação) é reprocessado na próxima.
+ * <p>
+ * Usa {@link ReentrantLock} em vez de {@code synchronized}: a escrita em disco
+ * dentro de um bloco {@code synchronized} prenderia a virtual thread ao carrier.
+ */
+final class AuditSpill {
+
+    private final Path arquivo;
+    private final Path arquivoReplay;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter writer;
+
+    AuditSpill(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        this.arquivo = diretorio.resolve("audit-spill.jsonl");
+        this.arquivoReplay = diretorio.resolve("audit-spill.jsonl.replay");
+    }
+
+    /**
+     * Anexa uma linha (JSON) ao arquivo de spill. Chamado pelas threads produtoras.
+     */
+    void anexar(String linha) throws IOException {
+        lock.lock();
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(linha);
+            writer.newLine();
+            writer.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entrega ao consumidor todas as linhas pendentes e apaga o arquivo.
+     * Chamado apenas pela thread escritora.
+     *
+     * @return Quantidade de linhas reprocessadas.
+     */
+    long reprocessar(Consumer<String> consumidor) throws IOException {
+        if (!Files.exists(arquivoReplay)) {
+            lock.lock();
+            try {
+                if (!Files.exists(arquivo)) {
+                    return 0;
+                }
+                fecharWriter();
+                Files.move(arquivo, arquivoReplay, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long linhas = 0;
+        try (Stream<String> stream = Files.lines(arquivoReplay, StandardCharsets.UTF_8)) {
+            for (String linha : (Iterable<String>) stream::iterator) {
+                if (!linha.isBlank()) {
+                    consumidor.accept(linha);
+                    linhas++;
+                }
+            }
+        }
+        Files.delete(arquivoReplay);
+        return linhas;
+    }
+
+    void fechar() throws IOException {
+        lock.lock();
+        try {
+            fecharWriter();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fecharWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.service.audit;
+
+/**
+ * O que fazer com um evento de auditoria quando a fila do {@link AuditPipeline} está cheia.
+ */
+public enum PoliticaOverflow {
+
+    /** A thread da requisição espera até haver espaço na fila. */
+    BLOCK,
+
+    /** O evento é descartado e contabilizado na métrica de descartados. */
+    DROP,
+
+    /** O evento é serializado e gravado em arquivo de spill, reprocessado quando a fila esvaziar. */
+    SPILL
+}
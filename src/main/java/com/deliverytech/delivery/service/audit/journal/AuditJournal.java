@@ -0,0 +1,391 @@
+package com.deliverytech.delivery.service.audit.journal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Journal de auditoria append-only, consultável.
+ * <p>
+ * Os eventos são gravados em segmentos mapeados em memória ({@code audit-N.seg})
+ * num formato binário compacto ({@link RegistroJournal}). Quando um segmento
+ * enche, ele é selado: o índice ({@code audit-N.idx}) é gravado em disco e o
+ * segmento é compactado em segundo plano ({@code audit-N.segz}).
+ * <p>
+ * As consultas usam os índices por userId, ação, correlationId e tempo, e
+ * leem apenas os registros (ou blocos comprimidos) candidatos.
+ * <p>
+ * Retenção: a cada rolagem (e ao abrir) os segmentos selados mais antigos além
+ * de {@code max-segmentos}, ou cujo evento mais recente é mais velho que
+ * {@code retencao-dias}, são apagados do disco junto com o índice em memória.
+ * <p>
+ * {@link #anexar} deve ser chamado por uma única thread (a escritora do
+ * {@link com.deliverytech.delivery.service.audit.AuditPipeline}); {@link #consultar}
+ * pode ser chamado de qualquer thread.
+ */
+@Component
+public class AuditJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    private static final Pattern NOME_ARQUIVO = Pattern.compile("audit-(\\d{10})\\.(seg|segz|idx)");
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final int maxSegmentos;
+    private final Duration retencao;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Segmentos selados, do mais antigo para o mais novo
+    private final List<Segmento> selados = new CopyOnWriteArrayList<>();
+    private volatile Segmento.Ativo ativo;
+
+    // Compactação dos segmentos selados fora da thread escritora
+    private final ExecutorService compactador = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "audit-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter registrosGravados;
+    private final Counter registrosDescartados;
+    private final Counter segmentosRemovidos;
+
+    @Autowired
+    public AuditJournal(MeterRegistry meterRegistry,
+                        @Value("${app.audit.journal.habilitado:true}") boolean habilitado,
+                        @Value("${app.audit.journal.dir:logs/audit-journal}") String diretorio,
+                        @Value("${app.audit.journal.segmento-mb:16}") int segmentoMb,
+                        @Value("${app.audit.journal.max-segmentos:64}") int maxSegmentos,
+                        @Value("${app.audit.journal.retencao-dias:90}") int retencaoDias) {
+        this(meterRegistry, habilitado, Path.of(diretorio), segmentoMb * 1024 * 1024,
+                maxSegmentos, Duration.ofDays(retencaoDias));
+    }
+
+    /**
+     * @param maxSegmentos Máximo de segmentos selados mantidos (0 = sem limite).
+     * @param retencao     Idade máxima do evento mais recente de um segmento selado (zero = sem limite).
+     */
+    AuditJournal(MeterRegistry meterRegistry, boolean habilitado, Path diretorio, int tamanhoSegmento,
+                 int maxSegmentos, Duration retencao) {
+        this.habilitado = habilitado;
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.maxSegmentos = maxSegmentos;
+        this.retencao = retencao;
+
+        Gauge.builder("delivery.audit.journal.segmentos", selados, s -> s.size() + 1)
+                .description("Segmentos do journal de auditoria (selados + ativo)")
+                .register(meterRegistry);
+        this.registrosGravados = Counter.builder("delivery.audit.journal.registros")
+                .description("Eventos gravados no journal de auditoria")
+                .register(meterRegistry);
+        this.registrosDescartados = Counter.builder("delivery.audit.journal.descartados")
+                .description("Eventos não gravados no journal (erro ou registro maior que o segmento)")
+                .register(meterRegistry);
+        this.segmentosRemovidos = Counter.builder("delivery.audit.journal.segmentos.removidos")
+                .description("Segmentos selados apagados pela retenção do journal")
+                .register(meterRegistry);
+    }
+
+    // ==========================================================
+    // --- CICLO DE VIDA ---
+    // ==========================================================
+
+    /**
+     * Abre os segmentos existentes: selados com índice são apenas carregados;
+     * o último sem índice volta a ser o ativo (índice reconstruído pela varredura).
+     */
+    @PostConstruct
+    public void abrir() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+        Files.createDirectories(diretorio);
+
+        TreeSet<Long> numeros = new TreeSet<>();
+        try (var arquivos = Files.list(diretorio)) {
+            arquivos.forEach(arquivo -> {
+                Matcher matcher = NOME_ARQUIVO.matcher(arquivo.getFileName().toString());
+                if (matcher.matches()) {
+                    numeros.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+
+        for (Long numero : numeros) {
+            try {
+                if (Files.exists(arquivoIndice(numero))) {
+                    selados.add(abrirSelado(numero));
+                } else if (!numero.equals(numeros.last())) {
+                    // Segmento antigo sem índice (queda durante a selagem): recupera e sela
+                    Segmento.Ativo recuperado = Segmento.Ativo.abrir(numero, arquivoDados(numero), tamanhoSegmento);
+                    selar(recuperado);
+                }
+            } catch (IOException e) {
+                // Um segmento ilegível não impede o journal de subir
+                logger.warn("[AUDIT] Segmento {} do journal ignorado: {}", numero, e.getMessage());
+            }
+        }
+
+        long proximo = numeros.isEmpty() ? 1 : numeros.last();
+        if (!numeros.isEmpty() && Files.exists(arquivoIndice(proximo))) {
+            proximo++;
+        }
+        ativo = Segmento.Ativo.abrir(proximo, arquivoDados(proximo), tamanhoSegmento);
+        aplicarRetencao();
+        logger.info("[AUDIT] Journal aberto em {}: {} segmentos selados, ativo={} ({} registros)",
+                diretorio, selados.size(), proximo, ativo.indice.getRegistros());
+    }
+
+    @PreDestroy
+    public void fechar() {
+        if (!habilitado) {
+            return;
+        }
+        compactador.shutdown();
+        try {
+            compactador.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (ativo != null) {
+                ativo.fechar();
+            }
+            for (Segmento segmento : selados) {
+                segmento.fechar();
+            }
+        } catch (IOException e) {
+            logger.warn("[AUDIT] Erro ao fechar o journal de auditoria", e);
+        }
+    }
+
+    // ==========================================================
+    // --- ESCRITA ---
+    // ==========================================================
+
+    /**
+     * Grava um evento no segmento ativo, rolando para um novo segmento se necessário.
+     *
+     * @param timestamp     Momento do evento (epoch millis).
+     * @param userId        ID do usuário (indexado).
+     * @param acao          Ação/evento/operação (indexado).
+     * @param correlationId ID de correlação (indexado).
+     * @param json          Evento completo serializado.
+     */
+    public void anexar(long timestamp, String userId, String acao, String correlationId, String json) {
+        if (!habilitado || ativo == null) {
+            return;
+        }
+        try {
+            byte[] registro = RegistroJournal.codificar(timestamp, userId, acao, correlationId,
+                    json.getBytes(StandardCharsets.UTF_8));
+            if (!ativo.anexar(registro, timestamp, userId, acao, correlationId)) {
+                if (ativo.vazio()) {
+                    // Nem um segmento vazio comporta o registro
+                    registrosDescartados.increment();
+                    logger.warn("[AUDIT] Evento de {} bytes maior que o segmento do journal; descartado",
+                            registro.length);
+                    return;
+                }
+                rolar();
+                ativo.anexar(registro, timestamp, userId, acao, correlationId);
+            }
+            registrosGravados.increment();
+        } catch (IOException | RuntimeException e) {
+            registrosDescartados.increment();
+            logger.warn("[AUDIT] Erro ao gravar evento no journal", e);
+        }
+    }
+
+    /**
+     * Sela o segmento ativo e abre o próximo.
+     */
+    private void rolar() throws IOException {
+        Segmento.Ativo anterior = ativo;
+        Segmento.Ativo novo = Segmento.Ativo.abrir(anterior.numero + 1, arquivoDados(anterior.numero + 1), tamanhoSegmento);
+        // O selado entra na lista antes da troca; as consultas ignoram a duplicata pelo número
+        selar(anterior);
+        ativo = novo;
+        aplicarRetencao();
+    }
+
+    private void selar(Segmento.Ativo segmento) throws IOException {
+        segmento.fechar();
+        gravarIndice(segmento.numero, segmento.indice);
+        Segmento.Bruto bruto = Segmento.Bruto.abrir(segmento.numero, segmento.indice, segmento.arquivo());
+        selados.add(bruto);
+        agendarCompactacao(bruto);
+    }
+
+    private void agendarCompactacao(Segmento.Bruto bruto) {
+        compactador.submit(() -> {
+            try {
+                Path destino = arquivoComprimido(bruto.numero);
+                Segmento.Comprimido.compactar(bruto, destino);
+                Segmento.Comprimido comprimido = Segmento.Comprimido.abrir(bruto.numero, bruto.indice, destino);
+                selados.replaceAll(s -> s == bruto ? comprimido : s);
+                if (!selados.contains(comprimido)) {
+                    // Removido pela retenção durante a compactação: os arquivos são apagados na sequência
+                    comprimido.fechar();
+                }
+                Files.deleteIfExists(bruto.arquivo());
+                logger.debug("[AUDIT] Segmento {} compactado", bruto.numero);
+            } catch (IOException | RuntimeException e) {
+                // O segmento bruto continua consultável; nova tentativa na próxima inicialização
+                logger.warn("[AUDIT] Erro ao compactar segmento {} do journal", bruto.numero, e);
+            }
+        });
+    }
+
+    // ==========================================================
+    // --- RETENÇÃO ---
+    // ==========================================================
+
+    /**
+     * Remove os segmentos selados mais antigos que excedem {@link #maxSegmentos}
+     * ou a {@link #retencao}. Chamado pela thread escritora.
+     */
+    private void aplicarRetencao() {
+        long limiteIdade = retencao.isZero() ? Long.MIN_VALUE : System.currentTimeMillis() - retencao.toMillis();
+        while (!selados.isEmpty()) {
+            Segmento maisAntigo = selados.get(0);
+            boolean excedeQuantidade = maxSegmentos > 0 && selados.size() > maxSegmentos;
+            boolean expirado = maisAntigo.indice.getMaxTimestamp() < limiteIdade;
+            if (!excedeQuantidade && !expirado) {
+                return;
+            }
+            selados.remove(0);
+            segmentosRemovidos.increment();
+            // Na fila do compactador: uma compactação pendente do mesmo segmento termina antes
+            compactador.submit(() -> apagar(maisAntigo));
+        }
+    }
+
+    private void apagar(Segmento segmento) {
+        try {
+            segmento.fechar();
+            Files.deleteIfExists(arquivoDados(segmento.numero));
+            Files.deleteIfExists(arquivoComprimido(segmento.numero));
+            Files.deleteIfExists(arquivoIndice(segmento.numero));
+            logger.info("[AUDIT] Segmento {} do journal removido pela retenção", segmento.numero);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("[AUDIT] Erro ao remover segmento {} do journal", segmento.numero, e);
+        }
+    }
+
+    // ==========================================================
+    // --- CONSULTA ---
+    // ==========================================================
+
+    /**
+     * Consulta eventos pelos índices, do mais recente para o mais antigo.
+     *
+     * @return Os eventos (JSON desserializado), limitados a {@link ConsultaAuditoria#limite()}.
+     */
+    public List<Map<String, Object>> consultar(ConsultaAuditoria consulta) throws IOException {
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        if (!habilitado || ativo == null || consulta.limite() <= 0) {
+            return resultado;
+        }
+
+        List<RegistroJournal> registros = new ArrayList<>();
+        Segmento.Ativo atual = ativo;
+        atual.consultar(consulta, registros);
+
+        List<Segmento> snapshot = new ArrayList<>(selados);
+        for (int i = snapshot.size() - 1; i >= 0 && registros.size() < consulta.limite(); i--) {
+            Segmento segmento = snapshot.get(i);
+            if (segmento.numero != atual.numero) {
+                try {
+                    segmento.consultar(consulta, registros);
+                } catch (ClosedChannelException e) {
+                    // Segmento removido pela retenção durante a consulta
+                }
+            }
+        }
+
+        TypeReference<Map<String, Object>> tipo = new TypeReference<>() {};
+        for (RegistroJournal registro : registros) {
+            resultado.add(objectMapper.readValue(registro.payload(), tipo));
+        }
+        return resultado;
+    }
+
+    // ==========================================================
+    // --- ARQUIVOS ---
+    // ==========================================================
+
+    private Segmento abrirSelado(long numero) throws IOException {
+        IndiceSegmento indice = lerIndice(numero);
+        Path comprimido = arquivoComprimido(numero);
+        if (Files.exists(comprimido)) {
+            Files.deleteIfExists(arquivoDados(numero));
+            return Segmento.Comprimido.abrir(numero, indice, comprimido);
+        }
+        Segmento.Bruto bruto = Segmento.Bruto.abrir(numero, indice, arquivoDados(numero));
+        agendarCompactacao(bruto);
+        return bruto;
+    }
+
+    private void gravarIndice(long numero, IndiceSegmento indice) throws IOException {
+        Path destino = arquivoIndice(numero);
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+            indice.gravar(out);
+        }
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private IndiceSegmento lerIndice(long numero) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivoIndice(numero))))) {
+            return IndiceSegmento.ler(in);
+        }
+    }
+
+    private Path arquivoDados(long numero) {
+        return diretorio.resolve(String.format("audit-%010d.seg", numero));
+    }
+
+    private Path arquivoComprimido(long numero) {
+        return diretorio.resolve(String.format("audit-%010d.segz", numero));
+    }
+
+    private Path arquivoIndice(long numero) {
+        return diretorio.resolve(String.format("audit-%010d.idx", numero));
+    }
+}
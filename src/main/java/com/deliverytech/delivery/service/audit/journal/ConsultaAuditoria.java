@@ -0,0 +1,50 @@
+package com.deliverytech.delivery.service.audit.journal;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Filtros de uma consulta ao journal de auditoria.
+ * Todos os campos são opcionais; os informados são combinados com AND.
+ *
+ * @param userId        ID do usuário.
+ * @param acao          Ação/evento/operação registrado.
+ * @param correlationId ID de correlação da requisição.
+ * @param inicio        Início do intervalo (inclusive).
+ * @param fim           Fim do intervalo (inclusive).
+ * @param limite        Máximo de eventos retornados (os mais recentes primeiro).
+ */
+public record ConsultaAuditoria(
+        String userId,
+        String acao,
+        String correlationId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        int limite) {
+
+    long inicioMillis() {
+        return inicio != null ? paraMillis(inicio) : Long.MIN_VALUE;
+    }
+
+    long fimMillis() {
+        return fim != null ? paraMillis(fim) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Confere todos os filtros contra um registro lido do segmento.
+     */
+    boolean aceita(RegistroJournal registro) {
+        return registro.timestamp() >= inicioMillis()
+                && registro.timestamp() <= fimMillis()
+                && (userId == null || userId.equals(registro.userId()))
+                && (acao == null || acao.equals(registro.acao()))
+                && (correlationId == null || correlationId.equals(registro.correlationId()));
+    }
+
+    /**
+     * Converte um horário local para epoch millis (mesma regra usada na gravação).
+     */
+    static long paraMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
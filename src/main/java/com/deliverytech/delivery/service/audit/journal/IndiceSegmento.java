@@ -0,0 +1,273 @@
+package com.deliverytech.delivery.service.audit.journal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de um segmento do journal de auditoria.
+ * <p>
+ * Guarda, para cada userId, ação e correlationId, a lista de offsets dos
+ * registros no segmento, além de um índice de tempo por faixas de
+ * {@value #REGISTROS_POR_FAIXA} registros (min/max do timestamp e offset
+ * inicial de cada faixa). As consultas usam a lista mais seletiva ou as
+ * faixas de tempo, sem varrer o segmento inteiro.
+ * <p>
+ * No disco (arquivo {@code .idx}), os offsets são gravados como deltas em
+ * varint. Os métodos são sincronizados porque o índice do segmento ativo é
+ * escrito pela thread escritora enquanto consultas o leem.
+ */
+final class IndiceSegmento {
+
+    static final int REGISTROS_POR_FAIXA = 256;
+
+    private static final int VERSAO = 1;
+
+    private final Map<String, ListaOffsets> porUsuario = new HashMap<>();
+    private final Map<String, ListaOffsets> porAcao = new HashMap<>();
+    private final Map<String, ListaOffsets> porCorrelacao = new HashMap<>();
+
+    // Faixas de tempo: [minTs, maxTs, offsetInicial] a cada REGISTROS_POR_FAIXA registros
+    private long[] faixas = new long[3 * 16];
+    private int quantidadeFaixas;
+
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private int registros;
+    private int tamanhoDados;
+
+    // ==========================================================
+    // --- ESCRITA ---
+    // ==========================================================
+
+    synchronized void registrar(long timestamp, String userId, String acao, String correlationId,
+                                int offset, int tamanhoRegistro) {
+        if (registros % REGISTROS_POR_FAIXA == 0) {
+            if ((quantidadeFaixas + 1) * 3 > faixas.length) {
+                faixas = Arrays.copyOf(faixas, faixas.length * 2);
+            }
+            int base = quantidadeFaixas * 3;
+            faixas[base] = timestamp;
+            faixas[base + 1] = timestamp;
+            faixas[base + 2] = offset;
+            quantidadeFaixas++;
+        }
+        int atual = (quantidadeFaixas - 1) * 3;
+        faixas[atual] = Math.min(faixas[atual], timestamp);
+        faixas[atual + 1] = Math.max(faixas[atual + 1], timestamp);
+
+        adicionar(porUsuario, userId, offset);
+        adicionar(porAcao, acao, offset);
+        adicionar(porCorrelacao, correlationId, offset);
+
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        registros++;
+        tamanhoDados = offset + tamanhoRegistro;
+    }
+
+    private static void adicionar(Map<String, ListaOffsets> indice, String chave, int offset) {
+        if (chave != null) {
+            indice.computeIfAbsent(chave, c -> new ListaOffsets()).adicionar(offset);
+        }
+    }
+
+    // ==========================================================
+    // --- LEITURA ---
+    // ==========================================================
+
+    /**
+     * @return {@code true} se algum registro do segmento pode estar no intervalo.
+     */
+    synchronized boolean sobrepoe(long inicio, long fim) {
+        return registros > 0 && maxTimestamp >= inicio && minTimestamp <= fim;
+    }
+
+    /**
+     * Retorna os offsets candidatos para a consulta, do mais novo para o mais antigo.
+     * Usa a lista de chave mais curta entre as informadas; sem chaves, retorna
+     * {@code null} (o chamador deve usar {@link #faixasSobrepostas}).
+     */
+    synchronized int[] candidatos(ConsultaAuditoria consulta) {
+        ListaOffsets melhor = null;
+        boolean algumaChave = false;
+        if (consulta.userId() != null) {
+            algumaChave = true;
+            melhor = menor(melhor, porUsuario.get(consulta.userId()));
+            if (melhor == null) return new int[0];
+        }
+        if (consulta.acao() != null) {
+            algumaChave = true;
+            ListaOffsets lista = porAcao.get(consulta.acao());
+            if (lista == null) return new int[0];
+            melhor = menor(melhor, lista);
+        }
+        if (consulta.correlationId() != null) {
+            algumaChave = true;
+            ListaOffsets lista = porCorrelacao.get(consulta.correlationId());
+            if (lista == null) return new int[0];
+            melhor = menor(melhor, lista);
+        }
+        return algumaChave ? melhor.copiaInvertida() : null;
+    }
+
+    private static ListaOffsets menor(ListaOffsets a, ListaOffsets b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.tamanho <= b.tamanho ? a : b;
+    }
+
+    /**
+     * Retorna os intervalos [offsetInicial, offsetFinal) das faixas de tempo
+     * que se sobrepõem ao intervalo pedido, da mais nova para a mais antiga.
+     */
+    synchronized int[][] faixasSobrepostas(long inicio, long fim) {
+        int[][] resultado = new int[quantidadeFaixas][];
+        int n = 0;
+        for (int i = quantidadeFaixas - 1; i >= 0; i--) {
+            int base = i * 3;
+            if (faixas[base + 1] >= inicio && faixas[base] <= fim) {
+                int offsetFinal = (i + 1 < quantidadeFaixas) ? (int) faixas[base + 5] : tamanhoDados;
+                resultado[n++] = new int[]{(int) faixas[base + 2], offsetFinal};
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    synchronized int getRegistros() {
+        return registros;
+    }
+
+    synchronized int getTamanhoDados() {
+        return tamanhoDados;
+    }
+
+    /** Timestamp do evento mais recente (Long.MIN_VALUE se vazio). */
+    synchronized long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    // ==========================================================
+    // --- PERSISTÊNCIA (arquivo .idx) ---
+    // ==========================================================
+
+    synchronized void gravar(DataOutputStream out) throws IOException {
+        out.writeInt(VERSAO);
+        out.writeInt(registros);
+        out.writeInt(tamanhoDados);
+        out.writeLong(minTimestamp);
+        out.writeLong(maxTimestamp);
+        out.writeInt(quantidadeFaixas);
+        for (int i = 0; i < quantidadeFaixas * 3; i++) {
+            out.writeLong(faixas[i]);
+        }
+        gravarMapa(out, porUsuario);
+        gravarMapa(out, porAcao);
+        gravarMapa(out, porCorrelacao);
+    }
+
+    static IndiceSegmento ler(DataInputStream in) throws IOException {
+        int versao = in.readInt();
+        if (versao != VERSAO) {
+            throw new IOException("Versão de índice de auditoria não suportada: " + versao);
+        }
+        IndiceSegmento indice = new IndiceSegmento();
+        indice.registros = in.readInt();
+        indice.tamanhoDados = in.readInt();
+        indice.minTimestamp = in.readLong();
+        indice.maxTimestamp = in.readLong();
+        indice.quantidadeFaixas = in.readInt();
+        indice.faixas = new long[Math.max(3, indice.quantidadeFaixas * 3)];
+        for (int i = 0; i < indice.quantidadeFaixas * 3; i++) {
+            indice.faixas[i] = in.readLong();
+        }
+        lerMapa(in, indice.porUsuario);
+        lerMapa(in, indice.porAcao);
+        lerMapa(in, indice.porCorrelacao);
+        return indice;
+    }
+
+    private static void gravarMapa(DataOutputStream out, Map<String, ListaOffsets> mapa) throws IOException {
+        out.writeInt(mapa.size());
+        for (Map.Entry<String, ListaOffsets> entrada : mapa.entrySet()) {
+            out.writeUTF(entrada.getKey());
+            ListaOffsets lista = entrada.getValue();
+            escreverVarint(out, lista.tamanho);
+            int anterior = 0;
+            for (int i = 0; i < lista.tamanho; i++) {
+                // Offsets crescentes: grava só a diferença para o anterior
+                escreverVarint(out, lista.valores[i] - anterior);
+                anterior = lista.valores[i];
+            }
+        }
+    }
+
+    private static void lerMapa(DataInputStream in, Map<String, ListaOffsets> mapa) throws IOException {
+        int chaves = in.readInt();
+        for (int c = 0; c < chaves; c++) {
+            String chave = in.readUTF();
+            int tamanho = lerVarint(in);
+            ListaOffsets lista = new ListaOffsets(tamanho);
+            int anterior = 0;
+            for (int i = 0; i < tamanho; i++) {
+                anterior += lerVarint(in);
+                lista.adicionar(anterior);
+            }
+            mapa.put(chave, lista);
+        }
+    }
+
+    private static void escreverVarint(DataOutputStream out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+
+    private static int lerVarint(DataInputStream in) throws IOException {
+        int valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            valor |= (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    /**
+     * Lista de offsets em array primitivo (evita boxing de Integer).
+     */
+    private static final class ListaOffsets {
+        private int[] valores;
+        private int tamanho;
+
+        ListaOffsets() {
+            this(4);
+        }
+
+        ListaOffsets(int capacidade) {
+            this.valores = new int[Math.max(1, capacidade)];
+        }
+
+        void adicionar(int valor) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, valores.length * 2);
+            }
+            valores[tamanho++] = valor;
+        }
+
+        int[] copiaInvertida() {
+            int[] copia = new int[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                copia[i] = valores[tamanho - 1 - i];
+            }
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.deliverytech.delivery.service.audit.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Registro binário do journal de auditoria.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int    tamanho do corpo (0 = fim dos dados / registro não confirmado)
+ * long   timestamp (epoch millis)
+ * short  + bytes  userId        (-1 = nulo)
+ * short  + bytes  acao          (-1 = nulo)
+ * short  + bytes  correlationId (-1 = nulo)
+ * int    + bytes  payload (JSON do evento, UTF-8)
+ * </pre>
+ * Só as chaves indexadas ficam em binário; o evento completo vai no payload.
+ */
+record RegistroJournal(long timestamp, String userId, String acao, String correlationId,
+                       byte[] payload, int tamanhoTotal) {
+
+    /** Bytes do prefixo de tamanho. */
+    static final int CABECALHO = Integer.BYTES;
+
+    /**
+     * Codifica um registro completo (prefixo de tamanho incluído).
+     */
+    static byte[] codificar(long timestamp, String userId, String acao, String correlationId, byte[] payload) {
+        byte[] usuario = bytes(userId);
+        byte[] acaoBytes = bytes(acao);
+        byte[] correlacao = bytes(correlationId);
+
+        int corpo = Long.BYTES
+                + Short.BYTES + (usuario != null ? usuario.length : 0)
+                + Short.BYTES + (acaoBytes != null ? acaoBytes.length : 0)
+                + Short.BYTES + (correlacao != null ? correlacao.length : 0)
+                + Integer.BYTES + payload.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + corpo);
+        buffer.putInt(corpo);
+        buffer.putLong(timestamp);
+        escrever(buffer, usuario);
+        escrever(buffer, acaoBytes);
+        escrever(buffer, correlacao);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    /**
+     * Lê o registro que começa na posição atual do buffer.
+     *
+     * @return O registro, ou {@code null} se não houver registro confirmado nessa posição.
+     */
+    static RegistroJournal ler(ByteBuffer buffer) {
+        if (buffer.remaining() < CABECALHO) {
+            return null;
+        }
+        int corpo = buffer.getInt();
+        if (corpo <= 0 || corpo > buffer.remaining()) {
+            return null;
+        }
+        long timestamp = buffer.getLong();
+        String userId = lerTexto(buffer);
+        String acao = lerTexto(buffer);
+        String correlationId = lerTexto(buffer);
+        byte[] payload = new byte[buffer.getInt()];
+        buffer.get(payload);
+        return new RegistroJournal(timestamp, userId, acao, correlationId, payload, CABECALHO + corpo);
+    }
+
+    private static byte[] bytes(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        // Chaves muito longas são truncadas (o payload mantém o valor completo)
+        return bytes.length > Short.MAX_VALUE ? Arrays.copyOf(bytes, Short.MAX_VALUE) : bytes;
+    }
+
+    private static void escrever(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String lerTexto(ByteBuffer buffer) {
+        short tamanho = buffer.getShort();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,446 @@
+package com.deliverytech.delivery.service.audit.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segmento do journal de auditoria.
+ * <p>
+ * Existem três formas de segmento:
+ * <ul>
+ *   <li>{@link Ativo}: arquivo {@code .seg} mapeado em memória para escrita (append-only);</li>
+ *   <li>{@link Bruto}: segmento selado ainda não compactado, mapeado só para leitura;</li>
+ *   <li>{@link Comprimido}: arquivo {@code .segz} com blocos Deflate independentes,
+ *       de modo que uma consulta descomprime só os blocos que contêm os offsets pedidos.</li>
+ * </ul>
+ * Todos compartilham o mesmo {@link IndiceSegmento} e o mesmo algoritmo de consulta.
+ */
+abstract class Segmento {
+
+    final long numero;
+    final IndiceSegmento indice;
+
+    Segmento(long numero, IndiceSegmento indice) {
+        this.numero = numero;
+        this.indice = indice;
+    }
+
+    /**
+     * @return Um buffer posicionado no início do registro com o offset informado.
+     */
+    abstract ByteBuffer registroEm(int offset) throws IOException;
+
+    abstract void fechar() throws IOException;
+
+    /**
+     * Adiciona ao destino os registros que atendem à consulta, do mais novo para o mais antigo,
+     * até o limite da consulta.
+     */
+    void consultar(ConsultaAuditoria consulta, List<RegistroJournal> destino) throws IOException {
+        if (!indice.sobrepoe(consulta.inicioMillis(), consulta.fimMillis())) {
+            return;
+        }
+
+        // 1. Com chave (userId, ação, correlationId): percorre só a lista de offsets
+        int[] candidatos = indice.candidatos(consulta);
+        if (candidatos != null) {
+            for (int offset : candidatos) {
+                if (destino.size() >= consulta.limite()) {
+                    return;
+                }
+                RegistroJournal registro = RegistroJournal.ler(registroEm(offset));
+                if (registro != null && consulta.aceita(registro)) {
+                    destino.add(registro);
+                }
+            }
+            return;
+        }
+
+        // 2. Só por tempo: percorre apenas as faixas que se sobrepõem ao intervalo
+        for (int[] faixa : indice.faixasSobrepostas(consulta.inicioMillis(), consulta.fimMillis())) {
+            List<RegistroJournal> daFaixa = new ArrayList<>();
+            int offset = faixa[0];
+            while (offset < faixa[1]) {
+                RegistroJournal registro = RegistroJournal.ler(registroEm(offset));
+                if (registro == null) {
+                    break;
+                }
+                if (consulta.aceita(registro)) {
+                    daFaixa.add(registro);
+                }
+                offset += registro.tamanhoTotal();
+            }
+            Collections.reverse(daFaixa);
+            for (RegistroJournal registro : daFaixa) {
+                if (destino.size() >= consulta.limite()) {
+                    return;
+                }
+                destino.add(registro);
+            }
+        }
+    }
+
+    // ==========================================================
+    // --- SEGMENTO ATIVO (escrita) ---
+    // ==========================================================
+
+    /**
+     * Segmento aberto para escrita. Apenas a thread escritora chama {@link #anexar};
+     * consultas leem até {@link #posicaoPublicada}.
+     */
+    static final class Ativo extends Segmento {
+
+        private final Path arquivo;
+        private final FileChannel canal;
+        private final MappedByteBuffer mapa;
+        private final int capacidade;
+        private int posicao;
+        private volatile int posicaoPublicada;
+
+        private Ativo(long numero, Path arquivo, FileChannel canal, MappedByteBuffer mapa, int capacidade) {
+            super(numero, new IndiceSegmento());
+            this.arquivo = arquivo;
+            this.canal = canal;
+            this.mapa = mapa;
+            this.capacidade = capacidade;
+        }
+
+        /**
+         * Abre (ou cria) o arquivo do segmento e recupera os registros já confirmados,
+         * reconstruindo o índice em memória.
+         */
+        static Ativo abrir(long numero, Path arquivo, int capacidade) throws IOException {
+            FileChannel canal = FileChannel.open(arquivo,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+            Ativo segmento = new Ativo(numero, arquivo, canal, mapa, capacidade);
+
+            ByteBuffer leitura = mapa.duplicate();
+            int offset = 0;
+            while (offset < capacidade) {
+                leitura.position(offset);
+                RegistroJournal registro = RegistroJournal.ler(leitura);
+                if (registro == null) {
+                    break;
+                }
+                segmento.indice.registrar(registro.timestamp(), registro.userId(), registro.acao(),
+                        registro.correlationId(), offset, registro.tamanhoTotal());
+                offset += registro.tamanhoTotal();
+            }
+            segmento.posicao = offset;
+            segmento.posicaoPublicada = offset;
+            return segmento;
+        }
+
+        /**
+         * Grava um registro já codificado.
+         *
+         * @return {@code false} se o registro não couber no segmento (hora de rolar).
+         */
+        boolean anexar(byte[] registro, long timestamp, String userId, String acao, String correlationId) {
+            // Reserva sempre espaço para um prefixo zerado depois do último registro
+            if (posicao + registro.length + RegistroJournal.CABECALHO > capacidade) {
+                return false;
+            }
+            int offset = posicao;
+            // Corpo primeiro, tamanho por último: um registro só "existe" depois de completo
+            mapa.put(offset + RegistroJournal.CABECALHO, registro,
+                    RegistroJournal.CABECALHO, registro.length - RegistroJournal.CABECALHO);
+            mapa.putInt(offset, registro.length - RegistroJournal.CABECALHO);
+            posicao += registro.length;
+            posicaoPublicada = posicao;
+            indice.registrar(timestamp, userId, acao, correlationId, offset, registro.length);
+            return true;
+        }
+
+        boolean vazio() {
+            return posicao == 0;
+        }
+
+        Path arquivo() {
+            return arquivo;
+        }
+
+        /**
+         * Força a gravação das páginas sujas do mapeamento no disco.
+         */
+        void forcar() {
+            mapa.force();
+        }
+
+        @Override
+        ByteBuffer registroEm(int offset) {
+            ByteBuffer buffer = mapa.duplicate();
+            buffer.limit(posicaoPublicada);
+            buffer.position(offset);
+            return buffer;
+        }
+
+        @Override
+        void fechar() throws IOException {
+            forcar();
+            canal.close();
+        }
+    }
+
+    // ==========================================================
+    // --- SEGMENTO SELADO, AINDA NÃO COMPACTADO ---
+    // ==========================================================
+
+    static final class Bruto extends Segmento {
+
+        private final Path arquivo;
+        private final MappedByteBuffer dados;
+
+        private Bruto(long numero, IndiceSegmento indice, Path arquivo, MappedByteBuffer dados) {
+            super(numero, indice);
+            this.arquivo = arquivo;
+            this.dados = dados;
+        }
+
+        static Bruto abrir(long numero, IndiceSegmento indice, Path arquivo) throws IOException {
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+                // O mapeamento continua válido depois de fechar o canal
+                MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, indice.getTamanhoDados());
+                return new Bruto(numero, indice, arquivo, dados);
+            }
+        }
+
+        Path arquivo() {
+            return arquivo;
+        }
+
+        @Override
+        ByteBuffer registroEm(int offset) {
+            ByteBuffer buffer = dados.duplicate();
+            buffer.position(offset);
+            return buffer;
+        }
+
+        @Override
+        void fechar() {
+            // Nada a fechar: o mapeamento é liberado pelo GC
+        }
+    }
+
+    // ==========================================================
+    // --- SEGMENTO SELADO E COMPACTADO (.segz) ---
+    // ==========================================================
+
+    /**
+     * Layout do arquivo: {@code MAGICO, tamanhoDados, quantidadeBlocos}, a tabela de
+     * blocos ({@code inicioBruto, tamanhoBruto, offsetArquivo, tamanhoComprimido})
+     * e os blocos Deflate. Os blocos terminam sempre em fronteira de registro.
+     */
+    static final class Comprimido extends Segmento {
+
+        private static final int MAGICO = 0x414A5A31; // "AJZ1"
+        private static final int TAMANHO_BLOCO = 64 * 1024;
+
+        private final FileChannel canal;
+        private final int[] inicioBruto;
+        private final int[] tamanhoBruto;
+        private final long[] offsetArquivo;
+        private final int[] tamanhoComprimido;
+
+        // Cache de um bloco: consultas tendem a ler offsets próximos.
+        // ReentrantLock (e não synchronized) porque a leitura do disco acontece com o lock:
+        // synchronized prenderia a virtual thread da requisição ao carrier.
+        private final ReentrantLock lockCache = new ReentrantLock();
+        private int blocoEmCache = -1;
+        private byte[] dadosEmCache;
+
+        private Comprimido(long numero, IndiceSegmento indice, FileChannel canal, int[] inicioBruto,
+                           int[] tamanhoBruto, long[] offsetArquivo, int[] tamanhoComprimido) {
+            super(numero, indice);
+            this.canal = canal;
+            this.inicioBruto = inicioBruto;
+            this.tamanhoBruto = tamanhoBruto;
+            this.offsetArquivo = offsetArquivo;
+            this.tamanhoComprimido = tamanhoComprimido;
+        }
+
+        /**
+         * Compacta um segmento bruto em {@code destino} (gravação atômica via arquivo temporário).
+         */
+        static void compactar(Bruto origem, Path destino) throws IOException {
+            ByteBuffer dados = origem.dados.duplicate();
+            int tamanhoDados = origem.indice.getTamanhoDados();
+
+            // 1. Define os blocos em fronteiras de registro
+            List<int[]> blocos = new ArrayList<>();
+            int inicioBloco = 0;
+            int offset = 0;
+            while (offset < tamanhoDados) {
+                int tamanhoRegistro = RegistroJournal.CABECALHO + dados.getInt(offset);
+                if (offset > inicioBloco && offset + tamanhoRegistro - inicioBloco > TAMANHO_BLOCO) {
+                    blocos.add(new int[]{inicioBloco, offset - inicioBloco});
+                    inicioBloco = offset;
+                }
+                offset += tamanhoRegistro;
+            }
+            if (offset > inicioBloco) {
+                blocos.add(new int[]{inicioBloco, offset - inicioBloco});
+            }
+
+            // 2. Comprime cada bloco de forma independente
+            List<byte[]> comprimidos = new ArrayList<>(blocos.size());
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                for (int[] bloco : blocos) {
+                    byte[] bruto = new byte[bloco[1]];
+                    dados.get(bloco[0], bruto);
+                    comprimidos.add(comprimir(deflater, bruto));
+                }
+            } finally {
+                deflater.end();
+            }
+
+            // 3. Grava cabeçalho, tabela de blocos e dados
+            int tamanhoCabecalho = 3 * Integer.BYTES + blocos.size() * (3 * Integer.BYTES + Long.BYTES);
+            ByteBuffer cabecalho = ByteBuffer.allocate(tamanhoCabecalho);
+            cabecalho.putInt(MAGICO).putInt(tamanhoDados).putInt(blocos.size());
+            long offsetArquivo = tamanhoCabecalho;
+            for (int i = 0; i < blocos.size(); i++) {
+                cabecalho.putInt(blocos.get(i)[0]).putInt(blocos.get(i)[1])
+                        .putLong(offsetArquivo).putInt(comprimidos.get(i).length);
+                offsetArquivo += comprimidos.get(i).length;
+            }
+            cabecalho.flip();
+
+            Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+            try (FileChannel saida = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (cabecalho.hasRemaining()) {
+                    saida.write(cabecalho);
+                }
+                for (byte[] comprimido : comprimidos) {
+                    ByteBuffer buffer = ByteBuffer.wrap(comprimido);
+                    while (buffer.hasRemaining()) {
+                        saida.write(buffer);
+                    }
+                }
+                saida.force(true);
+            }
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        private static byte[] comprimir(Deflater deflater, byte[] bruto) {
+            deflater.reset();
+            deflater.setInput(bruto);
+            deflater.finish();
+            byte[] saida = new byte[Math.max(64, bruto.length / 2)];
+            int total = 0;
+            while (!deflater.finished()) {
+                if (total == saida.length) {
+                    saida = Arrays.copyOf(saida, saida.length * 2);
+                }
+                total += deflater.deflate(saida, total, saida.length - total);
+            }
+            return Arrays.copyOf(saida, total);
+        }
+
+        static Comprimido abrir(long numero, IndiceSegmento indice, Path arquivo) throws IOException {
+            FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+            try {
+                ByteBuffer topo = lerCompleto(canal, 0, 3 * Integer.BYTES);
+                if (topo.getInt() != MAGICO) {
+                    throw new IOException("Arquivo de segmento inválido: " + arquivo);
+                }
+                topo.getInt(); // tamanhoDados (já presente no índice)
+                int quantidade = topo.getInt();
+
+                ByteBuffer tabela = lerCompleto(canal, 3 * Integer.BYTES,
+                        quantidade * (3 * Integer.BYTES + Long.BYTES));
+                int[] inicioBruto = new int[quantidade];
+                int[] tamanhoBruto = new int[quantidade];
+                long[] offsetArquivo = new long[quantidade];
+                int[] tamanhoComprimido = new int[quantidade];
+                for (int i = 0; i < quantidade; i++) {
+                    inicioBruto[i] = tabela.getInt();
+                    tamanhoBruto[i] = tabela.getInt();
+                    offsetArquivo[i] = tabela.getLong();
+                    tamanhoComprimido[i] = tabela.getInt();
+                }
+                return new Comprimido(numero, indice, canal, inicioBruto, tamanhoBruto,
+                        offsetArquivo, tamanhoComprimido);
+            } catch (IOException | RuntimeException e) {
+                canal.close();
+                throw e;
+            }
+        }
+
+        @Override
+        ByteBuffer registroEm(int offset) throws IOException {
+            int bloco = Arrays.binarySearch(inicioBruto, offset);
+            if (bloco < 0) {
+                bloco = -bloco - 2; // Bloco cujo início é o maior valor <= offset
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(descomprimir(bloco)).asReadOnlyBuffer();
+            buffer.position(offset - inicioBruto[bloco]);
+            return buffer;
+        }
+
+        private byte[] descomprimir(int bloco) throws IOException {
+            lockCache.lock();
+            try {
+                return descomprimirComLock(bloco);
+            } finally {
+                lockCache.unlock();
+            }
+        }
+
+        private byte[] descomprimirComLock(int bloco) throws IOException {
+            if (bloco == blocoEmCache) {
+                return dadosEmCache;
+            }
+            ByteBuffer comprimido = lerCompleto(canal, offsetArquivo[bloco], tamanhoComprimido[bloco]);
+            byte[] bruto = new byte[tamanhoBruto[bloco]];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(comprimido);
+                int total = 0;
+                while (total < bruto.length && !inflater.finished()) {
+                    total += inflater.inflate(bruto, total, bruto.length - total);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Bloco de auditoria corrompido", e);
+            } finally {
+                inflater.end();
+            }
+            blocoEmCache = bloco;
+            dadosEmCache = bruto;
+            return bruto;
+        }
+
+        private static ByteBuffer lerCompleto(FileChannel canal, long posicao, int tamanho) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer, posicao + buffer.position()) < 0) {
+                    throw new IOException("Fim inesperado do arquivo de segmento");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        @Override
+        void fechar() throws IOException {
+            canal.close();
+        }
+    }
+}
@@ -6,11 +6,13 @@ import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.entity.Endereco;
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.event.UsuarioRegistradoEvent;
 import com.deliverytech.delivery.exception.ConflictException;
+import com.deliverytech.delivery.mapper.EnderecoMapper;
 import com.deliverytech.delivery.repository.auth.UsuarioRepository;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -33,7 +35,7 @@ public class AuthService implements UserDetailsService {
     // ==========================================================
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==========================================================
     // --- MÉTODOS DO SPRING SECURITY ---
@@ -100,7 +102,7 @@ public class AuthService implements UserDetailsService {
 
         // 5. Criar a entidade Endereco
         EnderecoDTO enderecoDTO = dto.getEndereco();
-        Endereco endereco = modelMapper.map(enderecoDTO, Endereco.class);
+        Endereco endereco = EnderecoMapper.paraEntidade(enderecoDTO);
 
         // CORREÇÃO: Limpar o CEP mapeado (se houver hífen, a validação falhará)
         if (endereco.getCep() != null) {
@@ -115,7 +117,11 @@ public class AuthService implements UserDetailsService {
         usuario.getEnderecos().add(endereco);
 
         // 7. Salvar apenas o "pai" (Usuario). Cascade salva Cliente e Endereco.
-        return usuarioRepository.save(usuario);
+        Usuario salvo = usuarioRepository.save(usuario);
+
+        // 8. Notifica os interessados (ex: KPIs do Dashboard)
+        eventPublisher.publishEvent(new UsuarioRegistradoEvent(salvo.getId()));
+        return salvo;
     }
 
     // ==========================================================
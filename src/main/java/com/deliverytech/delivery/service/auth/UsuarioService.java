@@ -3,8 +3,9 @@ package com.deliverytech.delivery.service.auth;
 import com.deliverytech.delivery.dto.auth.UserResponse;
 import com.deliverytech.delivery.dto.auth.UsuarioUpdateDTO;
 import com.deliverytech.delivery.entity.Usuario;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -24,9 +25,20 @@ public interface UsuarioService {
      * Usado pelo UsuarioController - GET /api/usuarios
      *
      * @param pageable Informações de paginação
-     * @return Página de UserResponse
+     * @param contarTotal Se falso, devolve um Slice sem o COUNT(*)
+     * @return Página (Page com total, ou Slice) de UserResponse
      */
-    Page<UserResponse> buscarTodos(Pageable pageable);
+    Slice<UserResponse> buscarTodos(Pageable pageable, boolean contarTotal);
+
+    /**
+     * Busca todos os usuários por cursor (keyset no id).
+     * Usado pelo UsuarioController - GET /api/usuarios/cursor
+     *
+     * @param cursor Cursor devolvido pela página anterior (nulo para a primeira)
+     * @param tamanho Itens por página
+     * @return Janela de UserResponse
+     */
+    Window<UserResponse> buscarTodosPorCursor(String cursor, int tamanho);
 
     /**
      * Busca um usuário pela entidade.
@@ -0,0 +1,190 @@
+package com.deliverytech.delivery.service.busca;
+
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.busca.TrieSugestoes.Sugestao;
+import com.deliverytech.delivery.service.busca.TrieSugestoes.Tipo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Autocomplete da caixa de busca: nomes de restaurantes, nomes de produtos e
+ * categorias, servidos por uma {@link TrieSugestoes} em memória.
+ * <p>
+ * O peso de cada sugestão é 1 + a popularidade recente
+ * ({@code app.autocomplete.janela-dias}): pedidos do restaurante, unidades
+ * vendidas do produto (somadas entre produtos de mesmo nome) e, para a
+ * categoria, a soma dos seus restaurantes e produtos.
+ * <p>
+ * A trie é imutável. Uma alteração no catálogo ({@link CatalogoAlteradoEvent},
+ * após o commit) só marca a trie como desatualizada; a verificação periódica
+ * ({@code app.autocomplete.verificacao-ms}) monta uma nova em segundo plano e a
+ * troca de uma vez, agrupando as alterações do intervalo. A popularidade é
+ * recalculada a cada {@code app.autocomplete.reconstrucao-ms} mesmo sem
+ * alterações. As consultas nunca esperam a montagem: usam a trie anterior.
+ * <p>
+ * Métricas: {@code delivery.autocomplete.tempo}, {@code delivery.autocomplete.construcao},
+ * {@code delivery.autocomplete.sugestoes} e {@code delivery.autocomplete.nos}.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final boolean habilitado;
+    private final int topK;
+    private final int janelaDias;
+    private final Timer tempoConsulta;
+    private final Timer tempoConstrucao;
+
+    private final AtomicBoolean catalogoAlterado = new AtomicBoolean();
+    private volatile TrieSugestoes trie = TrieSugestoes.vazia();
+
+    public AutocompleteService(RestauranteRepository restauranteRepository,
+                               ProdutoRepository produtoRepository,
+                               PedidoRepository pedidoRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.autocomplete.habilitado:true}") boolean habilitado,
+                               @Value("${app.autocomplete.top-k:10}") int topK,
+                               @Value("${app.autocomplete.janela-dias:30}") int janelaDias) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.habilitado = habilitado;
+        this.topK = topK;
+        this.janelaDias = janelaDias;
+        this.tempoConsulta = Timer.builder("delivery.autocomplete.tempo")
+                .description("Tempo das consultas ao autocomplete")
+                .register(meterRegistry);
+        this.tempoConstrucao = Timer.builder("delivery.autocomplete.construcao")
+                .description("Tempo de montagem da trie do autocomplete")
+                .register(meterRegistry);
+        Gauge.builder("delivery.autocomplete.sugestoes", this, s -> s.trie.tamanho())
+                .description("Sugestões na trie do autocomplete")
+                .register(meterRegistry);
+        Gauge.builder("delivery.autocomplete.nos", this, s -> s.trie.nos())
+                .description("Nós da trie do autocomplete")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCatalogo(CatalogoAlteradoEvent event) {
+        catalogoAlterado.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.autocomplete.verificacao-ms:30000}")
+    public void reconstruirSeAlterado() {
+        if (habilitado && catalogoAlterado.getAndSet(false)) {
+            reconstruir();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.autocomplete.reconstrucao-ms:600000}",
+               initialDelayString = "${app.autocomplete.reconstrucao-ms:600000}")
+    public void atualizarPopularidade() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Monta uma trie nova e a coloca no lugar da atual. Em caso de erro a
+     * atual continua valendo e a montagem é tentada de novo na próxima verificação.
+     */
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        try {
+            TrieSugestoes nova = montar();
+            trie = nova;
+            long nanos = System.nanoTime() - inicio;
+            tempoConstrucao.record(nanos, TimeUnit.NANOSECONDS);
+            logger.info("[AUTOCOMPLETE] Trie montada em {} ms: {} sugestões, {} nós",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), nova.tamanho(), nova.nos());
+        } catch (RuntimeException e) {
+            catalogoAlterado.set(true);
+            logger.error("[AUTOCOMPLETE] Falha ao montar a trie; mantendo a atual", e);
+        }
+    }
+
+    /**
+     * Sugestões para o prefixo digitado, as mais relevantes primeiro.
+     * @param limite máximo de sugestões (limitado ao top-k da trie)
+     */
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        return tempoConsulta.record(() -> trie.sugerir(prefixo, limite));
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private TrieSugestoes montar() {
+        LocalDateTime desde = LocalDateTime.now().minusDays(janelaDias);
+        Map<Long, Long> pedidosPorRestaurante = paraMapa(pedidoRepository.contarPedidosPorRestauranteDesde(desde));
+        Map<Long, Long> unidadesPorProduto = paraMapa(pedidoRepository.somarUnidadesPorProdutoDesde(desde));
+
+        Map<String, Sugestao> sugestoes = new HashMap<>();
+        for (Object[] restaurante : restauranteRepository.listarNomesECategoriasAtivos()) {
+            Long id = (Long) restaurante[0];
+            long peso = 1 + pedidosPorRestaurante.getOrDefault(id, 0L);
+            acumular(sugestoes, (String) restaurante[1], Tipo.RESTAURANTE, id, peso);
+            acumular(sugestoes, (String) restaurante[2], Tipo.CATEGORIA, null, peso);
+        }
+        for (Object[] produto : produtoRepository.listarNomesECategoriasDisponiveis()) {
+            long peso = 1 + unidadesPorProduto.getOrDefault((Long) produto[0], 0L);
+            acumular(sugestoes, (String) produto[1], Tipo.PRODUTO, null, peso);
+            acumular(sugestoes, (String) produto[2], Tipo.CATEGORIA, null, peso);
+        }
+        return TrieSugestoes.construir(sugestoes.values(), topK);
+    }
+
+    /**
+     * Restaurantes são únicos pelo id; produtos e categorias pelo texto
+     * normalizado ("Coca-Cola" de vários restaurantes vira uma sugestão só,
+     * com os pesos somados).
+     */
+    private static void acumular(Map<String, Sugestao> sugestoes, String texto, Tipo tipo, Long id, long peso) {
+        if (texto == null || texto.isBlank()) {
+            return;
+        }
+        String chave = tipo + ":" + (id != null ? id : NormalizadorTexto.normalizarFrase(texto));
+        sugestoes.merge(chave, new Sugestao(texto.trim(), tipo, id, peso),
+                (atual, nova) -> new Sugestao(atual.texto(), tipo, id, atual.peso() + nova.peso()));
+    }
+
+    private static Map<Long, Long> paraMapa(List<Object[]> pares) {
+        Map<Long, Long> mapa = new HashMap<>();
+        for (Object[] par : pares) {
+            mapa.put((Long) par[0], ((Number) par[1]).longValue());
+        }
+        return mapa;
+    }
+}
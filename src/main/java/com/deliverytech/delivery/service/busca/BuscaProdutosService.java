@@ -0,0 +1,205 @@
+package com.deliverytech.delivery.service.busca;
+
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Mantém o {@link IndiceInvertido} de produtos em dia com o banco.
+ * <p>
+ * <b>Carga:</b> o índice é montado no {@link ApplicationReadyEvent} (antes do
+ * aquecimento, então o readiness espera por ele), lendo só os campos
+ * indexados em lotes de {@code app.busca.lote-carga}. Enquanto não fica pronto,
+ * a busca cai na consulta LIKE do banco.
+ * <p>
+ * <b>Atualização incremental:</b> o {@code ProdutoServiceImpl} avisa cadastro,
+ * atualização, remoção e troca de disponibilidade; dentro de uma transação a
+ * alteração só vai para o índice depois do commit (em rollback, nada muda).
+ * <p>
+ * <b>Reconstrução:</b> a cada {@code app.busca.reconstrucao-ms} um índice novo é
+ * montado em paralelo e trocado de uma vez, corrigindo o que mudou por fora do
+ * serviço (scripts SQL, outro nó). As alterações que chegam durante a
+ * reconstrução são reaplicadas no índice novo antes da troca.
+ * <p>
+ * Métricas: {@code delivery.busca.tempo}, {@code delivery.busca.indice.documentos},
+ * {@code delivery.busca.indice.termos} e {@code delivery.busca.indice.bytes}.
+ */
+@Service
+public class BuscaProdutosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaProdutosService.class);
+
+    private final ProdutoRepository produtoRepository;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final Timer tempoBusca;
+
+    /** Protege a troca do índice e a fila de alterações da reconstrução. */
+    private final Object trava = new Object();
+    private volatile IndiceInvertido indice = new IndiceInvertido();
+    private volatile boolean pronto;
+    /** Alterações recebidas durante uma reconstrução (null fora dela). */
+    private List<Consumer<IndiceInvertido>> pendentes;
+
+    public BuscaProdutosService(ProdutoRepository produtoRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.busca.habilitado:true}") boolean habilitado,
+                                @Value("${app.busca.lote-carga:5000}") int tamanhoLote) {
+        this.produtoRepository = produtoRepository;
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.tempoBusca = Timer.builder("delivery.busca.tempo")
+                .description("Tempo das consultas ao índice de busca de produtos")
+                .register(meterRegistry);
+        Gauge.builder("delivery.busca.indice.documentos", this, s -> s.indice.documentos())
+                .description("Produtos no índice de busca")
+                .register(meterRegistry);
+        Gauge.builder("delivery.busca.indice.termos", this, s -> s.indice.termos())
+                .description("Termos distintos no índice de busca")
+                .register(meterRegistry);
+        Gauge.builder("delivery.busca.indice.bytes", this, s -> s.indice.bytesPostagens())
+                .description("Memória das listas de postagens do índice de busca")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void aoIniciar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.busca.reconstrucao-ms:21600000}",
+               initialDelayString = "${app.busca.reconstrucao-ms:21600000}")
+    public void reconstruirPeriodicamente() {
+        if (habilitado && pronto) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Monta um índice novo a partir do banco e o coloca no lugar do atual.
+     * Em caso de erro o índice atual continua valendo.
+     */
+    public synchronized void reconstruir() {
+        synchronized (trava) {
+            pendentes = new ArrayList<>();
+        }
+        long inicio = System.nanoTime();
+        IndiceInvertido novo = new IndiceInvertido();
+        try {
+            carregar(novo);
+        } catch (RuntimeException e) {
+            synchronized (trava) {
+                pendentes = null;
+            }
+            logger.error("[BUSCA] Falha ao montar o índice de produtos; mantendo o atual", e);
+            return;
+        }
+        synchronized (trava) {
+            pendentes.forEach(alteracao -> alteracao.accept(novo));
+            pendentes = null;
+            indice = novo;
+        }
+        pronto = true;
+        logger.info("[BUSCA] Índice de produtos montado em {} ms: {} produtos, {} termos, {} KB de postagens",
+                (System.nanoTime() - inicio) / 1_000_000, novo.documentos(), novo.termos(),
+                novo.bytesPostagens() / 1024);
+    }
+
+    // ==========================================================
+    // --- CONSULTA ---
+    // ==========================================================
+
+    /** false enquanto o índice não foi montado (ou se a busca indexada estiver desligada). */
+    public boolean isPronto() {
+        return habilitado && pronto;
+    }
+
+    /**
+     * Ids dos produtos disponíveis que casam com a consulta, por relevância.
+     */
+    public ResultadoBusca buscar(String consulta, int pagina, int tamanho) {
+        return tempoBusca.record(() -> indice.buscar(consulta, pagina, tamanho));
+    }
+
+    // ==========================================================
+    // --- ATUALIZAÇÃO INCREMENTAL ---
+    // ==========================================================
+
+    public void indexar(Produto produto) {
+        DocumentoBusca documento = DocumentoBusca.de(produto);
+        aplicarAposCommit(indiceAtual -> indiceAtual.indexar(documento));
+    }
+
+    public void remover(Long produtoId) {
+        aplicarAposCommit(indiceAtual -> indiceAtual.remover(produtoId));
+    }
+
+    public void alterarDisponibilidade(Long produtoId, boolean disponivel) {
+        aplicarAposCommit(indiceAtual -> indiceAtual.alterarDisponibilidade(produtoId, disponivel));
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void carregar(IndiceInvertido novo) {
+        long ultimoId = Long.MIN_VALUE;
+        List<Object[]> lote;
+        do {
+            lote = produtoRepository.buscarCamposIndexaveis(ultimoId, PageRequest.of(0, tamanhoLote));
+            for (Object[] linha : lote) {
+                ultimoId = (Long) linha[0];
+                novo.indexar(new DocumentoBusca(ultimoId, (String) linha[1], (String) linha[2],
+                        (String) linha[3], Boolean.TRUE.equals(linha[4])));
+            }
+        } while (lote.size() == tamanhoLote);
+        novo.ajustarCapacidade();
+    }
+
+    private void aplicarAposCommit(Consumer<IndiceInvertido> alteracao) {
+        if (!habilitado) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(alteracao);
+                }
+            });
+        } else {
+            aplicar(alteracao);
+        }
+    }
+
+    private void aplicar(Consumer<IndiceInvertido> alteracao) {
+        synchronized (trava) {
+            alteracao.accept(indice);
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            }
+        }
+    }
+}
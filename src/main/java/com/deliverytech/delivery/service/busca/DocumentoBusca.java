@@ -0,0 +1,15 @@
+package com.deliverytech.delivery.service.busca;
+
+import com.deliverytech.delivery.entity.Produto;
+
+/**
+ * Campos de um produto que entram no índice de busca.
+ */
+public record DocumentoBusca(long produtoId, String nome, String descricao, String categoria, boolean disponivel) {
+
+    /** Disponibilidade nula conta como indisponível, como na consulta {@code ...AndDisponivelTrue}. */
+    public static DocumentoBusca de(Produto produto) {
+        return new DocumentoBusca(produto.getId(), produto.getNome(), produto.getDescricao(),
+                produto.getCategoria(), Boolean.TRUE.equals(produto.getDisponivel()));
+    }
+}
@@ -0,0 +1,494 @@
+package com.deliverytech.delivery.service.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória dos produtos: termo normalizado → lista de
+ * postagens comprimida ({@link ListaPostagens}).
+ * <p>
+ * <b>Indexação:</b> nome, categoria e descrição passam pelo
+ * {@link NormalizadorTexto}; o peso de um termo no documento soma as ocorrências
+ * ponderadas pelo campo (nome 3, categoria 2, descrição 1). Cada produto recebe
+ * um número de documento interno crescente, então as postagens só crescem no
+ * fim da lista. Reindexar um produto marca o documento antigo como removido e
+ * cria outro; quando os removidos passam de 25% o índice é compactado
+ * (renumera os documentos e reescreve as listas). Trocar a disponibilidade só
+ * liga/desliga um bit.
+ * <p>
+ * <b>Consulta:</b> todos os termos precisam aparecer (E); o último também casa
+ * como prefixo ("piz" → "pizza"), para a busca enquanto se digita. A relevância
+ * é BM25 sobre os pesos por campo, com desconto para os casamentos por prefixo;
+ * empates saem pelo id do produto. Só produtos disponíveis são retornados.
+ * <p>
+ * Thread-safe: consultas em paralelo sob o lock de leitura, alterações sob o de
+ * escrita.
+ */
+public class IndiceInvertido {
+
+    static final int PESO_NOME = 3;
+    static final int PESO_CATEGORIA = 2;
+    static final int PESO_DESCRICAO = 1;
+    static final int PESO_MAXIMO = 255;
+
+    /** Termos do índice considerados na expansão de um prefixo (os mais frequentes). */
+    static final int MAXIMO_EXPANSAO_PREFIXO = 50;
+    /** Um casamento só por prefixo vale menos que o termo completo. */
+    static final double FATOR_PREFIXO = 0.7;
+
+    static final int MINIMO_REMOVIDOS_COMPACTACAO = 1024;
+    static final double LIMITE_REMOVIDOS_COMPACTACAO = 0.25;
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, ListaPostagens> termos = new TreeMap<>();
+    private final Map<Long, Integer> documentoPorProduto = new HashMap<>();
+    private long[] produtoPorDocumento = new long[CAPACIDADE_INICIAL];
+    private int[] tamanhoDocumento = new int[CAPACIDADE_INICIAL];
+    private BitSet vivos = new BitSet();
+    private BitSet disponiveis = new BitSet();
+    private int proximoDocumento;
+    private int removidos;
+    private long somaTamanhos;
+
+    // ==========================================================
+    // --- ALTERAÇÕES ---
+    // ==========================================================
+
+    /**
+     * Indexa (ou reindexa) um produto.
+     */
+    public void indexar(DocumentoBusca documento) {
+        Map<String, Integer> pesos = new HashMap<>();
+        int tamanho = acumular(pesos, documento.nome(), PESO_NOME)
+                + acumular(pesos, documento.categoria(), PESO_CATEGORIA)
+                + acumular(pesos, documento.descricao(), PESO_DESCRICAO);
+
+        lock.writeLock().lock();
+        try {
+            removerDocumento(documento.produtoId());
+            if (pesos.isEmpty()) {
+                return;
+            }
+            int doc = proximoDocumento++;
+            garantirCapacidade(doc);
+            produtoPorDocumento[doc] = documento.produtoId();
+            tamanhoDocumento[doc] = tamanho;
+            vivos.set(doc);
+            disponiveis.set(doc, documento.disponivel());
+            documentoPorProduto.put(documento.produtoId(), doc);
+            somaTamanhos += tamanho;
+            for (Map.Entry<String, Integer> termo : pesos.entrySet()) {
+                termos.computeIfAbsent(termo.getKey(), t -> new ListaPostagens())
+                        .adicionar(doc, Math.min(termo.getValue(), PESO_MAXIMO));
+            }
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um produto do índice.
+     * @return false se ele não estava indexado
+     */
+    public boolean remover(long produtoId) {
+        lock.writeLock().lock();
+        try {
+            boolean removido = removerDocumento(produtoId);
+            compactarSeNecessario();
+            return removido;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Liga/desliga o produto nas consultas sem reindexá-lo.
+     * @return false se ele não estava indexado
+     */
+    public boolean alterarDisponibilidade(long produtoId, boolean disponivel) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = documentoPorProduto.get(produtoId);
+            if (doc == null) {
+                return false;
+            }
+            disponiveis.set(doc, disponivel);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Libera a folga dos buffers depois de uma carga completa. */
+    public void ajustarCapacidade() {
+        lock.writeLock().lock();
+        try {
+            termos.values().forEach(ListaPostagens::ajustarCapacidade);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==========================================================
+    // --- CONSULTA ---
+    // ==========================================================
+
+    /**
+     * Busca os produtos disponíveis que contêm todos os termos da consulta.
+     * @param pagina página (base 0)
+     * @param tamanho itens por página
+     */
+    public ResultadoBusca buscar(String consulta, int pagina, int tamanho) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(NormalizadorTexto.tokens(consulta)));
+        if (tokens.isEmpty() || pagina < 0 || tamanho <= 0) {
+            return ResultadoBusca.VAZIO;
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentos = documentoPorProduto.size();
+            if (documentos == 0) {
+                return ResultadoBusca.VAZIO;
+            }
+            double tamanhoMedio = (double) somaTamanhos / documentos;
+
+            // Termos completos do mais raro para o mais comum: cada lista só é
+            // pontuada nos candidatos que sobraram das anteriores
+            List<ListaPostagens> listas = new ArrayList<>();
+            for (String token : tokens.subList(0, tokens.size() - 1)) {
+                ListaPostagens lista = termos.get(token);
+                if (lista == null) {
+                    return ResultadoBusca.VAZIO;
+                }
+                listas.add(lista);
+            }
+            listas.sort(Comparator.comparingInt(ListaPostagens::quantidade));
+
+            Ocorrencias candidatos = null;
+            for (ListaPostagens lista : listas) {
+                Ocorrencias ocorrencias = ocorrencias(lista, 1.0, documentos, tamanhoMedio, candidatos);
+                candidatos = candidatos == null ? ocorrencias : candidatos.intersectar(ocorrencias);
+                if (candidatos.tamanho == 0) {
+                    return ResultadoBusca.VAZIO;
+                }
+            }
+            Ocorrencias ultimo = ocorrenciasPorPrefixo(tokens.get(tokens.size() - 1), documentos, tamanhoMedio, candidatos);
+            candidatos = candidatos == null ? ultimo : candidatos.intersectar(ultimo);
+            if (candidatos.tamanho == 0) {
+                return ResultadoBusca.VAZIO;
+            }
+            return paginar(candidatos, pagina, tamanho);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==========================================================
+    // --- ESTATÍSTICAS ---
+    // ==========================================================
+
+    /** Produtos indexados. */
+    public int documentos() {
+        lock.readLock().lock();
+        try {
+            return documentoPorProduto.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Termos distintos no índice. */
+    public int termos() {
+        lock.readLock().lock();
+        try {
+            return termos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Memória ocupada pelas listas de postagens. */
+    public long bytesPostagens() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (ListaPostagens lista : termos.values()) {
+                bytes += lista.tamanhoEmBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Documentos removidos que ainda ocupam as listas (até a próxima compactação). */
+    int removidos() {
+        lock.readLock().lock();
+        try {
+            return removidos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private static int acumular(Map<String, Integer> pesos, String texto, int pesoCampo) {
+        List<String> tokens = NormalizadorTexto.tokens(texto);
+        for (String token : tokens) {
+            pesos.merge(token, pesoCampo, Integer::sum);
+        }
+        return tokens.size() * pesoCampo;
+    }
+
+    private boolean removerDocumento(long produtoId) {
+        Integer doc = documentoPorProduto.remove(produtoId);
+        if (doc == null) {
+            return false;
+        }
+        vivos.clear(doc);
+        disponiveis.clear(doc);
+        somaTamanhos -= tamanhoDocumento[doc];
+        removidos++;
+        return true;
+    }
+
+    private void garantirCapacidade(int doc) {
+        if (doc >= produtoPorDocumento.length) {
+            int capacidade = Math.max(produtoPorDocumento.length * 2, doc + 1);
+            produtoPorDocumento = Arrays.copyOf(produtoPorDocumento, capacidade);
+            tamanhoDocumento = Arrays.copyOf(tamanhoDocumento, capacidade);
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (removidos >= MINIMO_REMOVIDOS_COMPACTACAO && removidos > proximoDocumento * LIMITE_REMOVIDOS_COMPACTACAO) {
+            compactar();
+        }
+    }
+
+    /**
+     * Renumera os documentos vivos em sequência e reescreve as listas sem os
+     * removidos. Chamado sob o lock de escrita.
+     */
+    private void compactar() {
+        int[] novoNumero = new int[proximoDocumento];
+        int vivosContados = 0;
+        for (int doc = 0; doc < proximoDocumento; doc++) {
+            novoNumero[doc] = vivos.get(doc) ? vivosContados++ : -1;
+        }
+
+        long[] novosProdutos = new long[Math.max(vivosContados, CAPACIDADE_INICIAL)];
+        int[] novosTamanhos = new int[novosProdutos.length];
+        BitSet novosVivos = new BitSet(vivosContados);
+        BitSet novosDisponiveis = new BitSet(vivosContados);
+        for (int doc = 0; doc < proximoDocumento; doc++) {
+            int novo = novoNumero[doc];
+            if (novo >= 0) {
+                novosProdutos[novo] = produtoPorDocumento[doc];
+                novosTamanhos[novo] = tamanhoDocumento[doc];
+                novosVivos.set(novo);
+                novosDisponiveis.set(novo, disponiveis.get(doc));
+                documentoPorProduto.put(produtoPorDocumento[doc], novo);
+            }
+        }
+
+        Iterator<Map.Entry<String, ListaPostagens>> iterador = termos.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<String, ListaPostagens> termo = iterador.next();
+            ListaPostagens reescrita = new ListaPostagens();
+            ListaPostagens.Leitor leitor = termo.getValue().leitor();
+            while (leitor.proximo()) {
+                int novo = novoNumero[leitor.documento()];
+                if (novo >= 0) {
+                    reescrita.adicionar(novo, leitor.peso());
+                }
+            }
+            if (reescrita.quantidade() == 0) {
+                iterador.remove();
+            } else {
+                reescrita.ajustarCapacidade();
+                termo.setValue(reescrita);
+            }
+        }
+
+        produtoPorDocumento = novosProdutos;
+        tamanhoDocumento = novosTamanhos;
+        vivos = novosVivos;
+        disponiveis = novosDisponiveis;
+        proximoDocumento = vivosContados;
+        removidos = 0;
+    }
+
+    /**
+     * União dos termos que começam com o prefixo (o próprio termo vale inteiro,
+     * os demais com {@link #FATOR_PREFIXO}).
+     */
+    private Ocorrencias ocorrenciasPorPrefixo(String prefixo, int documentos, double tamanhoMedio,
+                                              Ocorrencias restricao) {
+        NavigableMap<String, ListaPostagens> expansao =
+                termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, true);
+        List<Map.Entry<String, ListaPostagens>> escolhidos = new ArrayList<>(expansao.entrySet());
+        if (escolhidos.size() > MAXIMO_EXPANSAO_PREFIXO) {
+            escolhidos.sort(Comparator.comparingInt(
+                    (Map.Entry<String, ListaPostagens> termo) -> termo.getValue().quantidade()).reversed());
+            escolhidos = escolhidos.subList(0, MAXIMO_EXPANSAO_PREFIXO);
+        }
+
+        Ocorrencias uniao = Ocorrencias.VAZIAS;
+        for (Map.Entry<String, ListaPostagens> termo : escolhidos) {
+            double fator = termo.getKey().equals(prefixo) ? 1.0 : FATOR_PREFIXO;
+            uniao = uniao.unir(ocorrencias(termo.getValue(), fator, documentos, tamanhoMedio, restricao));
+        }
+        return uniao;
+    }
+
+    /**
+     * Documentos disponíveis com o termo, com a pontuação BM25 de cada um.
+     * Com {@code restricao}, só os documentos dela são pontuados e a leitura
+     * da lista para assim que ela acaba.
+     */
+    private Ocorrencias ocorrencias(ListaPostagens lista, double fator, int documentos, double tamanhoMedio,
+                                    Ocorrencias restricao) {
+        int frequencia = lista.quantidade();
+        double idf = Math.log(1 + (documentos - frequencia + 0.5) / (frequencia + 0.5));
+        Ocorrencias resultado = new Ocorrencias(restricao == null ? frequencia : Math.min(frequencia, restricao.tamanho));
+        ListaPostagens.Leitor leitor = lista.leitor();
+        int proximoRestrito = 0;
+        while (leitor.proximo()) {
+            int doc = leitor.documento();
+            if (restricao != null) {
+                while (proximoRestrito < restricao.tamanho && restricao.documentos[proximoRestrito] < doc) {
+                    proximoRestrito++;
+                }
+                if (proximoRestrito == restricao.tamanho) {
+                    break;
+                }
+                if (restricao.documentos[proximoRestrito] != doc) {
+                    continue;
+                }
+            }
+            if (disponiveis.get(doc)) {
+                double peso = leitor.peso();
+                double normalizacao = BM25_K1 * (1 - BM25_B + BM25_B * tamanhoDocumento[doc] / tamanhoMedio);
+                resultado.adicionar(doc, fator * idf * peso * (BM25_K1 + 1) / (peso + normalizacao));
+            }
+        }
+        return resultado;
+    }
+
+    private ResultadoBusca paginar(Ocorrencias candidatos, int pagina, int tamanho) {
+        long inicio = (long) pagina * tamanho;
+        if (inicio >= candidatos.tamanho) {
+            return new ResultadoBusca(List.of(), candidatos.tamanho);
+        }
+        int limite = (int) Math.min(candidatos.tamanho, inicio + tamanho);
+
+        // Top-k: heap com os "limite" melhores, o pior no topo
+        Comparator<Integer> relevancia = Comparator
+                .comparingDouble((Integer i) -> candidatos.pontos[i])
+                .thenComparing(i -> produtoPorDocumento[candidatos.documentos[i]], Comparator.reverseOrder());
+        PriorityQueue<Integer> melhores = new PriorityQueue<>(limite + 1, relevancia);
+        for (int i = 0; i < candidatos.tamanho; i++) {
+            melhores.offer(i);
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        Long[] ordenados = new Long[limite];
+        for (int posicao = limite - 1; posicao >= 0; posicao--) {
+            ordenados[posicao] = produtoPorDocumento[candidatos.documentos[melhores.poll()]];
+        }
+        return new ResultadoBusca(List.of(ordenados).subList((int) inicio, limite), candidatos.tamanho);
+    }
+
+    /**
+     * Documentos (em ordem crescente) com a pontuação acumulada de cada um.
+     */
+    private static final class Ocorrencias {
+
+        static final Ocorrencias VAZIAS = new Ocorrencias(0);
+
+        private int[] documentos;
+        private double[] pontos;
+        private int tamanho;
+
+        Ocorrencias(int capacidade) {
+            this.documentos = new int[capacidade];
+            this.pontos = new double[capacidade];
+        }
+
+        void adicionar(int documento, double pontuacao) {
+            if (tamanho == documentos.length) {
+                int capacidade = Math.max(8, tamanho * 2);
+                documentos = Arrays.copyOf(documentos, capacidade);
+                pontos = Arrays.copyOf(pontos, capacidade);
+            }
+            documentos[tamanho] = documento;
+            pontos[tamanho] = pontuacao;
+            tamanho++;
+        }
+
+        /** Documentos presentes nas duas, somando as pontuações. */
+        Ocorrencias intersectar(Ocorrencias outra) {
+            Ocorrencias resultado = new Ocorrencias(Math.min(tamanho, outra.tamanho));
+            int i = 0;
+            int j = 0;
+            while (i < tamanho && j < outra.tamanho) {
+                int a = documentos[i];
+                int b = outra.documentos[j];
+                if (a == b) {
+                    resultado.adicionar(a, pontos[i++] + outra.pontos[j++]);
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return resultado;
+        }
+
+        /** Documentos presentes em qualquer uma; no repetido fica a maior pontuação. */
+        Ocorrencias unir(Ocorrencias outra) {
+            if (tamanho == 0) {
+                return outra;
+            }
+            if (outra.tamanho == 0) {
+                return this;
+            }
+            Ocorrencias resultado = new Ocorrencias(tamanho + outra.tamanho);
+            int i = 0;
+            int j = 0;
+            while (i < tamanho || j < outra.tamanho) {
+                if (j >= outra.tamanho || (i < tamanho && documentos[i] < outra.documentos[j])) {
+                    resultado.adicionar(documentos[i], pontos[i++]);
+                } else if (i >= tamanho || outra.documentos[j] < documentos[i]) {
+                    resultado.adicionar(outra.documentos[j], outra.pontos[j++]);
+                } else {
+                    resultado.adicionar(documentos[i], Math.max(pontos[i++], outra.pontos[j++]));
+                }
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.deliverytech.delivery.service.busca;
+
+import java.util.Arrays;
+
+/**
+ * Lista de postagens comprimida de um termo: os documentos que o contêm, em
+ * ordem crescente, cada um com o peso do termo nele.
+ * <p>
+ * Cada postagem ocupa dois varints (7 bits por byte): a distância para o
+ * documento anterior e o peso. Como os documentos chegam em ordem, as
+ * distâncias são pequenas e a maioria das postagens cabe em 2 bytes, contra
+ * 12 de um par (int, long) sem compressão.
+ * <p>
+ * Não é thread-safe: o {@link IndiceInvertido} controla o acesso.
+ */
+final class ListaPostagens {
+
+    private static final int CAPACIDADE_INICIAL = 8;
+    /** Pior caso de uma postagem: dois varints de 5 bytes. */
+    private static final int MAXIMO_BYTES_POSTAGEM = 10;
+
+    private byte[] dados = new byte[CAPACIDADE_INICIAL];
+    private int tamanho;
+    private int quantidade;
+    private int ultimoDocumento = -1;
+
+    /**
+     * Acrescenta uma postagem; o documento deve ser maior que o último adicionado.
+     */
+    void adicionar(int documento, int peso) {
+        if (documento <= ultimoDocumento) {
+            throw new IllegalArgumentException("Documentos devem ser adicionados em ordem crescente: "
+                    + documento + " <= " + ultimoDocumento);
+        }
+        if (tamanho + MAXIMO_BYTES_POSTAGEM > dados.length) {
+            dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + MAXIMO_BYTES_POSTAGEM));
+        }
+        escrever(documento - ultimoDocumento);
+        escrever(peso);
+        ultimoDocumento = documento;
+        quantidade++;
+    }
+
+    /** Quantidade de documentos com o termo (inclui os removidos ainda não compactados). */
+    int quantidade() {
+        return quantidade;
+    }
+
+    /** Memória ocupada pelas postagens. */
+    int tamanhoEmBytes() {
+        return dados.length;
+    }
+
+    /** Libera a folga do buffer (depois de uma carga completa). */
+    void ajustarCapacidade() {
+        if (dados.length > tamanho) {
+            dados = Arrays.copyOf(dados, Math.max(tamanho, 1));
+        }
+    }
+
+    Leitor leitor() {
+        return new Leitor();
+    }
+
+    private void escrever(int valor) {
+        while ((valor & ~0x7F) != 0) {
+            dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        dados[tamanho++] = (byte) valor;
+    }
+
+    /**
+     * Percorre as postagens em ordem, decodificando sob demanda.
+     */
+    final class Leitor {
+
+        private final int limite = tamanho;
+        private int posicao;
+        private int documento = -1;
+        private int peso;
+
+        boolean proximo() {
+            if (posicao >= limite) {
+                return false;
+            }
+            documento += ler();
+            peso = ler();
+            return true;
+        }
+
+        int documento() {
+            return documento;
+        }
+
+        int peso() {
+            return peso;
+        }
+
+        private int ler() {
+            int valor = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = dados[posicao++];
+                valor |= (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((b & 0x80) != 0);
+            return valor;
+        }
+    }
+}
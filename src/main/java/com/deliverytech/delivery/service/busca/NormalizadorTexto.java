@@ -0,0 +1,57 @@
+package com.deliverytech.delivery.service.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto usada tanto na indexação quanto na consulta.
+ * <p>
+ * Decompõe os caracteres (NFD), descarta os acentos e passa para minúsculas:
+ * "Açaí" e "acai" viram o mesmo termo. Os tokens são as sequências de letras e
+ * dígitos; palavras vazias comuns em nomes de produto ("de", "com", ...) não
+ * entram no índice.
+ */
+public final class NormalizadorTexto {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "e", "as", "os", "de", "da", "do", "das", "dos",
+            "em", "na", "no", "nas", "nos", "com", "para", "por", "um", "uma");
+
+    private NormalizadorTexto() {
+    }
+
+    /** Texto sem acentos e em minúsculas ("" para nulo). */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return ACENTOS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Texto normalizado com os separadores reduzidos a um espaço ("Pão-de-Queijo!"
+     * → "pao de queijo"). Mantém as palavras vazias: serve para casar prefixos.
+     */
+    public static String normalizarFrase(String texto) {
+        return SEPARADORES.matcher(normalizar(texto)).replaceAll(" ").trim();
+    }
+
+    /** Tokens normalizados, na ordem do texto (com repetições). */
+    public static List<String> tokens(String texto) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty() && !PALAVRAS_VAZIAS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.service.busca;
+
+import java.util.List;
+
+/**
+ * Uma página da busca: ids dos produtos em ordem de relevância e o total de
+ * produtos encontrados.
+ */
+public record ResultadoBusca(List<Long> produtoIds, long total) {
+
+    public static final ResultadoBusca VAZIO = new ResultadoBusca(List.of(), 0);
+}
@@ -0,0 +1,262 @@
+package com.deliverytech.delivery.service.busca;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Trie de prefixos imutável para o autocomplete, com as melhores sugestões de
+ * cada nó já calculadas.
+ * <p>
+ * Cada sugestão entra pelo texto normalizado ({@link NormalizadorTexto#normalizarFrase})
+ * e também a partir de cada uma das primeiras palavras, para "calab" sugerir
+ * "Pizza Calabresa". As sugestões são ordenadas por relevância (peso,
+ * tipo, tamanho do texto) antes da inserção, então o top-k de um nó são
+ * simplesmente as k primeiras que passam por ele.
+ * <p>
+ * Depois de montada, a árvore vira vetores (nós em largura, filhos contíguos e
+ * ordenados pelo caractere): uma consulta é uma busca binária por caractere do
+ * prefixo e a leitura de no máximo k posições, sem alocar nada além da lista
+ * de resposta. Prefixos maiores que {@link #PROFUNDIDADE_MAXIMA} param no
+ * último nível e conferem o texto das sugestões.
+ */
+public final class TrieSugestoes {
+
+    public enum Tipo { RESTAURANTE, CATEGORIA, PRODUTO }
+
+    /**
+     * Uma sugestão do autocomplete.
+     * @param id ID do restaurante (nulo para produtos e categorias, que são sugeridos pelo texto)
+     * @param peso relevância (maior primeiro)
+     */
+    public record Sugestao(String texto, Tipo tipo, Long id, long peso) {
+    }
+
+    /** Caracteres indexados por chave; prefixos maiores são conferidos no texto. */
+    static final int PROFUNDIDADE_MAXIMA = 24;
+    /** A sugestão é encontrada pelo início de cada uma destas primeiras palavras. */
+    static final int PALAVRAS_INDEXADAS = 4;
+
+    static final Comparator<Sugestao> RELEVANCIA = Comparator
+            .comparingLong(Sugestao::peso).reversed()
+            .thenComparing(Sugestao::tipo)
+            .thenComparingInt((Sugestao s) -> s.texto().length())
+            .thenComparing(Sugestao::texto);
+
+    private final Sugestao[] sugestoes;
+    private final String[] textosNormalizados;
+    private final int topK;
+
+    // Nó 0 é a raiz; os filhos do nó n ocupam [primeiroFilho[n], primeiroFilho[n + 1])
+    private final char[] caractere;
+    private final int[] primeiroFilho;
+    // Sugestões do nó n: topo[inicioTopo[n] .. inicioTopo[n + 1]), índices em "sugestoes"
+    private final int[] inicioTopo;
+    private final int[] topo;
+
+    private TrieSugestoes(Sugestao[] sugestoes, String[] textosNormalizados, int topK,
+                          char[] caractere, int[] primeiroFilho, int[] inicioTopo, int[] topo) {
+        this.sugestoes = sugestoes;
+        this.textosNormalizados = textosNormalizados;
+        this.topK = topK;
+        this.caractere = caractere;
+        this.primeiroFilho = primeiroFilho;
+        this.inicioTopo = inicioTopo;
+        this.topo = topo;
+    }
+
+    /** Trie sem sugestões (antes da primeira montagem). */
+    public static TrieSugestoes vazia() {
+        return construir(List.of(), 1);
+    }
+
+    // ==========================================================
+    // --- CONSULTA ---
+    // ==========================================================
+
+    /**
+     * Até {@code limite} sugestões (no máximo o top-k da montagem) cujo texto,
+     * ou uma das primeiras palavras dele, começa com o prefixo.
+     */
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        String chave = NormalizadorTexto.normalizarFrase(prefixo);
+        if (chave.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        int no = 0;
+        int profundidade = Math.min(chave.length(), PROFUNDIDADE_MAXIMA);
+        for (int i = 0; i < profundidade; i++) {
+            no = filho(no, chave.charAt(i));
+            if (no < 0) {
+                return List.of();
+            }
+        }
+
+        boolean conferirTexto = chave.length() > PROFUNDIDADE_MAXIMA;
+        List<Sugestao> resultado = new ArrayList<>(Math.min(limite, topK));
+        for (int i = inicioTopo[no]; i < inicioTopo[no + 1] && resultado.size() < limite; i++) {
+            int sugestao = topo[i];
+            if (!conferirTexto || casaPrefixo(textosNormalizados[sugestao], chave)) {
+                resultado.add(sugestoes[sugestao]);
+            }
+        }
+        return resultado;
+    }
+
+    /** Sugestões na trie. */
+    public int tamanho() {
+        return sugestoes.length;
+    }
+
+    /** Nós da trie (sem a raiz). */
+    public int nos() {
+        return caractere.length - 1;
+    }
+
+    private int filho(int no, char c) {
+        int inicio = primeiroFilho[no];
+        int fim = primeiroFilho[no + 1] - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            char atual = caractere[meio];
+            if (atual < c) {
+                inicio = meio + 1;
+            } else if (atual > c) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean casaPrefixo(String texto, String chave) {
+        return texto.startsWith(chave) || texto.contains(" " + chave);
+    }
+
+    // ==========================================================
+    // --- MONTAGEM ---
+    // ==========================================================
+
+    /**
+     * Monta a trie com as k sugestões mais relevantes por prefixo.
+     */
+    public static TrieSugestoes construir(Collection<Sugestao> entradas, int topK) {
+        Sugestao[] ordenadas = entradas.stream().sorted(RELEVANCIA).toArray(Sugestao[]::new);
+        String[] normalizados = new String[ordenadas.length];
+
+        NoConstrucao raiz = new NoConstrucao();
+        for (int s = 0; s < ordenadas.length; s++) {
+            String texto = NormalizadorTexto.normalizarFrase(ordenadas[s].texto());
+            normalizados[s] = texto;
+            int palavras = 0;
+            for (int inicio = 0; inicio < texto.length() && palavras < PALAVRAS_INDEXADAS; inicio++) {
+                if (inicio == 0 || texto.charAt(inicio - 1) == ' ') {
+                    inserir(raiz, texto, inicio, s, topK);
+                    palavras++;
+                }
+            }
+        }
+        return achatar(raiz, ordenadas, normalizados, topK);
+    }
+
+    private static void inserir(NoConstrucao raiz, String texto, int inicio, int sugestao, int topK) {
+        NoConstrucao no = raiz;
+        int fim = Math.min(texto.length(), inicio + PROFUNDIDADE_MAXIMA);
+        for (int i = inicio; i < fim; i++) {
+            no = no.filho(texto.charAt(i));
+            no.adicionar(sugestao, topK);
+        }
+    }
+
+    /** Percorre a árvore em largura e grava os nós em vetores. */
+    private static TrieSugestoes achatar(NoConstrucao raiz, Sugestao[] sugestoes, String[] normalizados, int topK) {
+        List<NoConstrucao> ordem = new ArrayList<>();
+        List<Character> caracteres = new ArrayList<>();
+        ArrayDeque<NoConstrucao> fila = new ArrayDeque<>();
+        ordem.add(raiz);
+        caracteres.add('\0');
+        fila.add(raiz);
+        while (!fila.isEmpty()) {
+            NoConstrucao no = fila.poll();
+            no.primeiroFilho = ordem.size();
+            for (int i = 0; i < no.quantidadeFilhos; i++) {
+                ordem.add(no.filhos[i]);
+                caracteres.add(no.rotulos[i]);
+                fila.add(no.filhos[i]);
+            }
+        }
+
+        int total = ordem.size();
+        char[] caractere = new char[total];
+        int[] primeiroFilho = new int[total + 1];
+        int[] inicioTopo = new int[total + 1];
+        int topos = 0;
+        for (int n = 0; n < total; n++) {
+            topos += ordem.get(n).quantidade;
+        }
+        int[] topo = new int[topos];
+        int posicao = 0;
+        for (int n = 0; n < total; n++) {
+            NoConstrucao no = ordem.get(n);
+            caractere[n] = caracteres.get(n);
+            primeiroFilho[n] = no.primeiroFilho;
+            inicioTopo[n] = posicao;
+            System.arraycopy(no.topo, 0, topo, posicao, no.quantidade);
+            posicao += no.quantidade;
+        }
+        primeiroFilho[total] = total;
+        inicioTopo[total] = posicao;
+        return new TrieSugestoes(sugestoes, normalizados, topK, caractere, primeiroFilho, inicioTopo, topo);
+    }
+
+    /**
+     * Nó da árvore usada só durante a montagem.
+     */
+    private static final class NoConstrucao {
+
+        // Filhos ordenados pelo caractere (busca binária na inserção)
+        private char[] rotulos = new char[1];
+        private NoConstrucao[] filhos = new NoConstrucao[1];
+        private int quantidadeFilhos;
+        private int[] topo = new int[2];
+        private int quantidade;
+        private int primeiroFilho;
+
+        NoConstrucao filho(char c) {
+            int posicao = Arrays.binarySearch(rotulos, 0, quantidadeFilhos, c);
+            if (posicao >= 0) {
+                return filhos[posicao];
+            }
+            posicao = -posicao - 1;
+            if (quantidadeFilhos == rotulos.length) {
+                rotulos = Arrays.copyOf(rotulos, quantidadeFilhos * 2);
+                filhos = Arrays.copyOf(filhos, quantidadeFilhos * 2);
+            }
+            System.arraycopy(rotulos, posicao, rotulos, posicao + 1, quantidadeFilhos - posicao);
+            System.arraycopy(filhos, posicao, filhos, posicao + 1, quantidadeFilhos - posicao);
+            NoConstrucao novo = new NoConstrucao();
+            rotulos[posicao] = c;
+            filhos[posicao] = novo;
+            quantidadeFilhos++;
+            return novo;
+        }
+
+        /**
+         * As sugestões chegam em ordem de relevância, e todas as chaves de uma
+         * sugestão antes da próxima: basta guardar as k primeiras sem repetir a última.
+         */
+        void adicionar(int sugestao, int topK) {
+            if (quantidade >= topK || (quantidade > 0 && topo[quantidade - 1] == sugestao)) {
+                return;
+            }
+            if (quantidade == topo.length) {
+                topo = Arrays.copyOf(topo, Math.min(topK, topo.length * 2));
+            }
+            topo[quantidade++] = sugestao;
+        }
+    }
+}
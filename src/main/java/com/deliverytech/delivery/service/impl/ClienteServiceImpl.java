@@ -6,11 +6,11 @@ import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.ClienteMapper;
 import com.deliverytech.delivery.repository.ClienteRepository;
 import com.deliverytech.delivery.repository.auth.UsuarioRepository;
 import com.deliverytech.delivery.security.jwt.SecurityUtils;
 import com.deliverytech.delivery.service.ClienteService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,9 +47,6 @@ public class ClienteServiceImpl implements ClienteService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     // ==========================================================
     // MÉTODOS DE CADASTRO (REMOVIDOS)
     // ----------------------------------------------------------
@@ -68,7 +65,7 @@ public class ClienteServiceImpl implements ClienteService {
     public ClienteResponseDTO buscarClientePorId(@NonNull Long id) {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
-        return mapToClienteResponse(cliente);
+        return ClienteMapper.paraResponse(cliente);
     }
 
     @Override
@@ -76,7 +73,7 @@ public class ClienteServiceImpl implements ClienteService {
     public ClienteResponseDTO buscarClientePorEmail(String email) {
         Cliente cliente = clienteRepository.findByUsuarioEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com email: " + email));
-        return mapToClienteResponse(cliente);
+        return ClienteMapper.paraResponse(cliente);
     }
 
     // ==========================================================
@@ -107,7 +104,7 @@ public class ClienteServiceImpl implements ClienteService {
         cliente.setTelefone(dto.getTelefone());
         cliente.setCpf(dto.getCpf());
 
-        return mapToClienteResponse(clienteRepository.save(cliente));
+        return ClienteMapper.paraResponse(clienteRepository.save(cliente));
     }
 
     // ==========================================================
@@ -127,7 +124,7 @@ public class ClienteServiceImpl implements ClienteService {
         usuario.setAtivo(!usuario.getAtivo());
         usuarioRepository.save(usuario);
 
-        return mapToClienteResponse(cliente);
+        return ClienteMapper.paraResponse(cliente);
     }
 
     // ==========================================================
@@ -137,7 +134,7 @@ public class ClienteServiceImpl implements ClienteService {
     @Transactional(readOnly = true)
     public List<ClienteResponseDTO> listarClientesAtivos() {
         return clienteRepository.findByUsuarioAtivoTrue().stream()
-                .map(this::mapToClienteResponse)
+                .map(ClienteMapper::paraResponse)
                 .collect(Collectors.toList());
     }
 
@@ -145,24 +142,6 @@ public class ClienteServiceImpl implements ClienteService {
     @Transactional(readOnly = true)
     public Page<ClienteResponseDTO> listarClientesAtivosPaginado(Pageable pageable) {
         return clienteRepository.findByUsuarioAtivoTrue(pageable)
-                .map(this::mapToClienteResponse);
-    }
-
-    // ==========================================================
-    // MÉTODO AUXILIAR DE MAPEAMENTO
-    // ----------------------------------------------------------
-    // Converte Cliente -> ClienteResponseDTO, incluindo dados do Usuário.
-    // ==========================================================
-    private ClienteResponseDTO mapToClienteResponse(Cliente cliente) {
-        ClienteResponseDTO dto = modelMapper.map(cliente, ClienteResponseDTO.class);
-
-        if (cliente.getUsuario() != null) {
-            dto.setEmail(cliente.getUsuario().getEmail());
-            dto.setAtivo(cliente.getUsuario().getAtivo());
-            dto.setDataCadastro(cliente.getUsuario().getDataCriacao());
-        }
-
-        
-        return dto;
+                .map(ClienteMapper::paraResponse);
     }
 }
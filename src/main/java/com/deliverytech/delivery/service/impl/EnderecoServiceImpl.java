@@ -4,12 +4,12 @@ import com.deliverytech.delivery.dto.request.EnderecoDTO;
 import com.deliverytech.delivery.entity.Endereco;
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.EnderecoMapper;
 import com.deliverytech.delivery.repository.EnderecoRepository;
 import com.deliverytech.delivery.repository.auth.UsuarioRepository;
 import com.deliverytech.delivery.security.jwt.SecurityUtils;
 import com.deliverytech.delivery.service.EnderecoService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.AccessDeniedException;
@@ -34,7 +34,6 @@ public class EnderecoServiceImpl implements EnderecoService {
     // ==========================================================
     private final EnderecoRepository enderecoRepository;
     private final UsuarioRepository usuarioRepository;
-    private final ModelMapper modelMapper;
 
     // ==========================================================
     // MÉTODOS DE BUSCA
@@ -72,7 +71,7 @@ public class EnderecoServiceImpl implements EnderecoService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Usuário com ID " + usuarioId + " não encontrado."));
 
-        Endereco novoEndereco = modelMapper.map(enderecoDTO, Endereco.class);
+        Endereco novoEndereco = EnderecoMapper.paraEntidade(enderecoDTO);
         novoEndereco.setUsuario(usuario);
 
         return enderecoRepository.save(novoEndereco);
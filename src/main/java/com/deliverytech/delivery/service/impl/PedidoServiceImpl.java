@@ -5,25 +5,34 @@ import com.deliverytech.delivery.dto.request.PedidoDTO;
 import com.deliverytech.delivery.dto.request.StatusPedidoDTO;
 import com.deliverytech.delivery.dto.response.CalculoPedidoDTO;
 import com.deliverytech.delivery.dto.response.CalculoPedidoResponseDTO;
-import com.deliverytech.delivery.dto.response.ItemPedidoResponseDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
 import com.deliverytech.delivery.entity.*;
 import com.deliverytech.delivery.enums.Role;
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.event.PedidoCanceladoEvent;
+import com.deliverytech.delivery.event.PedidoPagoEvent;
 import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.PedidoMapper;
 import com.deliverytech.delivery.repository.*;
 import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import com.deliverytech.delivery.repository.cursor.CursorKeyset;
+import com.deliverytech.delivery.repository.specification.PedidoSpecifications;
 import com.deliverytech.delivery.security.jwt.SecurityUtils;
 import com.deliverytech.delivery.service.PedidoService;
 import com.deliverytech.delivery.service.audit.AuditService;
+import com.deliverytech.delivery.service.leitura.PedidoViewProjetor;
 import com.deliverytech.delivery.service.metrics.MetricsService;
 // IMPORT CORRETO (Assumindo que você o colocou em um subpacote 'payment')
 import com.deliverytech.delivery.service.PaymentService; 
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,7 +41,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors; 
 
 /**
@@ -56,6 +64,13 @@ public class PedidoServiceImpl implements PedidoService {
     // === NOVO: INJEÇÃO DO MOCK SERVICE DE PAGAMENTO ===
     @Autowired private PaymentService paymentService;
 
+    // === EVENTOS DE DOMÍNIO (KPIs do Dashboard, etc.) ===
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    // === MODELO DE LEITURA (pedido_view: escrito junto com o pedido, lido pelas listagens) ===
+    @Autowired private PedidoViewRepository pedidoViewRepository;
+    @Autowired private PedidoViewProjetor pedidoViewProjetor;
+
 
     /**
      * Processa, valida, calcula e salva um novo pedido no sistema, controlando transação e estoque.
@@ -68,9 +83,12 @@ public class PedidoServiceImpl implements PedidoService {
 
         Long usuarioId = SecurityUtils.getCurrentUserId();
         String usuarioIdLog = (usuarioId != null) ? usuarioId.toString() : "ANONIMO";
+        String resultado = "sucesso"; // Tag do timer por restaurante (sucesso ou nome da exceção)
+        // Só vira tag depois que o restaurante existe: ids arbitrários do cliente não criam séries
+        Long restauranteIdMetrica = null;
 
         try {
-            auditService.logUserAction(usuarioIdLog, "CRIAR_PEDIDO_INICIO", "PedidoDTO", dto);
+            auditService.logUserAction(usuarioIdLog, "CRIAR_PEDIDO_INICIO", "PedidoDTO", resumoAuditoria(dto));
 
             // 1. Validação do Usuário e Perfil do Cliente
             if (usuarioId == null) {
@@ -89,6 +107,7 @@ public class PedidoServiceImpl implements PedidoService {
             // 2. Validação do Restaurante
             Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
                     .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
+            restauranteIdMetrica = restaurante.getId();
             if (restaurante.getAtivo() == null || !restaurante.getAtivo()) {
                 throw new BusinessException("Restaurante não está disponível");
             }
@@ -133,7 +152,6 @@ public class PedidoServiceImpl implements PedidoService {
                     throw new BusinessException("Estoque insuficiente para o produto: " + produto.getNome());
                 }
 
-                BigDecimal precoUnitarioCalculado = produto.getPrecoBase();
                 ItemPedido item = new ItemPedido();
                 item.setProduto(produto);
                 item.setQuantidade(itemDTO.getQuantidade());
@@ -143,55 +161,18 @@ public class PedidoServiceImpl implements PedidoService {
                 List<Long> opcionaisIdsEnviados = (itemDTO.getOpcionaisIds() != null) ? itemDTO.getOpcionaisIds() : new ArrayList<>();
 
                 // 5a. Processamento e Validação de Opcionais (Lógica Complexa de Mínimo/Máximo)
-                if (!opcionaisIdsEnviados.isEmpty()) {
-                    Set<Long> uniqueIds = new HashSet<>(opcionaisIdsEnviados);
-                    Map<Long, ItemOpcional> mapaOpcionais = itemOpcionalRepository.findAllById(uniqueIds).stream()
-                            .collect(Collectors.toMap(ItemOpcional::getId, Function.identity()));
-
-                    List<ItemOpcional> opcionaisSelecionados = new ArrayList<>();
-                    for (Long id : opcionaisIdsEnviados) {
-                        ItemOpcional opcional = mapaOpcionais.get(id);
-                        if (opcional == null) throw new EntityNotFoundException("Opcional não encontrado: " + id);
-                        
-                        // Valida se o opcional pertence ao produto (através do GrupoOpcional)
-                        if (opcional.getGrupoOpcional() == null ||
-                            opcional.getGrupoOpcional().getProduto() == null ||
-                            !opcional.getGrupoOpcional().getProduto().getId().equals(produto.getId())) {
-                            throw new BusinessException("Opcional inválido para este produto.");
-                        }
-                        opcionaisSelecionados.add(opcional);
-                    }
-
-                    // Validação de Grupos (Mínimo e Máximo de Seleção)
-                    Map<GrupoOpcional, Long> contagemPorGrupo = opcionaisSelecionados.stream()
-                            .collect(Collectors.groupingBy(ItemOpcional::getGrupoOpcional, Collectors.counting()));
-                    
-                    List<GrupoOpcional> gruposDoProduto = grupoOpcionalRepository.findByProdutoId(produto.getId());
-
-                    for (GrupoOpcional grupo : gruposDoProduto) {
-                        long contagem = contagemPorGrupo.getOrDefault(grupo, 0L);
-                        if (contagem < grupo.getMinSelecao()) {
-                            throw new BusinessException("Mínimo não atingido para: " + grupo.getNome());
-                        }
-                        if (contagem > grupo.getMaxSelecao()) {
-                            throw new BusinessException("Máximo excedido para: " + grupo.getNome());
-                        }
-                    }
-
-                    // Adiciona o custo do opcional e cria o vínculo M-M
-                    for (ItemOpcional opcional : opcionaisSelecionados) {
-                        precoUnitarioCalculado = precoUnitarioCalculado.add(opcional.getPrecoAdicional());
-                        ItemPedidoOpcional linkOpcional = new ItemPedidoOpcional(item, opcional);
-                        item.getOpcionaisSelecionados().add(linkOpcional);
-                    }
-                } else {
-                     // Verifica se há seleções obrigatórias que foram ignoradas
-                     List<GrupoOpcional> gruposDoProduto = grupoOpcionalRepository.findByProdutoId(produto.getId());
-                     for (GrupoOpcional grupo : gruposDoProduto) {
-                        if (grupo.getMinSelecao() > 0) {
-                             throw new BusinessException("Seleção obrigatória faltando para: " + grupo.getNome());
-                        }
-                     }
+                Map<Long, ItemOpcional> mapaOpcionais = opcionaisIdsEnviados.isEmpty()
+                        ? Map.of()
+                        : PrecificacaoPedido.porId(itemOpcionalRepository.findAllById(new HashSet<>(opcionaisIdsEnviados)));
+                List<GrupoOpcional> gruposDoProduto = grupoOpcionalRepository.findByProdutoId(produto.getId());
+                List<ItemOpcional> opcionaisSelecionados = PrecificacaoPedido.validarOpcionais(
+                        produto, opcionaisIdsEnviados, mapaOpcionais, gruposDoProduto);
+
+                // Adiciona o custo do opcional e cria o vínculo M-M
+                BigDecimal precoUnitarioCalculado = PrecificacaoPedido.precoUnitario(produto, opcionaisSelecionados);
+                for (ItemOpcional opcional : opcionaisSelecionados) {
+                    ItemPedidoOpcional linkOpcional = new ItemPedidoOpcional(item, opcional);
+                    item.getOpcionaisSelecionados().add(linkOpcional);
                 }
 
                 // Cálculo e Atualização do Estoque
@@ -207,7 +188,7 @@ public class PedidoServiceImpl implements PedidoService {
 
             // 6. Cálculo Final do Pedido
             BigDecimal taxaEntrega = restaurante.getTaxaEntrega() != null ? restaurante.getTaxaEntrega() : BigDecimal.ZERO;
-            BigDecimal valorTotal = subtotal.add(taxaEntrega);
+            BigDecimal valorTotal = PrecificacaoPedido.total(subtotal, taxaEntrega);
 
             pedido.setSubtotal(subtotal);
             pedido.setTaxaEntrega(taxaEntrega);
@@ -216,10 +197,12 @@ public class PedidoServiceImpl implements PedidoService {
             
             // 6.5. === IMPLEMENTAÇÃO DO MOCK SERVICE DE PAGAMENTO ===
             // Simula a tentativa de transação antes de salvar o pedido no banco.
+            Timer.Sample samplePagamento = metricsService.iniciarTimer();
             boolean paymentSuccess = paymentService.processPayment(
                 pedido.getMetodoPagamento(),
                 pedido.getValorTotal().doubleValue()
             );
+            metricsService.registrarPagamento(samplePagamento, pedido.getMetodoPagamento(), paymentSuccess);
 
             if (!paymentSuccess) {
                 // Se a simulação falhar (por exemplo, método inválido), lançamos a exceção.
@@ -230,21 +213,27 @@ public class PedidoServiceImpl implements PedidoService {
 
 
             Pedido pedidoSalvo = pedidoRepository.save(pedido);
+            PedidoView view = pedidoViewProjetor.inserir(pedidoSalvo);
 
             // 7. Métricas e Auditoria de Sucesso
             metricsService.incrementarPedidosComSucesso();
             metricsService.adicionarReceita(valorTotal.doubleValue());
-            auditService.logUserAction(usuarioIdLog, "CRIAR_PEDIDO_SUCESSO", "Pedido", pedidoSalvo);
+            metricsService.registrarValorPedido(restaurante.getId(), valorTotal.doubleValue());
+            eventPublisher.publishEvent(new PedidoPagoEvent(
+                    pedidoSalvo.getId(), restaurante.getId(), valorTotal, pedidoSalvo.getDataPedido()));
+            auditService.logUserAction(usuarioIdLog, "CRIAR_PEDIDO_SUCESSO", "Pedido", resumoAuditoria(pedidoSalvo));
 
-            return mapToPedidoResponseDTO(pedidoSalvo);
+            return PedidoMapper.paraResponse(view);
 
         } catch (Exception e) {
             // Em caso de exceção, o @Transactional fará o rollback de todas as alterações.
             metricsService.incrementarPedidosComErro();
+            resultado = e.getClass().getSimpleName();
             auditService.logUserAction(usuarioIdLog, "CRIAR_PEDIDO_FALHA", e.getClass().getSimpleName(), e.getMessage());
             throw e; // Relança a exceção
         } finally {
             metricsService.finalizarTimerPedido(sample);
+            metricsService.registrarCriacaoPedido(sample, restauranteIdMetrica, resultado);
         }
     }
 
@@ -261,13 +250,13 @@ public class PedidoServiceImpl implements PedidoService {
         }
 
         // Busca pedidos em trânsito para o entregador
-        List<Pedido> pedidos = pedidoRepository.findByEntregadorIdAndStatus(
+        List<PedidoView> pedidos = pedidoViewRepository.findByEntregadorIdAndStatusOrderByDataPedidoAsc(
             entregadorId, 
             StatusPedido.SAIU_PARA_ENTREGA
         );
 
         return pedidos.stream()
-                .map(this::mapToPedidoResponseDTO)
+                .map(PedidoMapper::paraResponse)
                 .collect(Collectors.toList());
     }
 
@@ -299,6 +288,32 @@ public class PedidoServiceImpl implements PedidoService {
     @Override
     @Transactional(readOnly = true)
     public CalculoPedidoResponseDTO calcularTotalPedido(CalculoPedidoDTO dto) {
+        Timer.Sample sample = metricsService.iniciarTimer();
+        Long restauranteIdMetrica = null; // Só vira tag depois que o restaurante existe
+        try {
+            Restaurante restaurante = buscarRestauranteCalculo(dto);
+            restauranteIdMetrica = restaurante.getId();
+            return calcularTotal(dto, restaurante);
+        } finally {
+            metricsService.registrarCalculoPreco(sample, restauranteIdMetrica);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalculoPedidoResponseDTO calcularTotalPedidoSemMetricas(CalculoPedidoDTO dto) {
+        return calcularTotal(dto, buscarRestauranteCalculo(dto));
+    }
+
+    private Restaurante buscarRestauranteCalculo(CalculoPedidoDTO dto) {
+        return restauranteRepository.findById(dto.getRestauranteId())
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
+    }
+
+    /**
+     * Lógica do cálculo de preço (subtotal + taxa), separada para ser medida por restaurante.
+     */
+    private CalculoPedidoResponseDTO calcularTotal(CalculoPedidoDTO dto, Restaurante restaurante) {
         BigDecimal subtotal = BigDecimal.ZERO;
 
         // Itera sobre os itens para calcular o subtotal
@@ -306,34 +321,31 @@ public class PedidoServiceImpl implements PedidoService {
             Produto produto = produtoRepository.findById(item.getProdutoId())
                     .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
             
-            BigDecimal precoItem = produto.getPrecoBase();
             List<Long> opcionaisIds = (item.getOpcionaisIds() != null) ? item.getOpcionaisIds() : new ArrayList<>();
 
-            // Adiciona o preço dos opcionais
+            // Adiciona o preço dos opcionais (no preview, ids não encontrados são ignorados)
+            List<ItemOpcional> opcionais = new ArrayList<>();
             if (!opcionaisIds.isEmpty()) {
-                 Set<Long> uniqueIds = new HashSet<>(opcionaisIds);
-                 Map<Long, ItemOpcional> mapaOpcionais = itemOpcionalRepository.findAllById(uniqueIds).stream()
-                        .collect(Collectors.toMap(ItemOpcional::getId, Function.identity()));
+                 Map<Long, ItemOpcional> mapaOpcionais = PrecificacaoPedido.porId(
+                         itemOpcionalRepository.findAllById(new HashSet<>(opcionaisIds)));
 
                  for(Long id : opcionaisIds) {
                      ItemOpcional op = mapaOpcionais.get(id);
-                     if(op != null) precoItem = precoItem.add(op.getPrecoAdicional());
+                     if(op != null) opcionais.add(op);
                  }
             }
+            BigDecimal precoItem = PrecificacaoPedido.precoUnitario(produto, opcionais);
             // Multiplica o preço unitário (com opcionais) pela quantidade e adiciona ao subtotal
-            subtotal = subtotal.add(precoItem.multiply(BigDecimal.valueOf(item.getQuantidade())));
+            subtotal = subtotal.add(PrecificacaoPedido.subtotalItem(precoItem, item.getQuantidade()));
         }
 
-        Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
-        
         BigDecimal taxa = restaurante.getTaxaEntrega() != null ? restaurante.getTaxaEntrega() : BigDecimal.ZERO;
         
         // Constrói e retorna a resposta
         CalculoPedidoResponseDTO response = new CalculoPedidoResponseDTO();
         response.setSubtotal(subtotal);
         response.setTaxaEntrega(taxa);
-        response.setTotal(subtotal.add(taxa));
+        response.setTotal(PrecificacaoPedido.total(subtotal, taxa));
         return response;
     }
 
@@ -344,7 +356,7 @@ public class PedidoServiceImpl implements PedidoService {
         try {
             Pedido pedido = pedidoRepository.findById(id)
                     .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + id));
-            return mapToPedidoResponseDTO(pedido);
+            return PedidoMapper.paraResponse(pedido);
         } finally {
             metricsService.finalizarTimerBanco(sample);
         }
@@ -353,8 +365,8 @@ public class PedidoServiceImpl implements PedidoService {
     @Override
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> buscarPedidosPorCliente(Long clienteId) {
-        List<Pedido> pedidos = pedidoRepository.findByClienteIdOrderByDataPedidoDesc(clienteId);
-        return pedidos.stream().map(this::mapToPedidoResponseDTO).collect(Collectors.toList());
+        List<PedidoView> pedidos = pedidoViewRepository.findByClienteIdOrderByDataPedidoDesc(clienteId);
+        return pedidos.stream().map(PedidoMapper::paraResponse).collect(Collectors.toList());
     }
 
     /**
@@ -363,9 +375,22 @@ public class PedidoServiceImpl implements PedidoService {
     @Override
     @Transactional
     public PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedidoDTO dto) {
+        Timer.Sample sample = metricsService.iniciarTimer();
         Pedido pedido = pedidoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+        try {
+            return atualizarStatus(pedido, dto);
+        } finally {
+            metricsService.registrarAtualizacaoStatus(sample,
+                    pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                    statusParaTag(dto.getStatus()));
+        }
+    }
 
+    /**
+     * Valida a transição e aplica o novo status (com atribuição de entregador, se for o caso).
+     */
+    private PedidoResponseDTO atualizarStatus(Pedido pedido, StatusPedidoDTO dto) {
         StatusPedido novoStatusEnum;
         try {
             novoStatusEnum = StatusPedido.valueOf(dto.getStatus().toUpperCase());
@@ -394,7 +419,12 @@ public class PedidoServiceImpl implements PedidoService {
 
         pedido.setStatus(novoStatusEnum);
         Pedido pedidoAtualizado = pedidoRepository.save(pedido);
-        return mapToPedidoResponseDTO(pedidoAtualizado);
+        PedidoView view = pedidoViewProjetor.atualizar(pedidoAtualizado);
+        if (novoStatusEnum == StatusPedido.CANCELADO) {
+            eventPublisher.publishEvent(new PedidoCanceladoEvent(
+                    pedido.getId(), pedido.getValorTotal(), pedido.getDataPedido()));
+        }
+        return PedidoMapper.paraResponse(view);
     }
 
     @Override
@@ -409,59 +439,86 @@ public class PedidoServiceImpl implements PedidoService {
         }
         pedido.setStatus(StatusPedido.CANCELADO);
         pedidoRepository.save(pedido);
+        pedidoViewProjetor.atualizar(pedido);
+        eventPublisher.publishEvent(new PedidoCanceladoEvent(
+                pedido.getId(), pedido.getValorTotal(), pedido.getDataPedido()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Pageable pageable) {
-        Page<Pedido> pedidos;
-        LocalDateTime inicio = null, fim = null;
-
-        // Converte LocalDate para LocalDateTime para filtros de banco de dados
-        if (dataInicio != null && dataFim != null) {
-            inicio = dataInicio.atStartOfDay();
-            fim = dataFim.plusDays(1).atStartOfDay(); // Adiciona um dia para incluir o último dia
-        }
+    public Slice<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                  Pageable pageable, boolean contarTotal) {
+        Specification<PedidoView> spec = filtroAdmin(status, dataInicio, dataFim);
+        // Sem contagem: busca size + 1 linhas para saber se há próxima página, sem o COUNT(*)
+        Slice<PedidoView> pedidos = contarTotal
+                ? pedidoViewRepository.findAll(spec, pageable)
+                : pedidoViewRepository.findBy(spec, consulta -> consulta.slice(pageable));
+
+        // Mapeia a página de linhas para uma página de DTOs
+        return pedidos.map(PedidoMapper::paraResponse);
+    }
 
-        // Lógica de filtragem complexa (Status E/OU Data)
-        if (status != null && inicio != null) {
-            pedidos = pedidoRepository.findByStatusAndDataPedidoBetween(status, inicio, fim, pageable);
-        } else if (status != null) {
-            pedidos = pedidoRepository.findByStatus(status, pageable);
-        } else if (inicio != null) {
-            pedidos = pedidoRepository.findByDataPedidoBetween(inicio, fim, pageable);
-        } else {
-            pedidos = pedidoRepository.findAll(pageable);
-        }
-        
-        // Mapeia a página de entidades para uma página de DTOs
-        return pedidos.map(this::mapToPedidoResponseDTO);
+    @Override
+    @Transactional(readOnly = true)
+    public Window<PedidoResponseDTO> listarPedidosPorCursor(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                            String cursor, int tamanho) {
+        return rolar(filtroAdmin(status, dataInicio, dataFim), cursor, tamanho);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PedidoResponseDTO> listarMeusPedidos(Pageable pageable) {
+    public Slice<PedidoResponseDTO> listarMeusPedidos(Pageable pageable, boolean contarTotal) {
         Long usuarioIdLogado = SecurityUtils.getCurrentUserId();
         if (usuarioIdLogado == null) throw new BusinessException("Usuário não autenticado.");
         // Busca pedidos pelo ID do cliente logado (que é o mesmo ID do usuário)
-        return pedidoRepository.findByClienteId(usuarioIdLogado, pageable).map(this::mapToPedidoResponseDTO);
+        Specification<PedidoView> doCliente = PedidoSpecifications.doCliente(usuarioIdLogado);
+        Slice<PedidoView> pedidos = contarTotal
+                ? pedidoViewRepository.findAll(doCliente, pageable)
+                : pedidoViewRepository.findBy(doCliente, consulta -> consulta.slice(pageable));
+        return pedidos.map(PedidoMapper::paraResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> buscarPedidosPorRestaurante(Long restauranteId, StatusPedido status) {
-        // Busca os pedidos e, otimisticamente, tenta buscar os opcionais para reduzir consultas
-        List<Pedido> pedidos = pedidoRepository.findPedidosByRestauranteIdAndStatusComItens(restauranteId, status);
-        
-        if (!pedidos.isEmpty()) {
-            List<ItemPedido> todosOsItens = pedidos.stream()
-                                                  .flatMap(p -> p.getItens().stream())
-                                                  .collect(Collectors.toList());
-            if (!todosOsItens.isEmpty()) {
-                pedidoRepository.fetchOpcionaisParaItens(todosOsItens); // Otimização de busca
-            }
+    public Window<PedidoResponseDTO> listarMeusPedidosPorCursor(String cursor, int tamanho) {
+        Long usuarioIdLogado = SecurityUtils.getCurrentUserId();
+        if (usuarioIdLogado == null) throw new BusinessException("Usuário não autenticado.");
+        return rolar(PedidoSpecifications.doCliente(usuarioIdLogado), cursor, tamanho);
+    }
+
+    /**
+     * Filtros da listagem do ADMIN. O período só vale com as duas datas;
+     * a data final entra inteira (até 00:00 do dia seguinte).
+     */
+    private Specification<PedidoView> filtroAdmin(StatusPedido status, LocalDate dataInicio, LocalDate dataFim) {
+        LocalDateTime inicio = null, fim = null;
+        if (dataInicio != null && dataFim != null) {
+            inicio = dataInicio.atStartOfDay();
+            fim = dataFim.plusDays(1).atStartOfDay();
         }
-        return pedidos.stream().map(this::mapToPedidoResponseDTO).collect(Collectors.toList());
+        return PedidoSpecifications.com(status, inicio, fim);
+    }
+
+    /**
+     * Página por keyset: continua depois do (dataPedido, id) do cursor, na
+     * ordem dos índices compostos de pedido_view, sem OFFSET nem COUNT.
+     */
+    private Window<PedidoResponseDTO> rolar(Specification<PedidoView> spec, String cursor, int tamanho) {
+        KeysetScrollPosition posicao = CursorKeyset.decodificar(cursor, PedidoSpecifications.MAIS_RECENTES);
+        Specification<PedidoView> aPartirDoCursor = Specification.allOf(spec, PedidoSpecifications.aPartirDe(posicao));
+        Window<PedidoView> janela = pedidoViewRepository.findBy(aPartirDoCursor, consulta -> consulta
+                .sortBy(PedidoSpecifications.MAIS_RECENTES)
+                .limit(tamanho)
+                .scroll(posicao));
+        return janela.map(PedidoMapper::paraResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PedidoResponseDTO> buscarPedidosPorRestaurante(Long restauranteId, StatusPedido status) {
+        // Uma linha por pedido, já com itens e nomes: sem JOINs nem consultas por item
+        List<PedidoView> pedidos = pedidoViewRepository.buscarPorRestaurante(restauranteId, status);
+        return pedidos.stream().map(PedidoMapper::paraResponse).collect(Collectors.toList());
     }
 
     /**
@@ -507,90 +564,44 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     /**
-     * Define em quais status o pedido ainda pode ser cancelado pelo usuário.
+     * Normaliza o status recebido para uso como tag de métrica (valores fora do enum viram "INVALIDO").
      */
-    private boolean podeSerCancelado(StatusPedido status) {
-        return status == StatusPedido.PENDENTE || status == StatusPedido.CONFIRMADO;
+    private String statusParaTag(String status) {
+        if (status == null) return "INVALIDO";
+        try {
+            return StatusPedido.valueOf(status.toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            return "INVALIDO";
+        }
     }
 
     /**
-     * Método central de conversão Entity (Pedido) -> DTO (PedidoResponseDTO).
+     * Resumo imutável do pedido recebido para a auditoria (evita serializar o DTO inteiro).
      */
-  private PedidoResponseDTO mapToPedidoResponseDTO(Pedido pedido) {
-    PedidoResponseDTO dto = new PedidoResponseDTO();
-    
-    // Mapeamento Básico de Pedido
-    dto.setId(pedido.getId());
-    dto.setStatus(pedido.getStatus().name());
-    dto.setDataPedido(pedido.getDataPedido());
-    
-    // Valores Totais
-    dto.setTotal(pedido.getValorTotal());
-    dto.setSubtotal(pedido.getSubtotal());
-    dto.setTaxaEntrega(pedido.getTaxaEntrega());
-
-    // Cliente (Null Safety)
-    if (pedido.getCliente() != null) {
-        dto.setClienteId(pedido.getCliente().getId());
-        dto.setClienteNome(pedido.getCliente().getNome());
-    } else {
-        dto.setClienteNome("Cliente Desconhecido"); 
-    }
-    
-    // Restaurante
-    if (pedido.getRestaurante() != null) {
-        dto.setRestauranteId(pedido.getRestaurante().getId());
-        dto.setRestauranteNome(pedido.getRestaurante().getNome());
-    }
-    
-    // Endereço
-    if (pedido.getEnderecoEntrega() != null) {
-        Endereco end = pedido.getEnderecoEntrega();
-        dto.setEnderecoEntrega(String.format("%s, %s - %s", end.getRua(), end.getNumero(), end.getBairro()));
-    }
-    
-    // --- Entregador (Null Safety + Priorização de Nome/Email) ---
-    if (pedido.getEntregador() != null) {
-        Usuario entregador = pedido.getEntregador();
-        dto.setEntregadorId(entregador.getId());
-        
-        // Pega o NOME do entregador, se não tiver nome, usa o email
-        String nomeEntregador = entregador.getNome();
-        if (nomeEntregador == null || nomeEntregador.trim().isEmpty()) {
-            nomeEntregador = entregador.getEmail();
-        }
-        
-        dto.setEntregadorNome(nomeEntregador);
-    } else {
-        dto.setEntregadorNome("Aguardando atribuição");
+    private Map<String, Object> resumoAuditoria(PedidoDTO dto) {
+        Map<String, Object> resumo = new HashMap<>();
+        resumo.put("restauranteId", dto.getRestauranteId());
+        resumo.put("quantidadeItens", dto.getItens() != null ? dto.getItens().size() : 0);
+        resumo.put("metodoPagamento", dto.getMetodoPagamento());
+        return resumo;
     }
 
-    // Itens (Mapeamento e Cálculo do Subtotal)
-    List<ItemPedidoResponseDTO> itensResponse = pedido.getItens().stream()
-        .map(item -> {
-            ItemPedidoResponseDTO iDTO = new ItemPedidoResponseDTO();
-            // Dados essenciais para o Front
-            
-            // CORREÇÃO: ADICIONAR O ID DO PRODUTO PARA SATISFAZER O JSON PATH
-            iDTO.setProdutoId(item.getProduto().getId()); 
-            
-            iDTO.setNomeProduto(item.getProduto().getNome());
-            iDTO.setQuantidade(item.getQuantidade());
-            iDTO.setPrecoUnitario(item.getPrecoUnitario());
-            iDTO.setObservacao(item.getObservacoes());
-
-            // Cálculo do Subtotal do item
-            if (item.getPrecoUnitario() != null) {
-                BigDecimal sub = item.getPrecoUnitario().multiply(new BigDecimal(item.getQuantidade()));
-                iDTO.setSubtotal(sub); 
-            } else {
-                iDTO.setSubtotal(BigDecimal.ZERO);
-            }
-                return iDTO;
-            }).collect(Collectors.toList());
-
-        dto.setItens(itensResponse);
+    /**
+     * Resumo imutável do pedido salvo para a auditoria (evita serializar a entidade e disparar lazy loads).
+     */
+    private Map<String, Object> resumoAuditoria(Pedido pedido) {
+        Map<String, Object> resumo = new HashMap<>();
+        resumo.put("pedidoId", pedido.getId());
+        resumo.put("numeroPedido", pedido.getNumeroPedido());
+        resumo.put("status", pedido.getStatus() != null ? pedido.getStatus().name() : null);
+        resumo.put("valorTotal", pedido.getValorTotal());
+        return resumo;
+    }
 
-        return dto;
+    /**
+     * Define em quais status o pedido ainda pode ser cancelado pelo usuário.
+     */
+    private boolean podeSerCancelado(StatusPedido status) {
+        return status == StatusPedido.PENDENTE || status == StatusPedido.CONFIRMADO;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.deliverytech.delivery.service.impl;
+
+import com.deliverytech.delivery.entity.GrupoOpcional;
+import com.deliverytech.delivery.entity.ItemOpcional;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Regras de preço e de opcionais do pedido, sem acesso ao banco.
+ * <p>
+ * O {@link PedidoServiceImpl} carrega produto, opcionais e grupos pelos
+ * repositórios e delega as contas e validações para cá (o
+ * CaminhosQuentesBenchmark mede estes métodos isolados).
+ */
+public final class PrecificacaoPedido {
+
+    private PrecificacaoPedido() {
+    }
+
+    /** Opcionais carregados, indexados pelo id. */
+    public static Map<Long, ItemOpcional> porId(Collection<ItemOpcional> opcionais) {
+        return opcionais.stream().collect(Collectors.toMap(ItemOpcional::getId, Function.identity()));
+    }
+
+    /**
+     * Valida a seleção de opcionais de um item e devolve os opcionais na ordem
+     * enviada (um id repetido conta duas vezes).
+     *
+     * @param opcionaisIds    ids enviados no item (vazio se nenhum)
+     * @param opcionaisPorId  opcionais carregados para esses ids
+     * @param gruposDoProduto grupos de opcionais do produto, com mínimo e máximo de seleção
+     * @throws EntityNotFoundException se um id não foi encontrado
+     * @throws BusinessException se um opcional não é do produto ou um grupo fica fora do mínimo/máximo
+     */
+    public static List<ItemOpcional> validarOpcionais(Produto produto, List<Long> opcionaisIds,
+                                                      Map<Long, ItemOpcional> opcionaisPorId,
+                                                      List<GrupoOpcional> gruposDoProduto) {
+        if (opcionaisIds.isEmpty()) {
+            // Verifica se há seleções obrigatórias que foram ignoradas
+            for (GrupoOpcional grupo : gruposDoProduto) {
+                if (grupo.getMinSelecao() > 0) {
+                    throw new BusinessException("Seleção obrigatória faltando para: " + grupo.getNome());
+                }
+            }
+            return List.of();
+        }
+
+        List<ItemOpcional> selecionados = new ArrayList<>(opcionaisIds.size());
+        for (Long id : opcionaisIds) {
+            ItemOpcional opcional = opcionaisPorId.get(id);
+            if (opcional == null) throw new EntityNotFoundException("Opcional não encontrado: " + id);
+
+            // Valida se o opcional pertence ao produto (através do GrupoOpcional)
+            if (opcional.getGrupoOpcional() == null ||
+                opcional.getGrupoOpcional().getProduto() == null ||
+                !opcional.getGrupoOpcional().getProduto().getId().equals(produto.getId())) {
+                throw new BusinessException("Opcional inválido para este produto.");
+            }
+            selecionados.add(opcional);
+        }
+
+        // Validação de Grupos (Mínimo e Máximo de Seleção)
+        Map<GrupoOpcional, Long> contagemPorGrupo = selecionados.stream()
+                .collect(Collectors.groupingBy(ItemOpcional::getGrupoOpcional, Collectors.counting()));
+
+        for (GrupoOpcional grupo : gruposDoProduto) {
+            long contagem = contagemPorGrupo.getOrDefault(grupo, 0L);
+            if (contagem < grupo.getMinSelecao()) {
+                throw new BusinessException("Mínimo não atingido para: " + grupo.getNome());
+            }
+            if (contagem > grupo.getMaxSelecao()) {
+                throw new BusinessException("Máximo excedido para: " + grupo.getNome());
+            }
+        }
+        return selecionados;
+    }
+
+    /** Preço base do produto mais o adicional de cada opcional escolhido. */
+    public static BigDecimal precoUnitario(Produto produto, List<ItemOpcional> opcionais) {
+        BigDecimal preco = produto.getPrecoBase();
+        for (ItemOpcional opcional : opcionais) {
+            preco = preco.add(opcional.getPrecoAdicional());
+        }
+        return preco;
+    }
+
+    /** Preço unitário vezes a quantidade. */
+    public static BigDecimal subtotalItem(BigDecimal precoUnitario, int quantidade) {
+        return precoUnitario.multiply(BigDecimal.valueOf(quantidade));
+    }
+
+    /** Subtotal mais a taxa de entrega (taxa nula conta como zero). */
+    public static BigDecimal total(BigDecimal subtotal, BigDecimal taxaEntrega) {
+        return subtotal.add(taxaEntrega != null ? taxaEntrega : BigDecimal.ZERO);
+    }
+}
@@ -1,5 +1,8 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.cache.InvalidadorCachePorTags;
+import com.deliverytech.delivery.cache.TagsCatalogo;
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
 import com.deliverytech.delivery.dto.request.GrupoOpcionalDTO;
 import com.deliverytech.delivery.dto.request.ItemOpcionalDTO;
 import com.deliverytech.delivery.dto.request.ProdutoDTO;
@@ -8,22 +11,37 @@ import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.entity.GrupoOpcional;
 import com.deliverytech.delivery.entity.ItemOpcional;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.ConflictException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.repository.ProdutoRepository;
 import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.cursor.CursorKeyset;
+import com.deliverytech.delivery.repository.specification.ProdutoSpecifications;
 import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.busca.BuscaProdutosService;
+import com.deliverytech.delivery.service.busca.ResultadoBusca;
 import com.deliverytech.delivery.security.jwt.SecurityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 
 @Service("produtoService")
 @Transactional
@@ -34,12 +52,28 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     @Autowired
     private RestauranteRepository restauranteRepository;
+
+    // Invalidação por tags (ver TagsCatalogo): remove só as entradas afetadas, em todos os caches
+    @Autowired
+    private InvalidadorCachePorTags invalidadorCache;
+
+    // Índice invertido da busca textual, atualizado a cada alteração (após o commit)
+    @Autowired
+    private BuscaProdutosService buscaProdutos;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Avisa o autocomplete (CatalogoAlteradoEvent)
+
+    /** Máximo de resultados da busca por nome sem paginação (os mais relevantes). */
+    private static final int LIMITE_BUSCA_POR_NOME = 100;
+
+    /** Ordem da paginação por cursor: o id é único e crescente. */
+    private static final Sort ORDEM_CURSOR = Sort.by("id");
     
     /**
      * Cadastra um novo produto com seus grupos opcionais e itens aninhados.
      */
     @Override
-    @CacheEvict(value = "produtos", allEntries = true) // Invalida todo o cache de 'produtos'
     public ProdutoResponseDTO cadastrarProduto(ProdutoDTO dto) {
         if (dto.getRestauranteId() == null) {
             throw new IllegalArgumentException("Restaurante ID é obrigatório");
@@ -91,6 +125,12 @@ public class ProdutoServiceImpl implements ProdutoService {
         
         // Salva o Produto. Graças ao CascadeType.ALL, os Grupos e Itens são salvos juntos.
         Produto produtoSalvo = produtoRepository.save(produto); 
+
+        // O produto novo entra nas listas do restaurante, da categoria e nas listagens gerais
+        invalidadorCache.invalidar(TagsCatalogo.listaRestaurante(restaurante.getId()),
+                TagsCatalogo.categoria(produto.getCategoria()), TagsCatalogo.LISTAGEM);
+        buscaProdutos.indexar(produtoSalvo);
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("produto", produtoSalvo.getId()));
         return new ProdutoResponseDTO(produtoSalvo); 
     }
 
@@ -98,7 +138,6 @@ public class ProdutoServiceImpl implements ProdutoService {
      * Atualiza um produto existente e sua hierarquia de opcionais.
      */
     @Override
-    @CacheEvict(value = "produtos", key = "#id") // Invalida a entrada específica do cache
     public ProdutoResponseDTO atualizarProduto(Long id, ProdutoDTO dto) {
         // Busca o produto existente
         Produto produto = produtoRepository.findById(id)
@@ -106,6 +145,30 @@ public class ProdutoServiceImpl implements ProdutoService {
         Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + dto.getRestauranteId()));
 
+        // Entradas que já contêm o produto saem pela tag dele; as listas em que ele
+        // passa a aparecer (novo restaurante, nova categoria, novo nome) saem pelas delas
+        List<String> tagsAfetadas = new ArrayList<>();
+        tagsAfetadas.add(TagsCatalogo.produto(id));
+        if (produto.getRestaurante() == null || !Objects.equals(produto.getRestaurante().getId(), restaurante.getId())) {
+            tagsAfetadas.add(TagsCatalogo.listaRestaurante(restaurante.getId()));
+        }
+        if (!Objects.equals(produto.getCategoria(), dto.getCategoria())) {
+            tagsAfetadas.add(TagsCatalogo.categoria(dto.getCategoria()));
+        }
+        // A busca textual (/buscar) também casa descrição e categoria: o produto pode
+        // entrar em resultados de busca em cache que ainda não o contêm
+        if (!Objects.equals(produto.getDescricao(), dto.getDescricao())
+                || !Objects.equals(produto.getCategoria(), dto.getCategoria())) {
+            tagsAfetadas.add(TagsCatalogo.LISTAGEM);
+        }
+        // Nome e preço são filtros da listagem: o produto pode entrar em páginas
+        // do restaurante, da categoria ou gerais que ainda não o contêm
+        if (!Objects.equals(produto.getNome(), dto.getNome()) || mudouPreco(produto.getPrecoBase(), dto.getPrecoBase())) {
+            tagsAfetadas.add(TagsCatalogo.listaRestaurante(restaurante.getId()));
+            tagsAfetadas.add(TagsCatalogo.categoria(dto.getCategoria()));
+            tagsAfetadas.add(TagsCatalogo.LISTAGEM);
+        }
+
         // Atualiza os campos simples
         produto.setNome(dto.getNome());
         produto.setDescricao(dto.getDescricao());
@@ -140,6 +203,9 @@ public class ProdutoServiceImpl implements ProdutoService {
         }
         
         Produto atualizado = produtoRepository.save(produto);
+        invalidadorCache.invalidar(tagsAfetadas);
+        buscaProdutos.indexar(atualizado);
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("produto", id));
         return new ProdutoResponseDTO(atualizado);
     }
 
@@ -148,7 +214,8 @@ public class ProdutoServiceImpl implements ProdutoService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "produtos", key = "#id") // Armazena este resultado no cache
+    // sync: uma única carga por chave quando várias requisições erram o cache juntas
+    @Cacheable(value = "produtos", key = "#id", sync = true)
     public ProdutoResponseDTO buscarProdutoPorId(Long id) {
         // Utiliza uma query customizada (findProdutoCompletoById) que realiza JOIN FETCH
         // para carregar 'gruposOpcionais' e 'itensOpcionais' na mesma consulta.
@@ -160,19 +227,37 @@ public class ProdutoServiceImpl implements ProdutoService {
         return new ProdutoResponseDTO(produto);
     }
 
+    /**
+     * Busca textual pelo índice invertido (nome, categoria e descrição, sem
+     * acentos), devolvendo os mais relevantes primeiro. Enquanto o índice não
+     * está pronto, cai no LIKE do banco sobre o nome.
+     */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "produtosPorNome", key = "#nome")
+    @Cacheable(value = "produtosPorNome", key = "#nome", sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorNome(String nome) {
-        List<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(nome);
-        return produtos.stream()
-                .map(ProdutoResponseDTO::new)
-                .collect(Collectors.toList());
+        if (!buscaProdutos.isPronto()) {
+            return produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(nome).stream()
+                    .map(ProdutoResponseDTO::new)
+                    .collect(Collectors.toList());
+        }
+        return carregarNaOrdem(buscaProdutos.buscar(nome, 0, LIMITE_BUSCA_POR_NOME).produtoIds());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProdutoResponseDTO> pesquisarProdutos(String termo, Pageable pageable) {
+        if (!buscaProdutos.isPronto()) {
+            return produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(termo, pageable)
+                    .map(ProdutoResponseDTO::new);
+        }
+        ResultadoBusca resultado = buscaProdutos.buscar(termo, pageable.getPageNumber(), pageable.getPageSize());
+        return new PageImpl<>(carregarNaOrdem(resultado.produtoIds()), pageable, resultado.total());
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "produtosPorRestaurante", key = "{#restauranteId, #disponivel}")
+    @Cacheable(value = "produtosPorRestaurante", key = "{#restauranteId, #disponivel}", sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorRestaurante(Long restauranteId, Boolean disponivel) {
         List<Produto> produtos;
         // Se 'disponivel' for nulo ou verdadeiro, busca apenas os disponíveis (comportamento padrão)
@@ -191,7 +276,6 @@ public class ProdutoServiceImpl implements ProdutoService {
      * Inverte o status de disponibilidade de um produto (disponível/indisponível).
      */
     @Override
-    @CacheEvict(value = "produtos", key = "#id")
     public ProdutoResponseDTO alterarDisponibilidade(Long id) {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
@@ -199,20 +283,32 @@ public class ProdutoServiceImpl implements ProdutoService {
         // Inverte o booleano, tratando nulo como "disponível" por padrão
         produto.setDisponivel(produto.getDisponivel() == null ? true : !produto.getDisponivel());
         produtoRepository.save(produto);
+        buscaProdutos.alterarDisponibilidade(id, Boolean.TRUE.equals(produto.getDisponivel()));
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("produto", id));
+
+        // As listas filtram por disponibilidade: o produto entra ou sai delas
+        invalidadorCache.invalidar(TagsCatalogo.produto(id),
+                TagsCatalogo.listaRestaurante(produto.getRestaurante() != null ? produto.getRestaurante().getId() : null),
+                TagsCatalogo.categoria(produto.getCategoria()), TagsCatalogo.LISTAGEM);
         return new ProdutoResponseDTO(produto);
     }
 
     @Override
-    @CacheEvict(value = "produtos", key = "#id")
     public void removerProduto(Long id) {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
         produtoRepository.delete(produto);
+        buscaProdutos.remover(id);
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("produto", id));
+        // As entradas que contêm o produto e as páginas seguintes das mesmas listagens
+        invalidadorCache.invalidar(TagsCatalogo.produto(id),
+                TagsCatalogo.listaRestaurante(produto.getRestaurante() != null ? produto.getRestaurante().getId() : null),
+                TagsCatalogo.categoria(produto.getCategoria()), TagsCatalogo.LISTAGEM);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "produtosPorCategoria", key = "#categoria")
+    @Cacheable(value = "produtosPorCategoria", key = "#categoria", sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorCategoria(String categoria) {
         List<Produto> produtos = produtoRepository.findByCategoriaAndDisponivelTrue(categoria);
         return produtos.stream()
@@ -238,16 +334,62 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     /**
      * Lista produtos de forma paginada usando Specifications para filtros dinâmicos.
+     * Os filtros viram o WHERE da consulta (e do COUNT), atendido pelos índices
+     * compostos de Produto; a ordenação entra na chave do cache.
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "produtos", 
-           key = "{#pageable.pageNumber, #pageable.pageSize, #restauranteId, #categoria, #disponivel}")
-    public Page<ProdutoResponseDTO> listarProdutos(Pageable pageable, Long restauranteId, String categoria, Boolean disponivel) {
-        // (O código de Specification foi omitido, mas a lógica de busca é aqui)
-        Specification<Produto> spec = Specification.not(null); 
-        
+    @Cacheable(value = "produtos",
+           key = "{#pageable.pageNumber, #pageable.pageSize, #pageable.sort.toString(), #filtro}", sync = true)
+    public Page<ProdutoResponseDTO> listarProdutos(Pageable pageable, FiltroProdutoDTO filtro) {
+        validarFaixaPreco(filtro);
+        Specification<Produto> spec = ProdutoSpecifications.com(filtro);
+
         Page<Produto> paginaDeProdutos = produtoRepository.findAll(spec, pageable);
         return paginaDeProdutos.map(ProdutoResponseDTO::new);
     }
-}
\ No newline at end of file
+
+    /**
+     * Lista produtos por cursor (keyset no id). Não passa pelo cache: cada
+     * página é uma busca direta no índice, a partir do último id da anterior.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ProdutoResponseDTO> listarProdutosPorCursor(FiltroProdutoDTO filtro, String cursor, int tamanho) {
+        validarFaixaPreco(filtro);
+        KeysetScrollPosition posicao = CursorKeyset.decodificar(cursor, ORDEM_CURSOR);
+        Window<Produto> janela = produtoRepository.findBy(ProdutoSpecifications.com(filtro), consulta -> consulta
+                .sortBy(ORDEM_CURSOR)
+                .limit(tamanho)
+                .scroll(posicao));
+        return janela.map(ProdutoResponseDTO::new);
+    }
+
+    private static void validarFaixaPreco(FiltroProdutoDTO filtro) {
+        if (filtro.precoMinimo() != null && filtro.precoMaximo() != null
+                && filtro.precoMinimo().compareTo(filtro.precoMaximo()) > 0) {
+            throw new BusinessException("Preço mínimo maior que o preço máximo", "FAIXA_PRECO_INVALIDA");
+        }
+    }
+
+    private static boolean mudouPreco(BigDecimal atual, BigDecimal novo) {
+        return atual == null || novo == null ? atual != novo : atual.compareTo(novo) != 0;
+    }
+
+    /**
+     * Carrega os produtos pelos ids mantendo a ordem de relevância do índice
+     * (ids removidos entre a busca e a carga são ignorados).
+     */
+    private List<ProdutoResponseDTO> carregarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Produto> porId = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(ProdutoResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+}
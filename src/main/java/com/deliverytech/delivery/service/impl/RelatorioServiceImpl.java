@@ -3,9 +3,8 @@ package com.deliverytech.delivery.service.impl;
 import com.deliverytech.delivery.dto.relatorio.*;
 import com.deliverytech.delivery.entity.*;
 import com.deliverytech.delivery.repository.PedidoRepository;
-import com.deliverytech.delivery.repository.RestauranteRepository; 
-import com.deliverytech.delivery.repository.auth.UsuarioRepository; 
 import com.deliverytech.delivery.service.RelatorioService;
+import com.deliverytech.delivery.service.kpi.KpiService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,53 +25,39 @@ public class RelatorioServiceImpl implements RelatorioService {
     @Autowired
     private PedidoRepository pedidoRepository;
 
-    // --- DEPENDÊNCIAS ADICIONADAS PARA O DASHBOARD ---
-    @Autowired 
-    private UsuarioRepository usuarioRepository; 
-    @Autowired 
-    private RestauranteRepository restauranteRepository;
-    // ---------------------------------------------------
+    // --- KPIs EM MEMÓRIA PARA O DASHBOARD ---
+    @Autowired
+    private KpiService kpiService;
 
     // ==========================================================
-    // --- MÉTODOS DO DASHBOARD (Contagem NATIVA) ---
+    // --- MÉTODOS DO DASHBOARD (Contadores em memória) ---
     // ==========================================================
 
     /**
-     * Retorna a contagem total de usuários (contagem simples do repositório).
-     * Idealmente, utiliza uma query nativa ou JPQL otimizada.
+     * Retorna a contagem total de usuários.
+     * Lida do KpiService (mantido por eventos), sem consultar o banco.
      */
-   @Override
-    @Transactional(readOnly = true)
+    @Override
     public Long contarTotalUsuarios() {
-        // Assume-se que 'contarTodosUsuariosNative()' faz um SELECT COUNT(*) no banco.
-        return usuarioRepository.contarTodosUsuariosNative(); 
+        return kpiService.getTotalUsuarios();
     }
     
     /**
      * Retorna a contagem total de restaurantes.
+     * Lida do KpiService (mantido por eventos), sem consultar o banco.
      */
     @Override
-    @Transactional(readOnly = true)
     public Long contarTotalRestaurantes() {
-        // Assume-se que 'contarTodosRestaurantesNative()' faz um SELECT COUNT(*) no banco.
-        return restauranteRepository.contarTodosRestaurantesNative(); 
+        return kpiService.getTotalRestaurantes();
     }
 
     /**
-     * Calcula o valor total de vendas realizadas nos últimos 30 dias.
-     * Utiliza o tipo BigDecimal para garantir precisão financeira.
+     * Retorna o valor total de vendas realizadas nos últimos 30 dias.
+     * Lido da janela deslizante por minuto do KpiService, sem consultar o banco.
      */
-   @Override
+    @Override
     public BigDecimal calcularVendasUltimos30Dias() {
-        // 1. Define o período: Hoje e 30 dias atrás
-        LocalDateTime trintaDiasAtras = LocalDateTime.now().minusDays(30);
-        LocalDateTime agora = LocalDateTime.now();
-        
-        // 2. Chama o método do Repositório (que executa a soma diretamente no banco)
-        BigDecimal vendas = pedidoRepository.calcularVendasPorPeriodo(trintaDiasAtras, agora);
-        
-        // 3. Retorna o valor real (ou 0.00 se o resultado for NULL)
-        return vendas != null ? vendas : BigDecimal.ZERO; 
+        return kpiService.getVendasUltimos30Dias();
     }
     // ==========================================================
     // --- RELATÓRIOS (Agregação de Dados) ---
@@ -1,17 +1,20 @@
 package com.deliverytech.delivery.service.impl;
 
-import com.deliverytech.delivery.dto.request.EnderecoDTO;
 import com.deliverytech.delivery.dto.request.RestauranteDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.entity.Endereco;
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.event.RestauranteCriadoEvent;
 import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.ConflictException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.EnderecoMapper;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
 import com.deliverytech.delivery.repository.RestauranteRepository;
 import com.deliverytech.delivery.service.RestauranteService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
@@ -34,7 +37,7 @@ public class RestauranteServiceImpl implements RestauranteService {
     private RestauranteRepository restauranteRepository;
 
     @Autowired
-    private ModelMapper modelMapper; // Utilitário para mapear DTOs para Entidades e vice-versa
+    private ApplicationEventPublisher eventPublisher; // Publica eventos de domínio (ex: KPIs do Dashboard)
 
     /**
      * Cadastra um novo restaurante no sistema.
@@ -47,18 +50,16 @@ public class RestauranteServiceImpl implements RestauranteService {
                 throw new ConflictException("Restaurante já cadastrado: " + dto.getNome(), "nome", dto.getNome());
             });
 
-        Restaurante restaurante = modelMapper.map(dto, Restaurante.class);
+        // Mapeia o restaurante com a entidade Endereco aninhada
+        Restaurante restaurante = RestauranteMapper.paraEntidade(dto);
         restaurante.setAtivo(true); // Define o status inicial como ativo
-
-        // Mapeia e anexa a entidade Endereco
-        EnderecoDTO enderecoDTO = dto.getEndereco();
-        Endereco endereco = modelMapper.map(enderecoDTO, Endereco.class);
-        restaurante.setEndereco(endereco);
         
         validarDadosRestaurante(restaurante); // Valida campos obrigatórios
 
         Restaurante salvo = restauranteRepository.save(restaurante);
-        return modelMapper.map(salvo, RestauranteResponseDTO.class);
+        eventPublisher.publishEvent(new RestauranteCriadoEvent(salvo.getId()));
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("restaurante", salvo.getId()));
+        return RestauranteMapper.paraResponse(salvo);
     }
 
     /**
@@ -89,12 +90,13 @@ public class RestauranteServiceImpl implements RestauranteService {
                 restaurante.setEndereco(enderecoExistente);
             }
             // Atualiza os dados do endereço com os dados do DTO
-            modelMapper.map(dto.getEndereco(), enderecoExistente);
+            EnderecoMapper.copiar(dto.getEndereco(), enderecoExistente);
         }
 
         validarDadosRestaurante(restaurante);
         Restaurante atualizado = restauranteRepository.save(restaurante);
-        return modelMapper.map(atualizado, RestauranteResponseDTO.class);
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("restaurante", id));
+        return RestauranteMapper.paraResponse(atualizado);
     }
     
 
@@ -180,7 +182,7 @@ public class RestauranteServiceImpl implements RestauranteService {
 
         // 4. Mapeia e retorna
         return proximos.stream()
-                .map(r -> modelMapper.map(r, RestauranteResponseDTO.class))
+                .map(RestauranteMapper::paraResponse)
                 .collect(Collectors.toList());
     }
     
@@ -196,7 +198,8 @@ public class RestauranteServiceImpl implements RestauranteService {
         // Inverte o status
         restaurante.setAtivo(restaurante.getAtivo() == null ? true : !restaurante.getAtivo());
         restauranteRepository.save(restaurante);
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent("restaurante", id));
+        return RestauranteMapper.paraResponse(restaurante);
     }
     
     /**
@@ -218,7 +221,7 @@ public class RestauranteServiceImpl implements RestauranteService {
         }
         
         // Mapeia a página de entidades para uma página de DTOs
-        return restaurantesPage.map(r -> modelMapper.map(r, RestauranteResponseDTO.class));
+        return restaurantesPage.map(RestauranteMapper::paraResponse);
     }
 
     /**
@@ -247,7 +250,7 @@ public class RestauranteServiceImpl implements RestauranteService {
     public RestauranteResponseDTO buscarRestaurantePorId(Long id) {
         Restaurante restaurante = restauranteRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado: " + id));
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        return RestauranteMapper.paraResponse(restaurante);
     }
     
     @Override
@@ -255,7 +258,7 @@ public class RestauranteServiceImpl implements RestauranteService {
     public List<RestauranteResponseDTO> buscarRestaurantesPorCategoria(String categoria) {
         List<Restaurante> restaurantes = restauranteRepository.findByCategoria(categoria);
         return restaurantes.stream()
-                .map(r -> modelMapper.map(r, RestauranteResponseDTO.class))
+                .map(RestauranteMapper::paraResponse)
                 .collect(Collectors.toList());
     }
 
@@ -264,7 +267,7 @@ public class RestauranteServiceImpl implements RestauranteService {
     public List<RestauranteResponseDTO> buscarRestaurantesDisponiveis() {
         List<Restaurante> ativos = restauranteRepository.findByAtivoTrue();
         return ativos.stream()
-                .map(r -> modelMapper.map(r, RestauranteResponseDTO.class))
+                .map(RestauranteMapper::paraResponse)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
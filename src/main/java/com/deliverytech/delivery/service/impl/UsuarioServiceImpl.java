@@ -7,9 +7,14 @@ import com.deliverytech.delivery.enums.Role;
 import com.deliverytech.delivery.exception.ConflictException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import com.deliverytech.delivery.repository.cursor.CursorKeyset;
 import com.deliverytech.delivery.service.auth.UsuarioService;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,14 +41,33 @@ public class UsuarioServiceImpl implements UsuarioService {
 
     /**
      * Busca uma lista paginada de todos os usuários e a mapeia para DTOs.
+     * Sem contagem, devolve um Slice (size + 1 linhas, sem o COUNT(*)).
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponse> buscarTodos(Pageable pageable) {
-        Page<Usuario> paginaUsuarios = usuarioRepository.findAll(pageable);
+    public Slice<UserResponse> buscarTodos(Pageable pageable, boolean contarTotal) {
+        Slice<Usuario> paginaUsuarios = contarTotal
+                ? usuarioRepository.findAll(pageable)
+                : usuarioRepository.findBy(Specification.unrestricted(), consulta -> consulta.slice(pageable));
         return paginaUsuarios.map(UserResponse::new); 
     }
 
+    /**
+     * Busca os usuários por cursor: a página continua depois do último id
+     * da anterior (chave primária), sem OFFSET.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Window<UserResponse> buscarTodosPorCursor(String cursor, int tamanho) {
+        Sort ordem = Sort.by("id");
+        KeysetScrollPosition posicao = CursorKeyset.decodificar(cursor, ordem);
+        Window<Usuario> janela = usuarioRepository.findBy(Specification.unrestricted(), consulta -> consulta
+                .sortBy(ordem)
+                .limit(tamanho)
+                .scroll(posicao));
+        return janela.map(UserResponse::new);
+    }
+
     /**
      * Busca a entidade Usuario completa pelo ID. É um método auxiliar interno.
      */
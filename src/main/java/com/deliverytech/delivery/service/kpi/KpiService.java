@@ -0,0 +1,317 @@
+package com.deliverytech.delivery.service.kpi;
+
+import com.deliverytech.delivery.event.PedidoCanceladoEvent;
+import com.deliverytech.delivery.event.PedidoPagoEvent;
+import com.deliverytech.delivery.event.RestauranteCriadoEvent;
+import com.deliverytech.delivery.event.UsuarioRegistradoEvent;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serviço de KPIs do Dashboard mantidos em memória.
+ * <p>
+ * Os contadores são semeados a partir do banco quando a aplicação sobe e,
+ * a partir daí, atualizados pelos eventos de domínio (usuário registrado,
+ * restaurante criado, pedido pago/cancelado). As leituras do Dashboard
+ * nunca vão ao banco.
+ * <p>
+ * Totais usam {@link LongAdder} (contadores "listrados", sem contenção).
+ * A receita dos últimos 30 dias usa um ring buffer com um bucket por minuto.
+ * Uma reconciliação periódica recalcula tudo a partir do banco (vendas já
+ * somadas por minuto no SQL) e corrige eventuais desvios (ex: dados
+ * inseridos por script, eventos perdidos).
+ */
+@Service
+public class KpiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KpiService.class);
+
+    /** Tamanho da janela deslizante de vendas, em minutos (30 dias). */
+    static final int MINUTOS_JANELA = 30 * 24 * 60;
+
+    private final UsuarioRepository usuarioRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final PedidoRepository pedidoRepository;
+
+    // --- Totais (Contadores listrados) ---
+    private final LongAdder totalUsuarios = new LongAdder();
+    private final LongAdder totalRestaurantes = new LongAdder();
+
+    // --- Janela deslizante de vendas (trocada por inteiro na reconciliação) ---
+    private volatile JanelaVendas janelaVendas = new JanelaVendas(MINUTOS_JANELA);
+    /**
+     * Eventos de venda aplicam-se sob a leitura (em paralelo entre si); a
+     * reconciliação usa a escrita só para abrir o registro e para trocar a janela.
+     */
+    private final ReadWriteLock trocaJanela = new ReentrantReadWriteLock();
+    /** Vendas (minuto, centavos) recebidas durante a reconstrução da janela; {@code null} fora dela. */
+    private Queue<long[]> vendasDuranteReconstrucao;
+
+    public KpiService(UsuarioRepository usuarioRepository,
+                      RestauranteRepository restauranteRepository,
+                      PedidoRepository pedidoRepository) {
+        this.usuarioRepository = usuarioRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    // ==========================================================
+    // --- LEITURAS (usadas pelo Dashboard, sem acesso ao banco) ---
+    // ==========================================================
+
+    /**
+     * @return O total de usuários cadastrados.
+     */
+    public Long getTotalUsuarios() {
+        return totalUsuarios.sum();
+    }
+
+    /**
+     * @return O total de restaurantes cadastrados.
+     */
+    public Long getTotalRestaurantes() {
+        return totalRestaurantes.sum();
+    }
+
+    /**
+     * @return A soma das vendas (pedidos não cancelados) dos últimos 30 dias.
+     */
+    public BigDecimal getVendasUltimos30Dias() {
+        long centavos = janelaVendas.somar(minutoAtual());
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    // ==========================================================
+    // --- EVENTOS DE DOMÍNIO ---
+    // ==========================================================
+    // Os listeners rodam após o commit: se a transação fizer rollback,
+    // o contador não é alterado.
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioRegistrado(UsuarioRegistradoEvent event) {
+        totalUsuarios.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestauranteCriado(RestauranteCriadoEvent event) {
+        totalRestaurantes.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPedidoPago(PedidoPagoEvent event) {
+        registrarVenda(minutoDe(event.dataPedido()), paraCentavos(event.valorTotal()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPedidoCancelado(PedidoCanceladoEvent event) {
+        registrarVenda(minutoDe(event.dataPedido()), -paraCentavos(event.valorTotal()));
+    }
+
+    // ==========================================================
+    // --- SEMENTE E RECONCILIAÇÃO ---
+    // ==========================================================
+
+    /**
+     * Semeia os contadores a partir do banco assim que a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void semear() {
+        reconciliar();
+        logger.info("[KPI] Contadores semeados: usuarios={}, restaurantes={}, vendas30d={}",
+                getTotalUsuarios(), getTotalRestaurantes(), getVendasUltimos30Dias());
+    }
+
+    /**
+     * Recalcula os KPIs a partir do banco e corrige o desvio dos contadores em memória.
+     * Os totais recebem apenas a diferença (preservando incrementos concorrentes).
+     * A janela de vendas é reconstruída a partir do banco e trocada pela atual; as
+     * vendas recebidas entre o início da consulta e a troca são reaplicadas na
+     * janela nova (a consulta não as enxerga), para não se perderem até a
+     * próxima reconciliação.
+     */
+    @Scheduled(fixedDelayString = "${app.kpi.reconciliacao-ms:600000}",
+               initialDelayString = "${app.kpi.reconciliacao-ms:600000}")
+    public void reconciliar() {
+        try {
+            long desvioUsuarios = corrigir(totalUsuarios, usuarioRepository.contarTodosUsuariosNative());
+            long desvioRestaurantes = corrigir(totalRestaurantes, restauranteRepository.contarTodosRestaurantesNative());
+
+            long desvioVendas = reconstruirJanelaVendas();
+
+            if (desvioUsuarios != 0 || desvioRestaurantes != 0 || desvioVendas != 0) {
+                logger.warn("[KPI] Desvio corrigido: usuarios={}, restaurantes={}, vendasCentavos={}",
+                        desvioUsuarios, desvioRestaurantes, desvioVendas);
+            }
+        } catch (Exception e) {
+            // Falha na reconciliação não derruba o Dashboard: mantém os valores atuais
+            logger.error("[KPI] Erro ao reconciliar contadores com o banco", e);
+        }
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void registrarVenda(long minuto, long centavos) {
+        trocaJanela.readLock().lock();
+        try {
+            janelaVendas.adicionar(minuto, centavos);
+            Queue<long[]> durante = vendasDuranteReconstrucao;
+            if (durante != null) {
+                durante.add(new long[]{minuto, centavos});
+            }
+        } finally {
+            trocaJanela.readLock().unlock();
+        }
+    }
+
+    /** @return A diferença (centavos) entre a janela reconstruída e a anterior. */
+    private synchronized long reconstruirJanelaVendas() {
+        Queue<long[]> durante = new ConcurrentLinkedQueue<>();
+        trocaJanela.writeLock().lock();
+        try {
+            vendasDuranteReconstrucao = durante;
+        } finally {
+            trocaJanela.writeLock().unlock();
+        }
+
+        try {
+            LocalDateTime inicio = LocalDateTime.now().minusMinutes(MINUTOS_JANELA - 1L);
+            JanelaVendas novaJanela = new JanelaVendas(MINUTOS_JANELA);
+            // Agregado por minuto no banco: no máximo MINUTOS_JANELA linhas, qualquer que seja o volume
+            List<Object[]> vendasPorMinuto = pedidoRepository.somarVendasPorMinutoDesde(inicio);
+            for (Object[] linha : vendasPorMinuto) {
+                novaJanela.adicionar(minutoDaLinha(linha), paraCentavos((BigDecimal) linha[5]));
+            }
+
+            trocaJanela.writeLock().lock();
+            try {
+                // Nenhum evento em andamento: o registro está completo
+                for (long[] venda : durante) {
+                    novaJanela.adicionar(venda[0], venda[1]);
+                }
+                long agora = minutoAtual();
+                long desvio = novaJanela.somar(agora) - janelaVendas.somar(agora);
+                janelaVendas = novaJanela;
+                return desvio;
+            } finally {
+                trocaJanela.writeLock().unlock();
+            }
+        } finally {
+            trocaJanela.writeLock().lock();
+            try {
+                vendasDuranteReconstrucao = null;
+            } finally {
+                trocaJanela.writeLock().unlock();
+            }
+        }
+    }
+
+    private long corrigir(LongAdder contador, Long valorBanco) {
+        long desvio = (valorBanco != null ? valorBanco : 0L) - contador.sum();
+        contador.add(desvio);
+        return desvio;
+    }
+
+    private static long minutoAtual() {
+        return minutoDe(LocalDateTime.now());
+    }
+
+    private static long minutoDe(LocalDateTime dataHora) {
+        if (dataHora == null) {
+            return minutoAtual();
+        }
+        return dataHora.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /** Minuto (epoch) de uma linha (ano, mês, dia, hora, minuto, soma) de {@code somarVendasPorMinutoDesde}. */
+    static long minutoDaLinha(Object[] linha) {
+        LocalDateTime minuto = LocalDateTime.of(((Number) linha[0]).intValue(), ((Number) linha[1]).intValue(),
+                ((Number) linha[2]).intValue(), ((Number) linha[3]).intValue(), ((Number) linha[4]).intValue());
+        return minutoDe(minuto);
+    }
+
+    private static long paraCentavos(BigDecimal valor) {
+        if (valor == null) {
+            return 0L;
+        }
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * Ring buffer de buckets por minuto.
+     * Cada posição guarda o minuto (epoch) que ela representa e o valor acumulado.
+     * Quando um minuto novo cai numa posição ocupada por um minuto antigo,
+     * o bucket é "reciclado" (zerado) antes de receber o novo valor.
+     */
+    static final class JanelaVendas {
+
+        /** Marca temporária usada enquanto um bucket está sendo reciclado. */
+        private static final long RECICLANDO = -1L;
+
+        private final int tamanho;
+        private final AtomicLongArray minutos;
+        private final AtomicLongArray centavos;
+
+        JanelaVendas(int tamanho) {
+            this.tamanho = tamanho;
+            this.minutos = new AtomicLongArray(tamanho);
+            this.centavos = new AtomicLongArray(tamanho);
+        }
+
+        void adicionar(long minuto, long valor) {
+            int indice = (int) Math.floorMod(minuto, (long) tamanho);
+            while (true) {
+                long atual = minutos.get(indice);
+                if (atual == minuto) {
+                    centavos.addAndGet(indice, valor);
+                    return;
+                }
+                if (atual == RECICLANDO) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (atual > minuto) {
+                    // Evento mais antigo que a janela: não conta mais
+                    return;
+                }
+                if (minutos.compareAndSet(indice, atual, RECICLANDO)) {
+                    centavos.set(indice, 0L);
+                    minutos.set(indice, minuto);
+                }
+            }
+        }
+
+        long somar(long minutoAtual) {
+            long limiteInferior = minutoAtual - tamanho;
+            long soma = 0L;
+            for (int i = 0; i < tamanho; i++) {
+                long minuto = minutos.get(i);
+                if (minuto > limiteInferior && minuto <= minutoAtual) {
+                    soma += centavos.get(i);
+                }
+            }
+            return soma;
+        }
+    }
+}
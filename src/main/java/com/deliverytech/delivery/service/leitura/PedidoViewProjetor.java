@@ -0,0 +1,209 @@
+package com.deliverytech.delivery.service.leitura;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.PedidoView;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.PedidoViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a tabela pedido_view ({@link PedidoView}), o modelo de leitura das
+ * listagens de pedidos.
+ * <p>
+ * As escritas de PedidoServiceImpl chamam {@link #inserir}/{@link #atualizar}
+ * dentro da própria transação (propagação MANDATORY): o pedido e a sua linha
+ * são gravados juntos ou nenhum dos dois.
+ * <p>
+ * O que muda fora desse caminho (nome de cliente ou restaurante alterado,
+ * dados inseridos por script) só aparece na view depois de uma reconstrução;
+ * {@link #verificarConsistencia()} aponta essas linhas.
+ */
+@Service
+public class PedidoViewProjetor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoViewProjetor.class);
+
+    /** Pedidos por transação na reconstrução e na verificação. */
+    static final int LOTE = 500;
+
+    /** Ids listados por tipo de problema no relatório de consistência. */
+    static final int AMOSTRA = 20;
+
+    private final PedidoRepository pedidoRepository;
+    private final PedidoViewRepository pedidoViewRepository;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate transacaoLeitura;
+    private final boolean reconstruirAoIniciar;
+
+    public PedidoViewProjetor(PedidoRepository pedidoRepository,
+                              PedidoViewRepository pedidoViewRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.pedido-view.reconstruir-ao-iniciar:false}") boolean reconstruirAoIniciar) {
+        this.pedidoRepository = pedidoRepository;
+        this.pedidoViewRepository = pedidoViewRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.reconstruirAoIniciar = reconstruirAoIniciar;
+    }
+
+    // ==========================================================
+    // --- PROJEÇÃO (na transação da escrita) ---
+    // ==========================================================
+
+    /**
+     * Grava a linha de um pedido recém-criado (INSERT direto, sem SELECT antes).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PedidoView inserir(Pedido pedido) {
+        return pedidoViewRepository.save(PedidoMapper.paraView(pedido));
+    }
+
+    /**
+     * Atualiza a linha do pedido com o estado atual (cria se ainda não existir).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PedidoView atualizar(Pedido pedido) {
+        PedidoView view = pedidoViewRepository.findById(pedido.getId())
+                .orElseGet(() -> new PedidoView(pedido.getId()));
+        PedidoMapper.preencher(view, pedido);
+        return pedidoViewRepository.save(view);
+    }
+
+    // ==========================================================
+    // --- RECONSTRUÇÃO E VERIFICAÇÃO ---
+    // ==========================================================
+
+    /**
+     * Semeia a view quando a aplicação sobe: se ela estiver vazia e houver
+     * pedidos (primeira subida depois da migration) ou se
+     * {@code app.pedido-view.reconstruir-ao-iniciar=true}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void semear() {
+        try {
+            if (reconstruirAoIniciar || (pedidoViewRepository.count() == 0 && pedidoRepository.count() > 0)) {
+                reconstruir();
+            }
+        } catch (Exception e) {
+            logger.error("[PEDIDO_VIEW] Falha ao semear o modelo de leitura: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Regrava a view inteira a partir das tabelas de pedido, em lotes de
+     * {@value #LOTE} pedidos (uma transação por lote, sem bloquear a tabela
+     * toda), e apaga as linhas de pedidos que não existem mais.
+     */
+    public ResultadoReconstrucao reconstruir() {
+        long inicio = System.nanoTime();
+        int projetados = 0;
+        Long ultimoId = 0L;
+        while (true) {
+            Long depoisDe = ultimoId;
+            List<Long> ids = transacao.execute(status -> reconstruirLote(depoisDe));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            projetados += ids.size();
+            ultimoId = ids.get(ids.size() - 1);
+        }
+
+        Integer removidos = transacao.execute(status -> {
+            List<Long> orfas = pedidoViewRepository.buscarIdsSemPedido();
+            pedidoViewRepository.deleteAllByIdInBatch(orfas);
+            return orfas.size();
+        });
+
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        logger.info("[PEDIDO_VIEW] Reconstrução concluída: projetados={}, removidos={}, duracaoMs={}",
+                projetados, removidos, duracaoMs);
+        return new ResultadoReconstrucao(projetados, removidos != null ? removidos : 0, duracaoMs);
+    }
+
+    private List<Long> reconstruirLote(Long depoisDe) {
+        List<Long> ids = pedidoRepository.buscarIdsAPartirDe(depoisDe, Limit.of(LOTE));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Map<Long, PedidoView> gravadas = porId(pedidoViewRepository.findAllById(ids));
+
+        List<PedidoView> linhas = new ArrayList<>(ids.size());
+        for (Pedido pedido : pedidoRepository.findComAssociacoesByIdIn(ids)) {
+            PedidoView view = gravadas.computeIfAbsent(pedido.getId(), PedidoView::new);
+            PedidoMapper.preencher(view, pedido);
+            linhas.add(view);
+        }
+        pedidoViewRepository.saveAll(linhas);
+        return ids;
+    }
+
+    /**
+     * Compara cada linha da view com o que a projeção do pedido gravaria hoje,
+     * sem alterar nada. Aponta pedidos sem linha, linhas divergentes e linhas
+     * de pedidos que não existem mais.
+     */
+    public RelatorioConsistencia verificarConsistencia() {
+        List<Long> faltando = new ArrayList<>();
+        List<Long> divergentes = new ArrayList<>();
+        long verificados = 0;
+        Long ultimoId = 0L;
+        while (true) {
+            Long depoisDe = ultimoId;
+            List<Long> ids = transacaoLeitura.execute(status -> verificarLote(depoisDe, faltando, divergentes));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            verificados += ids.size();
+            ultimoId = ids.get(ids.size() - 1);
+        }
+        List<Long> orfas = transacaoLeitura.execute(status -> pedidoViewRepository.buscarIdsSemPedido());
+
+        RelatorioConsistencia relatorio = RelatorioConsistencia.de(verificados, faltando, divergentes,
+                orfas != null ? orfas : List.of(), AMOSTRA);
+        if (!relatorio.consistente()) {
+            logger.warn("[PEDIDO_VIEW] Modelo de leitura inconsistente: faltando={}, divergentes={}, orfas={}",
+                    relatorio.faltando(), relatorio.divergentes(), relatorio.orfas());
+        }
+        return relatorio;
+    }
+
+    private List<Long> verificarLote(Long depoisDe, List<Long> faltando, List<Long> divergentes) {
+        List<Long> ids = pedidoRepository.buscarIdsAPartirDe(depoisDe, Limit.of(LOTE));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Map<Long, PedidoView> gravadas = porId(pedidoViewRepository.findAllById(ids));
+
+        for (Pedido pedido : pedidoRepository.findComAssociacoesByIdIn(ids)) {
+            PedidoView gravada = gravadas.get(pedido.getId());
+            if (gravada == null) {
+                faltando.add(pedido.getId());
+            } else if (!gravada.equals(PedidoMapper.paraView(pedido))) {
+                divergentes.add(pedido.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static Map<Long, PedidoView> porId(List<PedidoView> linhas) {
+        return linhas.stream().collect(Collectors.toMap(PedidoView::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.deliverytech.delivery.service.leitura;
+
+import java.util.List;
+
+/**
+ * Resultado da verificação de pedido_view contra as tabelas de pedido.
+ * Os totais contam todos os problemas; as amostras trazem só os primeiros ids.
+ *
+ * @param consistente        {@code true} se não houver nenhum problema.
+ * @param pedidosVerificados Pedidos comparados.
+ * @param faltando           Pedidos sem linha na view.
+ * @param divergentes        Linhas diferentes da projeção atual do pedido.
+ * @param orfas              Linhas de pedidos que não existem mais.
+ */
+public record RelatorioConsistencia(
+        boolean consistente,
+        long pedidosVerificados,
+        int faltando,
+        int divergentes,
+        int orfas,
+        List<Long> amostraFaltando,
+        List<Long> amostraDivergentes,
+        List<Long> amostraOrfas) {
+
+    static RelatorioConsistencia de(long verificados, List<Long> faltando, List<Long> divergentes,
+                                    List<Long> orfas, int amostra) {
+        return new RelatorioConsistencia(
+                faltando.isEmpty() && divergentes.isEmpty() && orfas.isEmpty(),
+                verificados,
+                faltando.size(),
+                divergentes.size(),
+                orfas.size(),
+                primeiros(faltando, amostra),
+                primeiros(divergentes, amostra),
+                primeiros(orfas, amostra));
+    }
+
+    private static List<Long> primeiros(List<Long> ids, int amostra) {
+        return List.copyOf(ids.subList(0, Math.min(ids.size(), amostra)));
+    }
+}
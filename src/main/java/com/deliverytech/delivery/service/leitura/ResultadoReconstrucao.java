@@ -0,0 +1,11 @@
+package com.deliverytech.delivery.service.leitura;
+
+/**
+ * Resultado de uma reconstrução de pedido_view.
+ *
+ * @param pedidosProjetados Linhas gravadas (uma por pedido existente).
+ * @param linhasRemovidas   Linhas apagadas por não terem mais pedido.
+ * @param duracaoMs         Duração total, em milissegundos.
+ */
+public record ResultadoReconstrucao(int pedidosProjetados, int linhasRemovidas, long duracaoMs) {
+}
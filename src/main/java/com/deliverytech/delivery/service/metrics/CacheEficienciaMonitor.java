@@ -0,0 +1,142 @@
+package com.deliverytech.delivery.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Eficácia de cada cache da aplicação, calculada a partir das métricas
+ * {@code delivery.cache.*} publicadas pelo {@code CacheDoisNiveis}.
+ * <p>
+ * Para cada cache: taxa de acerto (total e só no L1), custo das cargas, tempo
+ * economizado pelos acertos (acertos x carga média), ocupação do L1 e remoções
+ * por causa. Um diagnóstico simples aponta o ajuste mais provável:
+ * <ul>
+ *   <li>muitas remoções por tamanho em relação às cargas: L1 pequeno demais
+ *       ({@code app.cache.local.maximo-entradas});</li>
+ *   <li>muitas remoções por expiração: TTL do L1 curto para o padrão de acesso;</li>
+ *   <li>taxa de acerto baixa com volume: pouco reuso (a chave varia demais ou
+ *       o cache não compensa).</li>
+ * </ul>
+ */
+@Component
+public class CacheEficienciaMonitor {
+
+    static final int ACESSOS_MINIMOS_DIAGNOSTICO = 100;
+    static final double LIMITE_PRESSAO = 0.2;
+    static final double LIMITE_ACERTO_BAIXO = 0.3;
+
+    private final MeterRegistry meterRegistry;
+
+    public CacheEficienciaMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Resumo por cache para o dashboard, do mais acessado para o menos acessado.
+     */
+    public List<Map<String, Object>> resumo() {
+        TreeSet<String> caches = meterRegistry.find("delivery.cache.acessos").counters().stream()
+                .map(contador -> contador.getId().getTag("cache"))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        return caches.stream()
+                .map(this::resumirCache)
+                .sorted(Comparator.comparingLong((Map<String, Object> c) -> (long) c.get("acessos")).reversed())
+                .collect(Collectors.toList());
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private Map<String, Object> resumirCache(String cache) {
+        long acertosLocais = contar("delivery.cache.acessos", cache, "resultado", "acerto_local");
+        long acertosRemotos = contar("delivery.cache.acessos", cache, "resultado", "acerto_remoto");
+        long faltas = contar("delivery.cache.acessos", cache, "resultado", "falta");
+        long acessos = acertosLocais + acertosRemotos + faltas;
+        long acertos = acertosLocais + acertosRemotos;
+
+        Timer carga = meterRegistry.find("delivery.cache.carga.tempo").tag("cache", cache).timer();
+        long cargas = carga != null ? carga.count() : 0;
+        double cargaMediaMs = carga != null ? carga.mean(TimeUnit.MILLISECONDS) : 0.0;
+
+        long entradas = (long) medir("delivery.cache.entradas", cache);
+        long bytes = (long) medir("delivery.cache.tamanho.bytes", cache);
+        long remocoesTamanho = contar("delivery.cache.remocoes", cache, "causa", "tamanho");
+        long remocoesExpiracao = contar("delivery.cache.remocoes", cache, "causa", "expiracao");
+        long remocoesInvalidacao = contar("delivery.cache.remocoes", cache, "causa", "invalidacao");
+
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("cache", cache);
+        item.put("acessos", acessos);
+        item.put("acertosLocais", acertosLocais);
+        item.put("acertosRemotos", acertosRemotos);
+        item.put("faltas", faltas);
+        item.put("taxaAcerto", razao(acertos, acessos));
+        item.put("taxaAcertoLocal", razao(acertosLocais, acessos));
+        item.put("cargas", cargas);
+        item.put("cargaMediaMs", arredondar(cargaMediaMs));
+        item.put("cargaMaxMs", carga != null ? arredondar(carga.max(TimeUnit.MILLISECONDS)) : 0.0);
+        item.put("tempoEconomizadoMs", Math.round(acertos * cargaMediaMs));
+        item.put("entradas", entradas);
+        item.put("bytes", bytes);
+        item.put("bytesPorEntrada", entradas > 0 ? bytes / entradas : 0);
+        item.put("remocoesTamanho", remocoesTamanho);
+        item.put("remocoesExpiracao", remocoesExpiracao);
+        item.put("remocoesInvalidacao", remocoesInvalidacao);
+        item.put("coalescidas", contar(meterRegistry.find("delivery.cache.carga.coalescidas").tag("cache", cache)));
+        item.put("diagnostico", diagnosticar(acessos, razao(acertos, acessos), cargas, remocoesTamanho, remocoesExpiracao));
+        return item;
+    }
+
+    static String diagnosticar(long acessos, double taxaAcerto, long cargas, long remocoesTamanho, long remocoesExpiracao) {
+        if (acessos < ACESSOS_MINIMOS_DIAGNOSTICO) {
+            return "Poucos acessos para avaliar";
+        }
+        if (cargas > 0 && (double) remocoesTamanho / cargas > LIMITE_PRESSAO) {
+            return "L1 pequeno: entradas saem por tamanho e são recarregadas";
+        }
+        if (cargas > 0 && (double) remocoesExpiracao / cargas > LIMITE_PRESSAO && taxaAcerto < LIMITE_ACERTO_BAIXO) {
+            return "TTL curto: entradas expiram antes de serem reaproveitadas";
+        }
+        if (taxaAcerto < LIMITE_ACERTO_BAIXO) {
+            return "Pouco reuso: a chave varia demais ou o cache não compensa";
+        }
+        return "OK";
+    }
+
+    private long contar(String nome, String cache, String tag, String valor) {
+        return contar(meterRegistry.find(nome).tag("cache", cache).tag(tag, valor));
+    }
+
+    private static long contar(Search busca) {
+        Counter contador = busca.counter();
+        return contador != null ? (long) contador.count() : 0;
+    }
+
+    private double medir(String nome, String cache) {
+        Gauge medidor = meterRegistry.find(nome).tag("cache", cache).gauge();
+        return medidor != null ? medidor.value() : 0.0;
+    }
+
+    private static double razao(long parte, long total) {
+        return total > 0 ? Math.round(parte * 1000.0 / total) / 1000.0 : 0.0;
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100.0) / 100.0;
+    }
+}
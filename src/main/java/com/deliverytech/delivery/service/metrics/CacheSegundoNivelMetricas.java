@@ -0,0 +1,117 @@
+package com.deliverytech.delivery.service.metrics;
+
+import com.deliverytech.delivery.config.CacheSegundoNivelConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Métricas do cache de segundo nível do Hibernate, por região do catálogo.
+ * <p>
+ * Lê as estatísticas do Hibernate e expõe acertos, erros e inserções de cada
+ * região, a taxa de acerto e os mesmos números do cache de consultas (região
+ * "consultas"). As estatísticas só são coletadas com
+ * {@code app.cache.l2.estatisticas=true}; desligadas, os contadores ficam em zero.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class CacheSegundoNivelMetricas {
+
+    static final String REGIAO_CONSULTAS = "consultas";
+
+    private final Statistics estatisticas;
+
+    public CacheSegundoNivelMetricas(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String regiao : CacheSegundoNivelConfig.REGIOES_CATALOGO) {
+            registrar(meterRegistry, regiao,
+                    e -> contagem(e, regiao, CacheRegionStatistics::getHitCount),
+                    e -> contagem(e, regiao, CacheRegionStatistics::getMissCount),
+                    e -> contagem(e, regiao, CacheRegionStatistics::getPutCount));
+        }
+        registrar(meterRegistry, REGIAO_CONSULTAS,
+                Statistics::getQueryCacheHitCount,
+                Statistics::getQueryCacheMissCount,
+                Statistics::getQueryCachePutCount);
+    }
+
+    /**
+     * Acertos, erros e taxa de acerto de cada região (inclui "consultas").
+     */
+    public Map<String, Map<String, Object>> resumo() {
+        Map<String, Map<String, Object>> resumo = new LinkedHashMap<>();
+        for (String regiao : CacheSegundoNivelConfig.REGIOES_CATALOGO) {
+            resumo.put(regiao, resumoRegiao(
+                    contagem(estatisticas, regiao, CacheRegionStatistics::getHitCount),
+                    contagem(estatisticas, regiao, CacheRegionStatistics::getMissCount)));
+        }
+        resumo.put(REGIAO_CONSULTAS, resumoRegiao(
+                estatisticas.getQueryCacheHitCount(), estatisticas.getQueryCacheMissCount()));
+        return resumo;
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void registrar(MeterRegistry meterRegistry, String regiao,
+                           ToDoubleFunction<Statistics> acertos,
+                           ToDoubleFunction<Statistics> erros,
+                           ToDoubleFunction<Statistics> insercoes) {
+        FunctionCounter.builder("delivery.cache.l2.acertos", estatisticas, acertos)
+                .description("Leituras servidas pelo cache de segundo nível")
+                .tag("regiao", regiao)
+                .register(meterRegistry);
+        FunctionCounter.builder("delivery.cache.l2.erros", estatisticas, erros)
+                .description("Leituras que não encontraram a entrada no cache de segundo nível")
+                .tag("regiao", regiao)
+                .register(meterRegistry);
+        FunctionCounter.builder("delivery.cache.l2.insercoes", estatisticas, insercoes)
+                .description("Entradas gravadas no cache de segundo nível")
+                .tag("regiao", regiao)
+                .register(meterRegistry);
+        Gauge.builder("delivery.cache.l2.taxa.acerto", estatisticas,
+                        e -> taxaAcerto(acertos.applyAsDouble(e), erros.applyAsDouble(e)))
+                .description("Fração das leituras servidas pelo cache (0 a 1)")
+                .tag("regiao", regiao)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Contagem de uma região; 0 enquanto a região ainda não existe no Hibernate.
+     */
+    private static long contagem(Statistics estatisticas, String regiao,
+                                 ToLongFunction<CacheRegionStatistics> campo) {
+        try {
+            CacheRegionStatistics regiaoEstatisticas = estatisticas.getDomainDataRegionStatistics(regiao);
+            return regiaoEstatisticas != null ? campo.applyAsLong(regiaoEstatisticas) : 0;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, Object> resumoRegiao(long acertos, long erros) {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("acertos", acertos);
+        resumo.put("erros", erros);
+        resumo.put("taxa_acerto", Math.round(taxaAcerto(acertos, erros) * 1000) / 1000.0);
+        return resumo;
+    }
+
+    private static double taxaAcerto(double acertos, double erros) {
+        double total = acertos + erros;
+        return total == 0 ? 0 : acertos / total;
+    }
+}
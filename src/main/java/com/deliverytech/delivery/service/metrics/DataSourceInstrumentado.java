@@ -0,0 +1,117 @@
+package com.deliverytech.delivery.service.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * DataSource que envolve o pool real e avisa o {@link PoolConexoesMonitor}
+ * quando uma conexão é obtida, usada pela primeira vez e devolvida.
+ * <p>
+ * Estende {@link DelegatingDataSource} para que o Spring Boot continue
+ * enxergando o HikariCP por baixo (métricas {@code hikaricp.*}, health "db").
+ */
+public class DataSourceInstrumentado extends DelegatingDataSource {
+
+    /** Métodos que executam SQL: o primeiro deles identifica o método transacional. */
+    private static final Set<String> COMANDOS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private final ObjectProvider<PoolConexoesMonitor> monitor;
+
+    public DataSourceInstrumentado(DataSource alvo, ObjectProvider<PoolConexoesMonitor> monitor) {
+        super(alvo);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrumentar(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrumentar(() -> super.getConnection(username, password));
+    }
+
+    private Connection instrumentar(Aquisicao aquisicao) throws SQLException {
+        // Lazy: a primeira conexão pode ser pedida antes do monitor existir (ex: init do schema)
+        PoolConexoesMonitor atual = monitor.getIfAvailable();
+        if (atual == null) {
+            return aquisicao.obter();
+        }
+
+        long inicio = System.nanoTime();
+        Connection conexao;
+        try {
+            conexao = aquisicao.obter();
+        } catch (SQLException e) {
+            atual.falhaAquisicao(System.nanoTime() - inicio, e);
+            throw e;
+        }
+        PoolConexoesMonitor.Emprestimo emprestimo = atual.adquirida(System.nanoTime() - inicio);
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConexaoMonitorada(conexao, emprestimo, atual));
+    }
+
+    @FunctionalInterface
+    private interface Aquisicao {
+        Connection obter() throws SQLException;
+    }
+
+    /**
+     * Proxy da conexão: devolve o empréstimo no {@code close()}.
+     */
+    private static final class ConexaoMonitorada implements InvocationHandler {
+
+        private final Connection alvo;
+        private final PoolConexoesMonitor.Emprestimo emprestimo;
+        private final PoolConexoesMonitor monitor;
+        private boolean fechada;
+
+        ConexaoMonitorada(Connection alvo, PoolConexoesMonitor.Emprestimo emprestimo, PoolConexoesMonitor monitor) {
+            this.alvo = alvo;
+            this.emprestimo = emprestimo;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexaoMonitorada[" + alvo + "]";
+                case "close":
+                    try {
+                        return method.invoke(alvo, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (!fechada) {
+                            fechada = true;
+                            monitor.devolvida(emprestimo);
+                        }
+                    }
+                default:
+                    if (COMANDOS.contains(method.getName())) {
+                        monitor.identificarMetodo(emprestimo);
+                    }
+                    try {
+                        return method.invoke(alvo, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
+}
@@ -1,21 +1,51 @@
 package com.deliverytech.delivery.service.metrics;
 
+import com.deliverytech.delivery.repository.ProdutoRepository;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Serviço centralizado para gerenciamento e exposição de métricas da aplicação
  * usando o Micrometer.
+ * <p>
+ * Além dos contadores globais, expõe timers por restaurante (criação de pedido,
+ * cálculo de preço, atualização de status) e por método de pagamento, com
+ * histograma de percentis e buckets de SLO. A tag "restaurante" passa pelo
+ * {@link RestauranteTagGuard}, que limita a cardinalidade ao top-K.
  */
 @Service
 public class MetricsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MetricsService.class);
+
+    // --- Buckets de SLO (latência) compartilhados pelos timers tagueados ---
+    private static final Duration[] SLO_LATENCIA = {
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2)
+    };
+
+    // --- Buckets de SLO (valor do pedido em Reais) ---
+    private static final double[] SLO_VALOR_PEDIDO = {25, 50, 100, 200, 500};
+
+    // Métodos de pagamento conhecidos (qualquer outro valor vira "other" para limitar a cardinalidade)
+    private static final Set<String> METODOS_PAGAMENTO = Set.of(
+            "PIX", "DINHEIRO", "CARTAO DE CREDITO", "CARTAO DE DEBITO");
+
     private final MeterRegistry meterRegistry;
+    private final RestauranteTagGuard restauranteTagGuard;
+    private final ProdutoRepository produtoRepository;
 
     // --- Contadores (Counters) ---
     private final Counter pedidosProcessados;
@@ -30,11 +60,15 @@ public class MetricsService {
     // --- Medidores (Gauges) ---
     // Usamos Atomic para garantir segurança em ambientes concorrentes
     private final AtomicInteger usuariosAtivos = new AtomicInteger(0);
-    private final AtomicLong produtosEmEstoque = new AtomicLong(1000);
+    private final AtomicLong produtosEmEstoque = new AtomicLong(0);
 
     
-    public MetricsService(MeterRegistry meterRegistry) {
+    public MetricsService(MeterRegistry meterRegistry,
+                          RestauranteTagGuard restauranteTagGuard,
+                          ProdutoRepository produtoRepository) {
         this.meterRegistry = meterRegistry;
+        this.restauranteTagGuard = restauranteTagGuard;
+        this.produtoRepository = produtoRepository;
 
         // --- Inicialização dos Contadores ---
         this.pedidosProcessados = Counter.builder("delivery.pedidos.total")
@@ -71,7 +105,7 @@ public class MetricsService {
                 .register(meterRegistry);
         
         Gauge.builder("delivery.produtos.estoque", produtosEmEstoque, AtomicLong::get)
-                .description("Produtos em estoque")
+                .description("Soma do estoque dos produtos disponíveis (atualizada periodicamente)")
                 .register(meterRegistry);
     }
 
@@ -142,6 +176,96 @@ public class MetricsService {
         sample.stop(tempoConsultaBanco);
     }
 
+    // --- Métodos para Timers Tagueados (por restaurante / pagamento) ---
+
+    /**
+     * Inicia um 'sample' genérico para os timers tagueados abaixo.
+     * @return Um Sample que deve ser parado com um dos métodos 'registrar...'.
+     */
+    public Timer.Sample iniciarTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Registra o tempo de criação de um pedido, por restaurante e resultado.
+     * @param sample        O Sample retornado por 'iniciarTimer' ou 'iniciarTimerPedido'.
+     * @param restauranteId ID do restaurante do pedido.
+     * @param resultado     "sucesso" ou o nome simples da exceção.
+     */
+    public void registrarCriacaoPedido(Timer.Sample sample, Long restauranteId, String resultado) {
+        if (sample == null) return;
+        sample.stop(timerPorRestaurante("delivery.pedido.criacao.tempo",
+                "Tempo de criação de pedidos por restaurante", restauranteId)
+                .tag("resultado", resultado)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Registra o tempo do cálculo de preço (preview do pedido), por restaurante.
+     */
+    public void registrarCalculoPreco(Timer.Sample sample, Long restauranteId) {
+        if (sample == null) return;
+        sample.stop(timerPorRestaurante("delivery.pedido.preco.tempo",
+                "Tempo de cálculo de preço de pedidos por restaurante", restauranteId)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Registra o tempo de atualização de status de um pedido, por restaurante e novo status.
+     */
+    public void registrarAtualizacaoStatus(Timer.Sample sample, Long restauranteId, String status) {
+        if (sample == null) return;
+        sample.stop(timerPorRestaurante("delivery.pedido.status.tempo",
+                "Tempo de atualização de status de pedidos por restaurante", restauranteId)
+                .tag("status", status != null ? status : "desconhecido")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Registra o tempo de processamento de pagamento, por método e resultado.
+     */
+    public void registrarPagamento(Timer.Sample sample, String metodoPagamento, boolean sucesso) {
+        if (sample == null) return;
+        String metodo = metodoPagamento != null ? metodoPagamento.toUpperCase(Locale.ROOT) : "";
+        sample.stop(Timer.builder("delivery.pagamento.tempo")
+                .description("Tempo de processamento de pagamentos")
+                .tag("metodo", METODOS_PAGAMENTO.contains(metodo) ? metodo : RestauranteTagGuard.OUTROS)
+                .tag("resultado", sucesso ? "aprovado" : "recusado")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLO_LATENCIA)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry));
+    }
+
+    /**
+     * Registra o valor de um pedido no histograma por restaurante.
+     * @param restauranteId ID do restaurante.
+     * @param valor         Valor total do pedido em Reais.
+     */
+    public void registrarValorPedido(Long restauranteId, double valor) {
+        DistributionSummary.builder("delivery.pedido.valor")
+                .description("Distribuição do valor dos pedidos por restaurante")
+                .baseUnit("reais")
+                .tag(RestauranteTagGuard.TAG, restauranteTagGuard.tagPara(restauranteId))
+                .serviceLevelObjectives(SLO_VALOR_PEDIDO)
+                .register(meterRegistry)
+                .record(valor);
+    }
+
+    /**
+     * Monta um Timer com a tag de restaurante (limitada pelo guard), histograma e SLOs.
+     */
+    private Timer.Builder timerPorRestaurante(String nome, String descricao, Long restauranteId) {
+        return Timer.builder(nome)
+                .description(descricao)
+                .tag(RestauranteTagGuard.TAG, restauranteTagGuard.tagPara(restauranteId))
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLO_LATENCIA)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
     // --- Métodos para Gauges ---
 
     /**
@@ -159,4 +283,18 @@ public class MetricsService {
     public void setProdutosEmEstoque(long quantidade) {
         produtosEmEstoque.set(quantidade);
     }
+
+    /**
+     * Atualiza o Gauge de estoque com a soma real do estoque dos produtos disponíveis.
+     * Roda periodicamente para que o scrape do Prometheus nunca consulte o banco.
+     */
+    @Scheduled(fixedDelayString = "${app.metrics.estoque-refresh-ms:30000}")
+    public void atualizarEstoqueAgregado() {
+        try {
+            Long total = produtoRepository.somarEstoqueDisponivel();
+            produtosEmEstoque.set(total != null ? total : 0L);
+        } catch (Exception e) {
+            logger.warn("[METRICS] Não foi possível atualizar o estoque agregado: {}", e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,442 @@
+package com.deliverytech.delivery.service.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Observabilidade do pool de conexões (HikariCP).
+ * <p>
+ * Recebe os eventos do {@link DataSourceInstrumentado} e:
+ * <ul>
+ *   <li>mede a espera para obter uma conexão e o tempo em que ela fica emprestada,
+ *       com tags do endpoint (padrão da rota) e do método transacional;</li>
+ *   <li>detecta vazamentos: conexões emprestadas além do limite são logadas com o
+ *       correlationId da requisição e, se a captura estiver ligada, a pilha de quem
+ *       as obteve (criar um {@link Throwable} por empréstimo é caro, por isso vem
+ *       desligada e pode ser amostrada);</li>
+ *   <li>acompanha a saturação do pool (todas as conexões em uso e threads na fila),
+ *       usada pelo health check {@code poolConexoes} e pelo dashboard.</li>
+ * </ul>
+ */
+@Component
+public class PoolConexoesMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolConexoesMonitor.class);
+
+    static final String SEM_REQUISICAO = "segundo-plano";
+    static final String ANTES_DO_CONTROLLER = "antes-do-controller";
+    static final String SEM_TRANSACAO = "sem-transacao";
+    private static final int MAX_VAZAMENTOS_RECENTES = 20;
+    private static final int FRAMES_POR_VAZAMENTO = 15;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<DataSource> dataSources;
+    private final Duration limiteVazamento;
+    private final Duration janelaSaturacao;
+    private final boolean capturarPilha;
+    private final int amostragemPilha;
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private final Map<Long, Emprestimo> abertos = new ConcurrentHashMap<>();
+    private final Map<Origem, Timer> timersEspera = new ConcurrentHashMap<>();
+    private final Map<Origem, Timer> timersUso = new ConcurrentHashMap<>();
+    private final Counter falhasAquisicao;
+    private final Counter vazamentos;
+    private final Deque<Map<String, Object>> vazamentosRecentes = new ArrayDeque<>();
+
+    /** Início (nanoTime) da saturação contínua do pool, ou -1 se não está saturado. */
+    private volatile long saturadoDesde = -1;
+    private volatile HikariPoolMXBean pool;
+
+    public PoolConexoesMonitor(MeterRegistry meterRegistry,
+                               ObjectProvider<DataSource> dataSources,
+                               @Value("${app.datasource.monitor.vazamento-limite-ms:10000}") long limiteVazamentoMs,
+                               @Value("${app.datasource.monitor.saturacao-janela-ms:10000}") long janelaSaturacaoMs,
+                               @Value("${app.datasource.monitor.capturar-pilha:false}") boolean capturarPilha,
+                               @Value("${app.datasource.monitor.capturar-pilha-amostragem:1}") int amostragemPilha) {
+        this.meterRegistry = meterRegistry;
+        this.dataSources = dataSources;
+        this.limiteVazamento = Duration.ofMillis(limiteVazamentoMs);
+        this.janelaSaturacao = Duration.ofMillis(janelaSaturacaoMs);
+        this.capturarPilha = capturarPilha;
+        this.amostragemPilha = Math.max(1, amostragemPilha);
+
+        this.falhasAquisicao = Counter.builder("delivery.pool.conexao.falhas")
+                .description("Tentativas de obter conexão que falharam (ex: timeout do pool)")
+                .register(meterRegistry);
+        this.vazamentos = Counter.builder("delivery.pool.vazamentos")
+                .description("Conexões emprestadas além do limite de vazamento")
+                .register(meterRegistry);
+        Gauge.builder("delivery.pool.vazamentos.abertos", this, PoolConexoesMonitor::contarVazamentosAbertos)
+                .description("Conexões suspeitas de vazamento ainda não devolvidas")
+                .register(meterRegistry);
+        Gauge.builder("delivery.pool.saturado", this, m -> m.saturadoDesde >= 0 ? 1 : 0)
+                .description("1 enquanto o pool está saturado (sem conexões livres e com threads esperando)")
+                .register(meterRegistry);
+    }
+
+    // ==========================================================
+    // --- EVENTOS DO DATASOURCE ---
+    // ==========================================================
+
+    /**
+     * Registra uma conexão recém-obtida do pool.
+     *
+     * @param esperaNanos Tempo gasto em {@code getConnection()}.
+     * @return O empréstimo, a ser devolvido em {@link #devolvida(Emprestimo)}.
+     */
+    Emprestimo adquirida(long esperaNanos) {
+        long id = sequencia.incrementAndGet();
+        // Pilha só em 1 de cada N empréstimos: o vazamento recorrente acaba caindo na amostra
+        boolean comPilha = capturarPilha && id % amostragemPilha == 0;
+        Emprestimo emprestimo = new Emprestimo(id, System.nanoTime(), esperaNanos,
+                endpointAtual(), MDC.get("correlationId"), Thread.currentThread().getName(),
+                comPilha ? new Throwable("Conexão obtida aqui") : null);
+        abertos.put(emprestimo.id, emprestimo);
+        return emprestimo;
+    }
+
+    /**
+     * Chamado no primeiro comando SQL da conexão: nesse ponto a transação do
+     * Spring já está sincronizada com a thread e tem nome (classe.método).
+     */
+    void identificarMetodo(Emprestimo emprestimo) {
+        if (emprestimo.metodo == null) {
+            emprestimo.metodo = metodoTransacionalAtual();
+        }
+    }
+
+    void devolvida(Emprestimo emprestimo) {
+        if (abertos.remove(emprestimo.id) == null) {
+            return; // Já devolvida
+        }
+        long usoNanos = System.nanoTime() - emprestimo.inicioNanos;
+        Origem origem = new Origem(emprestimo.endpoint, emprestimo.metodo != null ? emprestimo.metodo : SEM_TRANSACAO);
+        timersEspera.computeIfAbsent(origem, o -> criarTimer("delivery.pool.conexao.espera",
+                "Espera para obter uma conexão do pool", o)).record(emprestimo.esperaNanos, TimeUnit.NANOSECONDS);
+        timersUso.computeIfAbsent(origem, o -> criarTimer("delivery.pool.conexao.uso",
+                "Tempo em que a conexão ficou emprestada", o)).record(usoNanos, TimeUnit.NANOSECONDS);
+
+        if (emprestimo.reportado) {
+            logger.info("[POOL] Conexão suspeita de vazamento devolvida após {} ms (correlationId={}, endpoint={})",
+                    TimeUnit.NANOSECONDS.toMillis(usoNanos), emprestimo.correlationId, emprestimo.endpoint);
+        }
+    }
+
+    void falhaAquisicao(long esperaNanos, SQLException erro) {
+        falhasAquisicao.increment();
+        logger.warn("[POOL] Falha ao obter conexão após {} ms (correlationId={}, endpoint={}): {}",
+                TimeUnit.NANOSECONDS.toMillis(esperaNanos), MDC.get("correlationId"), endpointAtual(),
+                erro.getMessage());
+    }
+
+    // ==========================================================
+    // --- VERIFICAÇÃO PERIÓDICA (VAZAMENTOS E SATURAÇÃO) ---
+    // ==========================================================
+
+    @Scheduled(fixedDelayString = "${app.datasource.monitor.verificacao-ms:5000}")
+    public void verificar() {
+        verificarVazamentos();
+        verificarSaturacao();
+    }
+
+    void verificarVazamentos() {
+        long agora = System.nanoTime();
+        for (Emprestimo emprestimo : abertos.values()) {
+            long usoNanos = agora - emprestimo.inicioNanos;
+            if (emprestimo.reportado || usoNanos < limiteVazamento.toNanos()) {
+                continue;
+            }
+            emprestimo.reportado = true;
+            vazamentos.increment();
+
+            Map<String, Object> vazamento = new LinkedHashMap<>();
+            vazamento.put("detectadoEm", Instant.now().toString());
+            vazamento.put("emprestadaHaMs", TimeUnit.NANOSECONDS.toMillis(usoNanos));
+            vazamento.put("correlationId", emprestimo.correlationId);
+            vazamento.put("endpoint", emprestimo.endpoint);
+            vazamento.put("metodo", emprestimo.metodo != null ? emprestimo.metodo : SEM_TRANSACAO);
+            vazamento.put("thread", emprestimo.thread);
+            vazamento.put("pilha", resumirPilha(emprestimo.origem));
+            synchronized (vazamentosRecentes) {
+                vazamentosRecentes.addFirst(vazamento);
+                if (vazamentosRecentes.size() > MAX_VAZAMENTOS_RECENTES) {
+                    vazamentosRecentes.removeLast();
+                }
+            }
+
+            // A pilha vai como "exceção" para o log mostrar onde a conexão foi obtida
+            logger.warn("[POOL] Possível vazamento: conexão emprestada há {} ms (correlationId={}, endpoint={}, metodo={}, thread={})",
+                    vazamento.get("emprestadaHaMs"), emprestimo.correlationId, emprestimo.endpoint,
+                    vazamento.get("metodo"), emprestimo.thread, emprestimo.origem);
+        }
+    }
+
+    void verificarSaturacao() {
+        EstadoPool estado = estado();
+        if (estado == null) {
+            return;
+        }
+        if (estado.saturado()) {
+            if (saturadoDesde < 0) {
+                saturadoDesde = System.nanoTime();
+                logger.warn("[POOL] Pool saturado: {}/{} conexões em uso e {} threads esperando",
+                        estado.ativas(), estado.maximo(), estado.aguardando());
+            }
+        } else if (saturadoDesde >= 0) {
+            logger.info("[POOL] Pool normalizado após {} ms de saturação", tempoSaturado().toMillis());
+            saturadoDesde = -1;
+        }
+    }
+
+    // ==========================================================
+    // --- CONSULTAS (HEALTH CHECK E DASHBOARD) ---
+    // ==========================================================
+
+    /**
+     * Estado atual do pool, ou {@code null} se o DataSource não é HikariCP
+     * (ou o pool ainda não foi iniciado).
+     */
+    public EstadoPool estado() {
+        HikariPoolMXBean mxBean = pool();
+        if (mxBean == null) {
+            return null;
+        }
+        return new EstadoPool(mxBean.getActiveConnections(), mxBean.getIdleConnections(),
+                mxBean.getTotalConnections(), maximoConexoes(), mxBean.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Há quanto tempo o pool está saturado sem interrupção ({@link Duration#ZERO} se não está).
+     */
+    public Duration tempoSaturado() {
+        long desde = saturadoDesde;
+        return desde < 0 ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - desde);
+    }
+
+    public Duration getJanelaSaturacao() {
+        return janelaSaturacao;
+    }
+
+    public long contarVazamentosAbertos() {
+        return abertos.values().stream().filter(e -> e.reportado).count();
+    }
+
+    /**
+     * Resumo para o dashboard: estado do pool, origens que mais seguram conexões
+     * e os vazamentos recentes.
+     */
+    public Map<String, Object> resumo(int limiteOrigens) {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        EstadoPool estado = estado();
+        if (estado != null) {
+            resumo.put("ativas", estado.ativas());
+            resumo.put("ociosas", estado.ociosas());
+            resumo.put("total", estado.total());
+            resumo.put("maximo", estado.maximo());
+            resumo.put("aguardando", estado.aguardando());
+            resumo.put("utilizacao", estado.utilizacao());
+        }
+        resumo.put("saturadoHaMs", tempoSaturado().toMillis());
+        resumo.put("emprestadas", abertos.size());
+        resumo.put("falhasAquisicao", (long) falhasAquisicao.count());
+        resumo.put("vazamentosTotal", (long) vazamentos.count());
+        resumo.put("vazamentosAbertos", contarVazamentosAbertos());
+
+        resumo.put("origens", timersUso.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<Origem, Timer> e) ->
+                        e.getValue().totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .limit(limiteOrigens)
+                .map(e -> resumirOrigem(e.getKey(), e.getValue()))
+                .collect(Collectors.toList()));
+
+        synchronized (vazamentosRecentes) {
+            resumo.put("vazamentosRecentes", new ArrayList<>(vazamentosRecentes));
+        }
+        return resumo;
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private Map<String, Object> resumirOrigem(Origem origem, Timer uso) {
+        Timer espera = timersEspera.get(origem);
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("endpoint", origem.endpoint());
+        item.put("metodo", origem.metodo());
+        item.put("emprestimos", uso.count());
+        item.put("usoTotalMs", Math.round(uso.totalTime(TimeUnit.MILLISECONDS)));
+        item.put("usoMedioMs", arredondar(uso.mean(TimeUnit.MILLISECONDS)));
+        item.put("usoMaxMs", arredondar(uso.max(TimeUnit.MILLISECONDS)));
+        item.put("esperaMediaMs", espera != null ? arredondar(espera.mean(TimeUnit.MILLISECONDS)) : 0.0);
+        item.put("esperaMaxMs", espera != null ? arredondar(espera.max(TimeUnit.MILLISECONDS)) : 0.0);
+        return item;
+    }
+
+    private Timer criarTimer(String nome, String descricao, Origem origem) {
+        return Timer.builder(nome)
+                .description(descricao)
+                .tag("endpoint", origem.endpoint())
+                .tag("metodo", origem.metodo())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Endpoint da requisição atual ("GET /api/pedidos/{id}"). Usa o padrão da rota
+     * (não a URI) para manter a cardinalidade das tags limitada.
+     */
+    static String endpointAtual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (!(atributos instanceof ServletRequestAttributes servlet)) {
+            return SEM_REQUISICAO;
+        }
+        HttpServletRequest request = servlet.getRequest();
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Ex: filtros de segurança carregando o usuário antes do DispatcherServlet
+        return padrao != null ? request.getMethod() + " " + padrao : ANTES_DO_CONTROLLER;
+    }
+
+    /**
+     * Método transacional atual, sem o pacote ("PedidoServiceImpl.criarPedido").
+     */
+    static String metodoTransacionalAtual() {
+        String nome = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (nome == null) {
+            return SEM_TRANSACAO;
+        }
+        int fimClasse = nome.lastIndexOf('.');
+        int inicioClasse = fimClasse > 0 ? nome.lastIndexOf('.', fimClasse - 1) : -1;
+        return nome.substring(inicioClasse + 1);
+    }
+
+    private HikariPoolMXBean pool() {
+        HikariPoolMXBean mxBean = pool;
+        if (mxBean == null) {
+            HikariDataSource hikari = hikari();
+            // O MXBean só existe depois que o pool é iniciado (primeira conexão)
+            mxBean = hikari != null ? hikari.getHikariPoolMXBean() : null;
+            pool = mxBean;
+        }
+        return mxBean;
+    }
+
+    private int maximoConexoes() {
+        HikariDataSource hikari = hikari();
+        return hikari != null ? hikari.getMaximumPoolSize() : 0;
+    }
+
+    private HikariDataSource hikari() {
+        DataSource dataSource = dataSources.getIfAvailable();
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static List<String> resumirPilha(Throwable origem) {
+        if (origem == null) {
+            return List.of();
+        }
+        return Arrays.stream(origem.getStackTrace())
+                .limit(FRAMES_POR_VAZAMENTO)
+                .map(StackTraceElement::toString)
+                .collect(Collectors.toList());
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100.0) / 100.0;
+    }
+
+    // ==========================================================
+    // --- TIPOS ---
+    // ==========================================================
+
+    /**
+     * Um empréstimo de conexão em andamento.
+     */
+    static final class Emprestimo {
+        final long id;
+        final long inicioNanos;
+        final long esperaNanos;
+        final String endpoint;
+        final String correlationId;
+        final String thread;
+        final Throwable origem;
+        volatile String metodo;
+        volatile boolean reportado;
+
+        Emprestimo(long id, long inicioNanos, long esperaNanos, String endpoint,
+                   String correlationId, String thread, Throwable origem) {
+            this.id = id;
+            this.inicioNanos = inicioNanos;
+            this.esperaNanos = esperaNanos;
+            this.endpoint = endpoint;
+            this.correlationId = correlationId;
+            this.thread = thread;
+            this.origem = origem;
+        }
+    }
+
+    /**
+     * Chave das métricas por origem (endpoint + método transacional).
+     */
+    record Origem(String endpoint, String metodo) {
+    }
+
+    /**
+     * Fotografia do pool no momento da consulta.
+     */
+    public record EstadoPool(int ativas, int ociosas, int total, int maximo, int aguardando) {
+
+        /** Sem conexões livres e com threads na fila esperando por uma. */
+        public boolean saturado() {
+            return aguardando > 0 && maximo > 0 && ativas >= maximo;
+        }
+
+        public double utilizacao() {
+            return maximo > 0 ? Math.round(ativas * 1000.0 / maximo) / 1000.0 : 0.0;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.deliverytech.delivery.service.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Guarda de cardinalidade para a tag "restaurante" das métricas.
+ * <p>
+ * Apenas os K restaurantes com mais eventos recentes recebem uma tag própria;
+ * todos os outros são agrupados em {@value #OUTROS}. Assim o número de séries
+ * no Prometheus fica limitado a K + 1 por métrica, não importa quantos
+ * restaurantes existam.
+ * <p>
+ * O ranking é recalculado periodicamente com decaimento (as contagens são
+ * divididas por 2 a cada ciclo), e as séries de restaurantes que saem do
+ * top-K são removidas do registry.
+ */
+@Component
+public class RestauranteTagGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteTagGuard.class);
+
+    /** Valor da tag usado para restaurantes fora do top-K (ou desconhecidos). */
+    public static final String OUTROS = "other";
+
+    /** Nome da tag aplicada às métricas por restaurante. */
+    public static final String TAG = "restaurante";
+
+    private final MeterRegistry meterRegistry;
+    private final int topK;
+
+    // Contagem de eventos por restaurante desde o último ciclo (com decaimento)
+    private final Map<Long, LongAdder> contagens = new ConcurrentHashMap<>();
+
+    // Conjunto atual de restaurantes com tag própria (trocado por inteiro a cada ciclo)
+    private volatile Set<Long> admitidos = Set.of();
+
+    public RestauranteTagGuard(MeterRegistry meterRegistry,
+                               @Value("${app.metrics.restaurantes-top-k:20}") int topK) {
+        this.meterRegistry = meterRegistry;
+        this.topK = topK;
+    }
+
+    /**
+     * Registra um evento do restaurante e retorna o valor de tag a ser usado.
+     * Enquanto o top-K não estiver cheio, novos restaurantes são admitidos
+     * imediatamente; depois disso, só entram no próximo recálculo.
+     *
+     * @param restauranteId ID do restaurante (pode ser nulo).
+     * @return O ID como texto, se estiver no top-K, ou {@value #OUTROS}.
+     */
+    public String tagPara(Long restauranteId) {
+        if (restauranteId == null) {
+            return OUTROS;
+        }
+        contagens.computeIfAbsent(restauranteId, id -> new LongAdder()).increment();
+
+        Set<Long> atuais = admitidos;
+        if (atuais.contains(restauranteId)) {
+            return restauranteId.toString();
+        }
+        if (atuais.size() < topK) {
+            synchronized (this) {
+                if (admitidos.size() < topK) {
+                    Set<Long> novos = new HashSet<>(admitidos);
+                    novos.add(restauranteId);
+                    admitidos = Set.copyOf(novos);
+                    return restauranteId.toString();
+                }
+            }
+        }
+        return OUTROS;
+    }
+
+    /**
+     * Recalcula o top-K a partir das contagens recentes, aplica o decaimento
+     * e remove do registry as séries dos restaurantes que saíram do ranking.
+     */
+    @Scheduled(fixedDelayString = "${app.metrics.restaurantes-recalculo-ms:60000}")
+    public synchronized void recalcular() {
+        Set<Long> novoTop = contagens.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(topK)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+
+        Set<Long> removidos = new HashSet<>(admitidos);
+        removidos.removeAll(novoTop);
+        admitidos = novoTop;
+
+        for (Long restauranteId : removidos) {
+            String tag = restauranteId.toString();
+            for (Meter meter : meterRegistry.getMeters()) {
+                if (tag.equals(meter.getId().getTag(TAG))) {
+                    meterRegistry.remove(meter);
+                }
+            }
+        }
+
+        // Decaimento: contagens antigas perdem peso; zeradas são descartadas
+        contagens.entrySet().removeIf(e -> {
+            long metade = e.getValue().sumThenReset() / 2;
+            e.getValue().add(metade);
+            return metade == 0 && !novoTop.contains(e.getKey());
+        });
+
+        if (!removidos.isEmpty()) {
+            logger.debug("[METRICS] Restaurantes removidos do top-{}: {}", topK, removidos);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.deliverytech.delivery.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diagnóstico de "pinning" de virtual threads.
+ * <p>
+ * Uma virtual thread fica presa ao carrier (platform thread) quando bloqueia
+ * dentro de um bloco {@code synchronized} ou de código nativo. Com poucos
+ * carriers, isso anula o ganho do modo de virtual threads.
+ * <p>
+ * O monitor assina o evento JFR {@code jdk.VirtualThreadPinned} (emitido
+ * quando o pinning passa do limite configurado) e:
+ * <ul>
+ *   <li>conta os eventos e a duração em métricas Micrometer;</li>
+ *   <li>agrupa por origem (primeiro frame da aplicação na pilha, ou o topo da pilha);</li>
+ *   <li>expõe um resumo em {@code /actuator/pinning}.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "pinning")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENTO_JFR = "jdk.VirtualThreadPinned";
+    private static final String PACOTE_APLICACAO = "com.deliverytech.";
+    private static final int MAX_ORIGENS = 100;
+    private static final int MAX_RECENTES = 50;
+    private static final int FRAMES_POR_EVENTO = 12;
+
+    private final boolean habilitado;
+    private final boolean threadsVirtuais;
+    private final Duration limite;
+    private final Counter eventos;
+    private final Timer duracao;
+
+    private final Map<String, LongAdder> porOrigem = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> recentes = new ArrayDeque<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinning.habilitado:true}") boolean habilitado,
+                                       @Value("${app.virtual-threads.pinning.limite-ms:20}") long limiteMs,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.habilitado = habilitado;
+        this.threadsVirtuais = threadsVirtuais;
+        this.limite = Duration.ofMillis(limiteMs);
+        this.eventos = Counter.builder("delivery.virtual.pinning.eventos")
+                .description("Vezes que uma virtual thread ficou presa ao carrier acima do limite")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("delivery.virtual.pinning.tempo")
+                .description("Duração dos períodos de pinning de virtual threads")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENTO_JFR).withThreshold(limite).withStackTrace();
+            stream.onEvent(EVENTO_JFR, this::registrar);
+            stream.startAsync();
+            logger.info("[PINNING] Monitor de pinning de virtual threads ativo (limite {} ms)", limite.toMillis());
+        } catch (Exception e) {
+            // JFR indisponível (ex: JVM sem suporte): a aplicação segue sem o diagnóstico
+            logger.warn("[PINNING] Não foi possível iniciar o monitor de pinning: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Trata um evento de pinning (chamado pela thread do JFR).
+     */
+    void registrar(RecordedEvent evento) {
+        Duration tempo = evento.getDuration();
+        List<String> pilha = resumirPilha(evento.getStackTrace());
+        String origem = origem(evento.getStackTrace(), pilha);
+
+        eventos.increment();
+        duracao.record(tempo.toNanos(), TimeUnit.NANOSECONDS);
+
+        // Cardinalidade limitada: origens novas além do limite entram em "other"
+        String chave = porOrigem.containsKey(origem) || porOrigem.size() < MAX_ORIGENS ? origem : "other";
+        porOrigem.computeIfAbsent(chave, c -> new LongAdder()).increment();
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("momento", evento.getStartTime().toString());
+        resumo.put("duracaoMs", tempo.toMillis());
+        resumo.put("thread", evento.getThread() != null ? evento.getThread().getJavaName() : null);
+        resumo.put("origem", origem);
+        resumo.put("pilha", pilha);
+        synchronized (recentes) {
+            recentes.addFirst(resumo);
+            if (recentes.size() > MAX_RECENTES) {
+                recentes.removeLast();
+            }
+        }
+        logger.debug("[PINNING] Virtual thread presa por {} ms em {}", tempo.toMillis(), origem);
+    }
+
+    /**
+     * Resumo exposto em {@code /actuator/pinning}.
+     */
+    @ReadOperation
+    public Map<String, Object> resumo() {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("monitorAtivo", stream != null);
+        resumo.put("threadsVirtuais", threadsVirtuais);
+        resumo.put("limiteMs", limite.toMillis());
+        resumo.put("totalEventos", (long) eventos.count());
+        resumo.put("tempoTotalMs", (long) duracao.totalTime(TimeUnit.MILLISECONDS));
+
+        List<Map<String, Object>> origens = new ArrayList<>();
+        porOrigem.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .forEach(e -> origens.add(Map.of("origem", e.getKey(), "eventos", e.getValue().sum())));
+        resumo.put("porOrigem", origens);
+
+        synchronized (recentes) {
+            resumo.put("recentes", new ArrayList<>(recentes));
+        }
+        resumo.put("geradoEm", Instant.now().toString());
+        return resumo;
+    }
+
+    private static List<String> resumirPilha(RecordedStackTrace stackTrace) {
+        List<String> pilha = new ArrayList<>();
+        if (stackTrace == null) {
+            return pilha;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (pilha.size() >= FRAMES_POR_EVENTO) {
+                break;
+            }
+            if (frame.isJavaFrame()) {
+                pilha.add(descrever(frame));
+            }
+        }
+        return pilha;
+    }
+
+    /**
+     * Origem do pinning: o primeiro frame da aplicação (mesmo abaixo dos frames
+     * resumidos) ou, se não houver, o topo da pilha.
+     */
+    private static String origem(RecordedStackTrace stackTrace, List<String> pilha) {
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(PACOTE_APLICACAO)) {
+                    return descrever(frame);
+                }
+            }
+        }
+        return pilha.isEmpty() ? "desconhecida" : pilha.get(0);
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,147 @@
+-- =================================================================
+-- V1: SCHEMA INICIAL (MySQL 8)
+--
+-- Tabelas, chaves únicas e estrangeiras como o Hibernate as criava com
+-- ddl-auto=update, antes do catálogo de índices (V2). Bancos que já
+-- existiam são marcados nesta versão pelo baseline do Flyway
+-- (spring.flyway.baseline-on-migrate) e recebem só as migrations seguintes.
+-- =================================================================
+
+CREATE TABLE usuario (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    role ENUM ('ADMIN','CLIENTE','ENTREGADOR','RESTAURANTE') NOT NULL,
+    ativo BIT NOT NULL,
+    data_criacao DATETIME(6) NOT NULL,
+    restaurante_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuario_email UNIQUE (email),
+    CONSTRAINT uk_usuario_restaurante UNIQUE (restaurante_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE cliente (
+    id BIGINT NOT NULL,
+    nome VARCHAR(100) NOT NULL,
+    cpf VARCHAR(11) NOT NULL,
+    telefone VARCHAR(15),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cliente_cpf UNIQUE (cpf)
+) ENGINE=InnoDB;
+
+CREATE TABLE endereco (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id BIGINT NOT NULL,
+    apelido VARCHAR(50) NOT NULL,
+    cep VARCHAR(8) NOT NULL,
+    rua VARCHAR(255) NOT NULL,
+    numero VARCHAR(20) NOT NULL,
+    complemento VARCHAR(255),
+    bairro VARCHAR(255) NOT NULL,
+    cidade VARCHAR(255) NOT NULL,
+    estado VARCHAR(2) NOT NULL,
+    latitude DECIMAL(10,8),
+    longitude DECIMAL(11,8),
+    ativo BIT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE restaurante (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(100) NOT NULL,
+    categoria VARCHAR(255) NOT NULL,
+    telefone VARCHAR(255) NOT NULL,
+    taxa_entrega DECIMAL(38,2),
+    tempo_entrega INTEGER,
+    horario_funcionamento VARCHAR(255),
+    avaliacao DECIMAL(3,2),
+    ativo BIT,
+    endereco_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_restaurante_endereco UNIQUE (endereco_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE produto (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(100) NOT NULL,
+    descricao VARCHAR(255),
+    categoria VARCHAR(255),
+    preco_base DECIMAL(38,2) NOT NULL,
+    estoque INTEGER NOT NULL,
+    disponivel BIT,
+    restaurante_id BIGINT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE grupo_opcional (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    produto_id BIGINT NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    min_selecao INTEGER NOT NULL,
+    max_selecao INTEGER NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE item_opcional (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    grupo_opcional_id BIGINT NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    preco_adicional DECIMAL(38,2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE pedido (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    numero_pedido VARCHAR(255) NOT NULL,
+    data_pedido DATETIME(6),
+    status ENUM ('CANCELADO','CONFIRMADO','ENTREGUE','PENDENTE','PREPARANDO','SAIU_PARA_ENTREGA'),
+    subtotal DECIMAL(38,2),
+    taxa_entrega DECIMAL(38,2),
+    valor_total DECIMAL(38,2),
+    metodo_pagamento VARCHAR(255) NOT NULL,
+    troco_para DECIMAL(38,2),
+    observacoes TEXT,
+    cliente_id BIGINT NOT NULL,
+    restaurante_id BIGINT NOT NULL,
+    endereco_entrega_id BIGINT NOT NULL,
+    entregador_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_pedido_numero UNIQUE (numero_pedido)
+) ENGINE=InnoDB;
+
+CREATE TABLE itens_pedido (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    pedido_id BIGINT NOT NULL,
+    produto_id BIGINT NOT NULL,
+    quantidade INTEGER NOT NULL,
+    preco_unitario DECIMAL(38,2) NOT NULL,
+    subtotal DECIMAL(38,2) NOT NULL,
+    observacoes VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE item_pedido_opcional (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    item_pedido_id BIGINT NOT NULL,
+    item_opcional_id BIGINT NOT NULL,
+    preco_registrado DECIMAL(38,2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Chaves estrangeiras (o InnoDB cria um índice para cada uma que não tiver)
+ALTER TABLE usuario ADD CONSTRAINT fk_usuario_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+ALTER TABLE cliente ADD CONSTRAINT fk_cliente_usuario FOREIGN KEY (id) REFERENCES usuario (id);
+ALTER TABLE endereco ADD CONSTRAINT fk_endereco_usuario FOREIGN KEY (usuario_id) REFERENCES usuario (id);
+ALTER TABLE restaurante ADD CONSTRAINT fk_restaurante_endereco FOREIGN KEY (endereco_id) REFERENCES endereco (id);
+ALTER TABLE produto ADD CONSTRAINT fk_produto_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+ALTER TABLE grupo_opcional ADD CONSTRAINT fk_grupo_opcional_produto FOREIGN KEY (produto_id) REFERENCES produto (id);
+ALTER TABLE item_opcional ADD CONSTRAINT fk_item_opcional_grupo FOREIGN KEY (grupo_opcional_id) REFERENCES grupo_opcional (id);
+ALTER TABLE pedido ADD CONSTRAINT fk_pedido_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id);
+ALTER TABLE pedido ADD CONSTRAINT fk_pedido_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurante (id);
+ALTER TABLE pedido ADD CONSTRAINT fk_pedido_endereco_entrega FOREIGN KEY (endereco_entrega_id) REFERENCES endereco (id);
+ALTER TABLE pedido ADD CONSTRAINT fk_pedido_entregador FOREIGN KEY (entregador_id) REFERENCES usuario (id);
+ALTER TABLE itens_pedido ADD CONSTRAINT fk_itens_pedido_pedido FOREIGN KEY (pedido_id) REFERENCES pedido (id);
+ALTER TABLE itens_pedido ADD CONSTRAINT fk_itens_pedido_produto FOREIGN KEY (produto_id) REFERENCES produto (id);
+ALTER TABLE item_pedido_opcional ADD CONSTRAINT fk_item_pedido_opcional_item FOREIGN KEY (item_pedido_id) REFERENCES itens_pedido (id);
+ALTER TABLE item_pedido_opcional ADD CONSTRAINT fk_item_pedido_opcional_opcional FOREIGN KEY (item_opcional_id) REFERENCES item_opcional (id);
@@ -0,0 +1,42 @@
+-- =================================================================
+-- V2: ÍNDICES DAS CONSULTAS DOS REPOSITÓRIOS
+--
+-- Um índice composto por padrão de acesso: igualdades primeiro, depois a
+-- faixa ou a ordenação. Os mesmos índices ficam declarados nas entidades
+-- (@Table(indexes = ...)) para o schema que o Hibernate gera no H2; o
+-- CatalogoIndicesTest confere que as duas listas não divergem e o
+-- PlanoConsultasRepositorioTest roda EXPLAIN em cada consulta.
+-- =================================================================
+
+-- --- PEDIDO ---
+-- Listagens e relatórios por período (mais recentes primeiro, cursor por data + id)
+CREATE INDEX idx_pedido_data_id ON pedido (data_pedido, id);
+-- "Meus pedidos" e contador de pedidos ativos do cliente
+CREATE INDEX idx_pedido_cliente_data_id ON pedido (cliente_id, data_pedido, id);
+-- Filtro por status (com ou sem período), pendentes e contagem por status
+CREATE INDEX idx_pedido_status_data_id ON pedido (status, data_pedido, id);
+-- Painel do restaurante
+CREATE INDEX idx_pedido_restaurante_data_id ON pedido (restaurante_id, data_pedido, id);
+-- Entregas do entregador por status
+CREATE INDEX idx_pedido_entregador_status_data ON pedido (entregador_id, status, data_pedido);
+-- Pedidos acima de um valor
+CREATE INDEX idx_pedido_valor_total ON pedido (valor_total);
+
+-- --- PRODUTO ---
+-- Cardápio do restaurante e filtros da listagem (disponibilidade e faixa de preço)
+CREATE INDEX idx_produto_restaurante_disponivel_preco ON produto (restaurante_id, disponivel, preco_base);
+CREATE INDEX idx_produto_categoria_disponivel_preco ON produto (categoria, disponivel, preco_base);
+
+-- --- RESTAURANTE ---
+-- Busca pelo nome exato e ordem alfabética
+CREATE INDEX idx_restaurante_nome ON restaurante (nome);
+-- Restaurantes ativos, ordenados ou filtrados pela avaliação
+CREATE INDEX idx_restaurante_ativo_avaliacao ON restaurante (ativo, avaliacao);
+-- Filtro por categoria (com ou sem ativo)
+CREATE INDEX idx_restaurante_categoria_ativo ON restaurante (categoria, ativo);
+-- Filtros por faixa de taxa de entrega
+CREATE INDEX idx_restaurante_taxa_entrega ON restaurante (taxa_entrega);
+
+-- --- USUARIO ---
+-- Usuários ativos por perfil (o login por email usa uk_usuario_email)
+CREATE INDEX idx_usuario_role_ativo ON usuario (role, ativo);
@@ -0,0 +1,38 @@
+-- =================================================================
+-- V3: MODELO DE LEITURA DOS PEDIDOS (pedido_view)
+--
+-- Uma linha por pedido, já desnormalizada (nomes, endereço formatado,
+-- totais e itens em JSON): as listagens leem só esta tabela. Quem grava
+-- é o PedidoViewProjetor, na mesma transação das escritas do pedido.
+-- Sem FKs: a linha é uma cópia e a reconstrução apaga as órfãs.
+--
+-- Bancos que já têm pedidos: a view começa vazia e é reconstruída quando
+-- a aplicação sobe (ou por POST /api/admin/pedido-view/reconstruir).
+-- =================================================================
+
+CREATE TABLE pedido_view (
+    id BIGINT NOT NULL,
+    numero_pedido VARCHAR(255),
+    data_pedido DATETIME(6),
+    status ENUM ('CANCELADO','CONFIRMADO','ENTREGUE','PENDENTE','PREPARANDO','SAIU_PARA_ENTREGA'),
+    cliente_id BIGINT,
+    cliente_nome VARCHAR(255),
+    restaurante_id BIGINT,
+    restaurante_nome VARCHAR(255),
+    endereco_entrega VARCHAR(255),
+    entregador_id BIGINT,
+    entregador_nome VARCHAR(255),
+    quantidade_itens INTEGER,
+    subtotal DECIMAL(38,2),
+    taxa_entrega DECIMAL(38,2),
+    valor_total DECIMAL(38,2),
+    itens TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Mesmos padrões de acesso dos índices de pedido (V2)
+CREATE INDEX idx_pedido_view_data_id ON pedido_view (data_pedido, id);
+CREATE INDEX idx_pedido_view_cliente_data_id ON pedido_view (cliente_id, data_pedido, id);
+CREATE INDEX idx_pedido_view_status_data_id ON pedido_view (status, data_pedido, id);
+CREATE INDEX idx_pedido_view_restaurante_data_id ON pedido_view (restaurante_id, data_pedido, id);
+CREATE INDEX idx_pedido_view_entregador_status_data ON pedido_view (entregador_id, status, data_pedido);
@@ -0,0 +1,133 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Linha de base dos resultados JSON do JMH.
+ * <p>
+ * Com {@code -Dbenchmark.baseline.gravar=true} o resultado da execução é
+ * copiado para o arquivo de linha de base (em {@code benchmark/baseline/}, local:
+ * os números dependem da máquina); sem a propriedade, o resultado é comparado com
+ * ela: vazão ({@code primaryMetric}) e bytes alocados por operação
+ * ({@code gc.alloc.rate.norm}, do GCProfiler) de cada benchmark e combinação de
+ * parâmetros. A comparação é impressa e gravada em CSV ao lado do resultado.
+ */
+final class BaselineJmh {
+
+    static final String PROPRIEDADE_GRAVAR = "benchmark.baseline.gravar";
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private BaselineJmh() {
+    }
+
+    /** Medidas de um benchmark com uma combinação de parâmetros. */
+    record Medida(double vazao, String unidade, Double bytesPorOperacao) {
+    }
+
+    /** Uma linha da comparação; variações em % (positivo = aumentou). */
+    record Comparacao(String benchmark, Medida base, Medida atual) {
+
+        Double variacaoVazao() {
+            return variacao(base.vazao(), atual.vazao());
+        }
+
+        Double variacaoAlocacao() {
+            if (base.bytesPorOperacao() == null || atual.bytesPorOperacao() == null) {
+                return null;
+            }
+            return variacao(base.bytesPorOperacao(), atual.bytesPorOperacao());
+        }
+
+        private static Double variacao(double antes, double depois) {
+            return antes == 0 ? null : (depois - antes) / antes * 100;
+        }
+    }
+
+    /**
+     * Grava a linha de base (se pedido) ou compara {@code resultado} com ela.
+     *
+     * @return as linhas da comparação (vazia se gravou ou se ainda não há linha de base)
+     */
+    static List<Comparacao> gravarOuComparar(Path resultado, Path baseline) throws IOException {
+        if (Boolean.getBoolean(PROPRIEDADE_GRAVAR)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(resultado, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("[BENCHMARK] Linha de base gravada em %s%n", baseline);
+            return List.of();
+        }
+        if (!Files.exists(baseline)) {
+            System.out.printf("[BENCHMARK] Sem linha de base em %s (grave com -D%s=true)%n", baseline, PROPRIEDADE_GRAVAR);
+            return List.of();
+        }
+
+        Map<String, Medida> base = ler(baseline);
+        Map<String, Medida> atual = ler(resultado);
+        List<Comparacao> comparacoes = new ArrayList<>();
+        atual.forEach((benchmark, medida) -> {
+            if (base.containsKey(benchmark)) {
+                comparacoes.add(new Comparacao(benchmark, base.get(benchmark), medida));
+            }
+        });
+
+        List<String> csv = new ArrayList<>();
+        csv.add("benchmark,unidade,vazao_base,vazao_atual,vazao_variacao_pct,bytes_op_base,bytes_op_atual,bytes_op_variacao_pct");
+        for (Comparacao c : comparacoes) {
+            System.out.printf(Locale.ROOT, "[BENCHMARK] %-45s vazão %12.3f -> %12.3f %s (%s) | alocação %10s -> %10s B/op (%s)%n",
+                    c.benchmark(), c.base().vazao(), c.atual().vazao(), c.atual().unidade(), pct(c.variacaoVazao()),
+                    numero(c.base().bytesPorOperacao()), numero(c.atual().bytesPorOperacao()), pct(c.variacaoAlocacao()));
+            csv.add(String.join(",", c.benchmark(), c.atual().unidade(),
+                    numero(c.base().vazao()), numero(c.atual().vazao()), numero(c.variacaoVazao()),
+                    numero(c.base().bytesPorOperacao()), numero(c.atual().bytesPorOperacao()), numero(c.variacaoAlocacao())));
+        }
+        String nome = resultado.getFileName().toString().replaceFirst("\\.json$", "");
+        Files.write(resultado.resolveSibling(nome + "-comparacao.csv"), csv);
+        return comparacoes;
+    }
+
+    /** Medidas por "benchmark[param=valor,...]" de um arquivo JSON do JMH. */
+    static Map<String, Medida> ler(Path arquivo) throws IOException {
+        Map<String, Medida> medidas = new LinkedHashMap<>();
+        for (JsonNode execucao : JSON.readTree(arquivo.toFile())) {
+            String nome = execucao.path("benchmark").asText();
+            nome = nome.substring(nome.lastIndexOf('.', nome.lastIndexOf('.') - 1) + 1);
+
+            Map<String, String> parametros = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> campos = execucao.path("params").fields();
+            campos.forEachRemaining(campo -> parametros.put(campo.getKey(), campo.getValue().asText()));
+            if (!parametros.isEmpty()) {
+                nome += parametros.toString().replace('{', '[').replace('}', ']').replace(", ", ";");
+            }
+
+            JsonNode primaria = execucao.path("primaryMetric");
+            JsonNode alocacao = execucao.path("secondaryMetrics").path(ALOCACAO);
+            medidas.put(nome, new Medida(
+                    primaria.path("score").asDouble(),
+                    primaria.path("scoreUnit").asText(),
+                    alocacao.isMissingNode() ? null : alocacao.path("score").asDouble()));
+        }
+        return medidas;
+    }
+
+    private static String numero(Double valor) {
+        return valor == null || valor.isNaN() ? "" : String.format(Locale.ROOT, "%.3f", valor);
+    }
+
+    private static String pct(Double valor) {
+        return valor == null ? "n/d" : String.format(Locale.ROOT, "%+.1f%%", valor);
+    }
+}
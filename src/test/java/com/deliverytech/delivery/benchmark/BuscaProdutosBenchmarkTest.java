@@ -0,0 +1,177 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.busca.BuscaProdutosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark da busca de produtos: índice invertido em memória x consulta
+ * {@code LIKE '%termo%'} do banco.
+ * <p>
+ * Gera um catálogo sintético (nomes, categorias e descrições combinando um
+ * vocabulário de cardápio, com parte dos termos acentuada), monta o índice e
+ * mede, para cada consulta, a primeira página (20 itens) pelos dois caminhos:
+ * <ul>
+ *   <li>{@code indice}: {@link ProdutoService#pesquisarProdutos} (índice + carga
+ *       dos 20 produtos pelo id);</li>
+ *   <li>{@code like}: {@code findByNomeContainingIgnoreCaseAndDisponivelTrue}
+ *       paginado (LIKE + COUNT).</li>
+ * </ul>
+ * O resultado (p50, p99 e quantos produtos cada caminho encontrou, o que mostra
+ * a diferença de "acai" x "Açaí") é anexado em {@code target/benchmark/busca-produtos.csv}.
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark -Dtest=BuscaProdutosBenchmarkTest}. O catálogo
+ * padrão tem 100 mil produtos; para o cenário de 1 milhão use
+ * {@code -Dbenchmark.produtos=1000000} (H2 em memória: pede {@code -Xmx2g}).
+ * Outros parâmetros: {@code -Dbenchmark.iteracoes}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DirtiesContext // o catálogo gerado não deve vazar para outros testes
+class BuscaProdutosBenchmarkTest {
+
+    private static final int PRODUTOS = Integer.getInteger("benchmark.produtos", 100_000);
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 200);
+    private static final int LOTE_INSERCAO = 10_000;
+    private static final int TAMANHO_PAGINA = 20;
+    private static final Path RELATORIO = Path.of("target", "benchmark", "busca-produtos.csv");
+
+    private static final String[] PRATOS = {
+            "Pizza", "Hambúrguer", "Açaí", "Temaki", "Esfiha", "Pastel", "Lasanha", "Yakisoba",
+            "Salada", "Coxinha", "Pão de Queijo", "Tapioca", "Crepe", "Sorvete", "Suco", "Petit Gâteau"};
+    private static final String[] SABORES = {
+            "Calabresa", "Frango", "Queijo", "Chocolate", "Morango", "Carne", "Salmão", "Atum",
+            "Palmito", "Banana", "Limão", "Maracujá", "Cheddar", "Bacon", "Brócolis", "Camarão"};
+    private static final String[] CATEGORIAS = {
+            "Pizzas", "Lanches", "Japonesa", "Árabe", "Massas", "Sobremesas", "Bebidas", "Saudável"};
+    private static final String[] CONSULTAS = {
+            "pizza", "acai banana", "frango", "temaki salm", "chocolate morango", "pao de queijo"};
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private ProdutoService produtoService;
+    @Autowired private BuscaProdutosService buscaProdutos;
+
+    @BeforeEach
+    void gerarCatalogo() {
+        if (produtoRepository.count() >= PRODUTOS) {
+            return;
+        }
+        Long restauranteId = restauranteRepository.findAll().get(0).getId();
+        Random aleatorio = new Random(42);
+        List<Object[]> lote = new ArrayList<>(LOTE_INSERCAO);
+        for (int i = 0; i < PRODUTOS; i++) {
+            String prato = PRATOS[aleatorio.nextInt(PRATOS.length)];
+            String sabor = SABORES[aleatorio.nextInt(SABORES.length)];
+            String nome = prato + " " + sabor + " " + i;
+            String descricao = "Feito com " + SABORES[aleatorio.nextInt(SABORES.length)].toLowerCase(Locale.ROOT)
+                    + " e " + SABORES[aleatorio.nextInt(SABORES.length)].toLowerCase(Locale.ROOT);
+            lote.add(new Object[] {nome, descricao, BigDecimal.valueOf(10 + aleatorio.nextInt(90)),
+                    CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)], aleatorio.nextInt(10) > 0, 100, restauranteId});
+            if (lote.size() == LOTE_INSERCAO) {
+                inserir(lote);
+            }
+        }
+        inserir(lote);
+        buscaProdutos.reconstruir();
+    }
+
+    @Test
+    void indiceInvertidoVersusLike() throws IOException {
+        PageRequest primeiraPagina = PageRequest.of(0, TAMANHO_PAGINA);
+        for (String consulta : CONSULTAS) {
+            long[] encontradosIndice = new long[1];
+            long[] encontradosLike = new long[1];
+            double[] indice = medir(() -> {
+                Page<?> pagina = produtoService.pesquisarProdutos(consulta, primeiraPagina);
+                encontradosIndice[0] = pagina.getTotalElements();
+                return pagina.getNumberOfElements();
+            });
+            double[] like = medir(() -> {
+                Page<Produto> pagina = produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(
+                        consulta, primeiraPagina);
+                encontradosLike[0] = pagina.getTotalElements();
+                return pagina.getNumberOfElements();
+            });
+            registrar(consulta, "indice", indice, encontradosIndice[0]);
+            registrar(consulta, "like", like, encontradosLike[0]);
+            assertTrue(encontradosIndice[0] > 0, "O índice não encontrou nada para '" + consulta + "'");
+        }
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void inserir(List<Object[]> lote) {
+        jdbcTemplate.batchUpdate("INSERT INTO produto (nome, descricao, preco_base, categoria, disponivel, "
+                + "estoque, restaurante_id) VALUES (?, ?, ?, ?, ?, ?, ?)", lote);
+        lote.clear();
+    }
+
+    /** Aquece (1/4 das iterações, descartado) e devolve {p50, p99} em ms. */
+    private double[] medir(LongSupplier consulta) {
+        long sumidouro = 0;
+        for (int i = 0; i < ITERACOES / 4; i++) {
+            sumidouro += consulta.getAsLong();
+        }
+        long[] latencias = new long[ITERACOES];
+        for (int i = 0; i < ITERACOES; i++) {
+            long inicio = System.nanoTime();
+            sumidouro += consulta.getAsLong();
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(latencias);
+        assertTrue(sumidouro >= 0);
+        return new double[] {percentil(latencias, 0.50), percentil(latencias, 0.99)};
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6; // ms
+    }
+
+    private void registrar(String consulta, String caminho, double[] latencias, long encontrados) throws IOException {
+        String linha = String.format(Locale.ROOT, "%d,%s,%s,%d,%.3f,%.3f,%d%n",
+                PRODUTOS, consulta, caminho, ITERACOES, latencias[0], latencias[1], encontrados);
+        Files.createDirectories(RELATORIO.getParent());
+        if (!Files.exists(RELATORIO)) {
+            Files.writeString(RELATORIO, "produtos,consulta,caminho,iteracoes,p50_ms,p99_ms,encontrados\n");
+        }
+        Files.writeString(RELATORIO, linha, StandardOpenOption.APPEND);
+        System.out.printf("[BENCHMARK] %s", linha);
+    }
+}
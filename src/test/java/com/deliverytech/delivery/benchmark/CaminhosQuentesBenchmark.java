@@ -0,0 +1,299 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoDTO;
+import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Endereco;
+import com.deliverytech.delivery.entity.GrupoOpcional;
+import com.deliverytech.delivery.entity.ItemOpcional;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.ItemPedidoOpcional;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.security.jwt.JwtUtil;
+import com.deliverytech.delivery.service.impl.PrecificacaoPedido;
+import com.deliverytech.delivery.validation.CpfValidator;
+import com.deliverytech.delivery.validation.HorarioFuncionamentoValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark (JMH) dos caminhos quentes da API, sem Spring nem banco:
+ * <ul>
+ *   <li>resposta do pedido ({@link PedidoMapper#paraResponse(Pedido)}, passando pela linha de pedido_view);</li>
+ *   <li>precificação do pedido com validação de opcionais ({@link PrecificacaoPedido});</li>
+ *   <li>geração e validação de token ({@link JwtUtil});</li>
+ *   <li>{@link CpfValidator#isValid} e {@link HorarioFuncionamentoValidator};</li>
+ *   <li>construção do {@link ProdutoResponseDTO} a partir da entidade;</li>
+ *   <li>serialização JSON de um {@link ApiResponseWrapper} com uma página de produtos.</li>
+ * </ul>
+ * Vazão em operações por milissegundo; a alocação vem do GCProfiler.
+ * <p>
+ * Executado por {@link CaminhosQuentesBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CaminhosQuentesBenchmark {
+
+    static final String CPF = "529.982.247-25";
+    static final String HORARIO = "18:00-23:30";
+    static final int PRODUTOS_POR_PAGINA = 20;
+
+    private Pedido pedido;
+    private Carrinho carrinho;
+    private JwtUtil jwtUtil;
+    private Usuario usuario;
+    private String token;
+    private HorarioFuncionamentoValidator validadorHorario;
+    private Produto produto;
+    private ObjectMapper objectMapper;
+    private ApiResponseWrapper<List<ProdutoResponseDTO>> resposta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        pedido = criarPedido();
+        carrinho = criarCarrinho(criarPedido());
+        jwtUtil = criarJwtUtil();
+        usuario = criarUsuario();
+        token = jwtUtil.generateToken(usuario);
+        validadorHorario = new HorarioFuncionamentoValidator();
+        produto = criarProduto(1L);
+        objectMapper = criarObjectMapper();
+        resposta = criarResposta();
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoParaResponse() {
+        return PedidoMapper.paraResponse(pedido);
+    }
+
+    @Benchmark
+    public BigDecimal precificarPedido() {
+        return precificar(carrinho);
+    }
+
+    @Benchmark
+    public String jwtGerar() {
+        return jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public boolean jwtValidar() {
+        return jwtUtil.validateToken(token, usuario);
+    }
+
+    @Benchmark
+    public boolean cpfValido() {
+        return CpfValidator.isValid(CPF);
+    }
+
+    @Benchmark
+    public boolean horarioFuncionamento() {
+        return validadorHorario.isValid(HORARIO, null);
+    }
+
+    @Benchmark
+    public ProdutoResponseDTO produtoResponse() {
+        return new ProdutoResponseDTO(produto);
+    }
+
+    @Benchmark
+    public byte[] jsonApiResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(resposta);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    /**
+     * Entrada da precificação como o PedidoServiceImpl a tem depois de ir ao
+     * banco: itens enviados, produtos, grupos e opcionais já carregados.
+     */
+    static final class Carrinho {
+        final List<ItemPedidoDTO> itens = new ArrayList<>();
+        final Map<Long, Produto> produtos = new HashMap<>();
+        final Map<Long, List<GrupoOpcional>> gruposPorProduto = new HashMap<>();
+        Map<Long, ItemOpcional> opcionaisPorId;
+        BigDecimal taxaEntrega;
+    }
+
+    /**
+     * O que o PedidoServiceImpl faz com cada item: valida os opcionais, soma os
+     * adicionais, multiplica pela quantidade e fecha com a taxa de entrega.
+     */
+    static BigDecimal precificar(Carrinho carrinho) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (ItemPedidoDTO item : carrinho.itens) {
+            Produto produto = carrinho.produtos.get(item.getProdutoId());
+            List<ItemOpcional> opcionais = PrecificacaoPedido.validarOpcionais(produto, item.getOpcionaisIds(),
+                    carrinho.opcionaisPorId, carrinho.gruposPorProduto.get(produto.getId()));
+            BigDecimal precoUnitario = PrecificacaoPedido.precoUnitario(produto, opcionais);
+            subtotal = subtotal.add(PrecificacaoPedido.subtotalItem(precoUnitario, item.getQuantidade()));
+        }
+        return PrecificacaoPedido.total(subtotal, carrinho.taxaEntrega);
+    }
+
+    /** Carrinho com os mesmos itens e opcionais do pedido. */
+    static Carrinho criarCarrinho(Pedido pedido) {
+        Carrinho carrinho = new Carrinho();
+        List<ItemOpcional> opcionais = new ArrayList<>();
+        for (ItemPedido item : pedido.getItens()) {
+            Produto produto = item.getProduto();
+            ItemPedidoDTO dto = new ItemPedidoDTO();
+            dto.setProdutoId(produto.getId());
+            dto.setQuantidade(item.getQuantidade());
+            dto.setOpcionaisIds(item.getOpcionaisSelecionados().stream()
+                    .map(link -> link.getItemOpcional().getId())
+                    .toList());
+            carrinho.itens.add(dto);
+            carrinho.produtos.put(produto.getId(), produto);
+            carrinho.gruposPorProduto.put(produto.getId(), new ArrayList<>(produto.getGruposOpcionais()));
+            item.getOpcionaisSelecionados().forEach(link -> opcionais.add(link.getItemOpcional()));
+        }
+        carrinho.opcionaisPorId = PrecificacaoPedido.porId(opcionais);
+        carrinho.taxaEntrega = pedido.getRestaurante().getTaxaEntrega();
+        return carrinho;
+    }
+
+    /** Mesmo segredo/expiração do perfil de teste. */
+    static JwtUtil criarJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "SuaChaveSecretaDeTesteSuperSegura12345");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        return jwtUtil;
+    }
+
+    static Usuario criarUsuario() {
+        Usuario usuario = new Usuario("cliente@deliverytech.local", "", Role.CLIENTE);
+        usuario.setId(42L);
+        usuario.setNome("Maria Souza");
+        return usuario;
+    }
+
+    /** Mesma configuração de base do ObjectMapper do Spring MVC (datas ISO, JavaTimeModule). */
+    static ObjectMapper criarObjectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static ApiResponseWrapper<List<ProdutoResponseDTO>> criarResposta() {
+        List<ProdutoResponseDTO> pagina = new ArrayList<>();
+        for (long id = 1; id <= PRODUTOS_POR_PAGINA; id++) {
+            pagina.add(new ProdutoResponseDTO(criarProduto(id)));
+        }
+        return ApiResponseWrapper.success(pagina, "Produtos encontrados");
+    }
+
+    /**
+     * Pedido típico: 3 itens (quantidade 2), cada um de um produto com tamanho
+     * obrigatório e até 3 adicionais, com dois adicionais escolhidos.
+     */
+    static Pedido criarPedido() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(3L);
+        restaurante.setNome("Pizzaria Bella Napoli");
+        restaurante.setTaxaEntrega(new BigDecimal("6.50"));
+
+        Cliente cliente = new Cliente();
+        cliente.setId(42L);
+        cliente.setNome("Maria Souza");
+
+        Endereco endereco = new Endereco();
+        endereco.setId(7L);
+        endereco.setRua("Avenida Paulista");
+        endereco.setNumero("1000");
+        endereco.setBairro("Bela Vista");
+
+        Pedido pedido = new Pedido();
+        pedido.setId(1001L);
+        pedido.setNumeroPedido("PED-20240605-1001");
+        pedido.setDataPedido(LocalDateTime.of(2024, 6, 5, 19, 30));
+        pedido.setStatus(StatusPedido.CONFIRMADO);
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setEnderecoEntrega(endereco);
+        pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
+
+        for (long id = 1; id <= 3; id++) {
+            Produto produto = criarProduto(id);
+            ItemPedido item = new ItemPedido();
+            item.setId(id);
+            item.setProduto(produto);
+            item.setQuantidade(2);
+
+            // O primeiro tamanho e os dois primeiros adicionais
+            List<ItemOpcional> escolhidos = new ArrayList<>();
+            for (GrupoOpcional grupo : produto.getGruposOpcionais()) {
+                grupo.getItensOpcionais().stream()
+                        .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                        .limit(grupo.getMaxSelecao() == 1 ? 1 : 2)
+                        .forEach(escolhidos::add);
+            }
+            item.setPrecoUnitario(PrecificacaoPedido.precoUnitario(produto, escolhidos));
+            escolhidos.forEach(opcional -> item.getOpcionaisSelecionados().add(new ItemPedidoOpcional(item, opcional)));
+            pedido.adicionarItem(item);
+        }
+        return pedido;
+    }
+
+    /** Produto do catálogo: grupo "Tamanho" (1 obrigatório de 3) e "Adicionais" (até 3 de 4). */
+    static Produto criarProduto(Long id) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(3L);
+
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome("Pizza Margherita " + id);
+        produto.setDescricao("Molho de tomate, mussarela de búfala e manjericão fresco");
+        produto.setPrecoBase(new BigDecimal("45.90"));
+        produto.setCategoria("Pizza");
+        produto.setDisponivel(true);
+        produto.setEstoque(50);
+        produto.setRestaurante(restaurante);
+
+        produto.getGruposOpcionais().add(criarGrupo(produto, id * 10 + 1, "Tamanho", 1, 1, 3));
+        produto.getGruposOpcionais().add(criarGrupo(produto, id * 10 + 2, "Adicionais", 0, 3, 4));
+        return produto;
+    }
+
+    private static GrupoOpcional criarGrupo(Produto produto, long id, String nome, int min, int max, int itens) {
+        GrupoOpcional grupo = new GrupoOpcional();
+        grupo.setId(id);
+        grupo.setNome(nome);
+        grupo.setMinSelecao(min);
+        grupo.setMaxSelecao(max);
+        grupo.setProduto(produto);
+        for (int i = 1; i <= itens; i++) {
+            ItemOpcional item = new ItemOpcional();
+            item.setId(id * 10 + i);
+            item.setNome(nome + " " + i);
+            item.setPrecoAdicional(new BigDecimal("2.50").multiply(BigDecimal.valueOf(i)));
+            item.setGrupoOpcional(grupo);
+            grupo.getItensOpcionais().add(item);
+        }
+        return grupo;
+    }
+}
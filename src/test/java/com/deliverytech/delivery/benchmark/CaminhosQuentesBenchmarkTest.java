@@ -0,0 +1,85 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.security.jwt.JwtUtil;
+import com.deliverytech.delivery.validation.CpfValidator;
+import com.deliverytech.delivery.validation.HorarioFuncionamentoValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa o {@link CaminhosQuentesBenchmark} com o GCProfiler. Resultado do JMH em
+ * {@code target/benchmark/caminhos-quentes.json}: vazão em {@code primaryMetric},
+ * taxa de alocação e bytes por operação em {@code secondaryMetrics}
+ * ({@code gc.alloc.rate} e {@code gc.alloc.rate.norm}).
+ * <p>
+ * O resultado é comparado com a linha de base versionada em
+ * {@code benchmark/baseline/caminhos-quentes.json} (ver {@link BaselineJmh});
+ * a comparação fica em {@code target/benchmark/caminhos-quentes-comparacao.csv}.
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark -Dtest=CaminhosQuentesBenchmarkTest}.
+ * Parâmetros: {@code -Dbenchmark.jmh.forks} (padrão 1) e
+ * {@code -Dbenchmark.baseline.gravar=true} para substituir a linha de base.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - Caminhos quentes da API")
+class CaminhosQuentesBenchmarkTest {
+
+    private static final Path RESULTADO = Path.of("target", "benchmark", "caminhos-quentes.json");
+    private static final Path BASELINE = Path.of("benchmark", "baseline", "caminhos-quentes.json");
+
+    @Test
+    @DisplayName("Mede vazão e alocação dos caminhos quentes e compara com a linha de base")
+    void medirCaminhosQuentes() throws Exception {
+        // Os cenários medidos precisam ser os do caminho feliz
+        Pedido pedido = CaminhosQuentesBenchmark.criarPedido();
+        PedidoResponseDTO resposta = PedidoMapper.paraResponse(pedido);
+        assertEquals(3, resposta.getItens().size());
+        BigDecimal total = CaminhosQuentesBenchmark.precificar(CaminhosQuentesBenchmark.criarCarrinho(pedido));
+        assertEquals(0, pedido.getValorTotal().compareTo(total));
+        JwtUtil jwtUtil = CaminhosQuentesBenchmark.criarJwtUtil();
+        Usuario usuario = CaminhosQuentesBenchmark.criarUsuario();
+        assertTrue(jwtUtil.validateToken(jwtUtil.generateToken(usuario), usuario));
+        assertTrue(CpfValidator.isValid(CaminhosQuentesBenchmark.CPF));
+        assertTrue(new HorarioFuncionamentoValidator().isValid(CaminhosQuentesBenchmark.HORARIO, null));
+
+        Files.createDirectories(RESULTADO.getParent());
+        Options opcoes = new OptionsBuilder()
+                .include(CaminhosQuentesBenchmark.class.getName())
+                .forks(Integer.getInteger("benchmark.jmh.forks", 1))
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTADO.toString())
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertFalse(resultados.isEmpty());
+        BaselineJmh.gravarOuComparar(RESULTADO, BASELINE);
+    }
+}
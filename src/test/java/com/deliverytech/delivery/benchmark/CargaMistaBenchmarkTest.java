@@ -0,0 +1,285 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.benchmark.GeradorDadosCarga.ClienteCarga;
+import com.deliverytech.delivery.benchmark.GeradorDadosCarga.MassaCarga;
+import com.deliverytech.delivery.benchmark.GeradorDadosCarga.ProdutoCarga;
+import com.deliverytech.delivery.benchmark.MotorCargaAberta.Requisicao;
+import com.deliverytech.delivery.benchmark.MotorCargaAberta.ResultadoCarga;
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.repository.GrupoOpcionalRepository;
+import com.deliverytech.delivery.repository.ItemOpcionalRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import com.deliverytech.delivery.security.jwt.JwtUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação no H2 com uma massa gerada
+ * ({@link GeradorDadosCarga}) e dispara tráfego misto em modelo aberto
+ * ({@link MotorCargaAberta}) com muitos clientes autenticados por JWT.
+ * <p>
+ * O mix ({@code -Dbenchmark.carga.mix}, pesos relativos) combina:
+ * <ul>
+ *   <li>{@code login}: {@code POST /api/auth/login} de um cliente qualquer;</li>
+ *   <li>{@code navegar}: {@code GET /api/produtos} (página), {@code GET /api/produtos/{id}}
+ *       e {@code GET /api/restaurantes};</li>
+ *   <li>{@code precificar}: {@code POST /api/pedidos/calcular} com 1 a 3 itens e adicionais;</li>
+ *   <li>{@code pedido}: {@code POST /api/pedidos} com o mesmo carrinho, pago via PIX.</li>
+ * </ul>
+ * O resultado (p50, p99 e p99.9 do HdrHistogram e taxa de erro por endpoint)
+ * vai para {@code target/benchmark/carga-mista.*} e é comparado com a linha de
+ * base em {@code benchmark/baseline/carga-mista.json} (ver {@link RelatorioCarga}).
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark -Dtest=CargaMistaBenchmarkTest}.
+ * Parâmetros: {@code -Dbenchmark.carga.taxa-rps} (padrão 200),
+ * {@code -Dbenchmark.duracao-s}, {@code -Dbenchmark.aquecimento-s},
+ * {@code -Dbenchmark.carga.usuarios}, {@code -Dbenchmark.carga.restaurantes},
+ * {@code -Dbenchmark.carga.produtos-por-restaurante},
+ * {@code -Dbenchmark.carga.max-em-voo}, {@code -Dbenchmark.carga.mix}
+ * (padrão {@code login=5,navegar=60,precificar=20,pedido=15}),
+ * {@code -Dbenchmark.carga.comparar-com} e {@code -Dbenchmark.baseline.gravar=true}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Sem o log de SQL e de requisições do profile de teste: a carga mediria o console
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.springframework.web=INFO"})
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DirtiesContext // a massa gerada não deve vazar para outros testes
+@DisplayName("Benchmark - Carga mista ponta a ponta (modelo aberto)")
+class CargaMistaBenchmarkTest {
+
+    private static final double TAXA_RPS = Double.parseDouble(System.getProperty("benchmark.carga.taxa-rps", "200"));
+    private static final int DURACAO_S = Integer.getInteger("benchmark.duracao-s", 30);
+    private static final int AQUECIMENTO_S = Integer.getInteger("benchmark.aquecimento-s", 10);
+    private static final int USUARIOS = Integer.getInteger("benchmark.carga.usuarios", 500);
+    private static final int RESTAURANTES = Integer.getInteger("benchmark.carga.restaurantes", 20);
+    private static final int PRODUTOS_POR_RESTAURANTE = Integer.getInteger("benchmark.carga.produtos-por-restaurante", 25);
+    private static final int MAX_EM_VOO = Integer.getInteger("benchmark.carga.max-em-voo", 1000);
+    private static final String MIX = System.getProperty("benchmark.carga.mix", "login=5,navegar=60,precificar=20,pedido=15");
+    private static final List<String> TIPOS = List.of("login", "navegar", "precificar", "pedido");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Path DIRETORIO = Path.of("target", "benchmark");
+    private static final Path BASELINE = Path.of("benchmark", "baseline", "carga-mista.json");
+
+    @LocalServerPort private int porta;
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private GrupoOpcionalRepository grupoOpcionalRepository;
+    @Autowired private ItemOpcionalRepository itemOpcionalRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtUtil jwtUtil;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Random random = new Random(7); // Mesma sequência de requisições em toda execução
+    private MassaCarga massa;
+
+    @Test
+    @DisplayName("Mede latência (p50/p99/p99.9) e erros por endpoint sob tráfego misto")
+    void cargaMista() throws Exception {
+        massa = new GeradorDadosCarga(restauranteRepository, produtoRepository, grupoOpcionalRepository,
+                itemOpcionalRepository, usuarioRepository, passwordEncoder, jwtUtil)
+                .gerar(RESTAURANTES, PRODUTOS_POR_RESTAURANTE, USUARIOS);
+        Map<String, Integer> mix = lerMix(MIX);
+
+        // Cada tipo de requisição precisa funcionar antes de medir, senão o relatório só mostraria erros
+        for (String tipo : TIPOS) {
+            Requisicao requisicao = criar(tipo);
+            HttpResponse<String> resposta = httpClient.send(requisicao.http(), HttpResponse.BodyHandlers.ofString());
+            assertTrue(resposta.statusCode() < 400,
+                    requisicao.endpoint() + " -> " + resposta.statusCode() + ": " + resposta.body());
+        }
+
+        MotorCargaAberta motor = new MotorCargaAberta(httpClient, TAXA_RPS, MAX_EM_VOO);
+        motor.executar(() -> sortear(mix), Duration.ofSeconds(AQUECIMENTO_S)); // Aquecimento (JIT, pools, caches): descartado
+        ResultadoCarga resultado = motor.executar(() -> sortear(mix), Duration.ofSeconds(DURACAO_S));
+
+        Path relatorio = RelatorioCarga.gravar("carga-mista", resultado, configuracao(mix), DIRETORIO);
+        RelatorioCarga.gravarOuComparar(relatorio, BASELINE);
+
+        assertFalse(resultado.porEndpoint().isEmpty());
+        resultado.porEndpoint().forEach((endpoint, medidas) -> assertTrue(medidas.latenciasUs.getTotalCount() > 0,
+                "Nenhuma requisição bem-sucedida em " + endpoint));
+    }
+
+    // ==========================================================
+    // --- MIX DE REQUISIÇÕES ---
+    // ==========================================================
+
+    /** Sorteia o tipo de requisição pelos pesos do mix. */
+    private Requisicao sortear(Map<String, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int sorteio = random.nextInt(total);
+        for (Map.Entry<String, Integer> peso : mix.entrySet()) {
+            sorteio -= peso.getValue();
+            if (sorteio < 0) {
+                return criar(peso.getKey());
+            }
+        }
+        throw new IllegalStateException("Mix vazio");
+    }
+
+    private Requisicao criar(String tipo) {
+        ClienteCarga cliente = massa.clientes().get(random.nextInt(massa.clientes().size()));
+        return switch (tipo) {
+            case "login" -> postar("POST /api/auth/login", "/api/auth/login", null,
+                    Map.of("email", cliente.email(), "senha", GeradorDadosCarga.SENHA));
+            case "navegar" -> navegar();
+            case "precificar" -> {
+                long restauranteId = restauranteQualquer();
+                yield postar("POST /api/pedidos/calcular", "/api/pedidos/calcular", cliente.token(),
+                        Map.of("restauranteId", restauranteId, "itens", carrinho(restauranteId)));
+            }
+            case "pedido" -> {
+                long restauranteId = restauranteQualquer();
+                yield postar("POST /api/pedidos", "/api/pedidos", cliente.token(),
+                        Map.of("restauranteId", restauranteId,
+                                "enderecoEntregaId", cliente.enderecoId(),
+                                "metodoPagamento", "PIX",
+                                "itens", carrinho(restauranteId)));
+            }
+            default -> throw new IllegalArgumentException("Tipo de requisição desconhecido: " + tipo);
+        };
+    }
+
+    /** Navegação anônima no catálogo: lista de produtos, detalhe do produto ou lista de restaurantes. */
+    private Requisicao navegar() {
+        int sorteio = random.nextInt(100);
+        if (sorteio < 50) {
+            int paginas = Math.max(1, massa.produtos().size() / 20);
+            return buscar("GET /api/produtos", "/api/produtos?page=" + random.nextInt(Math.min(paginas, 10)) + "&size=20");
+        }
+        if (sorteio < 85) {
+            ProdutoCarga produto = massa.produtos().get(random.nextInt(massa.produtos().size()));
+            return buscar("GET /api/produtos/{id}", "/api/produtos/" + produto.id());
+        }
+        return buscar("GET /api/restaurantes", "/api/restaurantes?page=0&size=20");
+    }
+
+    /** 1 a 3 produtos do restaurante, cada um com até 2 adicionais distintos (o máximo do grupo). */
+    private List<Map<String, Object>> carrinho(long restauranteId) {
+        List<ProdutoCarga> cardapio = massa.produtosDo(restauranteId);
+        int quantidadeItens = 1 + random.nextInt(3);
+        List<Map<String, Object>> itens = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            ProdutoCarga produto = cardapio.get(random.nextInt(cardapio.size()));
+            Set<Long> opcionais = new LinkedHashSet<>();
+            int quantidadeOpcionais = random.nextInt(3);
+            while (opcionais.size() < quantidadeOpcionais) {
+                opcionais.add(produto.opcionaisIds().get(random.nextInt(produto.opcionaisIds().size())));
+            }
+            itens.add(Map.of("produtoId", produto.id(),
+                    "quantidade", 1 + random.nextInt(3),
+                    "opcionaisIds", List.copyOf(opcionais)));
+        }
+        return itens;
+    }
+
+    private long restauranteQualquer() {
+        return massa.restaurantesIds().get(random.nextInt(massa.restaurantesIds().size()));
+    }
+
+    private Requisicao buscar(String endpoint, String caminho) {
+        return new Requisicao(endpoint, HttpRequest.newBuilder(uri(caminho)).timeout(TIMEOUT).GET().build());
+    }
+
+    private Requisicao postar(String endpoint, String caminho, String token, Object corpo) {
+        HttpRequest.Builder http = HttpRequest.newBuilder(uri(caminho))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            http.header("Authorization", "Bearer " + token);
+        }
+        try {
+            http.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Requisicao(endpoint, http.build());
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    // ==========================================================
+    // --- PARÂMETROS ---
+    // ==========================================================
+
+    /** "login=5,navegar=60" -> {login=5, navegar=60}, na ordem informada. */
+    private static Map<String, Integer> lerMix(String mix) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : mix.split(",")) {
+            String[] chaveValor = parte.trim().split("=");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Mix inválido (esperado tipo=peso,...): " + mix);
+            }
+            if (!TIPOS.contains(chaveValor[0].trim())) {
+                throw new IllegalArgumentException("Tipo desconhecido no mix (use " + TIPOS + "): " + chaveValor[0]);
+            }
+            int peso = Integer.parseInt(chaveValor[1].trim());
+            if (peso > 0) {
+                pesos.put(chaveValor[0].trim(), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("Mix sem nenhum peso positivo: " + mix);
+        }
+        return pesos;
+    }
+
+    private static Map<String, Object> configuracao(Map<String, Integer> mix) {
+        Map<String, Object> configuracao = new LinkedHashMap<>();
+        configuracao.put("taxaRps", TAXA_RPS);
+        configuracao.put("duracaoS", DURACAO_S);
+        configuracao.put("aquecimentoS", AQUECIMENTO_S);
+        configuracao.put("usuarios", USUARIOS);
+        configuracao.put("restaurantes", RESTAURANTES);
+        configuracao.put("produtosPorRestaurante", PRODUTOS_POR_RESTAURANTE);
+        configuracao.put("maxEmVoo", MAX_EM_VOO);
+        configuracao.put("mix", mix);
+        return configuracao;
+    }
+}
@@ -0,0 +1,123 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.cache.codec.CodecCacheCompacto;
+import com.deliverytech.delivery.cache.codec.EsquemaProdutoResponse;
+import com.deliverytech.delivery.dto.request.GrupoOpcionalDTO;
+import com.deliverytech.delivery.dto.request.ItemOpcionalDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark (JMH) dos codecs do cache remoto: tempo de codificação e
+ * decodificação do compacto (sem e com LZ4) contra a serialização Java, para um
+ * produto com opcionais e para uma página de 20 produtos.
+ * <p>
+ * Executado por {@link CodecCacheBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecCacheBenchmark {
+
+    @Param({"compacto", "compacto-lz4", "jdk"})
+    public String codec;
+
+    @Param({"produto", "pagina"})
+    public String valor;
+
+    private RedisSerializer<Object> serializador;
+    private Object objeto;
+    private byte[] serializado;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        serializador = criarCodec(codec);
+        objeto = criarValor(valor);
+        serializado = serializador.serialize(objeto);
+    }
+
+    @Benchmark
+    public byte[] codificar() {
+        return serializador.serialize(objeto);
+    }
+
+    @Benchmark
+    public Object decodificar() {
+        return serializador.deserialize(serializado);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    static RedisSerializer<Object> criarCodec(String nome) {
+        return switch (nome) {
+            case "compacto" -> new CodecCacheCompacto(List.of(new EsquemaProdutoResponse()), 0);
+            case "compacto-lz4" -> new CodecCacheCompacto(List.of(new EsquemaProdutoResponse()), 1024);
+            case "jdk" -> RedisSerializer.java();
+            default -> throw new IllegalArgumentException("Codec desconhecido: " + nome);
+        };
+    }
+
+    static Object criarValor(String nome) {
+        return switch (nome) {
+            case "produto" -> criarProduto(1L);
+            case "pagina" -> {
+                List<ProdutoResponseDTO> produtos = new ArrayList<>();
+                for (long id = 1; id <= 20; id++) {
+                    produtos.add(criarProduto(id));
+                }
+                yield new PageImpl<>(produtos, PageRequest.of(0, 20), 240);
+            }
+            default -> throw new IllegalArgumentException("Valor desconhecido: " + nome);
+        };
+    }
+
+    /** Produto típico do catálogo: 3 grupos com 4 itens cada. */
+    private static ProdutoResponseDTO criarProduto(Long id) {
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId(id);
+        produto.setNome("Pizza Margherita " + id);
+        produto.setDescricao("Molho de tomate, mussarela de búfala e manjericão fresco");
+        produto.setPrecoBase(new BigDecimal("45.90"));
+        produto.setDisponivel(true);
+        produto.setRestauranteId(2L);
+        produto.setCategoria("Pizza");
+        produto.setEstoque(50);
+
+        List<GrupoOpcionalDTO> grupos = new ArrayList<>();
+        for (int g = 1; g <= 3; g++) {
+            GrupoOpcionalDTO grupo = new GrupoOpcionalDTO();
+            grupo.setId(id * 10 + g);
+            grupo.setNome("Grupo " + g);
+            grupo.setMinSelecao(0);
+            grupo.setMaxSelecao(3);
+            List<ItemOpcionalDTO> itens = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                ItemOpcionalDTO item = new ItemOpcionalDTO();
+                item.setId(id * 100 + g * 10 + i);
+                item.setNome("Adicional " + i);
+                item.setPrecoAdicional(new BigDecimal("2.50").multiply(BigDecimal.valueOf(i)));
+                itens.add(item);
+            }
+            grupo.setItensOpcionais(itens);
+            grupos.add(grupo);
+        }
+        produto.setGruposOpcionais(grupos);
+        return produto;
+    }
+}
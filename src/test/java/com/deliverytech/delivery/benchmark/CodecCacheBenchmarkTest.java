@@ -0,0 +1,62 @@
+package com.deliverytech.delivery.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Executa o {@link CodecCacheBenchmark} e registra o tamanho dos payloads de
+ * cada codec. Resultado do JMH em {@code target/benchmark/codec-cache.json}.
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark -Dtest=CodecCacheBenchmarkTest}.
+ * Parâmetro: {@code -Dbenchmark.jmh.forks} (padrão 1).
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - Codecs do cache remoto")
+class CodecCacheBenchmarkTest {
+
+    private static final Path RESULTADO = Path.of("target", "benchmark", "codec-cache.json");
+
+    @Test
+    @DisplayName("Compara tamanho e tempo de codificação/decodificação dos codecs")
+    void compararCodecs() throws Exception {
+        for (String valor : new String[]{"produto", "pagina"}) {
+            Object objeto = CodecCacheBenchmark.criarValor(valor);
+            for (String codec : new String[]{"compacto", "compacto-lz4", "jdk"}) {
+                RedisSerializer<Object> serializador = CodecCacheBenchmark.criarCodec(codec);
+                System.out.printf("[BENCHMARK] tamanho %s/%s: %d bytes%n",
+                        valor, codec, serializador.serialize(objeto).length);
+            }
+        }
+
+        Files.createDirectories(RESULTADO.getParent());
+        Options opcoes = new OptionsBuilder()
+                .include(CodecCacheBenchmark.class.getName())
+                .forks(Integer.getInteger("benchmark.jmh.forks", 1))
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTADO.toString())
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertFalse(resultados.isEmpty());
+    }
+}
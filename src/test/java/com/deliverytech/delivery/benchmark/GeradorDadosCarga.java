@@ -0,0 +1,214 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Endereco;
+import com.deliverytech.delivery.entity.GrupoOpcional;
+import com.deliverytech.delivery.entity.ItemOpcional;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.GrupoOpcionalRepository;
+import com.deliverytech.delivery.repository.ItemOpcionalRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import com.deliverytech.delivery.security.jwt.JwtUtil;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Massa de dados do {@link CargaMistaBenchmarkTest}, gravada pelos repositórios
+ * (mesmas associações do {@code TestDataConfiguration}):
+ * <ul>
+ *   <li>restaurantes ativos, cada um com um cardápio de produtos com estoque
+ *       "infinito" e um grupo de adicionais (mínimo 0, máximo 2, três itens);</li>
+ *   <li>clientes com CPF válido, um endereço de entrega e um JWT já emitido.</li>
+ * </ul>
+ * Todos os clientes usam a mesma senha ({@link #SENHA}); o hash BCrypt é
+ * calculado uma vez só, senão a geração levaria mais que a carga.
+ */
+final class GeradorDadosCarga {
+
+    static final String SENHA = "carga123";
+
+    private static final String[] CATEGORIAS = {"Pizzaria", "Japonesa", "Lanches", "Brasileira", "Saudável"};
+    private static final String[] ADICIONAIS = {"Queijo extra", "Bacon", "Molho especial"};
+
+    /** Cliente gerado: login, endereço para os pedidos e token para as rotas autenticadas. */
+    record ClienteCarga(String email, long enderecoId, String token) {
+    }
+
+    /** Produto gerado e os ids dos adicionais que podem ser escolhidos nele. */
+    record ProdutoCarga(long id, long restauranteId, List<Long> opcionaisIds) {
+    }
+
+    record MassaCarga(List<ClienteCarga> clientes, List<Long> restaurantesIds, List<ProdutoCarga> produtos) {
+
+        /** Produtos de um restaurante (os pedidos só aceitam itens do mesmo restaurante). */
+        List<ProdutoCarga> produtosDo(long restauranteId) {
+            return produtos.stream().filter(p -> p.restauranteId() == restauranteId).toList();
+        }
+    }
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final GrupoOpcionalRepository grupoOpcionalRepository;
+    private final ItemOpcionalRepository itemOpcionalRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+
+    GeradorDadosCarga(RestauranteRepository restauranteRepository, ProdutoRepository produtoRepository,
+                      GrupoOpcionalRepository grupoOpcionalRepository, ItemOpcionalRepository itemOpcionalRepository,
+                      UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+        this.grupoOpcionalRepository = grupoOpcionalRepository;
+        this.itemOpcionalRepository = itemOpcionalRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+    }
+
+    MassaCarga gerar(int restaurantes, int produtosPorRestaurante, int clientes) {
+        Random random = new Random(42); // Mesma massa em toda execução
+
+        List<Restaurante> novosRestaurantes = new ArrayList<>(restaurantes);
+        for (int r = 0; r < restaurantes; r++) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setNome("Restaurante Carga " + r);
+            restaurante.setCategoria(CATEGORIAS[r % CATEGORIAS.length]);
+            restaurante.setTelefone("1130000" + String.format("%04d", r));
+            restaurante.setTaxaEntrega(BigDecimal.valueOf(3 + random.nextInt(8)));
+            restaurante.setTempoEntrega(30 + random.nextInt(30));
+            restaurante.setAtivo(true);
+            novosRestaurantes.add(restaurante);
+        }
+        novosRestaurantes = restauranteRepository.saveAll(novosRestaurantes);
+
+        List<Produto> novosProdutos = new ArrayList<>(restaurantes * produtosPorRestaurante);
+        for (Restaurante restaurante : novosRestaurantes) {
+            for (int p = 0; p < produtosPorRestaurante; p++) {
+                Produto produto = new Produto();
+                produto.setNome("Produto " + p + " - " + restaurante.getNome());
+                produto.setDescricao("Produto gerado para o teste de carga");
+                produto.setCategoria(restaurante.getCategoria());
+                produto.setPrecoBase(BigDecimal.valueOf(1500 + random.nextInt(5000), 2));
+                produto.setEstoque(Integer.MAX_VALUE / 2); // A carga de pedidos não pode esgotar o estoque
+                produto.setDisponivel(true);
+                produto.setRestaurante(restaurante);
+                novosProdutos.add(produto);
+            }
+        }
+        novosProdutos = produtoRepository.saveAll(novosProdutos);
+
+        List<GrupoOpcional> grupos = new ArrayList<>(novosProdutos.size());
+        for (Produto produto : novosProdutos) {
+            GrupoOpcional grupo = new GrupoOpcional();
+            grupo.setNome("Adicionais");
+            grupo.setProduto(produto);
+            grupo.setMinSelecao(0);
+            grupo.setMaxSelecao(2);
+            grupos.add(grupo);
+        }
+        grupos = grupoOpcionalRepository.saveAll(grupos);
+
+        List<ItemOpcional> itens = new ArrayList<>(grupos.size() * ADICIONAIS.length);
+        for (GrupoOpcional grupo : grupos) {
+            for (String nome : ADICIONAIS) {
+                ItemOpcional item = new ItemOpcional();
+                item.setNome(nome);
+                item.setPrecoAdicional(BigDecimal.valueOf(200 + random.nextInt(600), 2));
+                item.setGrupoOpcional(grupo);
+                itens.add(item);
+            }
+        }
+        itens = itemOpcionalRepository.saveAll(itens);
+
+        List<ProdutoCarga> produtos = new ArrayList<>(novosProdutos.size());
+        for (int i = 0; i < novosProdutos.size(); i++) {
+            Produto produto = novosProdutos.get(i);
+            List<Long> opcionaisIds = itens.subList(i * ADICIONAIS.length, (i + 1) * ADICIONAIS.length).stream()
+                    .map(ItemOpcional::getId)
+                    .toList();
+            produtos.add(new ProdutoCarga(produto.getId(), produto.getRestaurante().getId(), opcionaisIds));
+        }
+
+        return new MassaCarga(gerarClientes(clientes),
+                novosRestaurantes.stream().map(Restaurante::getId).toList(), produtos);
+    }
+
+    private List<ClienteCarga> gerarClientes(int quantidade) {
+        String senha = passwordEncoder.encode(SENHA);
+
+        List<Usuario> usuarios = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setEmail("cliente.carga" + i + "@email.com");
+            usuario.setSenha(senha);
+            usuario.setRole(Role.CLIENTE);
+            usuario.setAtivo(true);
+            usuario.setNome("Cliente Carga " + i);
+
+            Cliente cliente = new Cliente();
+            cliente.setNome(usuario.getNome());
+            cliente.setCpf(cpf(i));
+            cliente.setTelefone("119" + String.format("%08d", i));
+
+            Endereco endereco = new Endereco();
+            endereco.setApelido("Casa");
+            endereco.setRua("Rua da Carga");
+            endereco.setNumero(String.valueOf(i + 1));
+            endereco.setCep("01001000");
+            endereco.setBairro("Centro");
+            endereco.setCidade("São Paulo");
+            endereco.setEstado("SP");
+
+            // Associações
+            cliente.setUsuario(usuario);
+            endereco.setUsuario(usuario);
+            usuario.setCliente(cliente);
+            usuario.getEnderecos().add(endereco);
+            usuarios.add(usuario);
+        }
+        usuarios = usuarioRepository.saveAll(usuarios);
+
+        List<ClienteCarga> clientes = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            clientes.add(new ClienteCarga(usuario.getEmail(), usuario.getEnderecos().get(0).getId(),
+                    jwtUtil.generateToken(usuario)));
+        }
+        return clientes;
+    }
+
+    /** CPF válido (dígitos verificadores de módulo 11) e único para cada índice. */
+    static String cpf(int indice) {
+        int[] digitos = new int[11];
+        String base = String.format("%09d", 100_000_000 + indice);
+        for (int i = 0; i < 9; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+
+    private static int digitoVerificador(int[] digitos, int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += digitos[i] * (posicao + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,74 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Executa o {@link MapeamentoRestauranteBenchmark} (antes: ModelMapper; depois:
+ * RestauranteMapper) com o GCProfiler. Resultado do JMH em
+ * {@code target/benchmark/mapeamento-restaurante.json}: vazão em
+ * {@code primaryMetric} e bytes alocados por conversão em
+ * {@code secondaryMetrics."gc.alloc.rate.norm"}.
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark -Dtest=MapeamentoRestauranteBenchmarkTest}.
+ * Parâmetro: {@code -Dbenchmark.jmh.forks} (padrão 1).
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - Mapeamento Restaurante -> RestauranteResponseDTO")
+class MapeamentoRestauranteBenchmarkTest {
+
+    private static final Path RESULTADO = Path.of("target", "benchmark", "mapeamento-restaurante.json");
+
+    @Test
+    @DisplayName("Compara vazão e alocação do ModelMapper e do mapper escrito à mão")
+    void compararMapeadores() throws Exception {
+        // Os dois lados do benchmark precisam produzir a mesma resposta
+        Restaurante restaurante = MapeamentoRestauranteBenchmark.criarRestaurante();
+        RestauranteResponseDTO antes = MapeamentoRestauranteBenchmark.criarMapeador("modelmapper").apply(restaurante);
+        RestauranteResponseDTO depois = MapeamentoRestauranteBenchmark.criarMapeador("manual").apply(restaurante);
+        assertEquals(antes.getId(), depois.getId());
+        assertEquals(antes.getNome(), depois.getNome());
+        assertEquals(antes.getCategoria(), depois.getCategoria());
+        assertEquals(antes.getTelefone(), depois.getTelefone());
+        assertEquals(antes.getTaxaEntrega(), depois.getTaxaEntrega());
+        assertEquals(antes.getAtivo(), depois.getAtivo());
+        assertEquals(antes.getEndereco().getCep(), depois.getEndereco().getCep());
+        assertEquals(antes.getEndereco().getRua(), depois.getEndereco().getRua());
+        assertEquals(antes.getEndereco().getCidade(), depois.getEndereco().getCidade());
+
+        Files.createDirectories(RESULTADO.getParent());
+        Options opcoes = new OptionsBuilder()
+                .include(MapeamentoRestauranteBenchmark.class.getName())
+                .forks(Integer.getInteger("benchmark.jmh.forks", 1))
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTADO.toString())
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+
+        assertFalse(resultados.isEmpty());
+    }
+}
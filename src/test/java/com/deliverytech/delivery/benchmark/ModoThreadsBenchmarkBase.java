@@ -0,0 +1,218 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.repository.EnderecoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import com.deliverytech.delivery.service.metrics.VirtualThreadPinningMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de carga comparando os modos de threads do servidor
+ * (platform threads x virtual threads).
+ * <p>
+ * Cada subclasse sobe a aplicação num modo e mede, com HTTP real, duas cargas:
+ * leitura do catálogo ({@code GET /api/produtos}) e criação de pedidos
+ * ({@code POST /api/pedidos}). O resultado (vazão, p50, p99, erros e eventos de
+ * pinning) é anexado em {@code target/benchmark/modo-threads.csv}.
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark}. Parâmetros: {@code -Dbenchmark.concorrencia},
+ * {@code -Dbenchmark.duracao-s} e {@code -Dbenchmark.aquecimento-s}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.virtual-threads.pinning.habilitado=true")
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+abstract class ModoThreadsBenchmarkBase {
+
+    private static final int CONCORRENCIA = Integer.getInteger("benchmark.concorrencia", 200);
+    private static final int DURACAO_S = Integer.getInteger("benchmark.duracao-s", 15);
+    private static final int AQUECIMENTO_S = Integer.getInteger("benchmark.aquecimento-s", 5);
+    private static final Path RELATORIO = Path.of("target", "benchmark", "modo-threads.csv");
+
+    @LocalServerPort private int porta;
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EnderecoRepository enderecoRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private VirtualThreadPinningMonitor pinningMonitor;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String token;
+    private String corpoPedido;
+
+    /**
+     * @return Nome do modo, usado no relatório.
+     */
+    abstract String modo();
+
+    @BeforeEach
+    void prepararCenario() throws Exception {
+        // Estoque "infinito" para que a carga de escrita não falhe por falta de produto
+        Produto produto = produtoRepository.findAll().get(0);
+        produto.setEstoque(Integer.MAX_VALUE / 2);
+        produtoRepository.save(produto);
+
+        Restaurante restaurante = restauranteRepository.findAll().get(0);
+        Usuario cliente = usuarioRepository.findByEmail("joao.teste@email.com").orElseThrow();
+        Long enderecoId = enderecoRepository.findByUsuarioId(cliente.getId()).get(0).getId();
+
+        token = login("joao.teste@email.com", "123456");
+        corpoPedido = String.format(
+                "{\"restauranteId\":%d,\"enderecoEntregaId\":%d,\"metodoPagamento\":\"PIX\"," +
+                "\"itens\":[{\"produtoId\":%d,\"quantidade\":1,\"opcionaisIds\":[]}]}",
+                restaurante.getId(), enderecoId, produto.getId());
+    }
+
+    @Test
+    void leituraCatalogo() throws Exception {
+        Resultado resultado = executarCarga(() -> HttpRequest.newBuilder(uri("/api/produtos?page=0&size=20"))
+                .GET().build());
+        registrar("leitura-catalogo", resultado);
+    }
+
+    @Test
+    void escritaPedidos() throws Exception {
+        Resultado resultado = executarCarga(() -> HttpRequest.newBuilder(uri("/api/pedidos"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpoPedido))
+                .build());
+        registrar("escrita-pedidos", resultado);
+    }
+
+    // ==========================================================
+    // --- MOTOR DE CARGA ---
+    // ==========================================================
+
+    private Resultado executarCarga(Supplier<HttpRequest> requisicao) throws Exception {
+        rodar(requisicao, AQUECIMENTO_S, null, null); // Aquecimento (JIT, pools, caches): descartado
+
+        LongAdder erros = new LongAdder();
+        List<long[]> latenciasPorCliente = new ArrayList<>();
+        long inicio = System.nanoTime();
+        rodar(requisicao, DURACAO_S, latenciasPorCliente, erros);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long[] latencias = latenciasPorCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultado(latencias.length, erros.sum(), latencias.length / segundos,
+                percentil(latencias, 0.50), percentil(latencias, 0.99));
+    }
+
+    /**
+     * Dispara {@link #CONCORRENCIA} clientes em loop fechado (cada um espera a
+     * resposta antes de enviar a próxima requisição) durante o tempo informado.
+     */
+    private void rodar(Supplier<HttpRequest> requisicao, int segundos,
+                       List<long[]> latenciasPorCliente, LongAdder erros) throws Exception {
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futuros = new ArrayList<>();
+            for (int i = 0; i < CONCORRENCIA; i++) {
+                futuros.add(clientes.submit(() -> {
+                    long[] medidas = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < fim) {
+                        long t0 = System.nanoTime();
+                        HttpResponse<Void> resposta = httpClient.send(requisicao.get(),
+                                HttpResponse.BodyHandlers.discarding());
+                        long latencia = System.nanoTime() - t0;
+                        if (resposta.statusCode() >= 400) {
+                            if (erros != null) erros.increment();
+                            continue;
+                        }
+                        if (n == medidas.length) medidas = Arrays.copyOf(medidas, n * 2);
+                        medidas[n++] = latencia;
+                    }
+                    return Arrays.copyOf(medidas, n);
+                }));
+            }
+            for (Future<long[]> futuro : futuros) {
+                long[] medidas = futuro.get();
+                if (latenciasPorCliente != null) latenciasPorCliente.add(medidas);
+            }
+        }
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6; // ms
+    }
+
+    // ==========================================================
+    // --- RELATÓRIO ---
+    // ==========================================================
+
+    private void registrar(String carga, Resultado r) throws IOException {
+        Object pinning = pinningMonitor.resumo().get("totalEventos");
+        String linha = String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%s%n",
+                modo(), carga, CONCORRENCIA, r.requisicoes(), r.erros(), r.vazao(), r.p50Ms(), r.p99Ms(), pinning);
+        Files.createDirectories(RELATORIO.getParent());
+        if (!Files.exists(RELATORIO)) {
+            Files.writeString(RELATORIO, "modo,carga,concorrencia,requisicoes,erros,vazao_rps,p50_ms,p99_ms,pinning\n");
+        }
+        Files.writeString(RELATORIO, linha, StandardOpenOption.APPEND);
+        System.out.printf("[BENCHMARK] %s", linha);
+
+        assertTrue(r.requisicoes() > 0, "Nenhuma requisição bem-sucedida no modo " + modo());
+    }
+
+    private String login(String email, String senha) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        String.format("{\"email\":\"%s\",\"senha\":\"%s\"}", email, senha)))
+                .build();
+        String corpo = httpClient.send(requisicao, HttpResponse.BodyHandlers.ofString()).body();
+        return objectMapper.readTree(corpo).get("token").asText();
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    private record Resultado(long requisicoes, long erros, double vazao, double p50Ms, double p99Ms) {
+    }
+}
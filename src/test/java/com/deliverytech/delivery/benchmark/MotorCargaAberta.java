@@ -0,0 +1,153 @@
+package com.deliverytech.delivery.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Motor de carga em modelo aberto: as requisições chegam numa taxa fixa
+ * ({@code taxaRps}), independente de quanto o servidor demora para responder
+ * (no modelo fechado do {@link ModoThreadsBenchmarkBase} um servidor lento
+ * recebe menos carga e mascara a própria lentidão).
+ * <p>
+ * A latência é medida a partir do instante <em>planejado</em> de envio, não do
+ * envio real: se o agendador atrasar (GC, CPU saturada), o atraso entra na
+ * medida em vez de sumir (correção da "omissão coordenada").
+ * <p>
+ * Cada requisição roda numa virtual thread; acima de {@code maxEmVoo}
+ * requisições pendentes as novas chegadas são descartadas e contadas como
+ * erro, para que um servidor travado não acumule threads sem limite.
+ */
+final class MotorCargaAberta {
+
+    /** Maior latência registrada nos histogramas (acima disso o valor é truncado). */
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    /** Uma requisição e o endpoint sob o qual a medida é agrupada no relatório. */
+    record Requisicao(String endpoint, HttpRequest http) {
+    }
+
+    /** Medidas de um endpoint. Latências (µs) só das respostas 2xx/3xx. */
+    static final class MedidasEndpoint {
+
+        final Histogram latenciasUs = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        final LongAdder requisicoes = new LongAdder();
+        final LongAdder erros = new LongAdder();
+        final LongAdder descartadas = new LongAdder();
+        final Map<String, LongAdder> errosPorStatus = new ConcurrentHashMap<>();
+
+        private void registrarErro(String status) {
+            erros.increment();
+            errosPorStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+
+        /** Erros (inclusive descartadas) sobre o total de requisições planejadas. */
+        double taxaErro() {
+            long total = requisicoes.sum();
+            return total == 0 ? 0 : (double) erros.sum() / total;
+        }
+    }
+
+    /** Medidas por endpoint (em ordem alfabética) e a duração real da janela. */
+    record ResultadoCarga(Map<String, MedidasEndpoint> porEndpoint, double segundos) {
+
+        long requisicoes() {
+            return porEndpoint.values().stream().mapToLong(m -> m.requisicoes.sum()).sum();
+        }
+
+        long erros() {
+            return porEndpoint.values().stream().mapToLong(m -> m.erros.sum()).sum();
+        }
+    }
+
+    private final HttpClient httpClient;
+    private final double taxaRps;
+    private final int maxEmVoo;
+
+    MotorCargaAberta(HttpClient httpClient, double taxaRps, int maxEmVoo) {
+        this.httpClient = httpClient;
+        this.taxaRps = taxaRps;
+        this.maxEmVoo = maxEmVoo;
+    }
+
+    /**
+     * Gera {@code taxaRps} requisições por segundo durante {@code duracao} e
+     * espera as pendentes terminarem.
+     *
+     * @param gerador chamado na thread do agendador, uma vez por chegada
+     */
+    ResultadoCarga executar(Supplier<Requisicao> gerador, Duration duracao) {
+        Map<String, MedidasEndpoint> porEndpoint = new ConcurrentHashMap<>();
+        Semaphore emVoo = new Semaphore(maxEmVoo);
+        long intervaloNs = (long) (TimeUnit.SECONDS.toNanos(1) / taxaRps);
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+
+        try (ExecutorService requisicoes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long planejado = inicio + i * intervaloNs;
+                if (planejado >= fim) {
+                    break;
+                }
+                esperarAte(planejado);
+
+                Requisicao requisicao = gerador.get();
+                MedidasEndpoint medidas = porEndpoint.computeIfAbsent(requisicao.endpoint(), e -> new MedidasEndpoint());
+                medidas.requisicoes.increment();
+                if (!emVoo.tryAcquire()) {
+                    medidas.descartadas.increment();
+                    medidas.registrarErro("descartada");
+                    continue;
+                }
+                requisicoes.submit(() -> {
+                    try {
+                        enviar(requisicao, medidas, planejado);
+                    } finally {
+                        emVoo.release();
+                    }
+                });
+            }
+        } // close() espera as requisições pendentes
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return new ResultadoCarga(new TreeMap<>(porEndpoint), segundos);
+    }
+
+    private void enviar(Requisicao requisicao, MedidasEndpoint medidas, long planejado) {
+        try {
+            HttpResponse<Void> resposta = httpClient.send(requisicao.http(), HttpResponse.BodyHandlers.discarding());
+            long latenciaUs = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - planejado);
+            if (resposta.statusCode() >= 400) {
+                medidas.registrarErro(String.valueOf(resposta.statusCode()));
+                return;
+            }
+            medidas.latenciasUs.recordValue(Math.min(latenciaUs, LATENCIA_MAXIMA_US));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            medidas.registrarErro(e.getClass().getSimpleName());
+        } catch (Exception e) {
+            medidas.registrarErro(e.getClass().getSimpleName());
+        }
+    }
+
+    /** Espera até o instante (nanoTime); se já passou, segue sem esperar. */
+    private static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+}
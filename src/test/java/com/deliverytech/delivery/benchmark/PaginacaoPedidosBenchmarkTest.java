@@ -0,0 +1,176 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.cursor.CursorKeyset;
+import com.deliverytech.delivery.repository.specification.PedidoSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark da paginação profunda da listagem de pedidos (mais recentes
+ * primeiro): OFFSET x keyset.
+ * <p>
+ * Gera pedidos sintéticos (três por instante, para exercitar o desempate pelo
+ * id) e mede a página {@code benchmark.pagina} de 20 itens por três caminhos:
+ * <ul>
+ *   <li>{@code offset}: {@code findAll(spec, PageRequest)} (OFFSET + COUNT);</li>
+ *   <li>{@code slice}: a mesma página sem o COUNT ({@code contarTotal=false});</li>
+ *   <li>{@code keyset}: a página seguinte ao cursor do último item da página
+ *       anterior, como em {@code GET /api/pedidos/cursor}.</li>
+ * </ul>
+ * O resultado (p50 e p99) é anexado em {@code target/benchmark/paginacao-pedidos.csv}.
+ * <p>
+ * Fica fora do {@code mvn test} (tag "benchmark"). Para rodar:
+ * {@code ./mvnw test -Pbenchmark -Dtest=PaginacaoPedidosBenchmarkTest}.
+ * Parâmetros: {@code -Dbenchmark.pedidos} (padrão 250 mil),
+ * {@code -Dbenchmark.pagina} (padrão 10.000) e {@code -Dbenchmark.iteracoes}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DirtiesContext // os pedidos gerados não devem vazar para outros testes
+class PaginacaoPedidosBenchmarkTest {
+
+    private static final int PEDIDOS = Integer.getInteger("benchmark.pedidos", 250_000);
+    private static final int PAGINA = Integer.getInteger("benchmark.pagina", 10_000);
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 100);
+    private static final int LOTE_INSERCAO = 10_000;
+    private static final int TAMANHO_PAGINA = 20;
+    private static final Path RELATORIO = Path.of("target", "benchmark", "paginacao-pedidos.csv");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PedidoRepository pedidoRepository;
+
+    @BeforeEach
+    void gerarPedidos() {
+        if (pedidoRepository.count() >= PEDIDOS) {
+            return;
+        }
+        // Cliente, restaurante e endereço do pedido criado pelo TestDataConfiguration
+        Map<String, Object> modelo = jdbcTemplate.queryForMap(
+                "SELECT cliente_id, restaurante_id, endereco_entrega_id FROM pedido ORDER BY id LIMIT 1");
+        LocalDateTime inicio = LocalDateTime.now().minusYears(2);
+        List<Object[]> lote = new ArrayList<>(LOTE_INSERCAO);
+        for (int i = 0; i < PEDIDOS; i++) {
+            lote.add(new Object[] {"BENCH-" + i, Timestamp.valueOf(inicio.plusSeconds(i / 3)), "ENTREGUE", "PIX",
+                    modelo.get("cliente_id"), modelo.get("restaurante_id"), modelo.get("endereco_entrega_id")});
+            if (lote.size() == LOTE_INSERCAO) {
+                inserir(lote);
+            }
+        }
+        inserir(lote);
+    }
+
+    @Test
+    void offsetVersusKeyset() throws IOException {
+        Specification<Pedido> todos = PedidoSpecifications.com(null, null, null);
+        PageRequest pagina = PageRequest.of(PAGINA, TAMANHO_PAGINA, PedidoSpecifications.MAIS_RECENTES);
+        // Cursor do último item da página anterior, como o cliente o receberia
+        String cursor = CursorKeyset.codificar(ScrollPosition.forward(chavesNaPosicao(PAGINA * TAMANHO_PAGINA - 1)));
+
+        List<Long> idsOffset = ids(pedidoRepository.findAll(todos, pagina).getContent());
+        List<Long> idsKeyset = ids(keyset(todos, cursor).getContent());
+        assertEquals(idsOffset, idsKeyset, "Keyset e OFFSET devem devolver a mesma página");
+
+        registrar("offset", medir(() -> pedidoRepository.findAll(todos, pagina).getNumberOfElements()));
+        registrar("slice", medir(() -> pedidoRepository.findBy(todos, q -> q.slice(pagina)).getNumberOfElements()));
+        registrar("keyset", medir(() -> keyset(todos, cursor).size()));
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private void inserir(List<Object[]> lote) {
+        jdbcTemplate.batchUpdate("INSERT INTO pedido (numero_pedido, data_pedido, status, metodo_pagamento, "
+                + "cliente_id, restaurante_id, endereco_entrega_id) VALUES (?, ?, ?, ?, ?, ?, ?)", lote);
+        lote.clear();
+    }
+
+    /** Mesmo caminho de PedidoServiceImpl#rolar, sem o mapeamento para DTO. */
+    private Window<Pedido> keyset(Specification<Pedido> spec, String cursor) {
+        KeysetScrollPosition posicao = CursorKeyset.decodificar(cursor, PedidoSpecifications.MAIS_RECENTES);
+        return pedidoRepository.findBy(Specification.allOf(spec, PedidoSpecifications.aPartirDe(posicao)),
+                q -> q.sortBy(PedidoSpecifications.MAIS_RECENTES).limit(TAMANHO_PAGINA).scroll(posicao));
+    }
+
+    private Map<String, Object> chavesNaPosicao(int linha) {
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT data_pedido, id FROM pedido ORDER BY data_pedido DESC, id DESC "
+                + "OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY", rs -> {
+                    chaves.put("dataPedido", rs.getTimestamp("data_pedido").toLocalDateTime());
+                    chaves.put("id", rs.getLong("id"));
+                }, linha);
+        return chaves;
+    }
+
+    private static List<Long> ids(List<Pedido> pedidos) {
+        return pedidos.stream().map(Pedido::getId).toList();
+    }
+
+    /** Aquece (1/4 das iterações, descartado) e devolve {p50, p99} em ms. */
+    private double[] medir(LongSupplier consulta) {
+        long sumidouro = 0;
+        for (int i = 0; i < ITERACOES / 4; i++) {
+            sumidouro += consulta.getAsLong();
+        }
+        long[] latencias = new long[ITERACOES];
+        for (int i = 0; i < ITERACOES; i++) {
+            long inicio = System.nanoTime();
+            sumidouro += consulta.getAsLong();
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(latencias);
+        assertTrue(sumidouro >= 0);
+        return new double[] {percentil(latencias, 0.50), percentil(latencias, 0.99)};
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6; // ms
+    }
+
+    private void registrar(String caminho, double[] latencias) throws IOException {
+        String linha = String.format(Locale.ROOT, "%d,%d,%s,%d,%.3f,%.3f%n",
+                PEDIDOS, PAGINA, caminho, ITERACOES, latencias[0], latencias[1]);
+        Files.createDirectories(RELATORIO.getParent());
+        if (!Files.exists(RELATORIO)) {
+            Files.writeString(RELATORIO, "pedidos,pagina,caminho,iteracoes,p50_ms,p99_ms\n");
+        }
+        Files.writeString(RELATORIO, linha, StandardOpenOption.APPEND);
+        System.out.printf("[BENCHMARK] %s", linha);
+    }
+}
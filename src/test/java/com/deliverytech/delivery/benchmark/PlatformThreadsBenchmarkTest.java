@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Benchmark no modo tradicional: pool de platform threads do Tomcat.
+ */
+@DisplayName("Benchmark - Platform threads")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsBenchmarkTest extends ModoThreadsBenchmarkBase {
+
+    @Override
+    String modo() {
+        return "platform";
+    }
+}
@@ -0,0 +1,220 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.benchmark.MotorCargaAberta.MedidasEndpoint;
+import com.deliverytech.delivery.benchmark.MotorCargaAberta.ResultadoCarga;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relatório do {@link CargaMistaBenchmarkTest}, feito para comparar commits.
+ * <p>
+ * Em {@code target/benchmark/}:
+ * <ul>
+ *   <li>{@code <nome>.json}: commit, parâmetros e, por endpoint, requisições,
+ *       erros (por status), vazão e latências p50/p90/p99/p99.9/máx em ms;</li>
+ *   <li>{@code <nome>.csv}: uma linha por endpoint anexada a cada execução, com
+ *       o commit na primeira coluna (histórico entre execuções);</li>
+ *   <li>{@code <nome>-<endpoint>.hgrm}: distribuição completa de percentis do
+ *       HdrHistogram (abre no HistogramLogAnalyzer ou no plotter do HdrHistogram).</li>
+ * </ul>
+ * A comparação segue o {@link BaselineJmh}: com
+ * {@code -Dbenchmark.baseline.gravar=true} o JSON vira a linha de base; sem a
+ * propriedade, é comparado com ela ou com o relatório indicado em
+ * {@code -Dbenchmark.carga.comparar-com} (por exemplo, o JSON guardado de outro
+ * commit). A comparação fica em {@code <nome>-comparacao.csv}.
+ */
+final class RelatorioCarga {
+
+    static final String PROPRIEDADE_COMPARAR_COM = "benchmark.carga.comparar-com";
+
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+    private static final String[] CAMPOS_COMPARADOS = {"p50Ms", "p99Ms", "p999Ms"};
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private RelatorioCarga() {
+    }
+
+    /**
+     * Grava o JSON, a linha do CSV e os {@code .hgrm} da execução.
+     *
+     * @return o caminho do JSON gravado
+     */
+    static Path gravar(String nome, ResultadoCarga resultado, Map<String, Object> configuracao,
+                       Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        String commit = commit();
+
+        ObjectNode relatorio = JSON.createObjectNode();
+        relatorio.put("commit", commit);
+        relatorio.put("dataHora", LocalDateTime.now().withNano(0).toString());
+        relatorio.set("configuracao", JSON.valueToTree(configuracao));
+        relatorio.put("duracaoS", arredondar(resultado.segundos()));
+        relatorio.put("requisicoes", resultado.requisicoes());
+        relatorio.put("erros", resultado.erros());
+        relatorio.put("vazaoRps", arredondar(resultado.requisicoes() / resultado.segundos()));
+        ObjectNode endpoints = relatorio.putObject("endpoints");
+
+        Path csv = diretorio.resolve(nome + ".csv");
+        if (!Files.exists(csv)) {
+            Files.writeString(csv, "commit,data_hora,endpoint,requisicoes,erros,descartadas,taxa_erro_pct,"
+                    + "vazao_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+        }
+        StringBuilder linhas = new StringBuilder();
+
+        for (Map.Entry<String, MedidasEndpoint> entrada : resultado.porEndpoint().entrySet()) {
+            String endpoint = entrada.getKey();
+            MedidasEndpoint medidas = entrada.getValue();
+            Histogram latencias = medidas.latenciasUs;
+
+            ObjectNode no = endpoints.putObject(endpoint);
+            no.put("requisicoes", medidas.requisicoes.sum());
+            no.put("erros", medidas.erros.sum());
+            no.put("descartadas", medidas.descartadas.sum());
+            no.put("taxaErroPct", arredondar(medidas.taxaErro() * 100));
+            no.put("vazaoRps", arredondar(medidas.requisicoes.sum() / resultado.segundos()));
+            for (double p : PERCENTIS) {
+                no.put(campoPercentil(p), ms(latencias.getValueAtPercentile(p)));
+            }
+            no.put("maxMs", ms(latencias.getMaxValue()));
+            ObjectNode errosPorStatus = no.putObject("errosPorStatus");
+            medidas.errosPorStatus.forEach((status, total) -> errosPorStatus.put(status, total.sum()));
+
+            String linha = String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%.2f,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    commit, relatorio.get("dataHora").asText(), endpoint, medidas.requisicoes.sum(),
+                    medidas.erros.sum(), medidas.descartadas.sum(), medidas.taxaErro() * 100,
+                    no.get("vazaoRps").asDouble(), no.get("p50Ms").asDouble(), no.get("p90Ms").asDouble(),
+                    no.get("p99Ms").asDouble(), no.get("p999Ms").asDouble(), no.get("maxMs").asDouble());
+            linhas.append(linha).append('\n');
+            System.out.printf("[BENCHMARK] %s%n", linha);
+
+            Path hgrm = diretorio.resolve(nome + "-" + arquivo(endpoint) + ".hgrm");
+            try (PrintStream saida = new PrintStream(Files.newOutputStream(hgrm), false, StandardCharsets.UTF_8)) {
+                latencias.outputPercentileDistribution(saida, 1000.0); // µs -> ms
+            }
+        }
+        Files.writeString(csv, linhas, StandardOpenOption.APPEND);
+
+        Path json = diretorio.resolve(nome + ".json");
+        JSON.writeValue(json.toFile(), relatorio);
+        System.out.printf("[BENCHMARK] Relatório em %s (commit %s)%n", json, commit);
+        return json;
+    }
+
+    /**
+     * Grava a linha de base (se pedido) ou compara {@code relatorio} com ela (ou
+     * com o arquivo de {@code -Dbenchmark.carga.comparar-com}).
+     *
+     * @return as linhas da comparação no formato do CSV (vazia se gravou ou se não há com o que comparar)
+     */
+    static List<String> gravarOuComparar(Path relatorio, Path baseline) throws IOException {
+        if (Boolean.getBoolean(BaselineJmh.PROPRIEDADE_GRAVAR)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(relatorio, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("[BENCHMARK] Linha de base gravada em %s%n", baseline);
+            return List.of();
+        }
+        String outro = System.getProperty(PROPRIEDADE_COMPARAR_COM);
+        Path referencia = outro != null && !outro.isBlank() ? Path.of(outro) : baseline;
+        if (!Files.exists(referencia)) {
+            System.out.printf("[BENCHMARK] Sem relatório para comparar em %s (grave com -D%s=true ou indique -D%s)%n",
+                    referencia, BaselineJmh.PROPRIEDADE_GRAVAR, PROPRIEDADE_COMPARAR_COM);
+            return List.of();
+        }
+
+        JsonNode base = JSON.readTree(referencia.toFile());
+        JsonNode atual = JSON.readTree(relatorio.toFile());
+        System.out.printf("[BENCHMARK] Comparando %s (commit %s) -> commit %s%n",
+                referencia, base.path("commit").asText(), atual.path("commit").asText());
+
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,commit_base,commit_atual,p50_base,p50_atual,p50_variacao_pct,"
+                + "p99_base,p99_atual,p99_variacao_pct,p999_base,p999_atual,p999_variacao_pct,"
+                + "taxa_erro_pct_base,taxa_erro_pct_atual");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = atual.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entrada = endpoints.next();
+            JsonNode antes = base.path("endpoints").path(entrada.getKey());
+            if (antes.isMissingNode()) {
+                continue;
+            }
+            JsonNode depois = entrada.getValue();
+
+            StringBuilder linha = new StringBuilder(String.join(",", entrada.getKey(),
+                    base.path("commit").asText(), atual.path("commit").asText()));
+            StringBuilder console = new StringBuilder();
+            for (String campo : CAMPOS_COMPARADOS) {
+                double a = antes.path(campo).asDouble();
+                double d = depois.path(campo).asDouble();
+                Double variacao = a == 0 ? null : (d - a) / a * 100;
+                linha.append(String.format(Locale.ROOT, ",%.3f,%.3f,%s", a, d,
+                        variacao == null ? "" : String.format(Locale.ROOT, "%.1f", variacao)));
+                console.append(String.format(Locale.ROOT, " | %s %.2f -> %.2f ms (%s)", campo.replace("Ms", ""), a, d,
+                        variacao == null ? "n/d" : String.format(Locale.ROOT, "%+.1f%%", variacao)));
+            }
+            double errosAntes = antes.path("taxaErroPct").asDouble();
+            double errosDepois = depois.path("taxaErroPct").asDouble();
+            linha.append(String.format(Locale.ROOT, ",%.2f,%.2f", errosAntes, errosDepois));
+            console.append(String.format(Locale.ROOT, " | erros %.2f%% -> %.2f%%", errosAntes, errosDepois));
+
+            csv.add(linha.toString());
+            System.out.printf("[BENCHMARK] %-28s%s%n", entrada.getKey(), console);
+        }
+        String nome = relatorio.getFileName().toString().replaceFirst("\\.json$", "");
+        Files.write(relatorio.resolveSibling(nome + "-comparacao.csv"), csv);
+        return csv.subList(1, csv.size());
+    }
+
+    /** Commit atual ({@code git describe --always --dirty}); "desconhecido" fora de um repositório git. */
+    static String commit() {
+        try {
+            Process git = new ProcessBuilder("git", "describe", "--always", "--dirty")
+                    .redirectErrorStream(true)
+                    .start();
+            String saida = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor(10, TimeUnit.SECONDS) && git.exitValue() == 0 && !saida.isEmpty()) {
+                return saida;
+            }
+        } catch (IOException e) {
+            // git fora do PATH
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "desconhecido";
+    }
+
+    /** "POST /api/pedidos/calcular" -> "post-api-pedidos-calcular". */
+    static String arquivo(String endpoint) {
+        return endpoint.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    /** 50 -> "p50Ms", 99.9 -> "p999Ms". */
+    private static String campoPercentil(double percentil) {
+        return "p" + String.valueOf(percentil).replace(".0", "").replace(".", "") + "Ms";
+    }
+
+    private static double ms(long microssegundos) {
+        return arredondar(microssegundos / 1000.0);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Benchmark com virtual threads (Tomcat, {@code @Async} e {@code @Scheduled}).
+ */
+@DisplayName("Benchmark - Virtual threads")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsBenchmarkTest extends ModoThreadsBenchmarkBase {
+
+    @Override
+    String modo() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,120 @@
+package com.deliverytech.delivery.cache;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Substituto do Redis para os testes: um "servidor" em memória compartilhado
+ * pelos nós (instâncias de {@link GerenciadorCacheDoisNiveis}) do teste.
+ * O pub/sub entrega as mensagens na hora, na thread de quem publicou, depois
+ * que {@link #conectar()} foi chamado (como o container do Redis).
+ */
+class CacheRemotoEmMemoria implements CacheRemoto {
+
+    private final Map<String, Object> dados = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> chavesPorTag = new ConcurrentHashMap<>();
+    private final List<Consumer<MensagemInvalidacao>> ouvintes = new CopyOnWriteArrayList<>();
+    private volatile boolean foraDoAr;
+    private volatile boolean escutando;
+    /** Tamanho "serializado" informado em cada gravação e leitura (0 = desconhecido). */
+    private volatile int bytesPorValor;
+
+    /** Simula a queda do Redis: toda operação falha até {@link #restaurar()}. */
+    void derrubar() {
+        foraDoAr = true;
+    }
+
+    void restaurar() {
+        foraDoAr = false;
+    }
+
+    /** Simula o Redis informando o tamanho serializado dos valores. */
+    void informarBytes(int bytes) {
+        bytesPorValor = bytes;
+    }
+
+    boolean escutando() {
+        return escutando;
+    }
+
+    Map<String, Object> dados() {
+        return dados;
+    }
+
+    @Override
+    public ValorRemoto buscar(String chave) {
+        verificar();
+        Object valor = dados.get(chave);
+        return valor != null ? new ValorRemoto(valor, bytesPorValor) : null;
+    }
+
+    @Override
+    public synchronized int gravar(String chave, Object valor, Set<String> tags, Duration ttl) {
+        verificar();
+        dados.put(chave, valor);
+        tags.forEach(tag -> chavesPorTag.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(chave));
+        return bytesPorValor;
+    }
+
+    @Override
+    public void remover(String chave) {
+        verificar();
+        dados.remove(chave);
+    }
+
+    @Override
+    public void limpar(String prefixo) {
+        verificar();
+        dados.keySet().removeIf(chave -> chave.startsWith(prefixo));
+    }
+
+    @Override
+    public synchronized void removerPorTags(Set<String> tags) {
+        verificar();
+        for (String tag : tags) {
+            Set<String> chaves = chavesPorTag.remove(tag);
+            if (chaves != null) {
+                chaves.forEach(dados::remove);
+            }
+        }
+    }
+
+    @Override
+    public void publicar(MensagemInvalidacao mensagem) {
+        verificar();
+        // Passa pelo formato do canal, como no Redis
+        MensagemInvalidacao recebida = MensagemInvalidacao.decodificar(mensagem.codificar());
+        if (escutando) {
+            ouvintes.forEach(ouvinte -> ouvinte.accept(recebida));
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<MensagemInvalidacao> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    @Override
+    public void conectar() {
+        verificar();
+        escutando = true; // Como o container do Redis: depois de iniciado, continua assinado
+    }
+
+    @Override
+    public void ping() {
+        verificar();
+    }
+
+    private void verificar() {
+        if (foraDoAr) {
+            throw new RedisConnectionFailureException("Redis fora do ar (simulado)");
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package com.deliverytech.delivery.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache em duas camadas com dois "nós" (dois gerenciadores)
+ * compartilhando o mesmo Redis simulado em memória.
+ */
+@DisplayName("Testes do GerenciadorCacheDoisNiveis (L1 local + L2 remoto)")
+class GerenciadorCacheDoisNiveisTest {
+
+    private CacheRemotoEmMemoria redis;
+    private SimpleMeterRegistry registry;
+    private GerenciadorCacheDoisNiveis noA;
+    private GerenciadorCacheDoisNiveis noB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new CacheRemotoEmMemoria();
+        registry = new SimpleMeterRegistry();
+        noA = novoNo();
+        noB = novoNo();
+    }
+
+    @Test
+    @DisplayName("Deve ler do L2 o valor gravado por outro nó")
+    void should_ReadFromRemote_When_OtherNodeWrote() {
+        // --- Given (Dado) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+
+        // --- When (Quando) ---
+        Cache.ValueWrapper lido = noB.getCache("produtos").get(1L);
+
+        // --- Then (Então) ---
+        assertNotNull(lido);
+        assertEquals("Pizza", lido.get());
+        assertEquals("Pizza", redis.dados().get("produtos::1"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a cópia local dos outros nós quando o valor muda")
+    void should_InvalidateOtherNodesLocalCopy_When_ValueChanges() {
+        // --- Given (Dado) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+        noB.getCache("produtos").get(1L); // Nó B guarda no L1
+
+        // --- When (Quando) ---
+        noA.getCache("produtos").put(1L, "Pizza Grande");
+
+        // --- Then (Então) ---
+        assertEquals("Pizza Grande", noB.getCache("produtos").get(1L).get());
+
+        noA.getCache("produtos").evict(1L);
+        assertNull(noB.getCache("produtos").get(1L));
+        assertEquals(2.0, registry.find("delivery.cache.invalidacoes.recebidas").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache em todos os nós com clear()")
+    void should_ClearAllNodes_When_CacheCleared() {
+        // --- Given (Dado) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+        noA.getCache("produtos").put(2L, "Lasanha");
+        noA.getCache("categorias").put(1L, "Italiana");
+        noB.getCache("produtos").get(1L);
+
+        // --- When (Quando) ---
+        noA.getCache("produtos").clear();
+
+        // --- Then (Então) ---
+        assertNull(noB.getCache("produtos").get(1L));
+        assertNull(noB.getCache("produtos").get(2L));
+        assertEquals("Italiana", noB.getCache("categorias").get(1L).get());
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma única vez com get(chave, loader)")
+    void should_CallLoaderOnce_When_GetWithLoader() {
+        // --- Given (Dado) ---
+        AtomicInteger cargas = new AtomicInteger();
+
+        // --- When (Quando) ---
+        String primeiro = noA.getCache("produtos").get(1L, () -> "Pizza #" + cargas.incrementAndGet());
+        String segundo = noA.getCache("produtos").get(1L, () -> "Pizza #" + cargas.incrementAndGet());
+        String outroNo = noB.getCache("produtos").get(1L, () -> "Pizza #" + cargas.incrementAndGet());
+
+        // --- Then (Então) ---
+        assertEquals(1, cargas.get());
+        assertEquals("Pizza #1", primeiro);
+        assertEquals("Pizza #1", segundo);
+        assertEquals("Pizza #1", outroNo); // Veio do L2
+    }
+
+    @Test
+    @DisplayName("Deve operar só com o L1 quando o Redis cai, sem lançar exceção")
+    void should_DegradeToLocalOnly_When_RemoteFails() {
+        // --- Given (Dado) ---
+        redis.derrubar();
+
+        // --- When (Quando) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+        Cache.ValueWrapper lido = noA.getCache("produtos").get(1L);
+        noA.getCache("produtos").evict(2L);
+
+        // --- Then (Então) ---
+        assertEquals("Pizza", lido.get());
+        assertFalse(noA.isRemotoDisponivel());
+        assertEquals(1.0, registry.find("delivery.cache.remoto.degradacoes").counter().count());
+        assertEquals(0.0, registry.find("delivery.cache.remoto.disponivel").gauges().stream()
+                .mapToDouble(g -> g.value()).min().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deve voltar a usar o Redis e limpar o L1 quando ele retorna")
+    void should_RecoverAndDropLocalCopies_When_RemoteReturns() {
+        // --- Given (Dado) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+        redis.derrubar();
+        noA.verificarRemoto();
+        // Enquanto A está fora, o valor muda no Redis (outro nó gravou)
+        redis.restaurar();
+        redis.dados().put("produtos::1", "Pizza Grande");
+
+        // --- When (Quando) ---
+        noA.verificarRemoto();
+
+        // --- Then (Então) ---
+        assertTrue(noA.isRemotoDisponivel());
+        assertEquals("Pizza Grande", noA.getCache("produtos").get(1L).get());
+        assertEquals(1.0, registry.find("delivery.cache.remoto.recuperacoes").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar no Redis a remoção feita enquanto ele estava fora do ar")
+    void should_ReplayEvictInRemote_When_RemoteReturns() {
+        // --- Given (Dado) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+        noB.getCache("produtos").get(1L); // B guarda no L1 e não percebe a queda
+        redis.derrubar();
+        noA.getCache("produtos").evict(1L); // A falha ao remover do Redis e degrada
+
+        // --- When (Quando) ---
+        redis.restaurar();
+        noA.verificarRemoto();
+
+        // --- Then (Então) ---
+        assertTrue(noA.isRemotoDisponivel());
+        assertNull(noA.getCache("produtos").get(1L));
+        assertNull(noB.getCache("produtos").get(1L));
+        assertFalse(redis.dados().containsKey("produtos::1"));
+        assertEquals(1.0, registry.find("delivery.cache.invalidacoes.reaplicadas").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar no Redis as tags invalidadas e as gravações feitas só no L1 durante a queda")
+    void should_ReplayTagsAndLocalWrites_When_RemoteReturns() {
+        // --- Given (Dado) ---
+        GerenciadorCacheDoisNiveis comTags = novoNoComTags();
+        comTags.getCache("produtos").put(1L, "Pizza@produto:1");
+        comTags.getCache("produtos").put(2L, "Sushi@produto:2");
+        redis.derrubar();
+        comTags.verificarRemoto(); // Já degradado: as operações nem tentam o Redis
+        comTags.invalidarTags(List.of("produto:1"));
+        comTags.getCache("produtos").put(2L, "Sushi Especial@produto:2");
+
+        // --- When (Quando) ---
+        redis.restaurar();
+        comTags.verificarRemoto();
+
+        // --- Then (Então) ---
+        assertFalse(redis.dados().containsKey("produtos::1"));
+        // O valor anterior à gravação local não volta do Redis
+        assertFalse(redis.dados().containsKey("produtos::2"));
+        assertNull(comTags.getCache("produtos").get(1L));
+        assertNull(comTags.getCache("produtos").get(2L));
+    }
+
+    @Test
+    @DisplayName("Deve manter as invalidações pendentes enquanto o Redis continua fora do ar")
+    void should_KeepPendingInvalidations_When_RemoteStillDown() {
+        // --- Given (Dado) ---
+        noA.getCache("produtos").put(1L, "Pizza");
+        redis.derrubar();
+        noA.getCache("produtos").evict(1L);
+        noA.verificarRemoto(); // Ainda fora: as pendências continuam guardadas
+
+        // --- When (Quando) ---
+        redis.restaurar();
+        noA.verificarRemoto();
+
+        // --- Then (Então) ---
+        assertFalse(redis.dados().containsKey("produtos::1"));
+        assertNull(noA.getCache("produtos").get(1L));
+    }
+
+    @Test
+    @DisplayName("Deve começar só com o L1 quando o Redis não está no ar na inicialização")
+    void should_StartLocalOnly_When_RemoteDownAtStartup() {
+        // --- Given (Dado) ---
+        redis = new CacheRemotoEmMemoria(); // Sem os nós do setUp, que já assinaram o canal
+        redis.derrubar();
+        GerenciadorCacheDoisNiveis no = novoNo();
+        no.getCache("produtos").put(1L, "Pizza");
+        assertFalse(redis.escutando(), "Não deve assinar o canal com o Redis fora do ar");
+
+        // --- When (Quando) ---
+        redis.restaurar();
+        no.verificarRemoto();
+        no.getCache("produtos").put(2L, "Lasanha");
+
+        // --- Then (Então) ---
+        assertTrue(no.isRemotoDisponivel());
+        assertTrue(redis.escutando(), "Deve assinar o canal quando o Redis responde");
+        assertFalse(redis.dados().containsKey("produtos::1"));
+        assertEquals("Lasanha", redis.dados().get("produtos::2"));
+    }
+
+    @Test
+    @DisplayName("Deve invalidar por tag só as entradas marcadas, em todos os caches e nós")
+    void should_InvalidateOnlyTaggedEntries_When_TagInvalidated() {
+        // --- Given (Dado) ---
+        GerenciadorCacheDoisNiveis comTagsA = novoNoComTags();
+        GerenciadorCacheDoisNiveis comTagsB = novoNoComTags();
+        comTagsA.getCache("produtos").put(1L, "Pizza@restaurante:1");
+        comTagsA.getCache("produtos").put(2L, "Sushi@restaurante:2");
+        comTagsA.getCache("produtosPorRestaurante").put(1L, "Cardápio@restaurante:1");
+        // Nó B guarda tudo no L1 (tags recalculadas a partir do valor lido do L2)
+        comTagsB.getCache("produtos").get(1L);
+        comTagsB.getCache("produtos").get(2L);
+        comTagsB.getCache("produtosPorRestaurante").get(1L);
+
+        // --- When (Quando) ---
+        comTagsA.invalidarTags(List.of("restaurante:1"));
+
+        // --- Then (Então) ---
+        assertNull(comTagsB.getCache("produtos").get(1L));
+        assertNull(comTagsB.getCache("produtosPorRestaurante").get(1L));
+        assertNull(comTagsA.getCache("produtosPorRestaurante").get(1L));
+        assertEquals("Sushi@restaurante:2", comTagsB.getCache("produtos").get(2L).get());
+        assertFalse(redis.dados().containsKey("produtos::1"));
+        assertTrue(redis.dados().containsKey("produtos::2"));
+        assertEquals(1.0, registry.find("delivery.cache.invalidacoes.tags").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar por tag na camada local mesmo com o Redis fora do ar")
+    void should_InvalidateLocalTaggedEntries_When_RemoteDown() {
+        // --- Given (Dado) ---
+        GerenciadorCacheDoisNiveis comTags = novoNoComTags();
+        comTags.getCache("produtos").put(1L, "Pizza@produto:1");
+        comTags.getCache("produtos").put(2L, "Sushi@produto:2");
+        redis.derrubar();
+
+        // --- When (Quando) ---
+        comTags.invalidarTags(List.of("produto:1"));
+
+        // --- Then (Então) ---
+        assertNull(comTags.getCache("produtos").get(1L));
+        assertEquals("Sushi@produto:2", comTags.getCache("produtos").get(2L).get());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única carga para chamadas concorrentes da mesma chave")
+    void should_CoalesceConcurrentLoads_When_SameKeyMisses() throws Exception {
+        // --- Given (Dado) ---
+        Cache cache = noA.getCache("produtos");
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        CountDownLatch chamadasIniciadas = new CountDownLatch(10);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // --- When (Quando) ---
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            resultados.add(executor.submit(() -> {
+                chamadasIniciadas.countDown();
+                return cache.get(1L, () -> {
+                    cargas.incrementAndGet();
+                    liberarCarga.await(5, TimeUnit.SECONDS);
+                    return "Pizza";
+                });
+            }));
+        }
+        chamadasIniciadas.await(5, TimeUnit.SECONDS);
+        Thread.sleep(200); // Deixa as chamadas chegarem à espera pela carga
+        liberarCarga.countDown();
+
+        // --- Then (Então) ---
+        for (Future<String> resultado : resultados) {
+            assertEquals("Pizza", resultado.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, cargas.get());
+        assertEquals(9.0, contador("delivery.cache.carga.coalescidas"));
+    }
+
+    @Test
+    @DisplayName("Deve carregar por conta própria quando a carga em andamento passa do timeout")
+    void should_LoadIndependently_When_WaitTimesOut() throws Exception {
+        // --- Given (Dado) ---
+        Cache cache = novoNo(new OpcoesCarga(Duration.ofMillis(50), 0)).getCache("produtos");
+        CountDownLatch cargaLentaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCargaLenta = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> lenta = executor.submit(() -> cache.get(1L, () -> {
+            cargaLentaIniciada.countDown();
+            liberarCargaLenta.await(5, TimeUnit.SECONDS);
+            return "Pizza (lenta)";
+        }));
+        cargaLentaIniciada.await(5, TimeUnit.SECONDS);
+
+        // --- When (Quando) ---
+        String rapida = cache.get(1L, () -> "Pizza (rápida)");
+
+        // --- Then (Então) ---
+        assertEquals("Pizza (rápida)", rapida);
+        assertEquals(1.0, contador("delivery.cache.carga.timeouts"));
+        liberarCargaLenta.countDown();
+        assertEquals("Pizza (lenta)", lenta.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a entrada antes de expirar com o refresh antecipado")
+    void should_RefreshBeforeExpiry_When_EarlyRefreshTriggers() {
+        // --- Given (Dado) ---
+        // Beta enorme: qualquer acesso cai na janela de refresh antecipado
+        Cache antecipado = novoNo(new OpcoesCarga(Duration.ofSeconds(2), 1e15)).getCache("produtos");
+        Cache semRefresh = novoNo(new OpcoesCarga(Duration.ofSeconds(2), 0)).getCache("produtos");
+        antecipado.get(1L, () -> "Pizza");
+        semRefresh.get(1L, () -> "Pizza");
+        redis.dados().put("produtos::1", "Pizza Grande"); // Mudou no L2 (sem invalidação)
+
+        // --- When (Quando) ---
+        String comRefresh = antecipado.get(1L, () -> "nunca chamado");
+        String semRefreshLido = semRefresh.get(1L, () -> "nunca chamado");
+
+        // --- Then (Então) ---
+        assertEquals("Pizza Grande", comRefresh);
+        assertEquals("Pizza", semRefreshLido);
+        assertTrue(contador("delivery.cache.carga.refresh.antecipado") >= 1.0);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar o resultado de uma carga que atravessou uma invalidação")
+    void should_NotStoreLoadedValue_When_InvalidatedDuringLoad() throws Exception {
+        // --- Given (Dado) ---
+        Cache cache = noA.getCache("produtos");
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> carga = executor.submit(() -> cache.get(1L, () -> {
+            cargaIniciada.countDown();
+            liberarCarga.await(5, TimeUnit.SECONDS);
+            return "Pizza (antes da escrita)";
+        }));
+        cargaIniciada.await(5, TimeUnit.SECONDS);
+
+        // --- When (Quando) ---
+        cache.evict(1L);
+        liberarCarga.countDown();
+
+        // --- Then (Então) ---
+        assertEquals("Pizza (antes da escrita)", carga.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertNull(cache.get(1L));
+        assertFalse(redis.dados().containsKey("produtos::1"));
+    }
+
+    @Test
+    @DisplayName("Deve contar acertos no L1, acertos no L2, faltas e o tempo das cargas")
+    void should_RecordHitsMissesAndLoadTime_When_CacheAccessed() {
+        // --- Given (Dado) ---
+        Cache cacheA = noA.getCache("produtos");
+        Cache cacheB = noB.getCache("produtos");
+
+        // --- When (Quando) ---
+        cacheA.get(1L, () -> "Pizza");          // Falta: carrega
+        cacheA.get(1L, () -> "nunca chamado");  // Acerto no L1
+        cacheB.get(1L, () -> "nunca chamado");  // Acerto no L2 (gravado pelo nó A)
+        cacheB.get(2L);                         // Falta sem carga
+
+        // --- Then (Então) ---
+        assertEquals(1.0, acessos("acerto_local"));
+        assertEquals(1.0, acessos("acerto_remoto"));
+        assertEquals(2.0, acessos("falta"));
+        assertEquals(1, registry.find("delivery.cache.carga.tempo").tag("cache", "produtos").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve medir entradas, bytes e remoções por causa na camada local")
+    void should_TrackEntriesBytesAndRemovals_When_LocalCacheFull() {
+        // --- Given (Dado) ---
+        SimpleMeterRegistry registroIsolado = new SimpleMeterRegistry();
+        GerenciadorCacheDoisNiveis no = new GerenciadorCacheDoisNiveis(redis, 2, Duration.ofMinutes(1),
+                Duration.ofMinutes(10), ExtratorTags.NENHUMA, OpcoesCarga.PADRAO,
+                valor -> String.valueOf(valor).length(), registroIsolado);
+        CacheDoisNiveis cache = (CacheDoisNiveis) no.getCache("produtos");
+
+        // --- When (Quando) ---
+        for (long id = 1; id <= 5; id++) {
+            cache.put(id, "v" + id); // 2 bytes cada
+        }
+        cache.getNativeCache().cleanUp();
+        long entradasAntes = cache.tamanhoLocal();
+        long chaveRestante = cache.getNativeCache().asMap().keySet().stream().findFirst().map(Long::valueOf).orElseThrow();
+        cache.evict(chaveRestante);
+        cache.getNativeCache().cleanUp();
+
+        // --- Then (Então) ---
+        assertEquals(2, entradasAntes);
+        assertEquals(3.0, registroIsolado.find("delivery.cache.remocoes").tag("causa", "tamanho").counter().count());
+        assertEquals(1.0, registroIsolado.find("delivery.cache.remocoes").tag("causa", "invalidacao").counter().count());
+        assertEquals(1.0, registroIsolado.find("delivery.cache.entradas").tag("cache", "produtos").gauge().value());
+        assertEquals(2.0, registroIsolado.find("delivery.cache.tamanho.bytes").tag("cache", "produtos").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve medir os bytes pela serialização do remoto, sem chamar o estimador")
+    void should_ReuseRemoteSize_When_RemoteSerializedValue() {
+        // --- Given (Dado) ---
+        redis.informarBytes(100);
+        AtomicInteger estimativas = new AtomicInteger();
+        SimpleMeterRegistry registroIsolado = new SimpleMeterRegistry();
+        GerenciadorCacheDoisNiveis no = new GerenciadorCacheDoisNiveis(redis, 10, Duration.ofMinutes(1),
+                Duration.ofMinutes(10), ExtratorTags.NENHUMA, OpcoesCarga.PADRAO,
+                valor -> estimativas.incrementAndGet(), registroIsolado);
+        Cache cache = no.getCache("produtos");
+        noA.getCache("produtos").put(3L, "Sushi"); // Gravado por outro nó: chega pelo L2
+
+        // --- When (Quando) ---
+        cache.put(1L, "Pizza");
+        cache.get(2L, () -> "Lasanha");
+        cache.get(3L);
+
+        // --- Then (Então) ---
+        assertEquals(0, estimativas.get());
+        assertEquals(300.0, registroIsolado.find("delivery.cache.tamanho.bytes").tag("cache", "produtos").gauge().value());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private GerenciadorCacheDoisNiveis novoNo() {
+        return new GerenciadorCacheDoisNiveis(redis, 100, Duration.ofMinutes(1), Duration.ofMinutes(10), registry);
+    }
+
+    /** Tag no próprio valor, depois do "@" (ex: "Pizza@restaurante:1"). */
+    private GerenciadorCacheDoisNiveis novoNoComTags() {
+        ExtratorTags tagNoValor = (cache, chave, valor) -> valor instanceof String texto && texto.contains("@")
+                ? Set.of(texto.substring(texto.indexOf('@') + 1))
+                : Set.of();
+        return new GerenciadorCacheDoisNiveis(redis, 100, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                tagNoValor, OpcoesCarga.PADRAO, registry);
+    }
+
+    private GerenciadorCacheDoisNiveis novoNo(OpcoesCarga opcoes) {
+        return new GerenciadorCacheDoisNiveis(redis, 100, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                ExtratorTags.NENHUMA, opcoes, registry);
+    }
+
+    private double acessos(String resultado) {
+        return registry.find("delivery.cache.acessos").tag("cache", "produtos").tag("resultado", resultado)
+                .counter().count();
+    }
+
+    private double contador(String nome) {
+        return registry.find(nome).tag("cache", "produtos").counter().count();
+    }
+}
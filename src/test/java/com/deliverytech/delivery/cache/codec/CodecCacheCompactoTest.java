@@ -0,0 +1,231 @@
+package com.deliverytech.delivery.cache.codec;
+
+import com.deliverytech.delivery.dto.request.GrupoOpcionalDTO;
+import com.deliverytech.delivery.dto.request.ItemOpcionalDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do codec binário dos valores do cache remoto.
+ */
+@DisplayName("Testes do CodecCacheCompacto")
+class CodecCacheCompactoTest {
+
+    private final CodecCacheCompacto codec = new CodecCacheCompacto(List.of(new EsquemaProdutoResponse()), 0);
+
+    @Test
+    @DisplayName("Deve reconstruir o produto com grupos e itens opcionais")
+    void should_RoundTripProduto_When_ProdutoHasGroups() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO produto = criarProduto(10L, 3);
+
+        // --- When (Quando) ---
+        ProdutoResponseDTO lido = (ProdutoResponseDTO) codec.deserialize(codec.serialize(produto));
+
+        // --- Then (Então) ---
+        assertProdutoIgual(produto, lido);
+    }
+
+    @Test
+    @DisplayName("Deve preservar campos nulos e lista de itens nula")
+    void should_PreserveNulls_When_FieldsAreNull() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId(5L);
+        GrupoOpcionalDTO grupo = new GrupoOpcionalDTO();
+        grupo.setNome("Sem itens");
+        produto.setGruposOpcionais(List.of(grupo));
+
+        // --- When (Quando) ---
+        ProdutoResponseDTO lido = (ProdutoResponseDTO) codec.deserialize(codec.serialize(produto));
+
+        // --- Then (Então) ---
+        assertEquals(5L, lido.getId());
+        assertNull(lido.getNome());
+        assertNull(lido.getPrecoBase());
+        assertNull(lido.getDisponivel());
+        assertNull(lido.getGruposOpcionais().get(0).getItensOpcionais());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir listas, páginas e valores simples")
+    void should_RoundTripCollectionsAndScalars_When_Serialized() {
+        // --- Given (Dado) ---
+        List<ProdutoResponseDTO> lista = List.of(criarProduto(1L, 1), criarProduto(2L, 2));
+        Page<ProdutoResponseDTO> pagina = new PageImpl<>(lista,
+                PageRequest.of(3, 2, Sort.by(Sort.Order.desc("precoBase"), Sort.Order.asc("nome"))), 40);
+
+        // --- When (Quando) ---
+        @SuppressWarnings("unchecked")
+        List<ProdutoResponseDTO> listaLida = (List<ProdutoResponseDTO>) codec.deserialize(codec.serialize(lista));
+        @SuppressWarnings("unchecked")
+        Page<ProdutoResponseDTO> paginaLida = (Page<ProdutoResponseDTO>) codec.deserialize(codec.serialize(pagina));
+
+        // --- Then (Então) ---
+        assertEquals(2, listaLida.size());
+        assertProdutoIgual(lista.get(1), listaLida.get(1));
+
+        assertEquals(3, paginaLida.getNumber());
+        assertEquals(2, paginaLida.getSize());
+        assertEquals(40, paginaLida.getTotalElements());
+        assertEquals(pagina.getSort(), paginaLida.getSort());
+        assertProdutoIgual(lista.get(0), paginaLida.getContent().get(0));
+
+        assertSame(NullValue.INSTANCE, codec.deserialize(codec.serialize(NullValue.INSTANCE)));
+        assertEquals("Pizza", codec.deserialize(codec.serialize("Pizza")));
+        assertEquals(-42L, codec.deserialize(codec.serialize(-42L)));
+        assertEquals(new BigDecimal("-0.015"), codec.deserialize(codec.serialize(new BigDecimal("-0.015"))));
+        assertNull(codec.deserialize(codec.serialize(null)));
+    }
+
+    @Test
+    @DisplayName("Deve comprimir com LZ4 apenas acima do limite")
+    void should_CompressWithLz4_When_AboveThreshold() {
+        // --- Given (Dado) ---
+        CodecCacheCompacto comLz4 = new CodecCacheCompacto(List.of(new EsquemaProdutoResponse()), 256);
+        List<ProdutoResponseDTO> grande = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            grande.add(criarProduto(i, 3));
+        }
+        ProdutoResponseDTO pequeno = new ProdutoResponseDTO();
+        pequeno.setId(1L);
+
+        // --- When (Quando) ---
+        byte[] grandeComprimido = comLz4.serialize(grande);
+        byte[] grandeCru = codec.serialize(grande);
+        byte[] pequenoSerializado = comLz4.serialize(pequeno);
+
+        // --- Then (Então) ---
+        assertEquals(1, grandeComprimido[2]); // Flag LZ4
+        assertTrue(grandeComprimido.length < grandeCru.length);
+        assertEquals(0, pequenoSerializado[2]);
+        @SuppressWarnings("unchecked")
+        List<ProdutoResponseDTO> lido = (List<ProdutoResponseDTO>) comLz4.deserialize(grandeComprimido);
+        assertProdutoIgual(grande.get(19), lido.get(19));
+    }
+
+    @Test
+    @DisplayName("Deve gerar payload menor que a serialização Java")
+    void should_BeSmallerThanJdkSerialization_When_SameValue() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO produto = criarProduto(10L, 3);
+
+        // --- When (Quando) ---
+        byte[] compacto = codec.serialize(produto);
+        byte[] jdk = RedisSerializer.java().serialize(produto);
+
+        // --- Then (Então) ---
+        assertTrue(compacto.length * 2 < jdk.length,
+                "compacto=" + compacto.length + " bytes, jdk=" + jdk.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valor gravado com outra versão do esquema")
+    void should_RejectValue_When_SchemaVersionDiffers() {
+        // --- Given (Dado) ---
+        EsquemaProdutoResponse versao2 = new EsquemaProdutoResponse() {
+            @Override
+            public int versao() {
+                return 2;
+            }
+        };
+        byte[] gravadoPelaNovaVersao = new CodecCacheCompacto(List.of(versao2), 0).serialize(criarProduto(1L, 1));
+
+        // --- When / Then (Quando / Então) ---
+        assertThrows(FormatoInvalidoException.class, () -> codec.deserialize(gravadoPelaNovaVersao));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar payload truncado, corrompido ou em outro formato")
+    void should_RejectPayload_When_Corrupted() {
+        // --- Given (Dado) ---
+        byte[] valido = codec.serialize(criarProduto(1L, 2));
+        byte[] truncado = Arrays.copyOf(valido, valido.length / 2);
+        byte[] jdk = RedisSerializer.java().serialize("Pizza");
+        byte[] comprimidoCorrompido = new CodecCacheCompacto(List.of(new EsquemaProdutoResponse()), 1)
+                .serialize(List.of(criarProduto(1L, 3), criarProduto(2L, 3)));
+        Arrays.fill(comprimidoCorrompido, 5, comprimidoCorrompido.length, (byte) 0x7F);
+
+        // --- When / Then (Quando / Então) ---
+        assertThrows(FormatoInvalidoException.class, () -> codec.deserialize(truncado));
+        assertThrows(FormatoInvalidoException.class, () -> codec.deserialize(jdk));
+        assertThrows(FormatoInvalidoException.class, () -> codec.deserialize(comprimidoCorrompido));
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static ProdutoResponseDTO criarProduto(Long id, int grupos) {
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId(id);
+        produto.setNome("Pizza Margherita " + id);
+        produto.setDescricao("Molho de tomate, mussarela de búfala e manjericão fresco");
+        produto.setPrecoBase(new BigDecimal("45.90"));
+        produto.setDisponivel(true);
+        produto.setRestauranteId(2L);
+        produto.setCategoria("Pizza");
+        produto.setEstoque(50);
+
+        List<GrupoOpcionalDTO> lista = new ArrayList<>();
+        for (int g = 1; g <= grupos; g++) {
+            GrupoOpcionalDTO grupo = new GrupoOpcionalDTO();
+            grupo.setId(id * 10 + g);
+            grupo.setNome("Grupo " + g);
+            grupo.setMinSelecao(0);
+            grupo.setMaxSelecao(3);
+            List<ItemOpcionalDTO> itens = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                ItemOpcionalDTO item = new ItemOpcionalDTO();
+                item.setId(id * 100 + g * 10 + i);
+                item.setNome("Adicional " + i);
+                item.setPrecoAdicional(new BigDecimal("2.50").multiply(BigDecimal.valueOf(i)));
+                itens.add(item);
+            }
+            grupo.setItensOpcionais(itens);
+            lista.add(grupo);
+        }
+        produto.setGruposOpcionais(lista);
+        return produto;
+    }
+
+    private static void assertProdutoIgual(ProdutoResponseDTO esperado, ProdutoResponseDTO atual) {
+        assertEquals(esperado.getId(), atual.getId());
+        assertEquals(esperado.getNome(), atual.getNome());
+        assertEquals(esperado.getDescricao(), atual.getDescricao());
+        assertEquals(esperado.getPrecoBase(), atual.getPrecoBase());
+        assertEquals(esperado.getDisponivel(), atual.getDisponivel());
+        assertEquals(esperado.getRestauranteId(), atual.getRestauranteId());
+        assertEquals(esperado.getCategoria(), atual.getCategoria());
+        assertEquals(esperado.getEstoque(), atual.getEstoque());
+        assertEquals(esperado.getGruposOpcionais().size(), atual.getGruposOpcionais().size());
+        for (int g = 0; g < esperado.getGruposOpcionais().size(); g++) {
+            GrupoOpcionalDTO grupoEsperado = esperado.getGruposOpcionais().get(g);
+            GrupoOpcionalDTO grupoAtual = atual.getGruposOpcionais().get(g);
+            assertEquals(grupoEsperado.getId(), grupoAtual.getId());
+            assertEquals(grupoEsperado.getNome(), grupoAtual.getNome());
+            assertEquals(grupoEsperado.getMinSelecao(), grupoAtual.getMinSelecao());
+            assertEquals(grupoEsperado.getMaxSelecao(), grupoAtual.getMaxSelecao());
+            assertEquals(grupoEsperado.getItensOpcionais().size(), grupoAtual.getItensOpcionais().size());
+            for (int i = 0; i < grupoEsperado.getItensOpcionais().size(); i++) {
+                ItemOpcionalDTO itemEsperado = grupoEsperado.getItensOpcionais().get(i);
+                ItemOpcionalDTO itemAtual = grupoAtual.getItensOpcionais().get(i);
+                assertEquals(itemEsperado.getId(), itemAtual.getId());
+                assertEquals(itemEsperado.getNome(), itemAtual.getNome());
+                assertEquals(itemEsperado.getPrecoAdicional(), itemAtual.getPrecoAdicional());
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.deliverytech.delivery.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ContextoRequisicaoTaskDecorator")
+class ContextoRequisicaoTaskDecoratorTest {
+
+    // Tracing desligado: o decorator deve funcionar sem Tracer
+    private final ContextoRequisicaoTaskDecorator decorator = new ContextoRequisicaoTaskDecorator(null);
+
+    @AfterEach
+    void limparContexto() {
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve propagar MDC e usuário autenticado para a thread do executor")
+    void should_PropagateMdcAndAuthentication_When_TaskRunsOnOtherThread() throws Exception {
+        // --- Given (Dado) ---
+        MDC.put("correlationId", "corr-123");
+        Authentication autenticacao = new UsernamePasswordAuthenticationToken("cliente@teste.com", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(autenticacao);
+
+        AtomicReference<String> correlationIdVisto = new AtomicReference<>();
+        AtomicReference<Authentication> autenticacaoVista = new AtomicReference<>();
+        Runnable tarefa = decorator.decorate(() -> {
+            correlationIdVisto.set(MDC.get("correlationId"));
+            autenticacaoVista.set(SecurityContextHolder.getContext().getAuthentication());
+        });
+
+        // --- When (Quando) ---
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(tarefa).get(5, TimeUnit.SECONDS);
+
+            // --- Then (Então) ---
+            assertEquals("corr-123", correlationIdVisto.get());
+            assertSame(autenticacao, autenticacaoVista.get());
+
+            // A thread do pool volta limpa após a tarefa
+            AtomicReference<String> mdcDepois = new AtomicReference<>("nao-executado");
+            AtomicReference<Authentication> autenticacaoDepois = new AtomicReference<>();
+            executor.submit(() -> {
+                mdcDepois.set(MDC.get("correlationId"));
+                autenticacaoDepois.set(SecurityContextHolder.getContext().getAuthentication());
+            }).get(5, TimeUnit.SECONDS);
+            assertNull(mdcDepois.get());
+            assertNull(autenticacaoDepois.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o contexto da thread chamadora quando a tarefa roda nela mesma")
+    void should_RestoreCallerContext_When_TaskRunsOnCallerThread() {
+        // --- Given (Dado) ---
+        MDC.put("correlationId", "origem");
+        Runnable tarefa = decorator.decorate(() -> MDC.put("correlationId", "alterado-pela-tarefa"));
+
+        // --- When (Quando) ---
+        tarefa.run();
+
+        // --- Then (Então) ---
+        assertEquals("origem", MDC.get("correlationId"));
+    }
+}
@@ -0,0 +1,185 @@
+package com.deliverytech.delivery.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do roteamento primária/réplica com dois bancos H2 em memória:
+ * cada banco tem uma tabela "origem" que diz de onde a leitura veio.
+ */
+@DisplayName("Testes do RoteamentoDataSource (primária + réplicas H2)")
+class RoteamentoDataSourceTest {
+
+    private DataSource primaria;
+    private DataSource replica;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        primaria = bancoH2("primaria");
+        replica = bancoH2("replica");
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve ler da réplica em transação readOnly e escrever na primária")
+    void should_RouteReadOnlyToReplica_And_WritesToPrimary() {
+        // --- Given (Dado) ---
+        Cenario cenario = new Cenario(Map.of("replica-1", replica), Duration.ZERO);
+
+        // --- When (Quando) & Then (Então) ---
+        assertEquals("replica", cenario.lerOrigem(true));
+        assertEquals("primaria", cenario.lerOrigem(false));
+        assertEquals(1.0, registry.find("delivery.datasource.roteamento")
+                .tag("destino", "replica-1").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve alternar as leituras entre as réplicas (round-robin)")
+    void should_BalanceReads_When_MultipleReplicas() {
+        // --- Given (Dado) ---
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        replicas.put("replica-2", bancoH2("replica-b"));
+        Cenario cenario = new Cenario(replicas, Duration.ZERO);
+
+        // --- When (Quando) ---
+        List<String> origens = List.of(cenario.lerOrigem(true), cenario.lerOrigem(true),
+                cenario.lerOrigem(true), cenario.lerOrigem(true));
+
+        // --- Then (Então) ---
+        assertEquals(List.of("replica", "replica-b", "replica", "replica-b"), origens);
+    }
+
+    @Test
+    @DisplayName("Deve ler da primária logo após o cliente escrever (read-your-writes)")
+    void should_ReadFromPrimary_When_ClientWroteWithinWindow() {
+        // --- Given (Dado) ---
+        Cenario cenario = new Cenario(Map.of("replica-1", replica), Duration.ofMinutes(1));
+        autenticar("joao.teste@email.com");
+
+        // --- When (Quando) ---
+        cenario.escrever("INSERT INTO pedido (id) VALUES (1)");
+
+        // --- Then (Então) ---
+        assertEquals("primaria", cenario.lerOrigem(true));
+
+        // Outro cliente não é afetado pela janela
+        autenticar("maria@email.com");
+        assertEquals("replica", cenario.lerOrigem(true));
+    }
+
+    @Test
+    @DisplayName("Não deve abrir a janela quando a escrita sofre rollback")
+    void should_NotOpenWindow_When_WriteRolledBack() {
+        // --- Given (Dado) ---
+        Cenario cenario = new Cenario(Map.of("replica-1", replica), Duration.ofMinutes(1));
+        autenticar("joao.teste@email.com");
+
+        // --- When (Quando) ---
+        cenario.transacao(false).executeWithoutResult(status -> {
+            cenario.jdbc.update("INSERT INTO pedido (id) VALUES (2)");
+            status.setRollbackOnly();
+        });
+
+        // --- Then (Então) ---
+        assertEquals("replica", cenario.lerOrigem(true));
+    }
+
+    @Test
+    @DisplayName("Deve cair para a primária e pôr a réplica em quarentena quando ela falha")
+    void should_FailoverToPrimary_When_ReplicaUnavailable() throws SQLException {
+        // --- Given (Dado) ---
+        DataSource replicaFora = mock(DataSource.class);
+        when(replicaFora.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Cenario cenario = new Cenario(Map.of("replica-1", replicaFora), Duration.ZERO);
+
+        // --- When (Quando) ---
+        String primeiraLeitura = cenario.lerOrigem(true);
+        String segundaLeitura = cenario.lerOrigem(true);
+
+        // --- Then (Então) ---
+        assertEquals("primaria", primeiraLeitura);
+        assertEquals("primaria", segundaLeitura);
+        // Em quarentena: a segunda leitura nem tenta a réplica
+        verify(replicaFora, times(1)).getConnection();
+        assertEquals(List.of("replica-1"), cenario.roteamento.replicasEmQuarentena());
+        assertEquals(1.0, registry.find("delivery.datasource.replica.falhas").counter().count());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static DataSource bancoH2(String origem) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + origem + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.execute("CREATE TABLE pedido (id BIGINT PRIMARY KEY)");
+        jdbc.update("INSERT INTO origem (nome) VALUES (?)", origem);
+        return dataSource;
+    }
+
+    private static void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+    }
+
+    /**
+     * Monta a mesma pilha da aplicação: LazyConnectionDataSourceProxy → RoteamentoDataSource.
+     */
+    private class Cenario {
+        final RoteamentoDataSource roteamento;
+        final JdbcTemplate jdbc;
+        final DataSourceTransactionManager transactionManager;
+
+        Cenario(Map<String, DataSource> replicas, Duration janela) {
+            roteamento = new RoteamentoDataSource(primaria, replicas, new JanelaLeituraPropriaEscrita(janela),
+                    Duration.ofMinutes(1), registry);
+            DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+            jdbc = new JdbcTemplate(dataSource);
+            transactionManager = new DataSourceTransactionManager(dataSource);
+        }
+
+        TransactionTemplate transacao(boolean somenteLeitura) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(somenteLeitura);
+            return template;
+        }
+
+        String lerOrigem(boolean somenteLeitura) {
+            return transacao(somenteLeitura).execute(status ->
+                    jdbc.queryForObject("SELECT nome FROM origem", String.class));
+        }
+
+        void escrever(String sql) {
+            transacao(false).executeWithoutResult(status -> jdbc.update(sql));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.deliverytech.delivery.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Os índices vivem em dois lugares: nas migrations (schema do MySQL) e no
+ * {@code @Table(indexes = ...)} das entidades (schema que o Hibernate gera no
+ * H2, onde rodam os testes e o EXPLAIN das consultas). Este teste impede que as
+ * duas listas divirjam.
+ */
+@DisplayName("Testes do catálogo de índices (entidades x migrations)")
+class CatalogoIndicesTest {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE\\s+INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NOME_MIGRATION = Pattern.compile("V(\\d+)__\\w+\\.sql");
+
+    @Test
+    @DisplayName("Deve declarar nas entidades os mesmos índices criados pelas migrations")
+    void should_MatchMigrationIndexes_When_ComparingWithEntities() throws Exception {
+        // --- When (Quando) ---
+        Map<String, String> dasEntidades = indicesDasEntidades();
+        Map<String, String> dasMigrations = indicesDasMigrations();
+
+        // --- Then (Então) ---
+        assertFalse(dasMigrations.isEmpty());
+        assertEquals(dasMigrations, dasEntidades);
+    }
+
+    @Test
+    @DisplayName("Deve nomear as migrations com versões únicas no padrão do Flyway")
+    void should_UseUniqueVersions_When_NamingMigrations() throws IOException {
+        // --- Given (Dado) ---
+        Set<String> versoes = new HashSet<>();
+
+        // --- When / Then (Quando / Então) ---
+        for (Resource migration : migrations()) {
+            Matcher nome = NOME_MIGRATION.matcher(migration.getFilename());
+            assertTrue(nome.matches(), "Nome fora do padrão V<versão>__<descrição>.sql: " + migration.getFilename());
+            assertTrue(versoes.add(nome.group(1)), "Versão repetida: " + migration.getFilename());
+        }
+    }
+
+    // --- Métodos Auxiliares ---
+
+    /** nome do índice -> "tabela(coluna,coluna)" */
+    private static Map<String, String> indicesDasEntidades() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        Map<String, String> indices = new TreeMap<>();
+        for (BeanDefinition entidade : scanner.findCandidateComponents(Produto.class.getPackageName())) {
+            Table tabela = Class.forName(entidade.getBeanClassName()).getAnnotation(Table.class);
+            if (tabela == null) {
+                continue;
+            }
+            for (Index indice : tabela.indexes()) {
+                indices.put(indice.name().toLowerCase(Locale.ROOT), descrever(tabela.name(), indice.columnList()));
+            }
+        }
+        return indices;
+    }
+
+    private static Map<String, String> indicesDasMigrations() throws IOException {
+        Map<String, String> indices = new TreeMap<>();
+        for (Resource migration : migrations()) {
+            Matcher criacao = CREATE_INDEX.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+            while (criacao.find()) {
+                String anterior = indices.put(criacao.group(1).toLowerCase(Locale.ROOT),
+                        descrever(criacao.group(2), criacao.group(3)));
+                assertNull(anterior, "Índice criado duas vezes: " + criacao.group(1));
+            }
+        }
+        return indices;
+    }
+
+    private static Resource[] migrations() throws IOException {
+        return new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql");
+    }
+
+    private static String descrever(String tabela, String colunas) {
+        return (tabela + "(" + colunas.replaceAll("\\s+", "") + ")").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,154 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.dto.request.ProdutoDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Invalidação por tags nos caches do catálogo: uma escrita em um produto
+ * atualiza todas as listas em que ele aparece, sem derrubar as demais entradas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DisplayName("Testes da invalidação por tags dos caches do catálogo")
+class CatalogoCacheTagsTest {
+
+    @Autowired private ProdutoService produtoService;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private CacheManager cacheManager;
+
+    private Long restauranteId;
+    private String categoriaA;
+    private String categoriaB;
+
+    @BeforeEach
+    void setUp() {
+        restauranteId = restauranteRepository.findAll().get(0).getId();
+        // Categorias únicas por teste: o cache é compartilhado pelo contexto
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+        categoriaA = "Massas-" + sufixo;
+        categoriaB = "Sobremesas-" + sufixo;
+    }
+
+    @Test
+    @DisplayName("Deve atualizar as listas que contêm o produto e manter as outras em cache")
+    void should_RefreshListsContainingProduct_When_ProductUpdated() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO lasanha = produtoService.cadastrarProduto(novoProduto("Lasanha", categoriaA));
+        produtoService.cadastrarProduto(novoProduto("Pudim", categoriaB));
+        produtoService.buscarProdutoPorId(lasanha.getId());
+        produtoService.buscarProdutosPorCategoria(categoriaA);
+        produtoService.buscarProdutosPorCategoria(categoriaB);
+
+        // --- When (Quando) ---
+        ProdutoDTO alteracao = novoProduto("Lasanha à Bolonhesa", categoriaA);
+        produtoService.atualizarProduto(lasanha.getId(), alteracao);
+
+        // --- Then (Então) ---
+        assertEquals("Lasanha à Bolonhesa", produtoService.buscarProdutoPorId(lasanha.getId()).getNome());
+        assertEquals(List.of("Lasanha à Bolonhesa"), nomes(produtoService.buscarProdutosPorCategoria(categoriaA)));
+        assertTrue(nomes(produtoService.buscarProdutosPorRestaurante(restauranteId, true)).contains("Lasanha à Bolonhesa"));
+        // Lista sem o produto continua no cache
+        assertNotNull(cacheManager.getCache("produtosPorCategoria").get(categoriaB));
+    }
+
+    @Test
+    @DisplayName("Deve incluir o produto novo nas listas do restaurante e da categoria")
+    void should_IncludeNewProductInCachedLists_When_ProductCreated() {
+        // --- Given (Dado) ---
+        produtoService.cadastrarProduto(novoProduto("Tiramisù", categoriaB));
+        assertEquals(1, produtoService.buscarProdutosPorCategoria(categoriaB).size());
+        int doRestaurante = produtoService.buscarProdutosPorRestaurante(restauranteId, true).size();
+
+        // --- When (Quando) ---
+        produtoService.cadastrarProduto(novoProduto("Petit Gâteau", categoriaB));
+
+        // --- Then (Então) ---
+        assertEquals(2, produtoService.buscarProdutosPorCategoria(categoriaB).size());
+        assertEquals(doRestaurante + 1, produtoService.buscarProdutosPorRestaurante(restauranteId, true).size());
+    }
+
+    @Test
+    @DisplayName("Não deve derrubar do cache os produtos do restaurante ao cadastrar outro")
+    void should_KeepCachedProductsOfRestaurant_When_AnotherProductCreated() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO canelone = produtoService.cadastrarProduto(novoProduto("Canelone", categoriaA));
+        produtoService.buscarProdutoPorId(canelone.getId());
+        produtoService.buscarProdutosPorCategoria(categoriaA);
+
+        // --- When (Quando) ---
+        produtoService.cadastrarProduto(novoProduto("Quindim", categoriaB));
+
+        // --- Then (Então) ---
+        // Só as listagens do restaurante e da categoria B ganham o produto novo
+        assertNotNull(cacheManager.getCache("produtos").get(canelone.getId()));
+        assertNotNull(cacheManager.getCache("produtosPorCategoria").get(categoriaA));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar na busca em cache o produto cuja descrição passou a casar com o termo")
+    void should_RefreshCachedSearch_When_DescriptionUpdated() {
+        // --- Given (Dado) ---
+        String termo = "gorgonzola" + categoriaA.substring(categoriaA.indexOf('-') + 1);
+        ProdutoResponseDTO nhoque = produtoService.cadastrarProduto(novoProduto("Nhoque", categoriaA));
+        assertTrue(produtoService.buscarProdutosPorNome(termo).isEmpty()); // Resultado vazio em cache
+
+        // --- When (Quando) ---
+        ProdutoDTO alteracao = novoProduto("Nhoque", categoriaA);
+        alteracao.setDescricao("Nhoque ao molho " + termo);
+        produtoService.atualizarProduto(nhoque.getId(), alteracao);
+
+        // --- Then (Então) ---
+        assertEquals(List.of("Nhoque"), nomes(produtoService.buscarProdutosPorNome(termo)));
+    }
+
+    @Test
+    @DisplayName("Deve tirar o produto removido de todas as listas em cache")
+    void should_DropRemovedProductFromCachedLists_When_ProductRemoved() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO sorvete = produtoService.cadastrarProduto(novoProduto("Sorvete", categoriaB));
+        produtoService.buscarProdutosPorCategoria(categoriaB);
+        produtoService.buscarProdutosPorNome("Sorvete");
+
+        // --- When (Quando) ---
+        produtoService.removerProduto(sorvete.getId());
+
+        // --- Then (Então) ---
+        assertTrue(produtoService.buscarProdutosPorCategoria(categoriaB).isEmpty());
+        assertFalse(nomes(produtoService.buscarProdutosPorNome("Sorvete")).contains("Sorvete"));
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private ProdutoDTO novoProduto(String nome, String categoria) {
+        ProdutoDTO dto = new ProdutoDTO();
+        dto.setNome(nome);
+        dto.setDescricao("Produto do teste de tags");
+        dto.setCategoria(categoria);
+        dto.setPrecoBase(new BigDecimal("30.00"));
+        dto.setEstoque(10);
+        dto.setRestauranteId(restauranteId);
+        return dto;
+    }
+
+    private static List<String> nomes(List<ProdutoResponseDTO> produtos) {
+        return produtos.stream().map(ProdutoResponseDTO::getNome).toList();
+    }
+}
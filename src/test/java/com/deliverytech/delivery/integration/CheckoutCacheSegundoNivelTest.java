@@ -0,0 +1,197 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.dto.request.ItemPedidoDTO;
+import com.deliverytech.delivery.dto.request.PedidoDTO;
+import com.deliverytech.delivery.entity.ItemOpcional;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.repository.EnderecoRepository;
+import com.deliverytech.delivery.repository.ItemOpcionalRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import com.deliverytech.delivery.service.PaymentService;
+import com.deliverytech.delivery.service.metrics.CacheSegundoNivelMetricas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache de segundo nível no caminho de escrita: depois do primeiro checkout,
+ * um checkout repetido não deve consultar o catálogo (restaurante, produto,
+ * grupos e itens opcionais) no banco.
+ * <p>
+ * O SQL é capturado por um {@link StatementInspector} do Hibernate, só na thread
+ * do teste (o MockMvc executa a requisição nela; tarefas agendadas ficam de fora).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "app.cache.l2.estatisticas=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.deliverytech.delivery.integration.CheckoutCacheSegundoNivelTest$SqlCapturado"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DisplayName("Testes do cache de segundo nível no checkout")
+class CheckoutCacheSegundoNivelTest {
+
+    /** SELECT cuja tabela principal é do catálogo. */
+    private static final Pattern SELECT_CATALOGO = Pattern.compile(
+            "^select\\b.*?\\bfrom\\s+(restaurante|produto|grupo_opcional|item_opcional)\\b", Pattern.DOTALL);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private EnderecoRepository enderecoRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private ItemOpcionalRepository itemOpcionalRepository;
+    @Autowired private CacheSegundoNivelMetricas metricas;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @AfterEach
+    void tearDown() {
+        SqlCapturado.parar();
+    }
+
+    @Test
+    @DisplayName("Checkout repetido não deve fazer SELECT no catálogo")
+    void should_NotSelectCatalog_When_CheckoutRepeated() throws Exception {
+        // --- Given (Dado) ---
+        when(paymentService.processPayment(anyString(), anyDouble())).thenReturn(true);
+        String token = login("joao.teste@email.com", "123456");
+        String pedido = montarPedido();
+
+        // Primeiro checkout: carrega o catálogo do banco e preenche o cache
+        checkout(token, pedido);
+
+        // --- When (Quando) ---
+        SqlCapturado.iniciar();
+        checkout(token, pedido);
+        List<String> sql = SqlCapturado.parar();
+
+        // --- Then (Então) ---
+        assertFalse(sql.isEmpty(), "O checkout deveria ter executado SQL (usuário, pedido, estoque)");
+        List<String> selectsCatalogo = sql.stream()
+                .filter(s -> SELECT_CATALOGO.matcher(s).find())
+                .toList();
+        assertTrue(selectsCatalogo.isEmpty(), "SELECTs no catálogo: " + selectsCatalogo);
+
+        Map<String, Map<String, Object>> resumo = metricas.resumo();
+        assertTrue((Long) resumo.get("catalogo.produto").get("acertos") > 0);
+        assertTrue((Long) resumo.get("catalogo.restaurante").get("acertos") > 0);
+        assertTrue((Long) resumo.get("consultas").get("acertos") > 0);
+    }
+
+    @Test
+    @DisplayName("Baixa de estoque deve atualizar o produto em cache")
+    void should_SeeUpdatedStock_When_ProductCachedAndCheckoutCommitted() throws Exception {
+        // --- Given (Dado) ---
+        when(paymentService.processPayment(anyString(), anyDouble())).thenReturn(true);
+        String token = login("joao.teste@email.com", "123456");
+        Produto produto = produtoRepository.findAll().get(0);
+        int estoqueAntes = produtoRepository.findById(produto.getId()).orElseThrow().getEstoque();
+
+        // --- When (Quando) ---
+        checkout(token, montarPedido());
+
+        // --- Then (Então) ---
+        // Lido do cache (READ_WRITE): deve refletir a escrita confirmada, não o valor antigo
+        assertEquals(estoqueAntes - 1, produtoRepository.findById(produto.getId()).orElseThrow().getEstoque());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private String montarPedido() throws Exception {
+        Usuario cliente = usuarioRepository.findByEmail("joao.teste@email.com").orElseThrow();
+        Produto produto = produtoRepository.findAll().get(0);
+        ItemOpcional maionese = itemOpcionalRepository.findAll().get(0);
+
+        ItemPedidoDTO item = new ItemPedidoDTO();
+        item.setProdutoId(produto.getId());
+        item.setQuantidade(1);
+        item.setOpcionaisIds(List.of(maionese.getId()));
+
+        PedidoDTO pedido = new PedidoDTO();
+        pedido.setRestauranteId(produto.getRestaurante().getId());
+        pedido.setEnderecoEntregaId(enderecoRepository.findByUsuarioId(cliente.getId()).get(0).getId());
+        pedido.setMetodoPagamento("PIX");
+        pedido.setItens(List.of(item));
+        return objectMapper.writeValueAsString(pedido);
+    }
+
+    private void checkout(String token, String pedido) throws Exception {
+        mockMvc.perform(post("/api/pedidos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(pedido))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    private String login(String email, String senha) throws Exception {
+        String corpo = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"email\":\"%s\",\"senha\":\"%s\"}", email, senha)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo).get("token").asText();
+    }
+
+    /**
+     * Registra o SQL preparado pelo Hibernate enquanto a captura está ativa.
+     * Instanciado pelo Hibernate (construtor público), por isso o estado é estático.
+     */
+    public static class SqlCapturado implements StatementInspector {
+
+        private static final List<String> CAPTURADO = new CopyOnWriteArrayList<>();
+        private static volatile Thread alvo;
+
+        static void iniciar() {
+            CAPTURADO.clear();
+            alvo = Thread.currentThread();
+        }
+
+        static List<String> parar() {
+            alvo = null;
+            return List.copyOf(CAPTURADO);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == alvo) {
+                // Sem os comentários de use_sql_comments, em minúsculas e numa linha só
+                CAPTURADO.add(sql.replaceAll("(?s)/\\*.*?\\*/", "")
+                        .toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim());
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.service.leitura.PedidoViewProjetor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Número de consultas das listagens de pedidos, pelas estatísticas do Hibernate.
+ * <p>
+ * Cada pedido do cenário tem um entregador e produtos diferentes, então
+ * qualquer associação carregada sob demanda ao montar a resposta faria o
+ * número de SQLs crescer com o tamanho da página. As listagens leem só
+ * pedido_view: uma consulta por página.
+ */
+@SpringBootTest(properties = {
+        // Tarefas agendadas que consultam o banco não rodam durante a medição
+        "app.metrics.estoque-refresh-ms=3600000",
+        "app.metrics.restaurantes-recalculo-ms=3600000",
+        "app.autocomplete.verificacao-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DirtiesContext
+@DisplayName("Testes do número de consultas das listagens de pedidos")
+class ListagemPedidosConsultasTest {
+
+    private static final int PEDIDOS = 30;
+    private static final int ITENS_POR_PEDIDO = 2;
+    /** Dia dos pedidos do cenário, usado como filtro para isolá-los dos demais. */
+    private static final LocalDate DIA = LocalDate.of(2001, 1, 1);
+
+    @Autowired private PedidoService pedidoService;
+    @Autowired private PedidoViewProjetor pedidoViewProjetor;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        Integer existentes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pedido WHERE numero_pedido LIKE 'LEITURA-%'", Integer.class);
+        if (existentes == 0) {
+            inserirPedidos();
+            pedidoViewProjetor.reconstruir(); // Inseridos por JDBC, fora do PedidoServiceImpl
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar pedidos com o mesmo número de consultas para qualquer tamanho de página")
+    void should_RunConstantStatements_When_ListingPagesOfAnySize() {
+        // --- When (Quando) ---
+        long pagina5 = contarSql(tamanho -> pedidoService.listarPedidos(null, DIA, DIA,
+                PageRequest.of(0, tamanho), false).getContent(), 5);
+        long pagina25 = contarSql(tamanho -> pedidoService.listarPedidos(null, DIA, DIA,
+                PageRequest.of(0, tamanho), false).getContent(), 25);
+
+        // --- Then (Então) ---
+        // Só a página de pedido_view (sem COUNT e sem JOINs)
+        assertEquals(1, pagina5);
+        assertEquals(pagina5, pagina25);
+    }
+
+    @Test
+    @DisplayName("Deve listar por cursor com o mesmo número de consultas para qualquer tamanho de página")
+    void should_RunConstantStatements_When_ScrollingPagesOfAnySize() {
+        // --- When (Quando) ---
+        long pagina5 = contarSql(tamanho -> pedidoService.listarPedidosPorCursor(null, DIA, DIA,
+                null, tamanho).getContent(), 5);
+        long pagina25 = contarSql(tamanho -> pedidoService.listarPedidosPorCursor(null, DIA, DIA,
+                null, tamanho).getContent(), 25);
+
+        // --- Then (Então) ---
+        assertEquals(1, pagina5);
+        assertEquals(pagina5, pagina25);
+    }
+
+    @Test
+    @DisplayName("Deve montar a resposta sem carregar entidades nem coleções")
+    void should_NotLazyLoad_When_MappingPage() {
+        // --- Given (Dado) ---
+        estatisticas.clear();
+
+        // --- When (Quando) ---
+        List<PedidoResponseDTO> pedidos = pedidoService.listarPedidos(null, DIA, DIA,
+                PageRequest.of(0, PEDIDOS), false).getContent();
+
+        // --- Then (Então) ---
+        assertEquals(PEDIDOS, pedidos.size());
+        assertEquals(0, estatisticas.getEntityStatistics(Pedido.class.getName()).getLoadCount(), "pedidos carregados");
+        assertEquals(0, estatisticas.getEntityFetchCount(), "entidades buscadas uma a uma");
+        assertEquals(0, estatisticas.getCollectionFetchCount(), "coleções buscadas uma a uma");
+        pedidos.forEach(pedido -> {
+            assertNotNull(pedido.getClienteNome());
+            assertNotNull(pedido.getRestauranteNome());
+            assertNotNull(pedido.getEnderecoEntrega());
+            assertTrue(pedido.getEntregadorNome().startsWith("Entregador Leitura"));
+            assertEquals(ITENS_POR_PEDIDO, pedido.getItens().size());
+            pedido.getItens().forEach(item -> assertTrue(item.getNomeProduto().startsWith("Produto Leitura")));
+        });
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private long contarSql(IntFunction<List<PedidoResponseDTO>> listagem, int tamanho) {
+        estatisticas.clear();
+        List<PedidoResponseDTO> pedidos = listagem.apply(tamanho);
+        assertEquals(tamanho, pedidos.size());
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    /**
+     * Pedidos do DIA, cada um com um entregador próprio e itens de produtos
+     * próprios, no cliente/restaurante/endereço do pedido do TestDataConfiguration.
+     */
+    private void inserirPedidos() {
+        Map<String, Object> modelo = jdbcTemplate.queryForMap(
+                "SELECT cliente_id, restaurante_id, endereco_entrega_id FROM pedido ORDER BY id LIMIT 1");
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> entregadores = new ArrayList<>();
+        List<Object[]> produtos = new ArrayList<>();
+        List<Object[]> pedidos = new ArrayList<>();
+        List<Object[]> itens = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            String email = "entregador.leitura" + i + "@teste.com";
+            String numero = "LEITURA-" + i;
+            entregadores.add(new Object[]{"Entregador Leitura " + i, email, agora});
+            pedidos.add(new Object[]{numero, DIA.atStartOfDay().plusMinutes(i), modelo.get("cliente_id"),
+                    modelo.get("restaurante_id"), modelo.get("endereco_entrega_id"), email});
+            for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                String produto = "Produto Leitura " + i + "-" + j;
+                produtos.add(new Object[]{produto, modelo.get("restaurante_id")});
+                itens.add(new Object[]{numero, produto});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO usuario (nome, email, senha, role, ativo, data_criacao) "
+                + "VALUES (?, ?, 'x', 'ENTREGADOR', TRUE, ?)", entregadores);
+        jdbcTemplate.batchUpdate("INSERT INTO produto (nome, preco_base, estoque, disponivel, restaurante_id) "
+                + "VALUES (?, 10.00, 10, TRUE, ?)", produtos);
+        jdbcTemplate.batchUpdate("INSERT INTO pedido (numero_pedido, data_pedido, status, metodo_pagamento, "
+                + "subtotal, taxa_entrega, valor_total, cliente_id, restaurante_id, endereco_entrega_id, entregador_id) "
+                + "VALUES (?, ?, 'ENTREGUE', 'PIX', 20.00, 0.00, 20.00, ?, ?, ?, "
+                + "(SELECT id FROM usuario WHERE email = ?))", pedidos);
+        jdbcTemplate.batchUpdate("INSERT INTO itens_pedido (pedido_id, produto_id, quantidade, preco_unitario, subtotal) "
+                + "VALUES ((SELECT id FROM pedido WHERE numero_pedido = ?), "
+                + "(SELECT id FROM produto WHERE nome = ?), 1, 10.00, 10.00)", itens);
+    }
+}
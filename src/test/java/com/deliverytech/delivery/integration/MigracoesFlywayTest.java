@@ -0,0 +1,52 @@
+package com.deliverytech.delivery.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação com o schema criado só pelas migrations (V1, V2, V3) e o
+ * Hibernate em {@code ddl-auto=validate}, como no perfil docker: entidade com
+ * coluna ou tabela que as migrations não criam derruba o contexto.
+ * <p>
+ * Roda no H2 em modo MySQL (sem Docker para o Testcontainers); o resto dos
+ * testes usa o schema gerado pelas entidades.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracoes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        // Como no perfil docker: o Flyway roda antes do Hibernate, não depois
+        "spring.jpa.defer-datasource-initialization=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes das migrations do Flyway")
+class MigracoesFlywayTest {
+
+    @Autowired private Flyway flyway;
+
+    @Test
+    @DisplayName("Deve aplicar as migrations e validar as entidades contra o schema resultante")
+    void should_ValidateEntities_When_SchemaComesFromMigrations() {
+        // --- When (Quando) ---
+        // (o contexto só sobe se o Hibernate validou o schema)
+        List<String> aplicadas = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(String::valueOf)
+                .toList();
+
+        // --- Then (Então) ---
+        assertEquals(List.of("1", "2", "3"), aplicadas);
+        assertEquals(0, flyway.info().pending().length);
+    }
+}
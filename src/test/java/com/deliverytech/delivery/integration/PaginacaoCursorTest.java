@@ -0,0 +1,126 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
+import com.deliverytech.delivery.dto.request.ProdutoDTO;
+import com.deliverytech.delivery.dto.response.CursorResponseWrapper;
+import com.deliverytech.delivery.dto.response.PagedResponseWrapper;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.dto.auth.UserResponse;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.auth.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paginação por cursor (keyset) e modo Slice (sem COUNT) das listagens.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DisplayName("Testes da paginação por cursor e sem contagem")
+class PaginacaoCursorTest {
+
+    @Autowired private ProdutoService produtoService;
+    @Autowired private UsuarioService usuarioService;
+    @Autowired private RestauranteRepository restauranteRepository;
+
+    private Long restauranteId;
+    private String categoria;
+
+    @BeforeEach
+    void setUp() {
+        restauranteId = restauranteRepository.findAll().get(0).getId();
+        categoria = "Cursor-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todos os produtos pelo cursor sem repetir nem pular itens")
+    void should_WalkAllProductsOnce_When_FollowingNextCursor() {
+        // --- Given (Dado) ---
+        List<Long> cadastrados = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            cadastrados.add(produtoService.cadastrarProduto(novoProduto("Produto " + i)).getId());
+        }
+        FiltroProdutoDTO filtro = new FiltroProdutoDTO(null, categoria, null, null, null, null);
+
+        // --- When (Quando) ---
+        List<Long> percorridos = new ArrayList<>();
+        List<Integer> tamanhos = new ArrayList<>();
+        String cursor = null;
+        CursorResponseWrapper<ProdutoResponseDTO> resposta;
+        do {
+            Window<ProdutoResponseDTO> janela = produtoService.listarProdutosPorCursor(filtro, cursor, 2);
+            resposta = new CursorResponseWrapper<>(janela, 2);
+            resposta.getContent().forEach(p -> percorridos.add(p.getId()));
+            tamanhos.add(resposta.getPage().getNumberOfElements());
+            cursor = resposta.getPage().getNextCursor();
+        } while (resposta.getPage().isHasNext());
+
+        // --- Then (Então) ---
+        assertEquals(cadastrados, percorridos);
+        assertEquals(List.of(2, 2, 1), tamanhos);
+        assertNull(resposta.getPage().getNextCursor());
+        assertNull(resposta.getLinks().getNext());
+    }
+
+    @Test
+    @DisplayName("Deve devolver Slice sem total quando a contagem é dispensada")
+    void should_ReturnSliceWithoutTotals_When_CountDisabled() {
+        // --- When (Quando) ---
+        Slice<UserResponse> semTotal = usuarioService.buscarTodos(PageRequest.of(0, 1), false);
+        Slice<UserResponse> comTotal = usuarioService.buscarTodos(PageRequest.of(0, 1), true);
+        PagedResponseWrapper<UserResponse> resposta = new PagedResponseWrapper<>(semTotal);
+
+        // --- Then (Então) ---
+        assertFalse(semTotal instanceof Page);
+        assertEquals(1, semTotal.getNumberOfElements());
+        assertTrue(semTotal.hasNext());
+        assertNull(resposta.getPage().getTotalElements());
+        assertNull(resposta.getPage().getTotalPages());
+        assertTrue(comTotal instanceof Page);
+        assertTrue(((Page<UserResponse>) comTotal).getTotalElements() > 1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void should_RejectCursor_When_Invalid() {
+        // --- Given (Dado) ---
+        FiltroProdutoDTO filtro = FiltroProdutoDTO.todos();
+
+        // --- When / Then (Quando / Então) ---
+        assertThrows(BusinessException.class, () -> produtoService.listarProdutosPorCursor(filtro, "nao-e-cursor", 10));
+        assertThrows(BusinessException.class, () -> usuarioService.buscarTodosPorCursor("%%%", 10));
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private ProdutoDTO novoProduto(String nome) {
+        ProdutoDTO dto = new ProdutoDTO();
+        dto.setNome(nome);
+        dto.setDescricao("Produto do teste de cursor");
+        dto.setCategoria(categoria);
+        dto.setPrecoBase(new BigDecimal("10.00"));
+        dto.setEstoque(10);
+        dto.setRestauranteId(restauranteId);
+        return dto;
+    }
+}
@@ -0,0 +1,141 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.dto.request.StatusPedidoDTO;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.service.leitura.PedidoViewProjetor;
+import com.deliverytech.delivery.service.leitura.RelatorioConsistencia;
+import com.deliverytech.delivery.service.leitura.ResultadoReconstrucao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do modelo de leitura pedido_view: projeção na escrita, reconstrução
+ * e verificação de consistência, contra o pedido do TestDataConfiguration.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DirtiesContext
+@DisplayName("Testes do modelo de leitura de pedidos (pedido_view)")
+class PedidoViewProjetorTest {
+
+    @Autowired private PedidoViewProjetor pedidoViewProjetor;
+    @Autowired private PedidoService pedidoService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long pedidoId;
+
+    @BeforeEach
+    void setUp() {
+        pedidoViewProjetor.reconstruir();
+        pedidoId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM pedido", Long.class);
+    }
+
+    @Test
+    @DisplayName("Deve projetar todos os pedidos ao reconstruir a view")
+    void should_ProjectEveryOrder_When_Rebuilding() {
+        // --- Given (Dado) ---
+        jdbcTemplate.update("DELETE FROM pedido_view");
+
+        // --- When (Quando) ---
+        ResultadoReconstrucao resultado = pedidoViewProjetor.reconstruir();
+
+        // --- Then (Então) ---
+        int pedidos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido", Integer.class);
+        assertEquals(pedidos, resultado.pedidosProjetados());
+        assertEquals(pedidos, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido_view", Integer.class).intValue());
+        assertTrue(pedidoViewProjetor.verificarConsistencia().consistente());
+
+        PedidoResponseDTO esperado = pedidoService.buscarPedidoPorId(pedidoId);
+        PedidoResponseDTO daView = pedidoService.buscarPedidosPorCliente(esperado.getClienteId()).stream()
+                .filter(pedido -> pedido.getId().equals(pedidoId))
+                .findFirst()
+                .orElseThrow();
+        // A listagem (pedido_view) devolve o mesmo que a busca pela entidade
+        assertEquals(esperado.getStatus(), daView.getStatus());
+        assertEquals(esperado.getDataPedido(), daView.getDataPedido());
+        assertEquals(esperado.getClienteNome(), daView.getClienteNome());
+        assertEquals(esperado.getRestauranteNome(), daView.getRestauranteNome());
+        assertEquals(esperado.getEnderecoEntrega(), daView.getEnderecoEntrega());
+        assertEquals(esperado.getEntregadorNome(), daView.getEntregadorNome());
+        assertEquals(esperado.getTotal(), daView.getTotal());
+        assertEquals(esperado.getItens(), daView.getItens());
+    }
+
+    @Test
+    @DisplayName("Deve apontar a linha alterada fora do serviço e corrigi-la na reconstrução")
+    void should_ReportDivergentRow_When_ChangedOutsideService() {
+        // --- Given (Dado) ---
+        jdbcTemplate.update("UPDATE pedido_view SET cliente_nome = 'Nome Desatualizado' WHERE id = ?", pedidoId);
+
+        // --- When (Quando) ---
+        RelatorioConsistencia antes = pedidoViewProjetor.verificarConsistencia();
+        pedidoViewProjetor.reconstruir();
+        RelatorioConsistencia depois = pedidoViewProjetor.verificarConsistencia();
+
+        // --- Then (Então) ---
+        assertFalse(antes.consistente());
+        assertEquals(1, antes.divergentes());
+        assertEquals(List.of(pedidoId), antes.amostraDivergentes());
+        assertTrue(depois.consistente());
+    }
+
+    @Test
+    @DisplayName("Deve apontar pedidos sem linha e linhas órfãs")
+    void should_ReportMissingAndOrphanRows_When_Checking() {
+        // --- Given (Dado) ---
+        jdbcTemplate.update("DELETE FROM pedido_view WHERE id = ?", pedidoId);
+        jdbcTemplate.update("INSERT INTO pedido_view (id, numero_pedido, status) VALUES (?, 'ORFA', 'PENDENTE')",
+                Long.MAX_VALUE);
+
+        // --- When (Quando) ---
+        RelatorioConsistencia relatorio = pedidoViewProjetor.verificarConsistencia();
+        ResultadoReconstrucao resultado = pedidoViewProjetor.reconstruir();
+
+        // --- Then (Então) ---
+        assertEquals(List.of(pedidoId), relatorio.amostraFaltando());
+        assertEquals(List.of(Long.MAX_VALUE), relatorio.amostraOrfas());
+        assertEquals(1, resultado.linhasRemovidas());
+        assertTrue(pedidoViewProjetor.verificarConsistencia().consistente());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a linha na mesma transação da mudança de status")
+    void should_UpdateRow_When_StatusChangedByService() {
+        // --- Given (Dado) ---
+        StatusPedidoDTO confirmar = new StatusPedidoDTO();
+        confirmar.setStatus(StatusPedido.CONFIRMADO.name());
+
+        // --- When (Quando) ---
+        PedidoResponseDTO resposta = pedidoService.atualizarStatusPedido(pedidoId, confirmar);
+
+        // --- Then (Então) ---
+        assertEquals(StatusPedido.CONFIRMADO.name(), resposta.getStatus());
+        assertEquals(StatusPedido.CONFIRMADO.name(), jdbcTemplate.queryForObject(
+                "SELECT status FROM pedido_view WHERE id = ?", String.class, pedidoId));
+        assertTrue(pedidoViewProjetor.verificarConsistencia().consistente());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a projeção fora de uma transação")
+    void should_Fail_When_ProjectingOutsideTransaction() {
+        // --- When / Then (Quando / Então) ---
+        assertThrows(IllegalTransactionStateException.class, () -> pedidoViewProjetor.atualizar(new Pedido()));
+    }
+}
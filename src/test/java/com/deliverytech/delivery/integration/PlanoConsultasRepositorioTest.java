@@ -0,0 +1,391 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.PedidoViewRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda {@code EXPLAIN} no SQL de cada consulta declarada em PedidoRepository,
+ * PedidoViewRepository, ProdutoRepository, RestauranteRepository e
+ * UsuarioRepository e falha se
+ * alguma tabela for lida inteira: varredura da tabela ({@code tableScan}) ou
+ * de um índice sem condição (aceita só quando há {@code FETCH FIRST}, o
+ * "top N" pela ordem do índice).
+ * <p>
+ * O SQL é o que o Hibernate gera de verdade, capturado por um
+ * {@link StatementInspector} na thread do teste. O schema é o das entidades,
+ * com os mesmos índices das migrations (ver CatalogoIndicesTest).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.deliverytech.delivery.integration.PlanoConsultasRepositorioTest$SqlCapturado"
+})
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DisplayName("Testes dos planos de execução das consultas dos repositórios")
+class PlanoConsultasRepositorioTest {
+
+    private static final List<Class<?>> REPOSITORIOS = List.of(
+            PedidoRepository.class, PedidoViewRepository.class, ProdutoRepository.class,
+            RestauranteRepository.class, UsuarioRepository.class);
+
+    /** Consultas que leem a tabela inteira por natureza (pelo nome do método), com o motivo. */
+    private static final Map<String, String> VARREDURAS_ACEITAS = Map.of(
+            "PedidoRepository.countPedidosByStatus", "conta todos os pedidos; percorre só o índice de status",
+            "PedidoRepository.calcularTotalVendasPorRestaurante", "relatório sobre todo o histórico de pedidos",
+            "PedidoViewRepository.buscarIdsSemPedido", "verificação/reconstrução de toda a view (rotina de ADMIN)",
+            "ProdutoRepository.findByDisponivelTrue", "devolve o catálogo inteiro",
+            "ProdutoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue",
+                    "LIKE '%termo%' não usa índice B-tree; a busca usa o índice invertido em memória",
+            "ProdutoRepository.somarEstoqueDisponivel", "soma o estoque de todo o catálogo (Gauge)",
+            "ProdutoRepository.listarNomesECategoriasDisponiveis", "carga completa do autocomplete",
+            "RestauranteRepository.contarTodosRestaurantesNative", "contagem total",
+            "UsuarioRepository.contarTodosUsuariosNative", "contagem total");
+
+    /** Acesso a uma tabela no plano do H2: {@code /* PUBLIC.INDICE: condição *}{@code /} */
+    private static final Pattern ACESSO = Pattern.compile("/\\* PUBLIC\\.([\\w.]+)(:[^*]*)? \\*/");
+
+    @Autowired private PedidoRepository pedidoRepository;
+    @Autowired private PedidoViewRepository pedidoViewRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ClienteRepository clienteRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SqlCapturado.parar();
+    }
+
+    @Test
+    @DisplayName("Deve atender cada consulta dos repositórios por índice, sem varrer tabelas")
+    void should_UseIndexes_When_RunningRepositoryQueries() {
+        // --- Given (Dado) ---
+        Map<String, Runnable> consultas = consultas();
+        List<String> falhas = new ArrayList<>();
+
+        // --- When (Quando) ---
+        consultas.forEach((assinatura, consulta) -> {
+            SqlCapturado.iniciar();
+            consulta.run();
+            List<String> sqls = SqlCapturado.parar();
+            if (sqls.isEmpty()) {
+                falhas.add(assinatura + ": nenhum SQL capturado");
+            }
+            for (String sql : sqls) {
+                String plano = plano(sql);
+                List<String> varreduras = varreduras(plano);
+                if (!varreduras.isEmpty() && !VARREDURAS_ACEITAS.containsKey(semParametros(assinatura))) {
+                    falhas.add(assinatura + " varre " + varreduras + ":\n" + plano);
+                }
+            }
+        });
+
+        // --- Then (Então) ---
+        assertTrue(falhas.isEmpty(), "Consultas sem índice:\n\n" + String.join("\n\n", falhas));
+    }
+
+    @Test
+    @DisplayName("Deve cobrir todas as consultas declaradas nos repositórios")
+    void should_CoverEveryDeclaredQuery_When_CheckingPlans() {
+        // --- Given (Dado) ---
+        List<String> declaradas = REPOSITORIOS.stream()
+                .flatMap(repositorio -> Arrays.stream(repositorio.getDeclaredMethods()))
+                .map(PlanoConsultasRepositorioTest::assinatura)
+                .toList();
+
+        // --- When / Then (Quando / Então) ---
+        // Consulta nova num repositório precisa entrar em consultas()
+        assertEquals(declaradas.stream().sorted().toList(), consultas().keySet().stream().sorted().toList());
+        // E a lista de exceções não pode citar método que não existe mais
+        VARREDURAS_ACEITAS.keySet().forEach(metodo -> assertTrue(
+                declaradas.stream().anyMatch(d -> semParametros(d).equals(metodo)), metodo));
+    }
+
+    // --- Métodos Auxiliares ---
+
+    /** Uma chamada de cada consulta declarada; os valores só precisam ser válidos para o tipo. */
+    private Map<String, Runnable> consultas() {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime inicio = agora.minusDays(30);
+        PageRequest pagina = PageRequest.of(0, 10);
+        Long id = 1L;
+
+        Map<String, Runnable> c = new LinkedHashMap<>();
+        // --- PedidoRepository ---
+        c.put("PedidoRepository.findByClienteIdOrderByDataPedidoDesc(Long)",
+                () -> pedidoRepository.findByClienteIdOrderByDataPedidoDesc(id));
+        c.put("PedidoRepository.findByClienteOrderByDataPedidoDesc(Cliente)",
+                () -> pedidoRepository.findByClienteOrderByDataPedidoDesc(cliente()));
+        c.put("PedidoRepository.findByClienteId(Long,Pageable)",
+                () -> pedidoRepository.findByClienteId(id, pagina));
+        c.put("PedidoRepository.findByStatus(StatusPedido,Pageable)",
+                () -> pedidoRepository.findByStatus(StatusPedido.PENDENTE, pagina));
+        c.put("PedidoRepository.findByStatusAndDataPedidoBetween(StatusPedido,LocalDateTime,LocalDateTime,Pageable)",
+                () -> pedidoRepository.findByStatusAndDataPedidoBetween(StatusPedido.PENDENTE, inicio, agora, pagina));
+        c.put("PedidoRepository.findByDataPedidoBetween(LocalDateTime,LocalDateTime,Pageable)",
+                () -> pedidoRepository.findByDataPedidoBetween(inicio, agora, pagina));
+        c.put("PedidoRepository.findPedidosByRestauranteIdAndStatusComItens(Long,StatusPedido)",
+                () -> pedidoRepository.findPedidosByRestauranteIdAndStatusComItens(id, StatusPedido.PENDENTE));
+        c.put("PedidoRepository.fetchOpcionaisParaItens(List)",
+                () -> pedidoRepository.fetchOpcionaisParaItens(itensPedido()));
+        c.put("PedidoRepository.findComAssociacoesByIdIn(Collection)",
+                () -> pedidoRepository.findComAssociacoesByIdIn(List.of(id)));
+        c.put("PedidoRepository.buscarIdsAPartirDe(Long,Limit)",
+                () -> pedidoRepository.buscarIdsAPartirDe(0L, Limit.of(10)));
+        c.put("PedidoRepository.findByStatusOrderByDataPedidoDesc(StatusPedido)",
+                () -> pedidoRepository.findByStatusOrderByDataPedidoDesc(StatusPedido.PENDENTE));
+        c.put("PedidoRepository.findByDataPedidoBetweenOrderByDataPedidoDesc(LocalDateTime,LocalDateTime)",
+                () -> pedidoRepository.findByDataPedidoBetweenOrderByDataPedidoDesc(inicio, agora));
+        c.put("PedidoRepository.findByNumeroPedido(String)",
+                () -> pedidoRepository.findByNumeroPedido("PED-1"));
+        c.put("PedidoRepository.findTop10ByOrderByDataPedidoDesc()",
+                () -> pedidoRepository.findTop10ByOrderByDataPedidoDesc());
+        c.put("PedidoRepository.countPedidosByStatus()",
+                () -> pedidoRepository.countPedidosByStatus());
+        c.put("PedidoRepository.findPedidosPendentes()",
+                () -> pedidoRepository.findPedidosPendentes());
+        c.put("PedidoRepository.calcularVendasPorPeriodo(LocalDateTime,LocalDateTime)",
+                () -> pedidoRepository.calcularVendasPorPeriodo(inicio, agora));
+        c.put("PedidoRepository.somarVendasPorMinutoDesde(LocalDateTime)",
+                () -> pedidoRepository.somarVendasPorMinutoDesde(inicio));
+        c.put("PedidoRepository.calcularTotalVendasPorRestaurante()",
+                () -> pedidoRepository.calcularTotalVendasPorRestaurante());
+        c.put("PedidoRepository.buscarPedidosComValorAcimaDe(BigDecimal)",
+                () -> pedidoRepository.buscarPedidosComValorAcimaDe(BigDecimal.TEN));
+        c.put("PedidoRepository.relatorioPedidosPorPeriodoEStatus(LocalDateTime,LocalDateTime,StatusPedido)",
+                () -> pedidoRepository.relatorioPedidosPorPeriodoEStatus(inicio, agora, StatusPedido.ENTREGUE));
+        c.put("PedidoRepository.contarPedidosAtivosPorCliente(Long,List)",
+                () -> pedidoRepository.contarPedidosAtivosPorCliente(id,
+                        List.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO)));
+        c.put("PedidoRepository.existsByEntregadorAndStatus(Usuario,StatusPedido)",
+                () -> pedidoRepository.existsByEntregadorAndStatus(usuario(), StatusPedido.SAIU_PARA_ENTREGA));
+        c.put("PedidoRepository.isPedidoOwnedBy(Long,Long,Long,Long)",
+                () -> pedidoRepository.isPedidoOwnedBy(id, id, id, id));
+        c.put("PedidoRepository.findByEntregadorIdAndStatus(Long,StatusPedido)",
+                () -> pedidoRepository.findByEntregadorIdAndStatus(id, StatusPedido.SAIU_PARA_ENTREGA));
+        c.put("PedidoRepository.findRestaurantesMaisPedidosDesde(LocalDateTime,Pageable)",
+                () -> pedidoRepository.findRestaurantesMaisPedidosDesde(inicio, pagina));
+        c.put("PedidoRepository.findProdutosMaisPedidosDesde(LocalDateTime,Pageable)",
+                () -> pedidoRepository.findProdutosMaisPedidosDesde(inicio, pagina));
+        c.put("PedidoRepository.contarPedidosPorRestauranteDesde(LocalDateTime)",
+                () -> pedidoRepository.contarPedidosPorRestauranteDesde(inicio));
+        c.put("PedidoRepository.somarUnidadesPorProdutoDesde(LocalDateTime)",
+                () -> pedidoRepository.somarUnidadesPorProdutoDesde(inicio));
+        // --- PedidoViewRepository ---
+        c.put("PedidoViewRepository.findByClienteIdOrderByDataPedidoDesc(Long)",
+                () -> pedidoViewRepository.findByClienteIdOrderByDataPedidoDesc(id));
+        c.put("PedidoViewRepository.findByEntregadorIdAndStatusOrderByDataPedidoAsc(Long,StatusPedido)",
+                () -> pedidoViewRepository.findByEntregadorIdAndStatusOrderByDataPedidoAsc(id, StatusPedido.SAIU_PARA_ENTREGA));
+        c.put("PedidoViewRepository.buscarPorRestaurante(Long,StatusPedido)",
+                () -> pedidoViewRepository.buscarPorRestaurante(id, StatusPedido.PENDENTE));
+        c.put("PedidoViewRepository.buscarIdsSemPedido()",
+                () -> pedidoViewRepository.buscarIdsSemPedido());
+        // --- ProdutoRepository ---
+        c.put("ProdutoRepository.findByDisponivelTrue()",
+                () -> produtoRepository.findByDisponivelTrue());
+        c.put("ProdutoRepository.findByRestauranteIdAndDisponivel(Long,Boolean)",
+                () -> produtoRepository.findByRestauranteIdAndDisponivel(id, true));
+        c.put("ProdutoRepository.findByRestauranteIdAndDisponivelTrue(Long)",
+                () -> produtoRepository.findByRestauranteIdAndDisponivelTrue(id));
+        c.put("ProdutoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(String)",
+                () -> produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue("pizza"));
+        c.put("ProdutoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(String,Pageable)",
+                () -> produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue("pizza", pagina));
+        c.put("ProdutoRepository.findByCategoriaAndDisponivelTrue(String)",
+                () -> produtoRepository.findByCategoriaAndDisponivelTrue("Pizzas"));
+        c.put("ProdutoRepository.existsByNomeAndRestauranteId(String,Long)",
+                () -> produtoRepository.existsByNomeAndRestauranteId("Pizza Teste", id));
+        c.put("ProdutoRepository.findByRestauranteId(Long)",
+                () -> produtoRepository.findByRestauranteId(id));
+        c.put("ProdutoRepository.somarEstoqueDisponivel()",
+                () -> produtoRepository.somarEstoqueDisponivel());
+        c.put("ProdutoRepository.buscarCamposIndexaveis(Long,Pageable)",
+                () -> produtoRepository.buscarCamposIndexaveis(0L, pagina));
+        c.put("ProdutoRepository.listarNomesECategoriasDisponiveis()",
+                () -> produtoRepository.listarNomesECategoriasDisponiveis());
+        c.put("ProdutoRepository.findProdutoCompletoById(Long)",
+                () -> produtoRepository.findProdutoCompletoById(id));
+        // --- RestauranteRepository ---
+        c.put("RestauranteRepository.findByNome(String)",
+                () -> restauranteRepository.findByNome("Restaurante Teste"));
+        c.put("RestauranteRepository.findByAtivoTrue()",
+                () -> restauranteRepository.findByAtivoTrue());
+        c.put("RestauranteRepository.findByCategoria(String)",
+                () -> restauranteRepository.findByCategoria("Pizzaria"));
+        c.put("RestauranteRepository.findByNomeContainingIgnoreCaseAndAtivoTrue(String)",
+                () -> restauranteRepository.findByNomeContainingIgnoreCaseAndAtivoTrue("teste"));
+        c.put("RestauranteRepository.findByAvaliacaoGreaterThanEqualAndAtivoTrue(BigDecimal)",
+                () -> restauranteRepository.findByAvaliacaoGreaterThanEqualAndAtivoTrue(new BigDecimal("4.0")));
+        c.put("RestauranteRepository.findByAtivoTrueOrderByAvaliacaoDesc()",
+                () -> restauranteRepository.findByAtivoTrueOrderByAvaliacaoDesc());
+        c.put("RestauranteRepository.findByTaxaEntregaLessThanEqual(BigDecimal)",
+                () -> restauranteRepository.findByTaxaEntregaLessThanEqual(BigDecimal.TEN));
+        c.put("RestauranteRepository.findTop5ByOrderByNomeAsc()",
+                () -> restauranteRepository.findTop5ByOrderByNomeAsc());
+        c.put("RestauranteRepository.findRestaurantesComProdutos()",
+                () -> restauranteRepository.findRestaurantesComProdutos());
+        c.put("RestauranteRepository.findByTaxaEntregaBetween(BigDecimal,BigDecimal)",
+                () -> restauranteRepository.findByTaxaEntregaBetween(BigDecimal.ONE, BigDecimal.TEN));
+        c.put("RestauranteRepository.findCategoriasDisponiveis()",
+                () -> restauranteRepository.findCategoriasDisponiveis());
+        c.put("RestauranteRepository.listarNomesECategoriasAtivos()",
+                () -> restauranteRepository.listarNomesECategoriasAtivos());
+        c.put("RestauranteRepository.contarTodosRestaurantesNative()",
+                () -> restauranteRepository.contarTodosRestaurantesNative());
+        c.put("RestauranteRepository.findByCategoriaAndAtivo(String,Boolean,Pageable)",
+                () -> restauranteRepository.findByCategoriaAndAtivo("Pizzaria", true, pagina));
+        c.put("RestauranteRepository.findByCategoria(String,Pageable)",
+                () -> restauranteRepository.findByCategoria("Pizzaria", pagina));
+        c.put("RestauranteRepository.findByAtivo(Boolean,Pageable)",
+                () -> restauranteRepository.findByAtivo(true, pagina));
+        // --- UsuarioRepository ---
+        c.put("UsuarioRepository.findByEmail(String)",
+                () -> usuarioRepository.findByEmail("joao.teste@email.com"));
+        c.put("UsuarioRepository.existsByEmail(String)",
+                () -> usuarioRepository.existsByEmail("joao.teste@email.com"));
+        c.put("UsuarioRepository.findByEmailAndAtivo(String,Boolean)",
+                () -> usuarioRepository.findByEmailAndAtivo("joao.teste@email.com", true));
+        c.put("UsuarioRepository.findByRoleAndAtivo(Role,Boolean)",
+                () -> usuarioRepository.findByRoleAndAtivo(Role.ENTREGADOR, true));
+        c.put("UsuarioRepository.contarTodosUsuariosNative()",
+                () -> usuarioRepository.contarTodosUsuariosNative());
+        return c;
+    }
+
+    /** Tabelas ou índices lidos por inteiro no plano. */
+    private static List<String> varreduras(String plano) {
+        List<String> varreduras = new ArrayList<>();
+        Matcher acesso = ACESSO.matcher(plano);
+        while (acesso.find()) {
+            String alvo = acesso.group(1);
+            boolean semCondicao = acesso.group(2) == null;
+            if (alvo.endsWith(".tableScan") || (semCondicao && !plano.contains("FETCH FIRST"))) {
+                varreduras.add(alvo);
+            }
+        }
+        return varreduras;
+    }
+
+    /** Plano do H2 para o SQL com os parâmetros ainda não ligados (o EXPLAIN aceita). */
+    private String plano(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexao -> {
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultado = explain.executeQuery()) {
+                return resultado.next() ? resultado.getString(1) : "";
+            }
+        });
+    }
+
+    /** Cliente de teste, carregado fora da captura. */
+    private Cliente cliente() {
+        List<String> capturado = SqlCapturado.parar();
+        Cliente cliente = clienteRepository.findAll().get(0);
+        SqlCapturado.retomar(capturado);
+        return cliente;
+    }
+
+    /** Usuário de teste, carregado fora da captura. */
+    private Usuario usuario() {
+        List<String> capturado = SqlCapturado.parar();
+        Usuario usuario = usuarioRepository.findAll().get(0);
+        SqlCapturado.retomar(capturado);
+        return usuario;
+    }
+
+    /** Itens do pedido de teste, carregados fora da captura. */
+    private List<ItemPedido> itensPedido() {
+        List<String> capturado = SqlCapturado.parar();
+        List<ItemPedido> itens = transactionTemplate.execute(
+                status -> new ArrayList<>(pedidoRepository.findAll().get(0).getItens()));
+        SqlCapturado.retomar(capturado);
+        return itens;
+    }
+
+    private static String assinatura(Method metodo) {
+        return metodo.getDeclaringClass().getSimpleName() + "." + metodo.getName() + "("
+                + Arrays.stream(metodo.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(","))
+                + ")";
+    }
+
+    private static String semParametros(String assinatura) {
+        return assinatura.substring(0, assinatura.indexOf('('));
+    }
+
+    /**
+     * Registra o SQL preparado pelo Hibernate enquanto a captura está ativa.
+     * Instanciado pelo Hibernate (construtor público), por isso o estado é estático.
+     */
+    public static class SqlCapturado implements StatementInspector {
+
+        private static final List<String> CAPTURADO = new CopyOnWriteArrayList<>();
+        private static volatile Thread alvo;
+
+        static void iniciar() {
+            CAPTURADO.clear();
+            alvo = Thread.currentThread();
+        }
+
+        static List<String> parar() {
+            alvo = null;
+            return List.copyOf(CAPTURADO);
+        }
+
+        /** Volta a capturar, mantendo o que já tinha sido capturado. */
+        static void retomar(List<String> capturado) {
+            CAPTURADO.clear();
+            CAPTURADO.addAll(capturado);
+            alvo = Thread.currentThread();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == alvo) {
+                // Sem os comentários de use_sql_comments (o EXPLAIN recebe o SQL como o banco o recebe)
+                CAPTURADO.add(sql.replaceAll("(?s)/\\*.*?\\*/", "").trim());
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import com.deliverytech.delivery.dto.request.FiltroProdutoDTO;
+import com.deliverytech.delivery.dto.request.ProdutoDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filtros da listagem paginada de produtos: aplicados no banco (Specifications),
+ * atendidos pelos índices compostos de Produto e refletidos no cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DisplayName("Testes dos filtros da listagem de produtos")
+class ProdutoListagemFiltrosTest {
+
+    @Autowired private ProdutoService produtoService;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long restauranteId;
+    private String categoria;
+    private String sufixo;
+
+    @BeforeEach
+    void setUp() {
+        restauranteId = restauranteRepository.findAll().get(0).getId();
+        // Categoria e nomes únicos por teste: o cache e o banco são compartilhados pelo
+        // contexto, e o nome do produto é único por restaurante
+        sufixo = UUID.randomUUID().toString().substring(0, 8);
+        categoria = "Massas-" + sufixo;
+    }
+
+    @Test
+    @DisplayName("Deve devolver só os produtos que atendem a todos os filtros")
+    void should_ReturnOnlyMatchingProducts_When_FiltersApplied() {
+        // --- Given (Dado) ---
+        produtoService.cadastrarProduto(novoProduto("Lasanha Bolonhesa", "42.00"));
+        produtoService.cadastrarProduto(novoProduto("Lasanha 4 Queijos", "25.00"));
+        ProdutoResponseDTO nhoque = produtoService.cadastrarProduto(novoProduto("Nhoque", "30.00"));
+        produtoService.alterarDisponibilidade(nhoque.getId());
+
+        // --- When (Quando) ---
+        FiltroProdutoDTO filtro = new FiltroProdutoDTO(restauranteId, categoria, true,
+                new BigDecimal("20.00"), new BigDecimal("40.00"), null);
+        Page<ProdutoResponseDTO> pagina = produtoService.listarProdutos(PageRequest.of(0, 10), filtro);
+
+        // --- Then (Então) ---
+        assertEquals(List.of("Lasanha 4 Queijos"), nomes(pagina));
+        assertEquals(1, pagina.getTotalElements());
+        assertEquals(List.of("Nhoque"), nomes(produtoService.listarProdutos(PageRequest.of(0, 10),
+                new FiltroProdutoDTO(null, categoria, false, null, null, null))));
+        assertEquals(3, produtoService.listarProdutos(PageRequest.of(0, 10),
+                new FiltroProdutoDTO(null, categoria, null, null, null, "  ")).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por trecho do nome sem diferenciar maiúsculas e respeitar a ordenação")
+    void should_FilterByNameAndSort_When_NameFilterInformed() {
+        // --- Given (Dado) ---
+        produtoService.cadastrarProduto(novoProduto("Lasanha Bolonhesa", "42.00"));
+        produtoService.cadastrarProduto(novoProduto("Lasanha 4 Queijos", "25.00"));
+        produtoService.cadastrarProduto(novoProduto("Canelone", "35.00"));
+        FiltroProdutoDTO filtro = new FiltroProdutoDTO(null, categoria, null, null, null, "LASANHA");
+
+        // --- When (Quando) ---
+        Page<ProdutoResponseDTO> porPreco = produtoService.listarProdutos(
+                PageRequest.of(0, 10, Sort.by("precoBase")), filtro);
+        Page<ProdutoResponseDTO> porPrecoDesc = produtoService.listarProdutos(
+                PageRequest.of(0, 10, Sort.by("precoBase").descending()), filtro);
+
+        // --- Then (Então) ---
+        assertEquals(List.of("Lasanha 4 Queijos", "Lasanha Bolonhesa"), nomes(porPreco));
+        // A ordenação faz parte da chave do cache
+        assertEquals(List.of("Lasanha Bolonhesa", "Lasanha 4 Queijos"), nomes(porPrecoDesc));
+        // Curingas do LIKE no filtro são procurados como texto
+        assertEquals(0, produtoService.listarProdutos(PageRequest.of(0, 10),
+                new FiltroProdutoDTO(null, categoria, null, null, null, "%")).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve incluir na página em cache o produto cujo preço passou a atender ao filtro")
+    void should_RefreshCachedPage_When_PriceEntersRange() {
+        // --- Given (Dado) ---
+        ProdutoResponseDTO canelone = produtoService.cadastrarProduto(novoProduto("Canelone", "35.00"));
+        FiltroProdutoDTO ate20 = new FiltroProdutoDTO(null, categoria, null, null, new BigDecimal("20.00"), null);
+        assertTrue(produtoService.listarProdutos(PageRequest.of(0, 10), ate20).isEmpty());
+
+        // --- When (Quando) ---
+        produtoService.atualizarProduto(canelone.getId(), novoProduto("Canelone", "19.90"));
+
+        // --- Then (Então) ---
+        assertEquals(List.of("Canelone"), nomes(produtoService.listarProdutos(PageRequest.of(0, 10), ate20)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar faixa de preço com mínimo maior que o máximo")
+    void should_RejectInvertedPriceRange_When_Listing() {
+        // --- Given (Dado) ---
+        FiltroProdutoDTO filtro = new FiltroProdutoDTO(null, null, null,
+                new BigDecimal("50.00"), new BigDecimal("10.00"), null);
+
+        // --- When / Then (Quando / Então) ---
+        assertThrows(BusinessException.class,
+                () -> produtoService.listarProdutos(PageRequest.of(0, 10), filtro));
+    }
+
+    @Test
+    @DisplayName("Deve usar os índices compostos nos planos das consultas filtradas")
+    void should_UseCompositeIndexes_When_FilteringByRestaurantOrCategory() {
+        // --- When (Quando) ---
+        String porRestaurante = plano("SELECT * FROM produto WHERE restaurante_id = " + restauranteId
+                + " AND disponivel = TRUE AND preco_base BETWEEN 20 AND 40");
+        String porCategoria = plano("SELECT COUNT(*) FROM produto WHERE categoria = 'Pizzas'"
+                + " AND disponivel = TRUE AND preco_base >= 20");
+
+        // --- Then (Então) ---
+        assertTrue(porRestaurante.contains("idx_produto_restaurante_disponivel_preco"), porRestaurante);
+        assertTrue(porCategoria.contains("idx_produto_categoria_disponivel_preco"), porCategoria);
+        assertFalse(porRestaurante.contains("tablescan"), porRestaurante);
+        assertFalse(porCategoria.contains("tablescan"), porCategoria);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    /** Plano do H2 (EXPLAIN), em minúsculas: o índice escolhido aparece no comentário do FROM. */
+    private String plano(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase(Locale.ROOT);
+    }
+
+    private ProdutoDTO novoProduto(String nome, String preco) {
+        ProdutoDTO dto = new ProdutoDTO();
+        dto.setNome(nome + " " + sufixo);
+        dto.setDescricao("Produto do teste de filtros");
+        dto.setCategoria(categoria);
+        dto.setPrecoBase(new BigDecimal(preco));
+        dto.setEstoque(10);
+        dto.setRestauranteId(restauranteId);
+        return dto;
+    }
+
+    /** Nomes da página sem o sufixo do teste. */
+    private List<String> nomes(Page<ProdutoResponseDTO> pagina) {
+        return pagina.getContent().stream().map(p -> p.getNome().replace(" " + sufixo, "")).toList();
+    }
+}
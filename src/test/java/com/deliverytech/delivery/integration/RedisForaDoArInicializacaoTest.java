@@ -0,0 +1,55 @@
+package com.deliverytech.delivery.integration;
+
+import com.deliverytech.delivery.cache.GerenciadorCacheDoisNiveis;
+import com.deliverytech.delivery.config.TestDataConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A aplicação precisa subir com o Redis fora do ar: o cache opera só com a
+ * camada local e o pub/sub de invalidação fica parado até o Redis responder.
+ * <p>
+ * Liga o Redis (desligado no perfil de teste) apontando para uma porta sem
+ * servidor.
+ */
+@SpringBootTest(properties = {
+        "app.cache.redis.habilitado=true",
+        "spring.data.redis.host=localhost",
+        "spring.data.redis.port=1",
+        // A verificação é chamada pelo teste
+        "app.cache.redis.verificacao-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(TestDataConfiguration.class)
+@DisplayName("Testes de inicialização com o Redis fora do ar")
+class RedisForaDoArInicializacaoTest {
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private RedisMessageListenerContainer cacheInvalidacaoListenerContainer;
+
+    @Test
+    @DisplayName("Deve subir só com a camada local e sem assinar o canal de invalidação")
+    void should_StartLocalOnly_When_RedisDownAtStartup() {
+        // --- Given (Dado) ---
+        GerenciadorCacheDoisNiveis gerenciador = assertInstanceOf(GerenciadorCacheDoisNiveis.class, cacheManager);
+
+        // --- When (Quando) ---
+        gerenciador.verificarRemoto();
+        Cache cache = gerenciador.getCache("produtos");
+        cache.put(1L, "Pizza");
+
+        // --- Then (Então) ---
+        assertFalse(gerenciador.isRemotoDisponivel());
+        assertFalse(cacheInvalidacaoListenerContainer.isRunning());
+        assertEquals("Pizza", cache.get(1L, String.class));
+    }
+}
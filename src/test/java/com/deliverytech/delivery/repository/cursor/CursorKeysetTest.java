@@ -0,0 +1,78 @@
+package com.deliverytech.delivery.repository.cursor;
+
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.repository.specification.PedidoSpecifications;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do cursor opaco da paginação por keyset")
+class CursorKeysetTest {
+
+    private static final Sort POR_ID = Sort.by("id");
+
+    @Test
+    @DisplayName("Deve recuperar as chaves de data e id a partir do cursor gerado")
+    void should_RoundTripKeys_When_CursorEncodedAndDecoded() {
+        // --- Given (Dado) ---
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        chaves.put("dataPedido", LocalDateTime.of(2025, 3, 1, 12, 30, 5, 123_456_000));
+        chaves.put("id", 42L);
+
+        // --- When (Quando) ---
+        String cursor = CursorKeyset.codificar(ScrollPosition.forward(chaves));
+        KeysetScrollPosition posicao = CursorKeyset.decodificar(cursor, PedidoSpecifications.MAIS_RECENTES);
+
+        // --- Then (Então) ---
+        assertEquals(chaves, posicao.getKeys());
+        assertEquals(ScrollPosition.Direction.FORWARD, posicao.getDirection());
+        // URL-safe e sem padding: vai direto na query string
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    @DisplayName("Deve começar da primeira página quando não há cursor")
+    void should_ReturnInitialPosition_When_CursorIsBlank() {
+        // --- When / Then (Quando / Então) ---
+        assertTrue(CursorKeyset.decodificar(null, POR_ID).isInitial());
+        assertTrue(CursorKeyset.decodificar("  ", POR_ID).isInitial());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor malformado ou de outra ordenação")
+    void should_RejectCursor_When_MalformedOrFromAnotherSort() {
+        // --- Given (Dado) ---
+        String cursorPorId = CursorKeyset.codificar(ScrollPosition.forward(Map.of("id", 7L)));
+
+        // --- When / Then (Quando / Então) ---
+        assertEquals(Map.of("id", 7L), CursorKeyset.decodificar(cursorPorId, POR_ID).getKeys());
+        assertInvalido("!!!", POR_ID);
+        assertInvalido(cursorPorId, PedidoSpecifications.MAIS_RECENTES);
+        assertInvalido(cursorPorId, Sort.by("nome"));
+        assertInvalido(base64("v2|id:L:7"), POR_ID);
+        assertInvalido(base64("v1|id:L:sete"), POR_ID);
+        assertInvalido(base64("v1|id:X:7"), POR_ID);
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static void assertInvalido(String cursor, Sort ordem) {
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> CursorKeyset.decodificar(cursor, ordem));
+        assertEquals("CURSOR_INVALIDO", erro.getErrorCode());
+    }
+
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -16,7 +16,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.Collections;
 import java.util.List;
@@ -38,8 +37,6 @@ class EnderecoServiceImplTest {
     private EnderecoRepository enderecoRepository;
     @Mock
     private UsuarioRepository usuarioRepository;
-    @Mock
-    private ModelMapper modelMapper;
 
     // A classe que estamos testando. Mockito injetará os mocks acima nela.
     @InjectMocks
@@ -116,9 +113,6 @@ class EnderecoServiceImplTest {
         Usuario usuarioMock = new Usuario(); // O usuário dono do endereço
         usuarioMock.setId(usuarioLogadoId);
         
-        Endereco enderecoNaoSalvo = new Endereco(); // O endereço antes de salvar (mapeado pelo ModelMapper)
-        enderecoNaoSalvo.setRua("Rua Nova");
-        
         Endereco enderecoSalvo = new Endereco(); // O endereço depois de salvar (com ID)
         enderecoSalvo.setId(5L);
         enderecoSalvo.setRua("Rua Nova");
@@ -130,9 +124,6 @@ class EnderecoServiceImplTest {
         // Simula o UsuarioRepository
         when(usuarioRepository.findById(usuarioLogadoId)).thenReturn(Optional.of(usuarioMock));
 
-        // Simula o ModelMapper
-        when(modelMapper.map(dtoEntrada, Endereco.class)).thenReturn(enderecoNaoSalvo);
-
         // Simula o EnderecoRepository (ArgumentCaptor captura o objeto enviado para o 'save')
         when(enderecoRepository.save(any(Endereco.class))).thenReturn(enderecoSalvo);
         
@@ -144,10 +135,12 @@ class EnderecoServiceImplTest {
         assertEquals(5L, resultado.getId()); // Verifica se o ID foi setado
         assertEquals(usuarioMock, resultado.getUsuario()); // Verifica se o usuário foi associado
         
-        // Verifica se o ModelMapper foi chamado
-        verify(modelMapper, times(1)).map(dtoEntrada, Endereco.class); 
-        // Verifica se o repositório 'save' foi chamado
-        verify(enderecoRepository, times(1)).save(enderecoNaoSalvo); 
+        // Verifica o endereço enviado ao 'save' (mapeado pelo EnderecoMapper a partir do DTO)
+        ArgumentCaptor<Endereco> captor = ArgumentCaptor.forClass(Endereco.class);
+        verify(enderecoRepository, times(1)).save(captor.capture());
+        assertNull(captor.getValue().getId());
+        assertEquals("Rua Nova", captor.getValue().getRua());
+        assertEquals(usuarioMock, captor.getValue().getUsuario());
     }
 
     @Test
@@ -11,11 +11,13 @@ import com.deliverytech.delivery.enums.Role;
 import com.deliverytech.delivery.enums.StatusPedido;
 import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.PedidoMapper;
 import com.deliverytech.delivery.repository.*;
 import com.deliverytech.delivery.repository.auth.UsuarioRepository;
 import com.deliverytech.delivery.security.jwt.SecurityUtils;
 import com.deliverytech.delivery.service.audit.AuditService;
 import com.deliverytech.delivery.service.impl.PedidoServiceImpl;
+import com.deliverytech.delivery.service.leitura.PedidoViewProjetor;
 import com.deliverytech.delivery.service.metrics.MetricsService;
 // NOVO: Import do Mock Service de Pagamento
 import io.micrometer.core.instrument.Timer;
@@ -24,7 +26,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -32,6 +34,8 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -53,16 +57,22 @@ class PedidoServiceTest {
     @Mock private ItemOpcionalRepository itemOpcionalRepository;
     @Mock private GrupoOpcionalRepository grupoOpcionalRepository;
     @Mock private ClienteRepository clienteRepository;
+    @Mock private PedidoViewRepository pedidoViewRepository;
 
     // --- Serviços Auxiliares ---
     @Mock private MetricsService metricsService;
     @Mock private AuditService auditService;
-    @Mock private ModelMapper modelMapper;
     @Mock private Timer.Sample timerSample;
     
     // --- NOVO MOCK CRÍTICO: Serviço de Pagamento ---
     @Mock private PaymentService paymentService; 
 
+    // --- Publicador de eventos de domínio (KPIs) ---
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    // --- Modelo de leitura (pedido_view) ---
+    @Mock private PedidoViewProjetor pedidoViewProjetor;
+
     // --- Classe testada ---
     @InjectMocks
     private PedidoServiceImpl pedidoService;
@@ -174,10 +184,12 @@ class PedidoServiceTest {
         // ⚠️ NOVO: MOCK PADRÃO PARA O MOCK SERVICE DE PAGAMENTO (SUCESSO)
         lenient().when(paymentService.processPayment(anyString(), anyDouble())).thenReturn(true);
 
+        // A linha de pedido_view é a projeção do pedido gravado
+        lenient().when(pedidoViewProjetor.inserir(any(Pedido.class)))
+                .thenAnswer(invocacao -> PedidoMapper.paraView(invocacao.getArgument(0)));
+        lenient().when(pedidoViewProjetor.atualizar(any(Pedido.class)))
+                .thenAnswer(invocacao -> PedidoMapper.paraView(invocacao.getArgument(0)));
 
-        // ⚠️ SOLUÇÃO DEFINITIVA — evita TODOS os UnnecessaryStubbingException
-        lenient().when(modelMapper.map(any(), eq(PedidoResponseDTO.class)))
-                .thenReturn(pedidoResponseDTO);
     }
 
     @AfterEach
@@ -202,6 +214,7 @@ class PedidoServiceTest {
         // ⚠️ Verifica que o Mock Service foi chamado antes de salvar
         verify(paymentService, times(1)).processPayment(anyString(), anyDouble());
         verify(pedidoRepository).save(pedidoCaptor.capture());
+        verify(pedidoViewProjetor).inserir(pedidoSalvo); // Linha de pedido_view na mesma transação
         
         Pedido pedido = pedidoCaptor.getValue();
 
@@ -282,6 +295,42 @@ class PedidoServiceTest {
 
         assertEquals(0, r.getSubtotal().compareTo(new BigDecimal("26.00")));
         assertEquals(0, r.getTotal().compareTo(new BigDecimal("31.00")));
+        verify(metricsService).registrarCalculoPreco(any(), eq(10L));
+    }
+
+    @Test
+    @DisplayName("Cálculo sem métricas (aquecimento) deve dar o mesmo total sem registrar timers")
+    void calcularTotalPedidoSemMetricas_NaoDeveRegistrarMetricas() {
+
+        when(produtoRepository.findById(100L)).thenReturn(Optional.of(produto1));
+        when(restauranteRepository.findById(10L)).thenReturn(Optional.of(restauranteAberto));
+
+        CalculoPedidoResponseDTO r = pedidoService.calcularTotalPedidoSemMetricas(calculoDTO);
+
+        assertEquals(0, r.getTotal().compareTo(new BigDecimal("31.00")));
+        verify(metricsService, never()).iniciarTimer();
+        verify(metricsService, never()).registrarCalculoPreco(any(), any());
+    }
+
+    // =====================================================================
+    // TESTE: TAG DE RESTAURANTE NAS MÉTRICAS (CARDINALIDADE)
+    // =====================================================================
+    @Test
+    @DisplayName("Restaurante desconhecido não deve virar tag nas métricas de cálculo e de criação")
+    void restauranteDesconhecido_NaoDeveVirarTagDeMetrica() {
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioAtivo));
+        when(restauranteRepository.findById(anyLong())).thenReturn(Optional.empty());
+        calculoDTO.setRestauranteId(987654L);
+        pedidoDTO.setRestauranteId(987655L);
+
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.calcularTotalPedido(calculoDTO));
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.criarPedido(pedidoDTO));
+
+        // O id enviado pelo cliente não chega ao guard de cardinalidade
+        verify(metricsService).registrarCalculoPreco(any(), isNull());
+        verify(metricsService).registrarCriacaoPedido(any(), isNull(), eq("EntityNotFoundException"));
+        verify(metricsService, never()).registrarCalculoPreco(any(), eq(987654L));
+        verify(metricsService, never()).registrarCriacaoPedido(any(), eq(987655L), anyString());
     }
 
     // =====================================================================
@@ -297,10 +346,12 @@ class PedidoServiceTest {
         StatusPedidoDTO dto = new StatusPedidoDTO();
         dto.setStatus(StatusPedido.CONFIRMADO.name());
 
-        pedidoService.atualizarStatusPedido(1L, dto);
+        PedidoResponseDTO resposta = pedidoService.atualizarStatusPedido(1L, dto);
 
         verify(pedidoRepository).save(pedidoCaptor.capture());
         assertEquals(StatusPedido.CONFIRMADO, pedidoCaptor.getValue().getStatus());
+        verify(pedidoViewProjetor).atualizar(pedidoSalvo);
+        assertEquals(StatusPedido.CONFIRMADO.name(), resposta.getStatus());
     }
 
     @Test
@@ -315,6 +366,7 @@ class PedidoServiceTest {
 
         assertThrows(BusinessException.class,
                 () -> pedidoService.atualizarStatusPedido(1L, dto));
+        verifyNoInteractions(pedidoViewProjetor);
     }
 
     // =====================================================================
@@ -331,6 +383,7 @@ class PedidoServiceTest {
 
         verify(pedidoRepository).save(pedidoCaptor.capture());
         assertEquals(StatusPedido.CANCELADO, pedidoCaptor.getValue().getStatus());
+        verify(pedidoViewProjetor).atualizar(pedidoSalvo);
     }
 
     @Test
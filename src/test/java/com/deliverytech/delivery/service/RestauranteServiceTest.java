@@ -14,12 +14,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import java.math.BigDecimal;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +41,7 @@ class RestauranteServiceTest {
     private EnderecoRepository enderecoRepository; // <-- ADICIONADO (embora não usado diretamente)
 
     @Mock
-    private ModelMapper modelMapper;
+    private ApplicationEventPublisher eventPublisher;
 
     // --- SYSTEM UNDER TEST (SUT) ---
     @InjectMocks
@@ -110,14 +111,8 @@ class RestauranteServiceTest {
         // Given (Arrange)
         // -----------------
         when(restauranteRepository.findByNome(restauranteNome)).thenReturn(Optional.empty());
-        // 1. Simula o ModelMapper convertendo DTO para Entidade Restaurante
-        when(modelMapper.map(restauranteDTO, Restaurante.class)).thenReturn(restaurante);
-        // 2. Simula o ModelMapper convertendo DTO para Entidade Endereco
-        when(modelMapper.map(enderecoDTO, Endereco.class)).thenReturn(endereco);
-        // 3. Simula o 'save' (o Cascade salvará o endereço junto)
+        // Simula o 'save' (o Cascade salvará o endereço junto)
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        // 4. Simula o ModelMapper de resposta
-        when(modelMapper.map(restaurante, RestauranteResponseDTO.class)).thenReturn(restauranteResponseDTO);
 
         // -----------------
         // When (Act)
@@ -129,11 +124,19 @@ class RestauranteServiceTest {
         // -----------------
         assertNotNull(resultado);
         assertEquals(restauranteNome, resultado.getNome());
-        assertTrue(restaurante.getAtivo());
-        
-        // Verifica se o endereço foi setado na entidade antes de salvar
-        assertEquals(endereco, restaurante.getEndereco());
-        verify(restauranteRepository).save(any(Restaurante.class));
+        assertEquals(restauranteResponseDTO.getId(), resultado.getId());
+        assertEquals("Rua X, 100", resultado.getEndereco().getRua());
+
+        // Verifica a entidade montada pelo RestauranteMapper antes de salvar
+        ArgumentCaptor<Restaurante> captor = ArgumentCaptor.forClass(Restaurante.class);
+        verify(restauranteRepository).save(captor.capture());
+        Restaurante novo = captor.getValue();
+        assertNull(novo.getId());
+        assertEquals(restauranteNome, novo.getNome());
+        assertTrue(novo.getAtivo());
+        assertEquals("Rua X, 100", novo.getEndereco().getRua());
+        assertEquals("01001000", novo.getEndereco().getCep());
+        assertEquals("Centro", novo.getEndereco().getBairro());
     }
 
     // ... (O teste 'cadastrarRestaurante_DeveLancarExcecao_QuandoNomeJaExiste' 
@@ -144,8 +147,6 @@ class RestauranteServiceTest {
     void cadastrarRestaurante_DeveLancarExcecao_QuandoNomeNulo() {
         // Given
         restauranteDTO.setNome(null);
-        when(modelMapper.map(restauranteDTO, Restaurante.class)).thenReturn(restaurante);
-        restaurante.setNome(null); // Simula o DTO mapeado
 
         // When & Then
         ConflictException exception = assertThrows(
@@ -172,14 +173,16 @@ class RestauranteServiceTest {
         // (O DTO tem os mesmos dados, o service vai mapeá-los para a entidade)
         
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        when(modelMapper.map(restaurante, RestauranteResponseDTO.class)).thenReturn(restauranteResponseDTO);
 
         // When
         restauranteService.atualizarRestaurante(restauranteId, restauranteDTO);
 
         // Then
-        // Verifica se o ModelMapper foi chamado para atualizar o endereço
-        verify(modelMapper).map(enderecoDTO, endereco);
+        // Verifica se o endereço existente foi atualizado (mesmo id) com os dados do DTO
+        assertSame(endereco, restaurante.getEndereco());
+        assertEquals(1L, endereco.getId());
+        assertEquals("Centro", endereco.getBairro());
+        assertEquals("SP", endereco.getCidade());
         // Verifica se o save foi chamado
         verify(restauranteRepository).save(restaurante);
     }
@@ -209,7 +212,6 @@ class RestauranteServiceTest {
         assertTrue(restaurante.getAtivo()); 
         when(restauranteRepository.findById(restauranteId)).thenReturn(Optional.of(restaurante));
         when(restauranteRepository.save(any(Restaurante.class))).thenReturn(restaurante);
-        when(modelMapper.map(restaurante, RestauranteResponseDTO.class)).thenReturn(restauranteResponseDTO);
 
         restauranteService.alterarStatusRestaurante(restauranteId);
 
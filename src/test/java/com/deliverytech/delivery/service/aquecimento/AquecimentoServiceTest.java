@@ -0,0 +1,148 @@
+package com.deliverytech.delivery.service.aquecimento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do orquestrador do aquecimento de inicialização.
+ */
+@DisplayName("Testes Unitários do AquecimentoService")
+class AquecimentoServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private List<String> executadas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executadas = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Deve executar as etapas em ordem e publicar progresso e duração")
+    void should_RunStagesInOrderAndRecordMetrics_When_WarmingUp() {
+        // --- Given (Dado) ---
+        List<Double> progressoDuranteEtapaB = new ArrayList<>();
+        AquecimentoService[] servico = new AquecimentoService[1];
+        servico[0] = novoServico(60_000,
+                etapa("a", contexto -> {}),
+                etapa("b", contexto -> {
+                    contexto.progresso(0.5);
+                    progressoDuranteEtapaB.add(servico[0].getProgresso());
+                }));
+        assertEquals(AquecimentoService.Estado.PENDENTE, servico[0].getEstado());
+        assertFalse(servico[0].isConcluido());
+
+        // --- When (Quando) ---
+        servico[0].aoIniciar();
+
+        // --- Then (Então) ---
+        assertEquals(List.of("a", "b"), executadas);
+        assertEquals(0.75, progressoDuranteEtapaB.get(0), 1e-9);
+        assertEquals(AquecimentoService.Estado.CONCLUIDO, servico[0].getEstado());
+        assertEquals(Map.of("a", "ok", "b", "ok"), servico[0].getResultados());
+        assertEquals(1.0, registry.get("delivery.aquecimento.progresso").gauge().value());
+        assertEquals(1.0, registry.get("delivery.aquecimento.concluido").gauge().value());
+        assertEquals(1, timer("a").count());
+        assertEquals(1, timer("b").count());
+        assertEquals(1, timer(AquecimentoService.ETAPA_TOTAL).count());
+    }
+
+    @Test
+    @DisplayName("Deve seguir para a próxima etapa quando uma etapa falha")
+    void should_ContinueWithNextStage_When_StageFails() {
+        // --- Given (Dado) ---
+        AquecimentoService servico = novoServico(60_000,
+                etapa("pool", contexto -> { throw new IllegalStateException("banco fora"); }),
+                etapa("catalogo", contexto -> {}));
+
+        // --- When (Quando) ---
+        servico.aquecer();
+
+        // --- Then (Então) ---
+        assertEquals(List.of("pool", "catalogo"), executadas);
+        assertEquals("falhou: banco fora", servico.getResultados().get("pool"));
+        assertEquals("ok", servico.getResultados().get("catalogo"));
+        assertTrue(servico.isConcluido());
+        Counter falhas = registry.get("delivery.aquecimento.falhas").tag("etapa", "pool").counter();
+        assertEquals(1.0, falhas.count());
+    }
+
+    @Test
+    @DisplayName("Deve pular as etapas restantes quando o tempo máximo esgota")
+    void should_SkipRemainingStages_When_TimeBudgetExhausted() {
+        // --- Given (Dado) ---
+        AquecimentoService servico = novoServico(20,
+                etapa("lenta", contexto -> {
+                    while (!contexto.tempoEsgotado()) {
+                        Thread.onSpinWait();
+                    }
+                }),
+                etapa("seguinte", contexto -> {}));
+
+        // --- When (Quando) ---
+        servico.aquecer();
+
+        // --- Then (Então) ---
+        assertEquals(List.of("lenta"), executadas);
+        assertEquals("interrompida", servico.getResultados().get("lenta"));
+        assertEquals("ignorada", servico.getResultados().get("seguinte"));
+        assertEquals(AquecimentoService.Estado.CONCLUIDO, servico.getEstado());
+    }
+
+    @Test
+    @DisplayName("Não deve executar etapas quando o aquecimento está desabilitado")
+    void should_NotRunStages_When_Disabled() {
+        // --- Given (Dado) ---
+        AquecimentoService servico = new AquecimentoService(
+                List.of(etapa("pool", contexto -> {})), registry, false, 60_000);
+
+        // --- When (Quando) ---
+        servico.aoIniciar();
+
+        // --- Then (Então) ---
+        assertTrue(executadas.isEmpty());
+        assertEquals(AquecimentoService.Estado.DESABILITADO, servico.getEstado());
+        assertTrue(servico.isConcluido());
+        assertEquals(1.0, registry.get("delivery.aquecimento.concluido").gauge().value());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private interface Acao {
+        void executar(ContextoAquecimento contexto) throws Exception;
+    }
+
+    private EtapaAquecimento etapa(String nome, Acao acao) {
+        return new EtapaAquecimento() {
+            @Override
+            public String nome() {
+                return nome;
+            }
+
+            @Override
+            public void executar(ContextoAquecimento contexto) throws Exception {
+                executadas.add(nome);
+                acao.executar(contexto);
+            }
+        };
+    }
+
+    private AquecimentoService novoServico(long tempoMaximoMs, EtapaAquecimento... etapas) {
+        return new AquecimentoService(List.of(etapas), registry, true, tempoMaximoMs);
+    }
+
+    private Timer timer(String etapa) {
+        return registry.get("delivery.aquecimento.duracao").tag("etapa", etapa).timer();
+    }
+}
@@ -0,0 +1,105 @@
+package com.deliverytech.delivery.service.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários da fila circular MPSC usada pelo pipeline de auditoria.
+ */
+@DisplayName("Testes Unitários do AuditRingBuffer")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade para a próxima potência de 2")
+    void should_RoundCapacity_When_NotPowerOfTwo() {
+        assertEquals(1, new AuditRingBuffer<Integer>(1).capacidade());
+        assertEquals(8, new AuditRingBuffer<Integer>(5).capacidade());
+        assertEquals(8192, new AuditRingBuffer<Integer>(8192).capacidade());
+    }
+
+    @Test
+    @DisplayName("Deve recusar elementos quando a fila estiver cheia e aceitar após drenar")
+    void should_RejectOffer_When_Full() {
+        // --- Given (Dado) ---
+        AuditRingBuffer<Integer> fila = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(fila.oferecer(i));
+        }
+
+        // --- When (Quando) & Then (Então) ---
+        assertFalse(fila.oferecer(99));
+        assertEquals(4, fila.tamanho());
+
+        List<Integer> drenados = new ArrayList<>();
+        assertEquals(2, fila.drenar(drenados, 2));
+        assertEquals(List.of(0, 1), drenados);
+        assertTrue(fila.oferecer(4));
+        assertEquals(3, fila.tamanho());
+    }
+
+    @Test
+    @DisplayName("Não deve perder nem duplicar elementos com vários produtores concorrentes")
+    void should_DeliverEveryElementOnce_When_ConcurrentProducers() throws Exception {
+        // --- Given (Dado) ---
+        int produtores = 4;
+        int porProdutor = 10_000;
+        AuditRingBuffer<Integer> fila = new AuditRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch produtoresConcluidos = new CountDownLatch(produtores);
+
+        // --- When (Quando) ---
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!fila.oferecer(base + i)) {
+                        // Fila cheia: cede a CPU ao consumidor (em máquinas com um só núcleo,
+                        // girar em onSpinWait deixaria o consumidor sem tempo de CPU)
+                        Thread.yield();
+                    }
+                }
+                produtoresConcluidos.countDown();
+                return null;
+            });
+        }
+        largada.countDown();
+
+        // Drena até todos os produtores terminarem e a fila esvaziar; o prazo só
+        // evita travar o build se a fila perder elementos
+        Set<Integer> recebidos = new HashSet<>();
+        List<Integer> lote = new ArrayList<>();
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < limite) {
+            boolean concluidos = produtoresConcluidos.getCount() == 0;
+            if (fila.drenar(lote, 32) == 0) {
+                if (concluidos) {
+                    break; // Nada mais será publicado
+                }
+                Thread.yield();
+            }
+            for (Integer valor : lote) {
+                assertTrue(recebidos.add(valor), "Elemento duplicado: " + valor);
+            }
+            lote.clear();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // --- Then (Então) ---
+        assertEquals(produtores * porProdutor, recebidos.size());
+        assertEquals(0, fila.tamanho());
+    }
+}
@@ -0,0 +1,173 @@
+package com.deliverytech.delivery.service.audit.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do journal de auditoria: gravação, rolagem/compactação de segmentos,
+ * consultas pelos índices, recuperação após reabrir o diretório e retenção.
+ */
+@DisplayName("Testes do AuditJournal")
+class AuditJournalTest {
+
+    // Segmento pequeno para forçar várias rolagens
+    private static final int TAMANHO_SEGMENTO = 8 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve consultar por chave e por período, inclusive em segmentos selados e compactados")
+    void should_QueryByKeysAndTime_When_SegmentsRolled() throws Exception {
+        // --- Given (Dado) ---
+        LocalDateTime base = LocalDateTime.of(2025, 1, 10, 12, 0);
+        AuditJournal journal = abrirJournal();
+        for (int i = 0; i < 500; i++) {
+            gravar(journal, base.plusSeconds(i), "user-" + (i % 5), i % 2 == 0 ? "CRIAR" : "CANCELAR", "corr-" + i);
+        }
+
+        // --- When (Quando) & Then (Então) ---
+        List<Map<String, Object>> porUsuario = journal.consultar(
+                new ConsultaAuditoria("user-3", null, null, null, null, 1000));
+        assertEquals(100, porUsuario.size());
+        assertEquals("corr-498", porUsuario.get(0).get("correlationId")); // Mais recente primeiro
+
+        List<Map<String, Object>> combinada = journal.consultar(
+                new ConsultaAuditoria("user-3", "CRIAR", null, null, null, 1000));
+        assertEquals(50, combinada.size());
+
+        List<Map<String, Object>> porCorrelacao = journal.consultar(
+                new ConsultaAuditoria(null, null, "corr-7", null, null, 10));
+        assertEquals(1, porCorrelacao.size());
+        assertEquals("user-2", porCorrelacao.get(0).get("userId"));
+
+        List<Map<String, Object>> porPeriodo = journal.consultar(
+                new ConsultaAuditoria(null, null, null, base.plusSeconds(10), base.plusSeconds(19), 1000));
+        assertEquals(10, porPeriodo.size());
+
+        List<Map<String, Object>> limitada = journal.consultar(
+                new ConsultaAuditoria(null, "CANCELAR", null, null, null, 7));
+        assertEquals(7, limitada.size());
+
+        // Aguarda a compactação e confere que os segmentos selados viraram .segz
+        journal.fechar();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            List<String> nomes = arquivos.map(p -> p.getFileName().toString()).toList();
+            assertTrue(nomes.stream().anyMatch(n -> n.endsWith(".segz")));
+            assertTrue(nomes.stream().filter(n -> n.endsWith(".seg")).count() <= 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recuperar segmentos selados e o segmento ativo ao reabrir")
+    void should_RecoverEvents_When_Reopened() throws Exception {
+        // --- Given (Dado) ---
+        LocalDateTime base = LocalDateTime.of(2025, 2, 1, 8, 0);
+        AuditJournal journal = abrirJournal();
+        for (int i = 0; i < 200; i++) {
+            gravar(journal, base.plusMinutes(i), "user-" + (i % 4), "LOGIN", "corr-" + i);
+        }
+        journal.fechar();
+
+        // --- When (Quando) ---
+        AuditJournal reaberto = abrirJournal();
+        gravar(reaberto, base.plusMinutes(500), "user-0", "LOGIN", "corr-novo");
+
+        // --- Then (Então) ---
+        List<Map<String, Object>> eventos = reaberto.consultar(
+                new ConsultaAuditoria("user-0", null, null, null, null, 1000));
+        assertEquals(51, eventos.size());
+        assertEquals("corr-novo", eventos.get(0).get("correlationId"));
+        reaberto.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve manter no máximo max-segmentos selados, apagando os mais antigos")
+    void should_DropOldestSegments_When_MaxSegmentsExceeded() throws Exception {
+        // --- Given (Dado) ---
+        LocalDateTime base = LocalDateTime.now();
+        AuditJournal journal = abrirJournal(2, Duration.ZERO);
+
+        // --- When (Quando) ---
+        for (int i = 0; i < 500; i++) {
+            gravar(journal, base.plusSeconds(i), "user-1", "CRIAR", "corr-" + i);
+        }
+
+        // --- Then (Então) ---
+        List<Map<String, Object>> eventos = journal.consultar(
+                new ConsultaAuditoria("user-1", null, null, null, null, 1000));
+        assertTrue(eventos.size() < 500, "Segmentos antigos deveriam ter saído da consulta");
+        assertEquals("corr-499", eventos.get(0).get("correlationId"));
+        assertTrue(journal.consultar(new ConsultaAuditoria(null, null, "corr-0", null, null, 10)).isEmpty());
+
+        journal.fechar(); // Espera as remoções pendentes
+        assertEquals(2, contarArquivos(".idx"));
+
+        // A retenção vale também ao reabrir um diretório com segmentos a mais
+        AuditJournal reaberto = abrirJournal(1, Duration.ZERO);
+        reaberto.fechar();
+        assertEquals(1, contarArquivos(".idx"));
+    }
+
+    @Test
+    @DisplayName("Deve apagar segmentos selados cujo evento mais recente passou da retenção")
+    void should_DropExpiredSegments_When_RetentionElapsed() throws Exception {
+        // --- Given (Dado) ---
+        LocalDateTime antigo = LocalDateTime.now().minusDays(10);
+        AuditJournal journal = abrirJournal(0, Duration.ofDays(1));
+
+        // --- When (Quando) ---
+        for (int i = 0; i < 300; i++) {
+            gravar(journal, antigo.plusSeconds(i), "user-1", "LOGIN", "corr-" + i);
+        }
+
+        // --- Then (Então) ---
+        // Só o segmento ativo (nunca removido) continua consultável
+        List<Map<String, Object>> eventos = journal.consultar(
+                new ConsultaAuditoria("user-1", null, null, null, null, 1000));
+        assertFalse(eventos.isEmpty());
+        assertTrue(eventos.size() < 300);
+        assertEquals("corr-299", eventos.get(0).get("correlationId"));
+
+        journal.fechar();
+        assertEquals(0, contarArquivos(".idx"));
+        assertEquals(0, contarArquivos(".segz"));
+    }
+
+    private AuditJournal abrirJournal() throws Exception {
+        return abrirJournal(0, Duration.ZERO);
+    }
+
+    private AuditJournal abrirJournal(int maxSegmentos, Duration retencao) throws Exception {
+        AuditJournal journal = new AuditJournal(new SimpleMeterRegistry(), true, diretorio, TAMANHO_SEGMENTO,
+                maxSegmentos, retencao);
+        journal.abrir();
+        return journal;
+    }
+
+    private long contarArquivos(String extensao) throws Exception {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> p.getFileName().toString().endsWith(extensao)).count();
+        }
+    }
+
+    private static void gravar(AuditJournal journal, LocalDateTime quando, String userId,
+                               String acao, String correlationId) {
+        String json = String.format(
+                "{\"timestamp\":\"%s\",\"userId\":\"%s\",\"action\":\"%s\",\"correlationId\":\"%s\"}",
+                quando, userId, acao, correlationId);
+        journal.anexar(ConsultaAuditoria.paraMillis(quando), userId, acao, correlationId, json);
+    }
+}
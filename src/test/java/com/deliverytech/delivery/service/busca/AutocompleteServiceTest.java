@@ -0,0 +1,101 @@
+package com.deliverytech.delivery.service.busca;
+
+import com.deliverytech.delivery.event.CatalogoAlteradoEvent;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.busca.TrieSugestoes.Sugestao;
+import com.deliverytech.delivery.service.busca.TrieSugestoes.Tipo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do AutocompleteService (pesos e troca da trie).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários do AutocompleteService")
+class AutocompleteServiceTest {
+
+    @Mock private RestauranteRepository restauranteRepository;
+    @Mock private ProdutoRepository produtoRepository;
+    @Mock private PedidoRepository pedidoRepository;
+
+    private AutocompleteService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AutocompleteService(restauranteRepository, produtoRepository, pedidoRepository,
+                new SimpleMeterRegistry(), true, 10, 30);
+    }
+
+    @Test
+    @DisplayName("Deve somar a popularidade de produtos de mesmo nome e das categorias")
+    void should_WeightByRecentOrders_When_BuildingTrie() {
+        // --- Given (Dado) ---
+        when(restauranteRepository.listarNomesECategoriasAtivos())
+                .thenReturn(linhas(new Object[] {1L, "Bar do Zé", "Bebidas"}));
+        when(produtoRepository.listarNomesECategoriasDisponiveis()).thenReturn(linhas(
+                new Object[] {10L, "Coca-Cola", "Bebidas"},
+                new Object[] {11L, "Coca Cola", "Bebidas"},
+                new Object[] {12L, "Cocada", "Sobremesas"}));
+        when(pedidoRepository.contarPedidosPorRestauranteDesde(any())).thenReturn(linhas(new Object[] {1L, 2L}));
+        when(pedidoRepository.somarUnidadesPorProdutoDesde(any())).thenReturn(linhas(
+                new Object[] {10L, 3L}, new Object[] {11L, 4L}, new Object[] {12L, 20L}));
+
+        // --- When (Quando) ---
+        service.reconstruir();
+        List<Sugestao> sugestoes = service.sugerir("coca", 10);
+
+        // --- Then (Então) ---
+        assertEquals(List.of(
+                new Sugestao("Cocada", Tipo.PRODUTO, null, 21),
+                new Sugestao("Coca-Cola", Tipo.PRODUTO, null, 9)), sugestoes);
+        Sugestao bebidas = service.sugerir("beb", 10).get(0);
+        assertEquals(Tipo.CATEGORIA, bebidas.tipo());
+        assertEquals(3 + 4 + 5, bebidas.peso());
+        assertEquals(1L, service.sugerir("ze", 10).get(0).id());
+    }
+
+    @Test
+    @DisplayName("Deve remontar a trie só quando o catálogo mudou")
+    void should_RebuildOnlyAfterCatalogChange_When_Checking() {
+        // --- Given (Dado) ---
+        when(pedidoRepository.contarPedidosPorRestauranteDesde(any())).thenReturn(List.of());
+        when(pedidoRepository.somarUnidadesPorProdutoDesde(any())).thenReturn(List.of());
+        when(restauranteRepository.listarNomesECategoriasAtivos()).thenReturn(List.of());
+        when(produtoRepository.listarNomesECategoriasDisponiveis())
+                .thenReturn(linhas(new Object[] {1L, "Esfiha", "Árabe"}))
+                .thenReturn(linhas(new Object[] {1L, "Esfiha", "Árabe"}, new Object[] {2L, "Esfirra", "Árabe"}));
+        service.aoIniciar();
+        assertEquals(1, service.sugerir("esf", 10).size());
+
+        // --- When (Quando) ---
+        service.reconstruirSeAlterado();
+        int antesDoEvento = service.sugerir("esf", 10).size();
+        service.aoAlterarCatalogo(new CatalogoAlteradoEvent("produto", 2L));
+        service.reconstruirSeAlterado();
+
+        // --- Then (Então) ---
+        assertEquals(1, antesDoEvento);
+        assertEquals(2, service.sugerir("esf", 10).size());
+        verify(produtoRepository, times(2)).listarNomesECategoriasDisponiveis();
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static List<Object[]> linhas(Object[]... linhas) {
+        return new ArrayList<>(List.of(linhas));
+    }
+}
@@ -0,0 +1,147 @@
+package com.deliverytech.delivery.service.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do índice invertido da busca de produtos.
+ */
+@DisplayName("Testes Unitários do IndiceInvertido")
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar o produto ignorando acentos e maiúsculas")
+    void should_MatchIgnoringAccentsAndCase_When_Searching() {
+        // --- Given (Dado) ---
+        indice.indexar(produto(1, "Açaí na Tigela", "Sobremesas", "Com granola e banana"));
+        indice.indexar(produto(2, "Pão de Queijo", "Lanches", "Porção com 10 unidades"));
+
+        // --- When / Then (Quando / Então) ---
+        assertEquals(List.of(1L), indice.buscar("acai", 0, 10).produtoIds());
+        assertEquals(List.of(1L), indice.buscar("AÇAÍ", 0, 10).produtoIds());
+        assertEquals(List.of(2L), indice.buscar("pao queijo", 0, 10).produtoIds());
+        assertEquals(List.of(2L), indice.buscar("porcao", 0, 10).produtoIds());
+        assertEquals(List.of("acai", "tigela"), NormalizadorTexto.tokens("Açaí na Tigela"));
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os termos e casar o último como prefixo")
+    void should_RequireAllTermsAndPrefixMatchLast_When_Searching() {
+        // --- Given (Dado) ---
+        indice.indexar(produto(1, "Pizza Calabresa", "Pizzas", "Calabresa e cebola"));
+        indice.indexar(produto(2, "Pizza Margherita", "Pizzas", "Tomate e manjericão"));
+        indice.indexar(produto(3, "Calzone", "Massas", "Recheado"));
+
+        // --- When / Then (Quando / Então) ---
+        assertEquals(List.of(1L), indice.buscar("pizza cal", 0, 10).produtoIds());
+        assertEquals(Set.of(1L, 2L), new HashSet<>(indice.buscar("piz", 0, 10).produtoIds()));
+        assertEquals(Set.of(1L, 3L), new HashSet<>(indice.buscar("cal", 0, 10).produtoIds()));
+        assertTrue(indice.buscar("pizza sushi", 0, 10).produtoIds().isEmpty());
+        assertTrue(indice.buscar("de", 0, 10).produtoIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ranquear o termo no nome acima do termo só na descrição")
+    void should_RankNameAboveDescription_When_Searching() {
+        // --- Given (Dado) ---
+        indice.indexar(produto(1, "Batata Frita", "Porções", "Acompanha molho de cheddar"));
+        indice.indexar(produto(2, "Cheddar Burger", "Lanches", "Pão, carne e cheddar"));
+        indice.indexar(produto(3, "Salada", "Cheddar", "Folhas verdes"));
+
+        // --- When (Quando) ---
+        List<Long> ids = indice.buscar("cheddar", 0, 10).produtoIds();
+
+        // --- Then (Então) ---
+        assertEquals(List.of(2L, 3L, 1L), ids);
+    }
+
+    @Test
+    @DisplayName("Deve refletir atualização, troca de disponibilidade e remoção")
+    void should_ReflectIncrementalUpdates_When_ProductChanges() {
+        // --- Given (Dado) ---
+        indice.indexar(produto(1, "Suco de Laranja", "Bebidas", "Natural"));
+
+        // --- When / Then (Quando / Então) ---
+        indice.indexar(produto(1, "Suco de Uva", "Bebidas", "Natural"));
+        assertTrue(indice.buscar("laranja", 0, 10).produtoIds().isEmpty());
+        assertEquals(List.of(1L), indice.buscar("uva", 0, 10).produtoIds());
+
+        assertTrue(indice.alterarDisponibilidade(1, false));
+        assertTrue(indice.buscar("uva", 0, 10).produtoIds().isEmpty());
+        assertTrue(indice.alterarDisponibilidade(1, true));
+        assertEquals(List.of(1L), indice.buscar("uva", 0, 10).produtoIds());
+
+        assertTrue(indice.remover(1));
+        assertTrue(indice.buscar("uva", 0, 10).produtoIds().isEmpty());
+        assertFalse(indice.remover(1));
+        assertEquals(0, indice.documentos());
+    }
+
+    @Test
+    @DisplayName("Deve paginar os resultados sem repetir produtos")
+    void should_PaginateWithoutRepeating_When_ManyResults() {
+        // --- Given (Dado) ---
+        for (long id = 1; id <= 25; id++) {
+            indice.indexar(produto(id, "Esfiha " + id, "Esfihas", "Assada"));
+        }
+
+        // --- When (Quando) ---
+        List<Long> todos = new ArrayList<>();
+        for (int pagina = 0; pagina < 3; pagina++) {
+            ResultadoBusca resultado = indice.buscar("esfiha", pagina, 10);
+            assertEquals(25, resultado.total());
+            todos.addAll(resultado.produtoIds());
+        }
+
+        // --- Then (Então) ---
+        assertEquals(25, todos.size());
+        assertEquals(25, new HashSet<>(todos).size());
+        assertEquals(1L, todos.get(0));
+        assertTrue(indice.buscar("esfiha", 3, 10).produtoIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve compactar as postagens quando muitos produtos são removidos")
+    void should_CompactPostings_When_ManyProductsRemoved() {
+        // --- Given (Dado) ---
+        int total = 3 * IndiceInvertido.MINIMO_REMOVIDOS_COMPACTACAO;
+        for (long id = 1; id <= total; id++) {
+            indice.indexar(produto(id, "Temaki " + (id % 2 == 0 ? "salmao" : "atum"), "Japonesa", "Cone de alga"));
+        }
+        long bytesAntes = indice.bytesPostagens();
+
+        // --- When (Quando) ---
+        for (long id = 1; id <= total; id += 2) {
+            indice.remover(id);
+        }
+
+        // --- Then (Então) ---
+        assertTrue(indice.removidos() < IndiceInvertido.MINIMO_REMOVIDOS_COMPACTACAO);
+        assertTrue(indice.bytesPostagens() < bytesAntes);
+        assertEquals(total / 2, indice.buscar("temaki", 0, 10).total());
+        assertEquals(total / 2, indice.buscar("salmao", 0, 10).total());
+        assertEquals(0, indice.buscar("atum", 0, 10).total());
+        assertEquals(List.of(2L, 4L), indice.buscar("temaki", 0, 2).produtoIds());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private DocumentoBusca produto(long id, String nome, String categoria, String descricao) {
+        return new DocumentoBusca(id, nome, descricao, categoria, true);
+    }
+}
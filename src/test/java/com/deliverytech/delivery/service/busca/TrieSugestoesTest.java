@@ -0,0 +1,102 @@
+package com.deliverytech.delivery.service.busca;
+
+import com.deliverytech.delivery.service.busca.TrieSugestoes.Sugestao;
+import com.deliverytech.delivery.service.busca.TrieSugestoes.Tipo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários da trie de prefixos do autocomplete.
+ */
+@DisplayName("Testes Unitários da TrieSugestoes")
+class TrieSugestoesTest {
+
+    @Test
+    @DisplayName("Deve sugerir pelo início de qualquer das primeiras palavras, sem acentos")
+    void should_SuggestByAnyLeadingWord_When_PrefixTyped() {
+        // --- Given (Dado) ---
+        TrieSugestoes trie = TrieSugestoes.construir(List.of(
+                produto("Pizza Calabresa", 1),
+                produto("Açaí Premium", 1),
+                produto("Pão de Queijo", 1)), 10);
+
+        // --- When / Then (Quando / Então) ---
+        assertEquals(List.of("Pizza Calabresa"), textos(trie.sugerir("calab", 5)));
+        assertEquals(List.of("Açaí Premium"), textos(trie.sugerir("ACAI", 5)));
+        assertEquals(List.of("Pão de Queijo"), textos(trie.sugerir("pao d", 5)));
+        assertEquals(List.of("Pão de Queijo"), textos(trie.sugerir("queijo", 5)));
+        assertTrue(trie.sugerir("sushi", 5).isEmpty());
+        assertTrue(trie.sugerir("  ", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar as sugestões pela popularidade")
+    void should_OrderByPopularity_When_ManySuggestionsMatch() {
+        // --- Given (Dado) ---
+        TrieSugestoes trie = TrieSugestoes.construir(List.of(
+                produto("Picanha", 5),
+                new Sugestao("Pizzaria Napoli", Tipo.RESTAURANTE, 7L, 20),
+                produto("Pizza", 50),
+                new Sugestao("Pizzas", Tipo.CATEGORIA, null, 20)), 10);
+
+        // --- When (Quando) ---
+        List<Sugestao> sugestoes = trie.sugerir("pi", 10);
+
+        // --- Then (Então) ---
+        assertEquals(List.of("Pizza", "Pizzaria Napoli", "Pizzas", "Picanha"), textos(sugestoes));
+        assertEquals(7L, sugestoes.get(1).id());
+        assertEquals(List.of("Pizza", "Pizzaria Napoli"), textos(trie.sugerir("piz", 2)));
+    }
+
+    @Test
+    @DisplayName("Deve guardar só as k sugestões mais populares por prefixo")
+    void should_KeepOnlyTopK_When_PrefixIsCommon() {
+        // --- Given (Dado) ---
+        List<Sugestao> entradas = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            entradas.add(produto("Suco " + i, i));
+        }
+        TrieSugestoes trie = TrieSugestoes.construir(entradas, 10);
+
+        // --- When (Quando) ---
+        List<Sugestao> sugestoes = trie.sugerir("suco", 50);
+
+        // --- Then (Então) ---
+        assertEquals(10, sugestoes.size());
+        assertEquals("Suco 15", sugestoes.get(0).texto());
+        assertEquals("Suco 6", sugestoes.get(9).texto());
+        assertEquals(15, trie.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve conferir o texto quando o prefixo passa da profundidade da trie")
+    void should_CheckText_When_PrefixLongerThanDepth() {
+        // --- Given (Dado) ---
+        TrieSugestoes trie = TrieSugestoes.construir(List.of(
+                produto("Combo Família Gigante Especial da Casa", 3),
+                produto("Combo Família Gigante Especial Kids", 1)), 10);
+
+        // --- When / Then (Quando / Então) ---
+        assertTrue("combo familia gigante especial d".length() > TrieSugestoes.PROFUNDIDADE_MAXIMA);
+        assertEquals(List.of("Combo Família Gigante Especial da Casa"),
+                textos(trie.sugerir("combo familia gigante especial d", 5)));
+        assertEquals(List.of("Combo Família Gigante Especial Kids"),
+                textos(trie.sugerir("combo familia gigante especial k", 5)));
+        assertTrue(trie.sugerir("combo familia gigante especial x", 5).isEmpty());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private static Sugestao produto(String texto, long peso) {
+        return new Sugestao(texto, Tipo.PRODUTO, null, peso);
+    }
+
+    private static List<String> textos(List<Sugestao> sugestoes) {
+        return sugestoes.stream().map(Sugestao::texto).toList();
+    }
+}
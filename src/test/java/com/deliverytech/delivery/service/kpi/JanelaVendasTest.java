@@ -0,0 +1,114 @@
+package com.deliverytech.delivery.service.kpi;
+
+import com.deliverytech.delivery.service.kpi.KpiService.JanelaVendas;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do ring buffer de vendas por minuto do KpiService.
+ */
+@DisplayName("Testes Unitários da JanelaVendas")
+class JanelaVendasTest {
+
+    private static final long AGORA = 29_000_000L; // minuto (epoch) arbitrário
+
+    @Test
+    @DisplayName("Deve somar os valores de minutos dentro da janela, inclusive estornos")
+    void should_SumValuesInsideWindow_When_Adding() {
+        // --- Given (Dado) ---
+        JanelaVendas janela = new JanelaVendas(60);
+
+        // --- When (Quando) ---
+        janela.adicionar(AGORA, 1000);
+        janela.adicionar(AGORA, 550);
+        janela.adicionar(AGORA - 30, 200);
+        janela.adicionar(AGORA - 59, 300);
+        janela.adicionar(AGORA - 30, -200); // cancelamento
+
+        // --- Then (Então) ---
+        assertEquals(1850, janela.somar(AGORA));
+    }
+
+    @Test
+    @DisplayName("Deve deixar de contar minutos que saíram da janela")
+    void should_IgnoreExpiredMinutes_When_Summing() {
+        // --- Given (Dado) ---
+        JanelaVendas janela = new JanelaVendas(60);
+        janela.adicionar(AGORA - 59, 300);
+        janela.adicionar(AGORA, 1000);
+
+        // --- When / Then (Quando / Então) ---
+        assertEquals(1300, janela.somar(AGORA));
+        assertEquals(1000, janela.somar(AGORA + 1)); // AGORA - 59 saiu da janela
+        assertEquals(0, janela.somar(AGORA + 60));
+    }
+
+    @Test
+    @DisplayName("Deve reciclar o bucket quando um minuto novo cai na mesma posição")
+    void should_RecycleBucket_When_NewMinuteWrapsAround() {
+        // --- Given (Dado) ---
+        JanelaVendas janela = new JanelaVendas(60);
+        janela.adicionar(AGORA, 1000);
+
+        // --- When (Quando) ---
+        janela.adicionar(AGORA + 60, 70); // mesma posição, uma volta depois
+
+        // --- Then (Então) ---
+        assertEquals(70, janela.somar(AGORA + 60));
+    }
+
+    @Test
+    @DisplayName("Deve descartar evento mais antigo que o minuto já guardado na posição")
+    void should_DiscardEvent_When_OlderThanBucketMinute() {
+        // --- Given (Dado) ---
+        JanelaVendas janela = new JanelaVendas(60);
+        janela.adicionar(AGORA + 60, 70);
+
+        // --- When (Quando) ---
+        janela.adicionar(AGORA, 1000); // mesma posição, já reciclada
+
+        // --- Then (Então) ---
+        assertEquals(70, janela.somar(AGORA + 60));
+    }
+
+    @Test
+    @DisplayName("Não deve perder incrementos concorrentes no mesmo minuto")
+    void should_NotLoseIncrements_When_AddingConcurrently() throws Exception {
+        // --- Given (Dado) ---
+        JanelaVendas janela = new JanelaVendas(60);
+        int threads = 8;
+        int incrementos = 10_000;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> produtores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread produtor = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < incrementos; i++) {
+                    janela.adicionar(AGORA - (i % 2), 1);
+                }
+            });
+            produtor.start();
+            produtores.add(produtor);
+        }
+
+        // --- When (Quando) ---
+        largada.countDown();
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+
+        // --- Then (Então) ---
+        assertEquals((long) threads * incrementos, janela.somar(AGORA));
+    }
+}
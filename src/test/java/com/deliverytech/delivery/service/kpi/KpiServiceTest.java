@@ -0,0 +1,185 @@
+package com.deliverytech.delivery.service.kpi;
+
+import com.deliverytech.delivery.event.PedidoCanceladoEvent;
+import com.deliverytech.delivery.event.PedidoPagoEvent;
+import com.deliverytech.delivery.event.RestauranteCriadoEvent;
+import com.deliverytech.delivery.event.UsuarioRegistradoEvent;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.auth.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Testes do KpiService")
+class KpiServiceTest {
+
+    // --- DEPENDÊNCIAS MOCADAS ---
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private RestauranteRepository restauranteRepository;
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    // --- SYSTEM UNDER TEST (SUT) ---
+    @InjectMocks
+    private KpiService kpiService;
+
+    private LocalDateTime agora;
+
+    @BeforeEach
+    void setUp() {
+        agora = LocalDateTime.now();
+        when(usuarioRepository.contarTodosUsuariosNative()).thenReturn(10L);
+        when(restauranteRepository.contarTodosRestaurantesNative()).thenReturn(3L);
+        when(pedidoRepository.somarVendasPorMinutoDesde(any())).thenReturn(linhas(
+                linha(agora, "25.50"),
+                linha(agora.minusHours(1), "10.00")));
+    }
+
+    @Test
+    @DisplayName("Deve semear os contadores a partir das contagens e das vendas agregadas por minuto")
+    void should_SeedCounters_When_ApplicationIsReady() {
+        // --- When (Quando) ---
+        kpiService.semear();
+
+        // --- Then (Então) ---
+        assertEquals(10L, kpiService.getTotalUsuarios());
+        assertEquals(3L, kpiService.getTotalRestaurantes());
+        assertEquals(new BigDecimal("35.50"), kpiService.getVendasUltimos30Dias());
+        verify(pedidoRepository).somarVendasPorMinutoDesde(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar os contadores pelos eventos de domínio sem ir ao banco")
+    void should_UpdateCounters_When_DomainEventsArrive() {
+        // --- Given (Dado) ---
+        kpiService.semear();
+        clearInvocations(usuarioRepository, restauranteRepository, pedidoRepository);
+
+        // --- When (Quando) ---
+        kpiService.onUsuarioRegistrado(new UsuarioRegistradoEvent(11L));
+        kpiService.onRestauranteCriado(new RestauranteCriadoEvent(4L));
+        kpiService.onPedidoPago(new PedidoPagoEvent(1L, 4L, new BigDecimal("40.00"), agora));
+        kpiService.onPedidoPago(new PedidoPagoEvent(2L, 4L, new BigDecimal("12.30"), agora));
+        kpiService.onPedidoCancelado(new PedidoCanceladoEvent(2L, new BigDecimal("12.30"), agora));
+
+        // --- Then (Então) ---
+        assertEquals(11L, kpiService.getTotalUsuarios());
+        assertEquals(4L, kpiService.getTotalRestaurantes());
+        assertEquals(new BigDecimal("75.50"), kpiService.getVendasUltimos30Dias());
+        verifyNoInteractions(usuarioRepository, restauranteRepository, pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Não deve contar venda de pedido mais antigo que a janela de 30 dias")
+    void should_IgnoreSale_When_OrderIsOlderThanWindow() {
+        // --- Given (Dado) ---
+        kpiService.semear();
+
+        // --- When (Quando) ---
+        kpiService.onPedidoPago(new PedidoPagoEvent(1L, 1L, new BigDecimal("99.00"), agora.minusDays(31)));
+
+        // --- Then (Então) ---
+        assertEquals(new BigDecimal("35.50"), kpiService.getVendasUltimos30Dias());
+    }
+
+    @Test
+    @DisplayName("Deve corrigir o desvio dos contadores na reconciliação")
+    void should_CorrectDrift_When_Reconciling() {
+        // --- Given (Dado) ---
+        kpiService.semear();
+        kpiService.onUsuarioRegistrado(new UsuarioRegistradoEvent(11L)); // evento que o banco não confirma
+        kpiService.onPedidoPago(new PedidoPagoEvent(1L, 1L, new BigDecimal("40.00"), agora));
+
+        when(usuarioRepository.contarTodosUsuariosNative()).thenReturn(12L);
+        when(restauranteRepository.contarTodosRestaurantesNative()).thenReturn(3L);
+        when(pedidoRepository.somarVendasPorMinutoDesde(any())).thenReturn(linhas(linha(agora, "5.00")));
+
+        // --- When (Quando) ---
+        kpiService.reconciliar();
+
+        // --- Then (Então) ---
+        assertEquals(12L, kpiService.getTotalUsuarios());
+        assertEquals(3L, kpiService.getTotalRestaurantes());
+        assertEquals(new BigDecimal("5.00"), kpiService.getVendasUltimos30Dias());
+    }
+
+    @Test
+    @DisplayName("Não deve perder a venda recebida enquanto a janela é reconstruída")
+    void should_KeepSale_When_EventArrivesDuringReconciliation() {
+        // --- Given (Dado) ---
+        kpiService.semear();
+        // O pedido é pago depois que a consulta leu o banco: não está nas linhas dela
+        when(pedidoRepository.somarVendasPorMinutoDesde(any())).thenAnswer(invocacao -> {
+            List<Object[]> doBanco = linhas(linha(agora, "25.50"), linha(agora.minusHours(1), "10.00"));
+            kpiService.onPedidoPago(new PedidoPagoEvent(3L, 1L, new BigDecimal("7.00"), agora));
+            return doBanco;
+        });
+
+        // --- When (Quando) ---
+        kpiService.reconciliar();
+
+        // --- Then (Então) ---
+        assertEquals(new BigDecimal("42.50"), kpiService.getVendasUltimos30Dias());
+    }
+
+    @Test
+    @DisplayName("Deve manter os valores atuais quando a reconciliação falha")
+    void should_KeepCurrentValues_When_ReconciliationFails() {
+        // --- Given (Dado) ---
+        kpiService.semear();
+        when(pedidoRepository.somarVendasPorMinutoDesde(any())).thenThrow(new RuntimeException("Banco fora"));
+
+        // --- When (Quando) ---
+        assertDoesNotThrow(() -> kpiService.reconciliar());
+
+        // --- Then (Então) ---
+        assertEquals(new BigDecimal("35.50"), kpiService.getVendasUltimos30Dias());
+    }
+
+    @Test
+    @DisplayName("Deve converter a linha agregada (ano, mês, dia, hora, minuto) no minuto epoch")
+    void should_ConvertAggregatedRow_When_ReadingMinute() {
+        // --- Given (Dado) ---
+        LocalDateTime minuto = LocalDateTime.of(2025, 3, 9, 14, 27);
+
+        // --- When / Then (Quando / Então) ---
+        assertEquals(minuto.toEpochSecond(ZoneOffset.UTC) / 60,
+                KpiService.minutoDaLinha(new Object[]{2025, 3, 9, 14, 27, BigDecimal.ONE}));
+    }
+
+    // ==========================================================
+    // --- MÉTODOS AUXILIARES ---
+    // ==========================================================
+
+    private static Object[] linha(LocalDateTime dataHora, String valor) {
+        return new Object[]{dataHora.getYear(), dataHora.getMonthValue(), dataHora.getDayOfMonth(),
+                dataHora.getHour(), dataHora.getMinute(), new BigDecimal(valor)};
+    }
+
+    private static List<Object[]> linhas(Object[]... linhas) {
+        return new ArrayList<>(List.of(linhas));
+    }
+}
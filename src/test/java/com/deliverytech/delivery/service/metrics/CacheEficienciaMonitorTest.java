@@ -0,0 +1,75 @@
+package com.deliverytech.delivery.service.metrics;
+
+import com.deliverytech.delivery.cache.CacheRemotoDesligado;
+import com.deliverytech.delivery.cache.ExtratorTags;
+import com.deliverytech.delivery.cache.GerenciadorCacheDoisNiveis;
+import com.deliverytech.delivery.cache.OpcoesCarga;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do resumo de eficácia dos caches (dashboard).
+ */
+@DisplayName("Testes Unitários do CacheEficienciaMonitor")
+class CacheEficienciaMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private GerenciadorCacheDoisNiveis gerenciador;
+    private CacheEficienciaMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        gerenciador = new GerenciadorCacheDoisNiveis(new CacheRemotoDesligado(), 100, Duration.ofMinutes(1),
+                Duration.ofMinutes(10), ExtratorTags.NENHUMA, OpcoesCarga.PADRAO,
+                valor -> String.valueOf(valor).length(), registry);
+        monitor = new CacheEficienciaMonitor(registry);
+    }
+
+    @Test
+    @DisplayName("Deve resumir cada cache com taxa de acerto, cargas e ocupação")
+    void should_SummarizeEachCache_When_CachesAccessed() {
+        // --- Given (Dado) ---
+        Cache produtos = gerenciador.getCache("produtos");
+        Cache porNome = gerenciador.getCache("produtosPorNome");
+        produtos.get(1L, () -> "Pizza");
+        for (int i = 0; i < 3; i++) {
+            produtos.get(1L, () -> "nunca chamado");
+        }
+        porNome.get("pizza", () -> "[Pizza]");
+
+        // --- When (Quando) ---
+        List<Map<String, Object>> resumo = monitor.resumo();
+
+        // --- Then (Então) ---
+        assertEquals(List.of("produtos", "produtosPorNome"), resumo.stream().map(c -> c.get("cache")).toList());
+        Map<String, Object> cacheProdutos = resumo.get(0);
+        assertEquals(4L, cacheProdutos.get("acessos"));
+        assertEquals(3L, cacheProdutos.get("acertosLocais"));
+        assertEquals(1L, cacheProdutos.get("faltas"));
+        assertEquals(0.75, cacheProdutos.get("taxaAcerto"));
+        assertEquals(1L, cacheProdutos.get("cargas"));
+        assertEquals(1L, cacheProdutos.get("entradas"));
+        assertEquals(5L, cacheProdutos.get("bytes"));
+        assertEquals("Poucos acessos para avaliar", cacheProdutos.get("diagnostico"));
+    }
+
+    @Test
+    @DisplayName("Deve apontar L1 pequeno, TTL curto e pouco reuso")
+    void should_DiagnoseTuningProblem_When_MetricsShowIt() {
+        // --- When / Then (Quando / Então) ---
+        assertEquals("OK", CacheEficienciaMonitor.diagnosticar(1000, 0.9, 100, 5, 5));
+        assertTrue(CacheEficienciaMonitor.diagnosticar(1000, 0.5, 100, 60, 0).startsWith("L1 pequeno"));
+        assertTrue(CacheEficienciaMonitor.diagnosticar(1000, 0.1, 100, 0, 80).startsWith("TTL curto"));
+        assertTrue(CacheEficienciaMonitor.diagnosticar(1000, 0.1, 900, 0, 0).startsWith("Pouco reuso"));
+    }
+}
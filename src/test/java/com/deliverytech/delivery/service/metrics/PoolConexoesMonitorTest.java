@@ -0,0 +1,204 @@
+package com.deliverytech.delivery.service.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do monitor do pool de conexões (via {@link DataSourceInstrumentado}).
+ */
+@DisplayName("Testes Unitários do PoolConexoesMonitor")
+class PoolConexoesMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private DataSource pool;
+    private Connection conexaoReal;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        pool = mock(DataSource.class);
+        conexaoReal = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(conexaoReal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar espera e uso com o endpoint e o método transacional")
+    void should_RecordAcquireAndHold_When_ConnectionClosed() throws Exception {
+        // --- Given (Dado) ---
+        PoolConexoesMonitor monitor = criarMonitor(10_000);
+        DataSource dataSource = instrumentar(monitor);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionName(
+                "com.deliverytech.delivery.service.impl.PedidoServiceImpl.criarPedido");
+
+        // --- When (Quando) ---
+        Connection conexao = dataSource.getConnection();
+        conexao.prepareStatement("select 1");
+        conexao.close();
+        conexao.close(); // Segundo close não pode contar de novo
+
+        // --- Then (Então) ---
+        verify(conexaoReal).prepareStatement("select 1");
+        Timer uso = registry.find("delivery.pool.conexao.uso")
+                .tag("endpoint", PoolConexoesMonitor.SEM_REQUISICAO)
+                .tag("metodo", "PedidoServiceImpl.criarPedido")
+                .timer();
+        assertNotNull(uso);
+        assertEquals(1, uso.count());
+        assertEquals(1, registry.find("delivery.pool.conexao.espera").timer().count());
+        assertEquals(0, monitor.resumo(5).get("emprestadas"));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como sem transação a conexão usada fora de @Transactional")
+    void should_TagWithoutTransaction_When_NoTransactionActive() throws Exception {
+        // --- Given (Dado) ---
+        PoolConexoesMonitor monitor = criarMonitor(10_000);
+        DataSource dataSource = instrumentar(monitor);
+
+        // --- When (Quando) ---
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.createStatement();
+        }
+
+        // --- Then (Então) ---
+        assertNotNull(registry.find("delivery.pool.conexao.uso")
+                .tag("metodo", PoolConexoesMonitor.SEM_TRANSACAO).timer());
+    }
+
+    @Test
+    @DisplayName("Deve reportar vazamento com correlationId e pilha de quem obteve a conexão")
+    @SuppressWarnings("unchecked")
+    void should_ReportLeak_When_ConnectionHeldBeyondThreshold() throws Exception {
+        // --- Given (Dado) ---
+        PoolConexoesMonitor monitor = criarMonitor(0);
+        DataSource dataSource = instrumentar(monitor);
+        MDC.put("correlationId", "abc123");
+        Connection conexao = dataSource.getConnection();
+
+        // --- When (Quando) ---
+        monitor.verificarVazamentos();
+        monitor.verificarVazamentos(); // Não deve reportar o mesmo empréstimo duas vezes
+
+        // --- Then (Então) ---
+        assertEquals(1.0, registry.find("delivery.pool.vazamentos").counter().count());
+        assertEquals(1, monitor.contarVazamentosAbertos());
+
+        List<Map<String, Object>> vazamentos = (List<Map<String, Object>>) monitor.resumo(5).get("vazamentosRecentes");
+        assertEquals(1, vazamentos.size());
+        assertEquals("abc123", vazamentos.get(0).get("correlationId"));
+        List<String> pilha = (List<String>) vazamentos.get(0).get("pilha");
+        assertTrue(pilha.stream().anyMatch(frame -> frame.contains("PoolConexoesMonitorTest")));
+
+        conexao.close();
+        assertEquals(0, monitor.contarVazamentosAbertos());
+    }
+
+    @Test
+    @DisplayName("Deve reportar vazamento sem pilha quando a captura está desligada")
+    @SuppressWarnings("unchecked")
+    void should_ReportLeakWithoutStack_When_CaptureDisabled() throws Exception {
+        // --- Given (Dado) ---
+        PoolConexoesMonitor monitor = criarMonitor(0, false, 1);
+        DataSource dataSource = instrumentar(monitor);
+        Connection conexao = dataSource.getConnection();
+
+        // --- When (Quando) ---
+        monitor.verificarVazamentos();
+
+        // --- Then (Então) ---
+        List<Map<String, Object>> vazamentos = (List<Map<String, Object>>) monitor.resumo(5).get("vazamentosRecentes");
+        assertEquals(1, vazamentos.size());
+        assertEquals(List.of(), vazamentos.get(0).get("pilha"));
+        conexao.close();
+    }
+
+    @Test
+    @DisplayName("Deve capturar a pilha só de 1 a cada N empréstimos quando amostrada")
+    @SuppressWarnings("unchecked")
+    void should_CaptureStackOnlyForSample_When_SamplingConfigured() throws Exception {
+        // --- Given (Dado) ---
+        PoolConexoesMonitor monitor = criarMonitor(0, true, 2);
+        DataSource dataSource = instrumentar(monitor);
+
+        // --- When (Quando) ---
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+        monitor.verificarVazamentos();
+
+        // --- Then (Então) ---
+        List<Map<String, Object>> vazamentos = (List<Map<String, Object>>) monitor.resumo(5).get("vazamentosRecentes");
+        assertEquals(2, vazamentos.size());
+        long comPilha = vazamentos.stream().filter(v -> !((List<String>) v.get("pilha")).isEmpty()).count();
+        assertEquals(1, comPilha);
+        primeira.close();
+        segunda.close();
+    }
+
+    @Test
+    @DisplayName("Deve contar falha quando o pool não entrega a conexão")
+    void should_CountFailure_When_PoolTimesOut() throws Exception {
+        // --- Given (Dado) ---
+        PoolConexoesMonitor monitor = criarMonitor(10_000);
+        DataSource dataSource = instrumentar(monitor);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        // --- When (Quando) & Then (Então) ---
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1.0, registry.find("delivery.pool.conexao.falhas").counter().count());
+        assertEquals(0, monitor.resumo(5).get("emprestadas"));
+    }
+
+    @Test
+    @DisplayName("Deve considerar saturado só com o pool cheio e threads esperando")
+    void should_DetectSaturation_When_PoolFullAndThreadsWaiting() {
+        assertTrue(new PoolConexoesMonitor.EstadoPool(10, 0, 10, 10, 3).saturado());
+        assertFalse(new PoolConexoesMonitor.EstadoPool(10, 0, 10, 10, 0).saturado());
+        assertFalse(new PoolConexoesMonitor.EstadoPool(7, 3, 10, 10, 0).saturado());
+        assertEquals(0.7, new PoolConexoesMonitor.EstadoPool(7, 3, 10, 10, 0).utilizacao());
+    }
+
+    // --- Métodos Auxiliares ---
+
+    private PoolConexoesMonitor criarMonitor(long limiteVazamentoMs) {
+        return criarMonitor(limiteVazamentoMs, true, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PoolConexoesMonitor criarMonitor(long limiteVazamentoMs, boolean capturarPilha, int amostragemPilha) {
+        ObjectProvider<DataSource> semHikari = mock(ObjectProvider.class);
+        return new PoolConexoesMonitor(registry, semHikari, limiteVazamentoMs, 10_000, capturarPilha, amostragemPilha);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataSource instrumentar(PoolConexoesMonitor monitor) {
+        ObjectProvider<PoolConexoesMonitor> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(monitor);
+        return new DataSourceInstrumentado(pool, provider);
+    }
+}